@@ -1,9 +1,12 @@
 package com.vault.secure_vault.Auth;
 
-import com.vault.secure_vault.model.RefreshToken;
-
+/**
+ * Result of a login or refresh.
+ *
+ * @param refreshToken raw refresh token; only its hash is stored server side
+ */
 public record AuthResult(
         String accessToken,
-        RefreshToken refreshToken,
+        String refreshToken,
         long expiration
 ) {}
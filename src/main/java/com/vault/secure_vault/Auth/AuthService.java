@@ -2,6 +2,7 @@ package com.vault.secure_vault.Auth;
 
 
 import com.vault.secure_vault.dto.Auth.UserLoginRequestDTO;
+import com.vault.secure_vault.exceptions.Auth.TooManyRequestsException;
 import com.vault.secure_vault.model.PasswordResetToken;
 import com.vault.secure_vault.model.RefreshToken;
 import com.vault.secure_vault.model.User;
@@ -9,18 +10,23 @@ import com.vault.secure_vault.repository.PasswordResetTokenRepository;
 import com.vault.secure_vault.repository.UserRepository;
 import com.vault.secure_vault.security.CustomUserDetailsService;
 import com.vault.secure_vault.security.JwtService;
+import com.vault.secure_vault.security.LoginAttemptTracker;
+import com.vault.secure_vault.security.PasswordHashingExecutor;
 import com.vault.secure_vault.service.RefreshTokenService;
+import com.vault.secure_vault.service.UserService;
+import com.vault.secure_vault.util.OpaqueTokens;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import java.time.Instant;
-import java.util.UUID;
+import java.util.List;
 
 /**
  * Service responsible for authentication, JWT handling,
@@ -47,34 +53,53 @@ public class AuthService {
     private final JwtService jwtService;
     private final RefreshTokenService refreshTokenService;
     private final UserRepository userRepository;
+    private final UserService userService;
     private final PasswordResetTokenRepository passwordResetTokenRepository;
+    private final PasswordHashingExecutor passwordHashingExecutor;
+    private final LoginAttemptTracker loginAttemptTracker;
 
 
     /**
      * Authenticates user credentials and generates JWT + refresh token.
      *
-     * @param request login request containing email and password
+     * Each login starts a new device session; sessions on other devices stay valid.
+     *
+     * @param request    login request containing email and password
+     * @param clientIp   address of the caller, used for brute-force throttling
+     * @param deviceName client description stored with the session, may be null
      * @return AuthResult containing access token, refresh token and expiry
      * @throws BadCredentialsException if credentials are invalid
+     * @throws TooManyRequestsException if the email or IP is locked out
      */
-    public AuthResult login(UserLoginRequestDTO request) {
+    public AuthResult login(UserLoginRequestDTO request, String clientIp, String deviceName) {
+
+        // Blocked guesses are rejected before any BCrypt work
+        loginAttemptTracker.checkAllowed(request.email(), clientIp);
 
+        Authentication authentication;
         try{
-            authenticationManager.authenticate(
-                    new UsernamePasswordAuthenticationToken(
-                            request.email(),
-                            request.password()
+            // BCrypt runs on the bounded hashing pool, never on the request thread
+            authentication = passwordHashingExecutor.execute(() ->
+                    authenticationManager.authenticate(
+                            new UsernamePasswordAuthenticationToken(
+                                    request.email(),
+                                    request.password()
+                            )
                     )
             );
         } catch (AuthenticationException e) {
+            loginAttemptTracker.recordFailure(request.email(), clientIp);
             throw new BadCredentialsException("Invalid username or password");
         }
 
-        UserDetails userDetails = customUserDetailsService.loadUserByUsername(request.email());
+        loginAttemptTracker.recordSuccess(request.email());
+
+        // The principal was loaded during authentication, no second lookup
+        UserDetails userDetails = (UserDetails) authentication.getPrincipal();
 
         String accessToken = jwtService.generateAccessToken(userDetails);
-        RefreshToken refreshToken =
-                refreshTokenService.create(userDetails.getUsername(), 7);
+        String refreshToken =
+                refreshTokenService.create(userDetails.getUsername(), deviceName);
 
 
         return new AuthResult(
@@ -86,38 +111,59 @@ public class AuthService {
 
     /**
      * Generates a new access token using a valid refresh token.
+     * The refresh token is rotated: the presented one stops working.
      *
      * @param refreshTokenValue raw refresh token string
-     * @return AuthResult containing new access token and existing refresh token
+     * @return AuthResult containing new access token and new refresh token
      */
     public AuthResult refreshToken(String refreshTokenValue) {
 
-        RefreshToken refreshToken =
-                refreshTokenService.validateToken(refreshTokenValue);
+        RefreshTokenService.Rotation rotation =
+                refreshTokenService.rotate(refreshTokenValue);
 
         UserDetails userDetails =
-                customUserDetailsService.loadUserByUsername(
-                        refreshToken.getUserEmail()
+                customUserDetailsService.loadPrincipal(
+                        rotation.userEmail()
                 );
 
         String newAccessToken = jwtService.generateAccessToken(userDetails);
 
         return new AuthResult(
                 newAccessToken,
-                refreshToken,
+                rotation.refreshToken(),
                 jwtService.getAccessTokenTtlSeconds()
         );
     }
 
     /**
-     * Logs out user by revoking refresh token.
+     * Logs out the device by revoking its refresh session.
      *
      * @param refreshTokenValue refresh token to revoke
      */
     public void logout(String refreshTokenValue) {
-        RefreshToken token =
-                refreshTokenService.validateToken(refreshTokenValue);
-        refreshTokenService.revokeToken(token);
+        refreshTokenService.revoke(refreshTokenValue);
+    }
+
+    /**
+     * Lists the active device sessions of a user.
+     *
+     * @param email user email
+     */
+    public List<RefreshToken> listSessions(String email) {
+        return refreshTokenService.listSessions(email);
+    }
+
+    /**
+     * Signs out one device of a user.
+     *
+     * @param email     user email
+     * @param sessionId session to revoke
+     * @throws IllegalArgumentException if the user has no such session
+     */
+    public void revokeSession(String email, String sessionId) {
+        if (!refreshTokenService.revokeSession(email, sessionId)) {
+            throw new IllegalArgumentException("Unknown session: " + sessionId);
+        }
     }
 
     /**
@@ -135,11 +181,11 @@ public class AuthService {
 
         passwordResetTokenRepository.deleteByEmail(email);
 
-        String token = UUID.randomUUID().toString();
+        String token = OpaqueTokens.generate();
 
         PasswordResetToken resetToken = PasswordResetToken.builder()
                 .email(email)
-                .token(token)
+                .tokenHash(OpaqueTokens.hash(token))
                 .expiryDate(Instant.now().plusSeconds(15*60))
                 .used(false)
                 .build();
@@ -161,18 +207,19 @@ public class AuthService {
     public void resetPassword(String token, String newPassword) {
 
         PasswordResetToken resetToken = passwordResetTokenRepository
-                .findByTokenAndUsedFalse(token)
-                .orElseThrow(() -> new RuntimeException("Invalid or used token"));
-
-        if (resetToken.getExpiryDate().isBefore(Instant.now())) {
-            throw new RuntimeException("Token expired");
-        }
+                .findByTokenHashAndUsedFalseAndExpiryDateAfter(OpaqueTokens.hash(token), Instant.now())
+                .orElseThrow(() -> new RuntimeException("Invalid, used or expired token"));
 
         User user = userRepository.findByEmail(resetToken.getEmail())
                 .orElseThrow(() -> new RuntimeException("User not found"));
 
-        user.setPassword(passwordEncoder.encode(newPassword));
-        userRepository.save(user);
+        userService.updatePassword(
+                user.getEmail(),
+                passwordHashingExecutor.execute(() -> passwordEncoder.encode(newPassword))
+        );
+
+        // A reset password means the old one may be compromised: sign out every device
+        refreshTokenService.revokeAll(user.getEmail());
 
         resetToken.setUsed(true);
         passwordResetTokenRepository.save(resetToken);
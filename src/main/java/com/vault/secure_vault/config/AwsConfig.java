@@ -1,20 +1,31 @@
 package com.vault.secure_vault.config;
 
+import com.vault.secure_vault.storage.cloud.S3ClientMetrics;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Profile;
 import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
 import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.http.apache.ApacheHttpClient;
+import software.amazon.awssdk.http.nio.netty.NettyNioAsyncHttpClient;
 import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+import software.amazon.awssdk.services.s3.S3AsyncClientBuilder;
 import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.S3ClientBuilder;
+import software.amazon.awssdk.services.s3.S3CrtAsyncClientBuilder;
+import software.amazon.awssdk.services.s3.crt.S3CrtHttpConfiguration;
+import software.amazon.awssdk.services.s3.multipart.MultipartConfiguration;
+import software.amazon.awssdk.transfer.s3.S3TransferManager;
 
 
 /**
  * AWS configuration for Secure Vault.
  * <p>
  * This configuration is only active when the {@code cloud} profile is enabled.
- * It sets up the AWS S3 client using access key and secret key.
+ * It sets up the AWS S3 clients using access key and secret key; pool sizes,
+ * concurrency and an optional endpoint override come from {@link S3ClientProperties}.
  */
 @Configuration
 @Profile("cloud")
@@ -40,16 +51,100 @@ public class AwsConfig {
 
     /**
      * Creates an {@link S3Client} bean for interacting with AWS S3.
+     * <p>
+     * Used for metadata operations (listing, deletes); object transfers go through
+     * the {@link S3TransferManager}.
      *
      * @return configured {@link S3Client}
      */
     @Bean
-    public S3Client s3Client() {
-        AwsBasicCredentials credentials = AwsBasicCredentials.create(accessKey, secretKey);
+    public S3Client s3Client(S3ClientProperties properties, S3ClientMetrics metrics) {
+        S3ClientBuilder builder = S3Client.builder()
+                .region(Region.of(region))
+                .credentialsProvider(credentialsProvider())
+                .forcePathStyle(properties.isForcePathStyle())
+                .httpClientBuilder(ApacheHttpClient.builder()
+                        .maxConnections(properties.getMaxConnections())
+                        .connectionAcquisitionTimeout(properties.getConnectionAcquisitionTimeout())
+                        .connectionTimeout(properties.getConnectionTimeout()))
+                .overrideConfiguration(c -> c
+                        .addExecutionInterceptor(metrics.inFlightInterceptor("sync"))
+                        .addMetricPublisher(metrics.publisher("sync")));
+
+        if (properties.getEndpointOverride() != null) {
+            builder.endpointOverride(properties.getEndpointOverride());
+        }
+        return builder.build();
+    }
+
+    /**
+     * Creates an {@link S3AsyncClient} bean used for object transfers.
+     * <p>
+     * CRT based by default (native multipart uploads and parallel ranged downloads);
+     * with {@code aws.s3.client.crt-enabled=false} a Netty based client with SDK
+     * multipart support is used instead.
+     *
+     * @return configured {@link S3AsyncClient}
+     */
+    @Bean
+    public S3AsyncClient s3AsyncClient(S3ClientProperties properties, S3ClientMetrics metrics) {
+        long partSize = properties.getMinimumPartSize().toBytes();
+
+        if (properties.isCrtEnabled()) {
+            S3CrtAsyncClientBuilder builder = S3AsyncClient.crtBuilder()
+                    .region(Region.of(region))
+                    .credentialsProvider(credentialsProvider())
+                    .forcePathStyle(properties.isForcePathStyle())
+                    .maxConcurrency(properties.getMaxConcurrency())
+                    .targetThroughputInGbps(properties.getTargetThroughputGbps())
+                    .minimumPartSizeInBytes(partSize)
+                    .thresholdInBytes(properties.getMultipartThreshold().toBytes())
+                    .httpConfiguration(S3CrtHttpConfiguration.builder()
+                            .connectionTimeout(properties.getConnectionTimeout())
+                            .build());
+
+            if (properties.getEndpointOverride() != null) {
+                builder.endpointOverride(properties.getEndpointOverride());
+            }
+            return builder.build();
+        }
 
-        return S3Client.builder()
+        S3AsyncClientBuilder builder = S3AsyncClient.builder()
                 .region(Region.of(region))
-                .credentialsProvider(StaticCredentialsProvider.create(credentials))
+                .credentialsProvider(credentialsProvider())
+                .forcePathStyle(properties.isForcePathStyle())
+                .multipartEnabled(true)
+                .multipartConfiguration(MultipartConfiguration.builder()
+                        .minimumPartSizeInBytes(partSize)
+                        .thresholdInBytes(properties.getMultipartThreshold().toBytes())
+                        .build())
+                .httpClientBuilder(NettyNioAsyncHttpClient.builder()
+                        .maxConcurrency(properties.getMaxConcurrency())
+                        .connectionAcquisitionTimeout(properties.getConnectionAcquisitionTimeout())
+                        .connectionTimeout(properties.getConnectionTimeout()))
+                .overrideConfiguration(c -> c
+                        .addExecutionInterceptor(metrics.inFlightInterceptor("async"))
+                        .addMetricPublisher(metrics.publisher("async")));
+
+        if (properties.getEndpointOverride() != null) {
+            builder.endpointOverride(properties.getEndpointOverride());
+        }
+        return builder.build();
+    }
+
+    /**
+     * Creates an {@link S3TransferManager} on top of the async client.
+     *
+     * @return configured {@link S3TransferManager}
+     */
+    @Bean
+    public S3TransferManager s3TransferManager(S3AsyncClient s3AsyncClient) {
+        return S3TransferManager.builder()
+                .s3Client(s3AsyncClient)
                 .build();
     }
+
+    private StaticCredentialsProvider credentialsProvider() {
+        return StaticCredentialsProvider.create(AwsBasicCredentials.create(accessKey, secretKey));
+    }
 }
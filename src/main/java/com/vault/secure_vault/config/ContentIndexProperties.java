@@ -0,0 +1,70 @@
+package com.vault.secure_vault.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Set;
+
+/**
+ * Configuration properties for full-text content indexing.
+ * <p>
+ * Binds values from application properties with prefix {@code app.content-index}.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "app.content-index")
+@Getter
+@Setter
+public class ContentIndexProperties {
+
+    /**
+     * Turns the indexing pipeline and content search on or off.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Directory holding per-owner index segments.
+     */
+    private String indexDir = "content-index";
+
+    /**
+     * Number of extraction worker threads.
+     */
+    private int workerThreads = 2;
+
+    /**
+     * Maximum number of queued indexing jobs. Jobs beyond this are dropped and logged.
+     */
+    private int queueCapacity = 1000;
+
+    /**
+     * Maximum number of bytes read from a single file during extraction.
+     */
+    private long maxExtractBytes = 10L * 1024 * 1024;
+
+    /**
+     * Maximum number of distinct terms indexed per document.
+     */
+    private int maxTermsPerDocument = 50_000;
+
+    /**
+     * Number of buffered documents per owner that triggers a segment flush.
+     */
+    private int flushDocuments = 200;
+
+    /**
+     * Number of segments per owner that triggers a merge into a single segment.
+     */
+    private int maxSegments = 8;
+
+    /**
+     * MIME types whose content is extracted and indexed.
+     */
+    private Set<String> indexedTypes = Set.of(
+            "text/plain",
+            "text/csv",
+            "application/json",
+            "application/pdf"
+    );
+}
@@ -0,0 +1,67 @@
+package com.vault.secure_vault.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Configuration properties for encryption of blobs at rest.
+ * <p>
+ * Binds values from application properties with prefix {@code app.encryption}.
+ * Each blob gets its own AES-256 data key, stored next to the content wrapped by a
+ * master key; only the master keys are configured here.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "app.encryption")
+@Getter
+@Setter
+public class EncryptionProperties {
+
+    /**
+     * Encrypt new blobs. Blobs written before remain readable as plaintext.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Master keys shared by all nodes. The last entry wraps new data keys, every entry
+     * unwraps. Rotate by appending a key; remove an old one only once no blob uses it.
+     */
+    private List<MasterKey> masterKeys = new ArrayList<>();
+
+    /**
+     * Plaintext bytes per authenticated chunk; a range read decrypts whole chunks.
+     * Only applies to new blobs, the size is recorded in each blob's header.
+     */
+    private DataSize chunkSize = DataSize.ofKilobytes(64);
+
+    /**
+     * Maximum number of unwrapped data keys kept in memory.
+     */
+    private long keyCacheMaximumSize = 10_000;
+
+    /**
+     * How long an unwrapped data key stays cached.
+     */
+    private Duration keyCacheTtl = Duration.ofMinutes(15);
+
+    @Getter
+    @Setter
+    public static class MasterKey {
+
+        /**
+         * Key id recorded in every blob header (at most 255 bytes).
+         */
+        private String id;
+
+        /**
+         * Base64 encoded 256-bit AES key.
+         */
+        private String key;
+    }
+}
@@ -0,0 +1,39 @@
+package com.vault.secure_vault.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Configuration properties for erasure-coded local storage.
+ * <p>
+ * Binds values from application properties with prefix {@code storage.erasure}.
+ * Only used with {@code storage.provider=erasure}.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "storage.erasure")
+@Getter
+@Setter
+public class ErasureCodingProperties {
+
+    /**
+     * Directories shards are spread across, one per failure domain (disk, volume or
+     * mount). Needs at least {@code data-shards + parity-shards} entries.
+     */
+    private List<String> dirs = new ArrayList<>();
+
+    /**
+     * Shards the content is split into; any this many shards can rebuild a blob.
+     */
+    private int dataShards = 4;
+
+    /**
+     * Extra shards computed from the data; this many directories can be lost without
+     * losing a blob.
+     */
+    private int parityShards = 2;
+}
@@ -0,0 +1,79 @@
+package com.vault.secure_vault.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Configuration properties for access token signing.
+ * <p>
+ * Binds values from application properties with prefix {@code jwt.signing}.
+ * <p>
+ * {@code HS256} (default) keeps the legacy shared secret {@code jwt.secret}.
+ * {@code EdDSA} signs with Ed25519 keys identified by a {@code kid} header whose
+ * public halves are published at {@code /.well-known/jwks.json}.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "jwt.signing")
+@Getter
+@Setter
+public class JwtSigningProperties {
+
+    /**
+     * Signing algorithm: {@code HS256} or {@code EdDSA}.
+     */
+    private String algorithm = "HS256";
+
+    /**
+     * With EdDSA, still accept HS256 tokens (no {@code kid}) signed with {@code jwt.secret},
+     * so sessions survive the switch. Turn off once old tokens have expired.
+     */
+    private boolean acceptLegacyHs256 = true;
+
+    /**
+     * How often a generated key ring rotates its signing key.
+     * Ignored when {@link #keys} are configured.
+     */
+    private Duration rotationInterval = Duration.ofDays(7);
+
+    /**
+     * How long a retired key still verifies tokens. Must be at least the access token lifetime.
+     */
+    private Duration verificationOverlap = Duration.ofDays(1);
+
+    /**
+     * Static Ed25519 keys shared by all nodes. The last entry signs, every entry verifies.
+     * Rotate by appending a key, then removing the old one after the overlap window.
+     * When empty, each node generates its own in-memory key ring (single node setups only).
+     */
+    private List<Key> keys = new ArrayList<>();
+
+    @Getter
+    @Setter
+    public static class Key {
+
+        /**
+         * Key id written to the {@code kid} header.
+         */
+        private String kid;
+
+        /**
+         * Base64 PKCS#8 encoded private key.
+         */
+        private String privateKey;
+
+        /**
+         * Base64 X.509 encoded public key.
+         */
+        private String publicKey;
+    }
+
+    public boolean isEdDsa() {
+        return "EdDSA".equalsIgnoreCase(algorithm);
+    }
+}
@@ -0,0 +1,38 @@
+package com.vault.secure_vault.config;
+
+import com.vault.secure_vault.storage.local.LocalBlobLocator;
+import com.vault.secure_vault.storage.local.SingleDirectoryLocator;
+import com.vault.secure_vault.storage.local.StripedDirectoryLocator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+/**
+ * Local storage layout.
+ * <p>
+ * Only active with the {@code local} profile. Uses {@code storage.upload-dir}, or stripes
+ * blobs across {@code storage.local.dirs} when configured.
+ */
+@Configuration
+@Profile("local")
+public class LocalStorageConfig {
+
+    @Bean
+    public LocalBlobLocator localBlobLocator(
+            LocalStorageProperties properties,
+            @Value("${storage.upload-dir:}") String uploadDir
+    ) {
+        if (properties.getDirs().isEmpty()) {
+            if (uploadDir.isBlank()) {
+                throw new IllegalStateException("Set storage.upload-dir or storage.local.dirs");
+            }
+            return new SingleDirectoryLocator(uploadDir);
+        }
+        return new StripedDirectoryLocator(
+                properties.getDirs(),
+                properties.getVirtualNodes(),
+                properties.getMinFreeSpace().toBytes()
+        );
+    }
+}
@@ -0,0 +1,50 @@
+package com.vault.secure_vault.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Configuration properties for striping local storage across several disks.
+ * <p>
+ * Binds values from application properties with prefix {@code storage.local}.
+ * When {@code dirs} is empty everything is stored under {@code storage.upload-dir}.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "storage.local")
+@Getter
+@Setter
+public class LocalStorageProperties {
+
+    /**
+     * Directories (ideally separate mount points) blobs are spread across. When enabling
+     * striping on an existing node, list the old {@code storage.upload-dir} here too.
+     */
+    private List<String> dirs = new ArrayList<>();
+
+    /**
+     * Ring points of the directory with the most free space; others get proportionally
+     * fewer, so new writes favor emptier disks.
+     */
+    private int virtualNodes = 160;
+
+    /**
+     * A directory with less usable space than this is skipped for new writes.
+     */
+    private DataSize minFreeSpace = DataSize.ofGigabytes(1);
+
+    /**
+     * Turns the background rebalancer on or off.
+     */
+    private boolean rebalanceEnabled = true;
+
+    /**
+     * Bandwidth the rebalancer may use for moving blobs between directories.
+     */
+    private DataSize rebalanceMaxBytesPerSecond = DataSize.ofMegabytes(50);
+}
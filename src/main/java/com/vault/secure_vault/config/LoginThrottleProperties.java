@@ -0,0 +1,55 @@
+package com.vault.secure_vault.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for login brute-force throttling.
+ * <p>
+ * Binds values from application properties with prefix {@code app.login-throttle}.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "app.login-throttle")
+@Getter
+@Setter
+public class LoginThrottleProperties {
+
+    /**
+     * Turns throttling on or off.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Failed attempts per email before backoff starts.
+     */
+    private int freeAttemptsPerEmail = 5;
+
+    /**
+     * Failed attempts per client IP before backoff starts.
+     */
+    private int freeAttemptsPerIp = 20;
+
+    /**
+     * Lockout after the first failure over the limit; doubles with every further failure.
+     */
+    private Duration baseBackoff = Duration.ofSeconds(1);
+
+    /**
+     * Upper bound of a single lockout.
+     */
+    private Duration maxBackoff = Duration.ofMinutes(15);
+
+    /**
+     * Failure counts halve after this much time without new failures.
+     */
+    private Duration decayHalfLife = Duration.ofMinutes(15);
+
+    /**
+     * Maximum number of tracked keys (emails and IPs). The least recently used are evicted.
+     */
+    private int maxTrackedKeys = 1_000_000;
+}
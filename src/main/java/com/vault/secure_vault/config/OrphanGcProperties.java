@@ -0,0 +1,37 @@
+package com.vault.secure_vault.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for the orphan blob collector.
+ * <p>
+ * Binds values from application properties with prefix {@code app.orphan-gc}.
+ * The schedule itself is controlled by {@code app.orphan-gc.interval}.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "app.orphan-gc")
+@Getter
+@Setter
+public class OrphanGcProperties {
+
+    /**
+     * Turns the collector on or off.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Blobs younger than this are never collected, so uploads still waiting for
+     * their metadata to be saved are safe.
+     */
+    private Duration gracePeriod = Duration.ofHours(24);
+
+    /**
+     * Number of listed keys checked against MongoDB per query.
+     */
+    private int batchSize = 1000;
+}
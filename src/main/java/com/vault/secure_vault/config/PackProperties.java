@@ -0,0 +1,63 @@
+package com.vault.secure_vault.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for pack-file storage of small blobs.
+ * <p>
+ * Binds values from application properties with prefix {@code app.pack}.
+ * The compaction schedule is controlled by {@code app.pack.compaction-interval}.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "app.pack")
+@Getter
+@Setter
+public class PackProperties {
+
+    /**
+     * Route small blobs into pack segments.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Directory holding the segment files.
+     */
+    private String dir = "packs";
+
+    /**
+     * Blobs up to this size go into packs; larger ones to the regular backend.
+     */
+    private DataSize threshold = DataSize.ofKilobytes(64);
+
+    /**
+     * A segment is sealed and a new one started once it reaches this size.
+     */
+    private DataSize segmentSize = DataSize.ofMegabytes(256);
+
+    /**
+     * Flush each append to disk before acknowledging the upload.
+     */
+    private boolean fsync = true;
+
+    /**
+     * Sealed segments with a smaller share of live bytes are compacted.
+     */
+    private double compactionLiveRatio = 0.5;
+
+    /**
+     * Bandwidth the compactor may use for copying live entries.
+     */
+    private DataSize compactionMaxBytesPerSecond = DataSize.ofMegabytes(20);
+
+    /**
+     * How long a compacted segment file is kept, so reads that already looked up the
+     * old location can finish.
+     */
+    private Duration retiredSegmentRetention = Duration.ofMinutes(5);
+}
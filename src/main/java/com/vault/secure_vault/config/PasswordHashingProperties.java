@@ -0,0 +1,41 @@
+package com.vault.secure_vault.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for password hashing.
+ * <p>
+ * Binds values from application properties with prefix {@code app.password-hashing}.
+ * Tune {@code bcrypt-strength} per deployment using the {@code vault.password_hash.*} metrics.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "app.password-hashing")
+@Getter
+@Setter
+public class PasswordHashingProperties {
+
+    /**
+     * BCrypt log2 cost factor (4-31). Each step doubles the hashing time.
+     */
+    private int bcryptStrength = 10;
+
+    /**
+     * Threads dedicated to hashing. Defaults to half the cores so file traffic keeps the rest.
+     */
+    private int threads = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+
+    /**
+     * Hash jobs allowed to wait for a thread. Beyond this, requests get 429.
+     */
+    private int queueCapacity = 64;
+
+    /**
+     * Value of the {@code Retry-After} header sent when shedding load.
+     */
+    private Duration retryAfter = Duration.ofSeconds(1);
+}
@@ -0,0 +1,36 @@
+package com.vault.secure_vault.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for the authenticated principal cache.
+ * <p>
+ * Binds values from application properties with prefix {@code app.principal-cache}.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "app.principal-cache")
+@Getter
+@Setter
+public class PrincipalCacheProperties {
+
+    /**
+     * Turns the cache on or off. When off, every request loads the user from MongoDB.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Maximum number of cached principals.
+     */
+    private long maximumSize = 10_000;
+
+    /**
+     * How long a principal stays cached after it was loaded. Bounds how stale a
+     * principal can get if a change bypasses explicit invalidation.
+     */
+    private Duration ttl = Duration.ofMinutes(5);
+}
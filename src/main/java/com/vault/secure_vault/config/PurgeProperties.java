@@ -0,0 +1,46 @@
+package com.vault.secure_vault.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for the trash purge worker.
+ * <p>
+ * Binds values from application properties with prefix {@code app.purge}.
+ * The schedule itself is controlled by {@code app.purge.interval}.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "app.purge")
+@Getter
+@Setter
+public class PurgeProperties {
+
+    /**
+     * Turns the purge worker on or off.
+     */
+    private boolean enabled = true;
+
+    /**
+     * How long soft deleted versions stay restorable before they are purged.
+     */
+    private Duration retention = Duration.ofDays(30);
+
+    /**
+     * Number of records claimed per purge batch.
+     */
+    private int batchSize = 1000;
+
+    /**
+     * Number of storage delete calls running in parallel.
+     */
+    private int parallelism = 4;
+
+    /**
+     * Maximum number of blobs deleted per second. 0 disables the limit.
+     */
+    private double maxDeletesPerSecond = 1000;
+}
@@ -0,0 +1,83 @@
+package com.vault.secure_vault.config;
+
+import com.vault.secure_vault.security.EndpointClass;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Configuration properties for API rate limiting.
+ * <p>
+ * Binds values from application properties with prefix {@code app.rate-limit}.
+ * Limits apply per authenticated user (per client IP for anonymous requests) and per
+ * {@link EndpointClass}, e.g. {@code app.rate-limit.limits.upload.requests-per-second=2}.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "app.rate-limit")
+@Getter
+@Setter
+public class RateLimitProperties {
+
+    /**
+     * Turns rate limiting on or off.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Buckets of a client untouched (and full) for this long are dropped.
+     */
+    private Duration idleTimeout = Duration.ofMinutes(10);
+
+    /**
+     * Maximum number of tracked clients. Above it new clients are not limited until
+     * idle ones have been evicted.
+     */
+    private int maxClients = 100_000;
+
+    private Map<EndpointClass, Limit> limits = defaultLimits();
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Limit {
+
+        /**
+         * Sustained request rate.
+         */
+        private double requestsPerSecond;
+
+        /**
+         * Requests allowed in a burst.
+         */
+        private long requestBurst;
+
+        /**
+         * Sustained transfer rate in bytes (request body for uploads, response body for
+         * downloads). 0 disables the byte budget.
+         */
+        private long bytesPerSecond;
+
+        /**
+         * Bytes allowed in a burst.
+         */
+        private long bytesBurst;
+    }
+
+    private static Map<EndpointClass, Limit> defaultLimits() {
+        Map<EndpointClass, Limit> limits = new EnumMap<>(EndpointClass.class);
+        limits.put(EndpointClass.UPLOAD, new Limit(2, 10, 20L << 20, 200L << 20));
+        limits.put(EndpointClass.DOWNLOAD, new Limit(10, 50, 50L << 20, 500L << 20));
+        limits.put(EndpointClass.SEARCH, new Limit(5, 20, 0, 0));
+        limits.put(EndpointClass.AUTH, new Limit(1, 10, 0, 0));
+        limits.put(EndpointClass.DEFAULT, new Limit(20, 100, 0, 0));
+        return limits;
+    }
+}
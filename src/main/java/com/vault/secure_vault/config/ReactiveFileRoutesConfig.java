@@ -0,0 +1,64 @@
+package com.vault.secure_vault.config;
+
+import com.vault.secure_vault.controller.ReactiveFileHandler;
+import org.springframework.boot.web.servlet.ServletRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.server.reactive.HttpHandler;
+import org.springframework.http.server.reactive.ServletHttpHandlerAdapter;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+
+/**
+ * Mounts the streaming file endpoints ({@link ReactiveFileHandler}) next to the MVC API.
+ *
+ * <p>The application stays a servlet application: the functional routes are adapted to a
+ * plain servlet with {@link ServletHttpHandlerAdapter}, which uses Servlet async I/O, so the
+ * usual filter chain (JWT authentication, rate limiting) still runs in front of them.</p>
+ */
+@Configuration
+public class ReactiveFileRoutesConfig {
+
+    public static final String BASE_PATH = "/api/v2/files";
+
+    /**
+     * Registers the streaming endpoints under {@value #BASE_PATH}. Routes are relative to it.
+     */
+    @Bean
+    public ServletRegistrationBean<ServletHttpHandlerAdapter> reactiveFileServlet(ReactiveFileHandler handler) {
+        RouterFunction<ServerResponse> routes = RouterFunctions.route()
+                .PUT("/content", handler::upload)
+                .GET("/{fileId}/content", handler::download)
+                .filter(handler::handleErrors)
+                .build();
+
+        ServletRegistrationBean<ServletHttpHandlerAdapter> registration = new ServletRegistrationBean<>(
+                new ServletHttpHandlerAdapter(withServletAuthentication(RouterFunctions.toHttpHandler(routes))),
+                BASE_PATH + "/*"
+        );
+        registration.setName("reactiveFileServlet");
+        registration.setAsyncSupported(true);
+        registration.setLoadOnStartup(1);
+        return registration;
+    }
+
+    /**
+     * Hands the authentication established by the servlet filter chain to the reactive
+     * pipeline. The adapter invokes the handler on the request thread, where the
+     * thread-local context is still populated.
+     */
+    private static HttpHandler withServletAuthentication(HttpHandler delegate) {
+        return (request, response) -> {
+            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+            Mono<Void> handled = delegate.handle(request, response);
+            return authentication == null
+                    ? handled
+                    : handled.contextWrite(ReactiveSecurityContextHolder.withAuthentication(authentication));
+        };
+    }
+}
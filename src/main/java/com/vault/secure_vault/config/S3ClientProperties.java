@@ -0,0 +1,75 @@
+package com.vault.secure_vault.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+import java.net.URI;
+import java.time.Duration;
+
+/**
+ * Configuration properties for the S3 clients.
+ * <p>
+ * Binds values from application properties with prefix {@code aws.s3.client}.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "aws.s3.client")
+@Getter
+@Setter
+public class S3ClientProperties {
+
+    /**
+     * Use the AWS CRT based async client (native multipart, parallel ranged GETs).
+     * When off, a Netty based async client with SDK multipart support is used.
+     */
+    private boolean crtEnabled = true;
+
+    /**
+     * Maximum concurrent requests (and therefore connections) of the async client.
+     */
+    private int maxConcurrency = 64;
+
+    /**
+     * Throughput the CRT client sizes its connection count for, in gigabits per second.
+     */
+    private double targetThroughputGbps = 10.0;
+
+    /**
+     * Part size for multipart uploads and ranged downloads.
+     */
+    private DataSize minimumPartSize = DataSize.ofMegabytes(8);
+
+    /**
+     * Objects at least this large are uploaded in parts.
+     */
+    private DataSize multipartThreshold = DataSize.ofMegabytes(16);
+
+    /**
+     * Connection pool size of the synchronous client (listing, deletes).
+     */
+    private int maxConnections = 50;
+
+    /**
+     * How long a request waits for a pooled connection before failing.
+     */
+    private Duration connectionAcquisitionTimeout = Duration.ofSeconds(10);
+
+    /**
+     * TCP connect timeout.
+     */
+    private Duration connectionTimeout = Duration.ofSeconds(5);
+
+    /**
+     * Alternative endpoint, e.g. {@code http://localhost:9000} for a local
+     * S3-compatible server. Unset means the regional AWS endpoint.
+     */
+    private URI endpointOverride;
+
+    /**
+     * Address buckets as {@code endpoint/bucket} instead of {@code bucket.endpoint};
+     * most local S3-compatible servers need this.
+     */
+    private boolean forcePathStyle = false;
+}
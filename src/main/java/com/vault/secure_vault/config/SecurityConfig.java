@@ -1,6 +1,8 @@
 package com.vault.secure_vault.config;
 
 import com.vault.secure_vault.security.JwtAuthenticationFilter;
+import com.vault.secure_vault.security.RateLimitFilter;
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -28,6 +30,8 @@ import java.util.List;
 public class SecurityConfig {
 
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
+    private final RateLimitFilter rateLimitFilter;
+    private final PasswordHashingProperties passwordHashingProperties;
 
     /**
      * Main security filter chain configuration.
@@ -41,12 +45,14 @@ public class SecurityConfig {
                         session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
 
                 .authorizeHttpRequests(auth->
-                        auth.requestMatchers(
+                        auth.dispatcherTypeMatchers(DispatcherType.ASYNC, DispatcherType.ERROR).permitAll()
+                                .requestMatchers(
                                         "/api/auth/login",
                                         "/api/auth/refresh",
                                         "/api/auth/forgot-password",
                                         "/api/auth/reset-password",
-                                        "/api/users/register"
+                                        "/api/users/register",
+                                        "/.well-known/jwks.json"
                                 ).permitAll()
                                 .requestMatchers(
                                         "/v3/api-docs/**",
@@ -55,7 +61,9 @@ public class SecurityConfig {
                                 ).permitAll()
                                 .anyRequest().authenticated()
                 )
-                .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
+                .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class)
+                // after JWT so clients are keyed by user, not only by IP
+                .addFilterAfter(rateLimitFilter, JwtAuthenticationFilter.class);
 
         return http.build();
     }
@@ -83,10 +91,11 @@ public class SecurityConfig {
 
     /**
      * Password encoder used for hashing user passwords.
+     * Calls should run on {@code PasswordHashingExecutor}, not on request threads.
      */
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        return new BCryptPasswordEncoder(passwordHashingProperties.getBcryptStrength());
     }
 
     /**
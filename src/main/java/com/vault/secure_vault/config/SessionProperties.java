@@ -0,0 +1,31 @@
+package com.vault.secure_vault.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for refresh sessions.
+ * <p>
+ * Binds values from application properties with prefix {@code app.sessions}.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "app.sessions")
+@Getter
+@Setter
+public class SessionProperties {
+
+    /**
+     * Lifetime of a refresh token. Each rotation extends the session by this much.
+     */
+    private Duration refreshTokenTtl = Duration.ofDays(7);
+
+    /**
+     * A just-rotated token presented again within this window is rejected without
+     * revoking the session (concurrent refreshes from one client, retried requests).
+     */
+    private Duration rotationGracePeriod = Duration.ofSeconds(10);
+}
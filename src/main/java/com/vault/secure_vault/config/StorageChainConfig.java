@@ -0,0 +1,83 @@
+package com.vault.secure_vault.config;
+
+import com.vault.secure_vault.repository.FileMetadataRepository;
+import com.vault.secure_vault.storage.BlockingReactiveFileStorageService;
+import com.vault.secure_vault.storage.FileStorageService;
+import com.vault.secure_vault.storage.ReactiveFileStorageService;
+import com.vault.secure_vault.storage.crypto.DataKeyService;
+import com.vault.secure_vault.storage.crypto.EncryptingFileStorageService;
+import com.vault.secure_vault.storage.pack.PackRoutingFileStorageService;
+import com.vault.secure_vault.storage.pack.PackStore;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+
+/**
+ * Assembles the {@link FileStorageService} the application talks to.
+ * <p>
+ * Several backend beans can be active at once (the tiered backend needs both the local
+ * and the S3 one), so the base is picked explicitly by {@code storage.provider} and
+ * optional layers are stacked on top of it. The result is the primary bean; the
+ * individual backends stay injectable by name.
+ */
+@Configuration
+public class StorageChainConfig {
+
+    @Bean
+    @Primary
+    FileStorageService fileStorageService(
+            BeanFactory beanFactory,
+            Environment environment,
+            PackProperties packProperties,
+            ObjectProvider<PackStore> packStore,
+            EncryptionProperties encryptionProperties,
+            ObjectProvider<DataKeyService> dataKeyService,
+            ObjectProvider<FileMetadataRepository> fileRepository
+    ) {
+        FileStorageService storage = beanFactory.getBean(baseBeanName(environment), FileStorageService.class);
+
+        if (packProperties.isEnabled()) {
+            storage = new PackRoutingFileStorageService(
+                    storage,
+                    packStore.getObject(),
+                    packProperties.getThreshold().toBytes()
+            );
+        }
+
+        // outermost, so every layer below (packs included) only ever sees ciphertext
+        if (encryptionProperties.isEnabled()) {
+            storage = new EncryptingFileStorageService(
+                    storage,
+                    dataKeyService.getObject(),
+                    Math.toIntExact(encryptionProperties.getChunkSize().toBytes()),
+                    storedPath -> fileRepository.getObject().existsByStoredFilenameAndEncryptedTrue(storedPath)
+            );
+        }
+        return storage;
+    }
+
+    /**
+     * The erasure-coded backend has no non-blocking client, and the native reactive
+     * backends would bypass encryption; in both cases the streaming endpoints go through
+     * the blocking chain instead.
+     */
+    @Bean
+    @Primary
+    @ConditionalOnExpression("'${storage.provider:}' == 'erasure' or '${app.encryption.enabled:false}' == 'true'")
+    ReactiveFileStorageService reactiveFileStorageService(FileStorageService fileStorageService) {
+        return new BlockingReactiveFileStorageService(fileStorageService);
+    }
+
+    private static String baseBeanName(Environment environment) {
+        return switch (environment.getProperty("storage.provider", "local")) {
+            case "tiered" -> "tieredFileStorageService";
+            case "s3" -> "s3StorageService";
+            case "erasure" -> "erasureCodedFileStorageService";
+            default -> "localFileStorageService";
+        };
+    }
+}
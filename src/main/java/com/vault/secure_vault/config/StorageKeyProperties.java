@@ -0,0 +1,53 @@
+package com.vault.secure_vault.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for the blob key layout.
+ * <p>
+ * Binds values from application properties with prefix {@code app.storage-keys}.
+ * The migration schedule is controlled by {@code app.storage-keys.migration-interval}.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "app.storage-keys")
+@Getter
+@Setter
+public class StorageKeyProperties {
+
+    /**
+     * Store new blobs under hash-prefixed keys instead of {@code ownerEmail/uuid_filename}.
+     */
+    private boolean hashedLayout = true;
+
+    /**
+     * Move legacy blobs to hashed keys when they are downloaded.
+     */
+    private boolean lazyMigration = true;
+
+    /**
+     * Additionally migrate legacy blobs that nobody downloads, a batch per run.
+     */
+    private boolean sweepEnabled = false;
+
+    /**
+     * Maximum number of blobs migrated per run (queued and swept each).
+     */
+    private int batchSize = 100;
+
+    /**
+     * Upper bound on blobs waiting for lazy migration; further ones are picked up on a
+     * later access.
+     */
+    private int maxQueued = 10_000;
+
+    /**
+     * How long the old key is kept after the metadata switched to the new one, so
+     * downloads that already read the old key can finish.
+     */
+    private Duration oldKeyRetention = Duration.ofMinutes(2);
+}
@@ -0,0 +1,51 @@
+package com.vault.secure_vault.config;
+
+import com.vault.secure_vault.storage.DelegatingFileStorageService;
+import com.vault.secure_vault.storage.FileStorageService;
+import com.vault.secure_vault.storage.ResilientFileStorageService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+/**
+ * Wraps every {@link FileStorageService} bean in a {@link ResilientFileStorageService}.
+ * <p>
+ * Each backend gets its own bulkheads and circuit breaker, named after its bean, so a
+ * brownout of one provider never sheds calls to another. Composite backends
+ * ({@link DelegatingFileStorageService}) are left alone; their parts are wrapped.
+ */
+@Configuration
+public class StorageResilienceConfig {
+
+    @Bean
+    static BeanPostProcessor resilientStorageBeanPostProcessor(
+            ObjectProvider<StorageResilienceProperties> properties,
+            ObjectProvider<MeterRegistry> meterRegistry,
+            Environment environment
+    ) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof FileStorageService storage)
+                        || bean instanceof ResilientFileStorageService
+                        || bean instanceof DelegatingFileStorageService) {
+                    return bean;
+                }
+                StorageResilienceProperties resilience = properties.getObject();
+                if (!resilience.isEnabled()) {
+                    return bean;
+                }
+                return new ResilientFileStorageService(
+                        storage,
+                        beanName,
+                        resilience,
+                        meterRegistry.getObject(),
+                        environment.getProperty("spring.threads.virtual.enabled", Boolean.class, false)
+                );
+            }
+        };
+    }
+}
@@ -0,0 +1,109 @@
+package com.vault.secure_vault.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for the bulkhead, circuit breaker and timeouts wrapped
+ * around the storage backend.
+ * <p>
+ * Binds values from application properties with prefix {@code app.storage-resilience}.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "app.storage-resilience")
+@Getter
+@Setter
+public class StorageResilienceProperties {
+
+    /**
+     * Turns the protection on or off.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Maximum concurrent uploads per backend.
+     */
+    private int maxConcurrentUploads = 32;
+
+    /**
+     * Maximum concurrent downloads per backend (until the response stream is open).
+     */
+    private int maxConcurrentDownloads = 64;
+
+    /**
+     * Maximum concurrent deletes per backend.
+     */
+    private int maxConcurrentDeletes = 16;
+
+    /**
+     * How long a call waits for a bulkhead slot before being rejected.
+     */
+    private Duration maxWait = Duration.ofMillis(100);
+
+    /**
+     * Failure ratio of recent calls that opens the circuit.
+     */
+    private double failureRateThreshold = 0.5;
+
+    /**
+     * Number of recent calls the failure ratio is computed over.
+     */
+    private int slidingWindowSize = 50;
+
+    /**
+     * Calls needed before the failure ratio is evaluated.
+     */
+    private int minimumCalls = 20;
+
+    /**
+     * How long the circuit stays open before probing.
+     */
+    private Duration openDuration = Duration.ofSeconds(30);
+
+    /**
+     * Probe calls let through (and required to succeed) while half open.
+     */
+    private int halfOpenProbes = 3;
+
+    /**
+     * Timeout used until enough latencies have been observed.
+     */
+    private Duration initialTimeout = Duration.ofSeconds(30);
+
+    /**
+     * Lower bound of the adaptive timeout.
+     */
+    private Duration minTimeout = Duration.ofSeconds(2);
+
+    /**
+     * Upper bound of the adaptive timeout.
+     */
+    private Duration maxTimeout = Duration.ofSeconds(60);
+
+    /**
+     * Latency percentile the timeout is based on.
+     */
+    private double timeoutPercentile = 0.99;
+
+    /**
+     * Head room applied to the percentile.
+     */
+    private double timeoutMultiplier = 3.0;
+
+    /**
+     * Uploads additionally get the time needed at this rate, so large files are not cut
+     * off by a timeout learned from small ones.
+     */
+    private DataSize minUploadThroughputPerSecond = DataSize.ofMegabytes(1);
+
+    /**
+     * Longest a single read of a download body may block before the download is aborted.
+     * The download keeps its bulkhead slot until its body is closed.
+     */
+    private Duration readTimeout = Duration.ofSeconds(30);
+}
@@ -0,0 +1,55 @@
+package com.vault.secure_vault.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for hot/cold tiered storage.
+ * <p>
+ * Binds values from application properties with prefix {@code app.tiering}.
+ * Only used with {@code storage.provider=tiered}. The schedules are controlled by
+ * {@code app.tiering.flush-interval} and {@code app.tiering.migration-interval}.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "app.tiering")
+@Getter
+@Setter
+public class TieringProperties {
+
+    /**
+     * Turns the background migrator on or off. Reads and writes are tiered either way.
+     */
+    private boolean migrationEnabled = true;
+
+    /**
+     * Blobs not downloaded for this long are demoted to the cold tier.
+     */
+    private Duration coldAfter = Duration.ofDays(30);
+
+    /**
+     * Cold blobs downloaded at least this many times within one migration interval
+     * are promoted back to the hot tier.
+     */
+    private int promoteAfterAccesses = 3;
+
+    /**
+     * Maximum number of blobs moved in each direction per migration run.
+     */
+    private int batchSize = 100;
+
+    /**
+     * Bandwidth the migrator may use, so it does not compete with foreground transfers.
+     */
+    private DataSize maxBytesPerSecond = DataSize.ofMegabytes(20);
+
+    /**
+     * Upper bound on distinct blobs with in-memory access counters; accesses to further
+     * blobs are not counted until the next flush.
+     */
+    private int maxTrackedBlobs = 100_000;
+}
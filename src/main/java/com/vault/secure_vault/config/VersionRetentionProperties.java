@@ -0,0 +1,40 @@
+package com.vault.secure_vault.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration properties for version retention and background compaction.
+ * <p>
+ * Binds values from application properties with prefix {@code app.version-retention}.
+ * The global rules apply to every user without a personal override. The schedule
+ * is controlled by {@code app.version-retention.interval}.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "app.version-retention")
+@Getter
+@Setter
+public class VersionRetentionProperties {
+
+    /**
+     * Turns the compactor on or off.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Global rule: keep the N most recent versions. 0 disables the rule.
+     */
+    private int keepLastVersions = 0;
+
+    /**
+     * Global rule: keep one version per day for this many days. 0 disables the rule.
+     */
+    private int keepDailyForDays = 0;
+
+    /**
+     * Number of versions pruned per bulk operation.
+     */
+    private int batchSize = 1000;
+}
@@ -7,14 +7,16 @@ import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.jetbrains.annotations.NotNull;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
-import org.springframework.web.bind.annotation.PostMapping;
-import org.springframework.web.bind.annotation.RequestBody;
-import org.springframework.web.bind.annotation.RequestMapping;
-import org.springframework.web.bind.annotation.RestController;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
 
 /**
  * Handles all authentication related operations such as:
@@ -42,9 +44,14 @@ public class AuthController {
     )
     @PostMapping("/login")
     public ResponseEntity<@NotNull AuthResponseDTO> login(
-            @Valid @RequestBody UserLoginRequestDTO LoginRequestDTO
+            @Valid @RequestBody UserLoginRequestDTO LoginRequestDTO,
+            HttpServletRequest request
     ){
-        AuthResult result = authService.login(LoginRequestDTO);
+        AuthResult result = authService.login(
+                LoginRequestDTO,
+                request.getRemoteAddr(),
+                request.getHeader(HttpHeaders.USER_AGENT)
+        );
         return ResponseEntity.ok(mapToAuthResponse(result));
     }
 
@@ -74,8 +81,9 @@ public class AuthController {
      */
     @Operation(
             summary = "Refresh token",
-            description = "Generates a new access token using refresh token"
+            description = "Generates a new access token using refresh token. The refresh token is rotated."
     )
+    @PostMapping("/refresh")
     public ResponseEntity<@NotNull AuthResponseDTO> refresh(
             @Valid @RequestBody RefreshTokenRequestDTO requestDTO
     ){
@@ -128,10 +136,52 @@ public class AuthController {
     }
 
 
+    /**
+     * Lists the devices currently signed in to the account.
+     *
+     * @return active sessions, newest first
+     */
+    @Operation(
+            summary = "List sessions",
+            description = "Returns the active device sessions of the logged-in user"
+    )
+    @GetMapping("/sessions")
+    public ResponseEntity<List<SessionResponseDTO>> sessions(Authentication authentication) {
+        List<SessionResponseDTO> sessions = authService.listSessions(authentication.getName())
+                .stream()
+                .map(session -> SessionResponseDTO.builder()
+                        .id(session.getId())
+                        .deviceName(session.getDeviceName())
+                        .createdAt(session.getCreatedAt())
+                        .lastRefreshedAt(session.getRotatedAt())
+                        .expiresAt(session.getExpiryDate())
+                        .build())
+                .toList();
+        return ResponseEntity.ok(sessions);
+    }
+
+    /**
+     * Signs out one device.
+     *
+     * @param sessionId session to revoke
+     */
+    @Operation(
+            summary = "Revoke session",
+            description = "Revokes one device session of the logged-in user"
+    )
+    @DeleteMapping("/sessions/{sessionId}")
+    public ResponseEntity<@NotNull Void> revokeSession(
+            @PathVariable String sessionId,
+            Authentication authentication
+    ) {
+        authService.revokeSession(authentication.getName(), sessionId);
+        return ResponseEntity.noContent().build();
+    }
+
     private AuthResponseDTO mapToAuthResponse(AuthResult result) {
         return AuthResponseDTO.builder()
                 .accessToken(result.accessToken())
-                .refreshToken(result.refreshToken().getToken())
+                .refreshToken(result.refreshToken())
                 .tokenType("Bearer")
                 .expiresIn(result.expiration())
                 .build();
@@ -1,10 +1,17 @@
 package com.vault.secure_vault.controller;
 
 import com.vault.secure_vault.config.OpenApiConfig;
+import com.vault.secure_vault.dto.File.ChangeFeedResponseDTO;
+import com.vault.secure_vault.dto.File.FileChangeDTO;
 import com.vault.secure_vault.dto.File.FileRestoreResponseDTO;
+import com.vault.secure_vault.dto.File.FileSearchResponseDTO;
 import com.vault.secure_vault.dto.File.FileUploadResponseDTO;
 import com.vault.secure_vault.dto.File.FileVersionResponseDTO;
+import com.vault.secure_vault.model.FileChange;
 import com.vault.secure_vault.model.FileMetadata;
+import com.vault.secure_vault.search.ContentIndexService;
+import com.vault.secure_vault.service.ChangeFeedService;
+import com.vault.secure_vault.service.FileSearchService;
 import com.vault.secure_vault.service.FileService;
 import com.vault.secure_vault.util.FileDownloadData;
 import io.swagger.v3.oas.annotations.Operation;
@@ -14,10 +21,13 @@ import lombok.RequiredArgsConstructor;
 import org.jetbrains.annotations.NotNull;
 import org.springframework.core.io.InputStreamResource;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
 import org.springframework.web.multipart.MultipartFile;
 import java.io.IOException;
 import java.time.Instant;
@@ -38,15 +48,19 @@ import java.util.List;
 public class FileController {
 
     private final FileService fileService;
+    private final FileSearchService fileSearchService;
+    private final ContentIndexService contentIndexService;
+    private final ChangeFeedService changeFeedService;
 
 
     @PostMapping(value = "/upload", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
     public ResponseEntity<@NotNull FileMetadata> fileUpload(
             @RequestParam("file") MultipartFile file,
+            @RequestParam(value = "folder", required = false) String folder,
             Authentication authentication
     ) throws IOException {
 
-        return ResponseEntity.ok(fileService.uploadFile(file, authentication.getName()));
+        return ResponseEntity.ok(fileService.uploadFile(file, authentication.getName(), folder));
     }
 
 
@@ -71,23 +85,140 @@ public class FileController {
         return ResponseEntity.ok(files);
     }
 
+    /**
+     * Searches the user's latest files by partial filename.
+     *
+     * @param query partial filename (at least 3 characters)
+     * @param cursor cursor from the previous page
+     * @param size page size
+     * @param authentication authenticated user context
+     * @return one page of matching files
+     */
+    @Operation(
+            summary = "Search files",
+            description = "Searches the logged-in user's files by partial filename"
+    )
+    @GetMapping("/search")
+    public ResponseEntity<@NotNull FileSearchResponseDTO> searchFiles(
+            @RequestParam("q") String query,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", defaultValue = "20") int size,
+            Authentication authentication
+    ) {
+        FileSearchService.SearchPage page =
+                fileSearchService.search(authentication.getName(), query, cursor, size);
+
+        FileSearchResponseDTO response = FileSearchResponseDTO.builder()
+                .files(page.files().stream().map(this::mapToUploadResponse).toList())
+                .nextCursor(page.nextCursor())
+                .build();
+
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Searches inside the user's latest text, CSV, JSON and PDF files.
+     *
+     * @param query words that must all appear in the document
+     * @param page zero based page index
+     * @param size page size
+     * @param authentication authenticated user context
+     * @return one page of matching files
+     */
+    @Operation(
+            summary = "Search file contents",
+            description = "Full-text search over the logged-in user's indexed documents"
+    )
+    @GetMapping("/search/content")
+    public ResponseEntity<@NotNull FileSearchResponseDTO> searchFileContents(
+            @RequestParam("q") String query,
+            @RequestParam(value = "page", defaultValue = "0") int page,
+            @RequestParam(value = "size", defaultValue = "20") int size,
+            Authentication authentication
+    ) {
+        ContentIndexService.SearchPage result =
+                contentIndexService.search(authentication.getName(), query, page, size);
+
+        FileSearchResponseDTO response = FileSearchResponseDTO.builder()
+                .files(result.files().stream().map(this::mapToUploadResponse).toList())
+                .nextCursor(result.hasMore() ? String.valueOf(page + 1) : null)
+                .build();
+
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Returns file changes after a cursor for delta sync.
+     *
+     * @param since last sequence the client has seen (0 for the beginning)
+     * @param limit maximum number of changes
+     * @param wait seconds to hold the request open when nothing changed (long poll)
+     * @param authentication authenticated user context
+     * @return one page of changes
+     */
+    @Operation(
+            summary = "Get file changes",
+            description = "Returns changes after a cursor. Use wait > 0 to long poll."
+    )
+    @GetMapping("/changes")
+    public DeferredResult<ChangeFeedResponseDTO> getChanges(
+            @RequestParam(value = "since", defaultValue = "0") long since,
+            @RequestParam(value = "limit", defaultValue = "100") int limit,
+            @RequestParam(value = "wait", defaultValue = "0") long wait,
+            Authentication authentication
+    ) {
+        return changeFeedService.poll(
+                authentication.getName(),
+                since,
+                limit,
+                wait,
+                this::mapToChangeFeedResponse
+        );
+    }
+
     /**
      * Downloads a file by fileId.
+     * <p>
+     * A single {@code Range: bytes=...} header returns 206 with just that part of the file;
+     * multiple or malformed ranges are ignored and the whole file is returned.
      *
      * @param fileId file identifier
+     * @param range optional HTTP Range header
      * @param authentication authenticated user context
      * @return file as stream
      */
     @Operation(
             summary = "Download file",
-            description = "Downloads a file by fileId for the logged-in user"
+            description = "Downloads a file by fileId for the logged-in user. Supports a single byte range."
     )
     @GetMapping("/{fileId}/download")
     public ResponseEntity<InputStreamResource> downloadFile(
             @PathVariable @NotNull String fileId,
+            @RequestHeader(value = HttpHeaders.RANGE, required = false) String range,
             Authentication authentication
     ) throws IOException {
 
+        List<HttpRange> ranges = parseRanges(range);
+        if (ranges.size() == 1) {
+            FileService.RangeDownload part =
+                    fileService.downloadFileRange(fileId, authentication.getName(), ranges.getFirst());
+            FileDownloadData data = part.data();
+
+            return ResponseEntity.status(HttpStatus.PARTIAL_CONTENT)
+                    .header(
+                            HttpHeaders.CONTENT_DISPOSITION,
+                            "attachment; filename=\"" + data.originalFilename() + "\""
+                    )
+                    .header(HttpHeaders.ACCEPT_RANGES, "bytes")
+                    .header(
+                            HttpHeaders.CONTENT_RANGE,
+                            "bytes " + part.start() + "-" + part.end() + "/" + part.totalSize()
+                    )
+                    .contentLength(part.end() - part.start() + 1)
+                    .contentType(MediaType.parseMediaType(data.contentType()))
+                    .body(new InputStreamResource(data.inputStream()));
+        }
+
         FileDownloadData data =
                 fileService.downloadFile(fileId, authentication.getName());
 
@@ -95,10 +226,23 @@ public class FileController {
                         HttpHeaders.CONTENT_DISPOSITION,
                         "attachment; filename=\"" + data.originalFilename() + "\""
                 )
+                .header(HttpHeaders.ACCEPT_RANGES, "bytes")
                 .contentType(MediaType.parseMediaType(data.contentType()))
                 .body(new InputStreamResource(data.inputStream()));
     }
 
+    private static List<HttpRange> parseRanges(String range) {
+        if (range == null || range.isBlank()) {
+            return List.of();
+        }
+        try {
+            return HttpRange.parseRanges(range);
+        } catch (IllegalArgumentException e) {
+            // RFC 9110: an invalid Range header is ignored
+            return List.of();
+        }
+    }
+
     /**
      * Soft deletes a file (marks as deleted in DB).
      * Physical file is NOT removed.
@@ -183,12 +327,36 @@ public class FileController {
         return FileUploadResponseDTO.builder()
                 .fileId(file.getId())
                 .fileName(file.getOriginalFilename())
+                .folderPath(file.getFolderPath())
                 .contentType(file.getContentType())
                 .size(file.getSize())
                 .updatedAt(file.getCreatedAt())
                 .build();
     }
 
+    private ChangeFeedResponseDTO mapToChangeFeedResponse(ChangeFeedService.ChangesPage page) {
+        return ChangeFeedResponseDTO.builder()
+                .changes(page.changes().stream().map(this::mapToChangeResponse).toList())
+                .nextCursor(page.nextCursor())
+                .hasMore(page.hasMore())
+                .resyncRequired(page.resyncRequired())
+                .build();
+    }
+
+    private FileChangeDTO mapToChangeResponse(FileChange change) {
+        return FileChangeDTO.builder()
+                .sequence(change.getSequence())
+                .type(change.getType())
+                .fileId(change.getFileId())
+                .fileName(change.getFileName())
+                .folderPath(change.getFolderPath())
+                .previousPath(change.getPreviousPath())
+                .version(change.getVersion())
+                .size(change.getSize())
+                .changedAt(change.getCreatedAt())
+                .build();
+    }
+
     private FileVersionResponseDTO mapToVersionResponse(FileMetadata file) {
         return FileVersionResponseDTO.builder()
                 .fileId(file.getId())
@@ -0,0 +1,149 @@
+package com.vault.secure_vault.controller;
+
+import com.vault.secure_vault.dto.File.FileUploadResponseDTO;
+import com.vault.secure_vault.dto.Folder.CreateFolderRequestDTO;
+import com.vault.secure_vault.dto.Folder.FolderContentsResponseDTO;
+import com.vault.secure_vault.dto.Folder.FolderResponseDTO;
+import com.vault.secure_vault.dto.Folder.MoveFolderRequestDTO;
+import com.vault.secure_vault.model.FileMetadata;
+import com.vault.secure_vault.model.Folder;
+import com.vault.secure_vault.service.FolderService;
+import com.vault.secure_vault.util.FolderPaths;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Handles folder related operations:
+ * - Creating folders
+ * - Paginated listing of a single folder
+ * - Moving / renaming a folder subtree
+ */
+@Tag(name = "Folders", description = "Folder management APIs")
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/folders")
+public class FolderController {
+
+    private final FolderService folderService;
+
+    /**
+     * Creates a folder (and any missing parents).
+     *
+     * @param request folder path
+     * @param authentication authenticated user context
+     * @return created folder
+     */
+    @Operation(
+            summary = "Create folder",
+            description = "Creates a folder for the logged-in user. Missing parents are created."
+    )
+    @PostMapping
+    public ResponseEntity<@NotNull FolderResponseDTO> createFolder(
+            @Valid @RequestBody CreateFolderRequestDTO request,
+            Authentication authentication
+    ) {
+        Folder folder = folderService.createFolder(authentication.getName(), request.path());
+        return ResponseEntity
+                .status(HttpStatus.CREATED)
+                .body(mapToFolderResponse(folder));
+    }
+
+    /**
+     * Lists one page of a folder's direct subfolders and latest files.
+     *
+     * @param path folder path, root when omitted
+     * @param page zero based page index
+     * @param size page size
+     * @param authentication authenticated user context
+     * @return folder contents
+     */
+    @Operation(
+            summary = "List folder contents",
+            description = "Returns one page of subfolders and latest files inside a folder"
+    )
+    @GetMapping("/contents")
+    public ResponseEntity<@NotNull FolderContentsResponseDTO> listContents(
+            @RequestParam(value = "path", required = false) String path,
+            @RequestParam(value = "page", defaultValue = "0") int page,
+            @RequestParam(value = "size", defaultValue = "50") int size,
+            Authentication authentication
+    ) {
+        String folderPath = FolderPaths.normalize(path);
+        String owner = authentication.getName();
+
+        if (!FolderPaths.ROOT.equals(folderPath)) {
+            folderService.getFolder(owner, folderPath);
+        }
+
+        Slice<Folder> folders = folderService.listSubfolders(owner, folderPath, page, size);
+        Slice<FileMetadata> files = folderService.listFiles(owner, folderPath, page, size);
+
+        FolderContentsResponseDTO response = FolderContentsResponseDTO.builder()
+                .path(folderPath)
+                .page(page)
+                .size(files.getSize())
+                .folders(folders.map(this::mapToFolderResponse).getContent())
+                .hasMoreFolders(folders.hasNext())
+                .files(files.map(this::mapToFileResponse).getContent())
+                .hasMoreFiles(files.hasNext())
+                .build();
+
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Moves or renames a folder together with everything inside it.
+     *
+     * @param request source and target paths
+     * @param authentication authenticated user context
+     * @return moved folder
+     */
+    @Operation(
+            summary = "Move / rename folder",
+            description = "Moves a folder subtree to a new path in bulk"
+    )
+    @PostMapping("/move")
+    public ResponseEntity<@NotNull FolderResponseDTO> moveFolder(
+            @Valid @RequestBody MoveFolderRequestDTO request,
+            Authentication authentication
+    ) {
+        Folder folder = folderService.moveFolder(
+                authentication.getName(),
+                request.sourcePath(),
+                request.targetPath()
+        );
+        return ResponseEntity.ok(mapToFolderResponse(folder));
+    }
+
+
+
+
+    private FolderResponseDTO mapToFolderResponse(Folder folder) {
+        return FolderResponseDTO.builder()
+                .path(folder.getPath())
+                .name(folder.getName())
+                .size(folder.getSize())
+                .fileCount(folder.getFileCount())
+                .createdAt(folder.getCreatedAt())
+                .build();
+    }
+
+    private FileUploadResponseDTO mapToFileResponse(FileMetadata file) {
+        return FileUploadResponseDTO.builder()
+                .fileId(file.getId())
+                .fileName(file.getOriginalFilename())
+                .folderPath(file.getFolderPath())
+                .contentType(file.getContentType())
+                .size(file.getSize())
+                .updatedAt(file.getCreatedAt())
+                .build();
+    }
+}
@@ -0,0 +1,64 @@
+package com.vault.secure_vault.controller;
+
+import com.vault.secure_vault.security.JwtKeyRing;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Publishes the public keys verifying access tokens as a JSON Web Key Set (RFC 7517),
+ * so other services and edge nodes can verify tokens without calling the vault.
+ */
+@Tag(name = "Auth", description = "Authentication APIs")
+@RestController
+@RequiredArgsConstructor
+public class JwksController {
+
+    /**
+     * Raw Ed25519 public keys are the last 32 bytes of their X.509 encoding.
+     */
+    private static final int ED25519_KEY_LENGTH = 32;
+
+    private final JwtKeyRing keyRing;
+
+    @Operation(
+            summary = "JSON Web Key Set",
+            description = "Returns the public keys currently accepted for access token verification"
+    )
+    @GetMapping("/.well-known/jwks.json")
+    public ResponseEntity<Map<String, Object>> jwks() {
+        List<Map<String, String>> keys = keyRing.verificationKeys().stream()
+                .map(JwksController::toJwk)
+                .toList();
+
+        // Short max-age: verifiers must pick up a rotated key well within the overlap window
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(Duration.ofMinutes(5)).cachePublic())
+                .body(Map.of("keys", keys));
+    }
+
+    private static Map<String, String> toJwk(JwtKeyRing.SigningKey key) {
+        byte[] encoded = key.publicKey().getEncoded();
+        byte[] raw = Arrays.copyOfRange(encoded, encoded.length - ED25519_KEY_LENGTH, encoded.length);
+
+        Map<String, String> jwk = new LinkedHashMap<>();
+        jwk.put("kty", "OKP");
+        jwk.put("crv", "Ed25519");
+        jwk.put("kid", key.kid());
+        jwk.put("use", "sig");
+        jwk.put("alg", "EdDSA");
+        jwk.put("x", Base64.getUrlEncoder().withoutPadding().encodeToString(raw));
+        return jwk;
+    }
+}
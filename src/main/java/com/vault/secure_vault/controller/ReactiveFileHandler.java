@@ -0,0 +1,228 @@
+package com.vault.secure_vault.controller;
+
+import com.vault.secure_vault.dto.Error.ErrorResponse;
+import com.vault.secure_vault.dto.File.FileUploadResponseDTO;
+import com.vault.secure_vault.exceptions.ApiResponse;
+import com.vault.secure_vault.exceptions.FileExceptions.FileTooLargeException;
+import com.vault.secure_vault.exceptions.FileExceptions.FolderNotFoundException;
+import com.vault.secure_vault.exceptions.FileExceptions.InvalidFileTypeExceptions;
+import com.vault.secure_vault.exceptions.FileExceptions.StorageLimitExceededException;
+import com.vault.secure_vault.exceptions.FileExceptions.StorageUnavailableException;
+import com.vault.secure_vault.model.FileMetadata;
+import com.vault.secure_vault.model.StorageTier;
+import com.vault.secure_vault.service.FileService;
+import com.vault.secure_vault.storage.ReactiveFileStorageService;
+import com.vault.secure_vault.storage.pack.PackStore;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.AuthenticationCredentialsNotFoundException;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.BodyInserters;
+import org.springframework.web.reactive.function.server.HandlerFunction;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import java.time.Instant;
+import java.util.concurrent.Callable;
+
+/**
+ * Streaming upload and download endpoints, served under {@code /api/v2/files}.
+ *
+ * <p>Content flows between the HTTP exchange and {@link ReactiveFileStorageService}
+ * chunk by chunk, so a transfer holds neither a request thread nor the whole file.
+ * Validation and metadata bookkeeping are shared with {@link FileService}; those
+ * MongoDB calls are blocking and run on the bounded elastic scheduler.</p>
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ReactiveFileHandler {
+
+    private static final int STREAM_BUFFER_SIZE = 64 * 1024;
+
+    private final FileService fileService;
+    private final ReactiveFileStorageService storageService;
+    private final ObjectProvider<PackStore> packStore;
+
+    /**
+     * Uploads the raw request body as a new file (or new version).
+     * <p>
+     * {@code PUT /api/v2/files/content?name=report.pdf&folder=/docs}, with
+     * {@code Content-Type} and {@code Content-Length} describing the body.
+     */
+    public Mono<ServerResponse> upload(ServerRequest request) {
+        long contentLength = request.headers().contentLength().orElse(-1);
+        if (contentLength < 0) {
+            return Mono.error(new IllegalArgumentException("Content-Length header is required"));
+        }
+
+        String name = request.queryParam("name")
+                .orElseThrow(() -> new IllegalArgumentException("Query parameter 'name' is required"));
+        String folder = request.queryParam("folder").orElse(null);
+        String contentType = request.headers().contentType()
+                .map(MediaType::toString)
+                .orElse(MediaType.APPLICATION_OCTET_STREAM_VALUE);
+
+        return currentUser()
+                .flatMap(owner -> blocking(() ->
+                        fileService.prepareUpload(owner, name, contentType, contentLength, folder)))
+                .flatMap(plan -> storageService
+                        .upload(request.bodyToFlux(DataBuffer.class), plan.storedPath(), plan.contentType(), plan.size())
+                        .then(blocking(() -> fileService.commitUpload(plan)))
+                        // never leave content behind without metadata pointing to it
+                        .onErrorResume(e -> storageService.delete(plan.storedPath())
+                                .onErrorResume(cleanupError -> Mono.empty())
+                                .then(Mono.error(e))))
+                .flatMap(metadata -> ServerResponse.ok()
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .bodyValue(toUploadResponse(metadata)));
+    }
+
+    /**
+     * Streams the latest version of a file.
+     * <p>
+     * {@code GET /api/v2/files/{fileId}/content}
+     */
+    public Mono<ServerResponse> download(ServerRequest request) {
+        String fileId = request.pathVariable("fileId");
+
+        return currentUser()
+                .flatMap(owner -> blocking(() -> fileService.validateFileAccess(fileId, owner))
+                        .flatMap(file -> ServerResponse.ok()
+                                .contentType(file.getContentType() != null
+                                        ? MediaType.parseMediaType(file.getContentType())
+                                        : MediaType.APPLICATION_OCTET_STREAM)
+                                .contentLength(file.getSize())
+                                .header(
+                                        HttpHeaders.CONTENT_DISPOSITION,
+                                        "attachment; filename=\"" + file.getOriginalFilename() + "\""
+                                )
+                                .body(BodyInserters.fromDataBuffers(content(file, owner)))));
+    }
+
+    /**
+     * Streams a blob from the reactive backend. Blobs demoted to the cold tier or held in
+     * pack segments are not reachable through it and are read through {@link FileService}
+     * instead.
+     */
+    private Flux<DataBuffer> content(FileMetadata file, String owner) {
+        PackStore packs = packStore.getIfAvailable();
+        Mono<Boolean> readThroughFileService = file.getStorageTier() == StorageTier.COLD
+                ? Mono.just(true)
+                : packs == null
+                ? Mono.just(false)
+                : blocking(() -> packs.contains(file.getStoredFilename()));
+
+        return readThroughFileService.flatMapMany(viaFileService -> viaFileService
+                ? DataBufferUtils.readInputStream(
+                        () -> fileService.downloadFile(file.getId(), owner).inputStream(),
+                        DefaultDataBufferFactory.sharedInstance,
+                        STREAM_BUFFER_SIZE
+                ).subscribeOn(Schedulers.boundedElastic())
+                : storageService.download(file.getStoredFilename()));
+    }
+
+    /**
+     * Maps failures to the same status codes and {@link ApiResponse} body as
+     * {@link com.vault.secure_vault.exceptions.GlobalExceptionHandler}.
+     */
+    public Mono<ServerResponse> handleErrors(ServerRequest request, HandlerFunction<ServerResponse> next) {
+        return Mono.defer(() -> next.handle(request))
+                .onErrorResume(ex -> toErrorResponse(request, ex));
+    }
+
+    private Mono<ServerResponse> toErrorResponse(ServerRequest request, Throwable ex) {
+        if (ex instanceof StorageLimitExceededException) {
+            return error(request, HttpStatus.CONFLICT, "STORAGE_LIMIT_EXCEEDED", ex.getMessage());
+        }
+        if (ex instanceof FileTooLargeException) {
+            return error(request, HttpStatus.PAYLOAD_TOO_LARGE, "FILE_TOO_LARGE", ex.getMessage());
+        }
+        if (ex instanceof InvalidFileTypeExceptions) {
+            return error(request, HttpStatus.BAD_REQUEST, "INVALID_FILE_TYPE", ex.getMessage());
+        }
+        if (ex instanceof FolderNotFoundException) {
+            return error(request, HttpStatus.NOT_FOUND, "FOLDER_NOT_FOUND", ex.getMessage());
+        }
+        if (ex instanceof StorageUnavailableException unavailable) {
+            return error(request, HttpStatus.SERVICE_UNAVAILABLE, "STORAGE_UNAVAILABLE", ex.getMessage(),
+                    String.valueOf(Math.max(1, unavailable.getRetryAfterSeconds())));
+        }
+        if (ex instanceof AuthenticationCredentialsNotFoundException) {
+            return error(request, HttpStatus.UNAUTHORIZED, "AUTHENTICATION_FAILED", ex.getMessage());
+        }
+        if (ex instanceof IllegalArgumentException) {
+            return error(request, HttpStatus.BAD_REQUEST, "INVALID_ARGUMENT", ex.getMessage());
+        }
+        if (ex instanceof IllegalStateException) {
+            return error(request, HttpStatus.CONFLICT, "INVALID_STATE", ex.getMessage());
+        }
+
+        log.error("Unhandled exception occurred", ex);
+        return error(
+                request,
+                HttpStatus.INTERNAL_SERVER_ERROR,
+                "INTERNAL_SERVER_ERROR",
+                "An unexpected error occurred. Please try again later."
+        );
+    }
+
+    private Mono<ServerResponse> error(ServerRequest request, HttpStatus status, String errorCode, String message) {
+        return error(request, status, errorCode, message, null);
+    }
+
+    private Mono<ServerResponse> error(ServerRequest request, HttpStatus status, String errorCode, String message,
+                                       String retryAfter) {
+        ErrorResponse response = ErrorResponse.builder()
+                .timeStamp(Instant.now())
+                .status(status.value())
+                .error(errorCode)
+                .message(message)
+                .path(request.requestPath().value())
+                .build();
+
+        return ServerResponse.status(status)
+                .headers(headers -> {
+                    if (retryAfter != null) {
+                        headers.set(HttpHeaders.RETRY_AFTER, retryAfter);
+                    }
+                })
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(ApiResponse.failure(response));
+    }
+
+    private static Mono<String> currentUser() {
+        return ReactiveSecurityContextHolder.getContext()
+                .map(SecurityContext::getAuthentication)
+                .filter(Authentication::isAuthenticated)
+                .map(Authentication::getName)
+                .switchIfEmpty(Mono.error(() -> new AuthenticationCredentialsNotFoundException("Authentication required")));
+    }
+
+    private static <T> Mono<T> blocking(Callable<T> call) {
+        return Mono.fromCallable(call).subscribeOn(Schedulers.boundedElastic());
+    }
+
+    private static FileUploadResponseDTO toUploadResponse(FileMetadata file) {
+        return FileUploadResponseDTO.builder()
+                .fileId(file.getId())
+                .fileName(file.getOriginalFilename())
+                .folderPath(file.getFolderPath())
+                .contentType(file.getContentType())
+                .size(file.getSize())
+                .updatedAt(file.getCreatedAt())
+                .build();
+    }
+}
@@ -128,6 +128,26 @@ public class UserController {
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Sets the user's version retention policy.
+     *
+     * @param request retention rules (null values reset to the global policy)
+     * @param authentication authenticated user context
+     * @return updated profile
+     */
+    @Operation(
+            summary = "Set version retention",
+            description = "Controls how many old file versions are kept for the logged-in user"
+    )
+    @PutMapping("/me/version-retention")
+    public ResponseEntity<@NotNull UserResponseDTO> updateVersionRetention(
+            @Valid @RequestBody VersionRetentionRequestDTO request,
+            Authentication authentication
+    ){
+        User user = userService.updateVersionRetention(authentication.getName(), request);
+        return ResponseEntity.ok(mapUserToResponse(user));
+    }
+
 
 
 
@@ -142,6 +162,7 @@ public class UserController {
                 .credits((user.getCredits()))
                 .storageUsed(user.getStorageUsed())
                 .storageLimit(user.getStorageLimit())
+                .versionRetention(user.getVersionRetention())
                 .createdAt(user.getCreatedAt())
                 .build();
     }
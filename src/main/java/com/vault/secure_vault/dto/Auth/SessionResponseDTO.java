@@ -0,0 +1,16 @@
+package com.vault.secure_vault.dto.Auth;
+
+import lombok.Builder;
+import java.time.Instant;
+
+/**
+ * A signed-in device session of the current user.
+ */
+@Builder
+public record SessionResponseDTO(
+        String id,
+        String deviceName,
+        Instant createdAt,
+        Instant lastRefreshedAt,
+        Instant expiresAt
+) {}
@@ -0,0 +1,19 @@
+package com.vault.secure_vault.dto.File;
+
+import lombok.Builder;
+import java.util.List;
+
+/**
+ * One page of the file change feed.
+ * <p>
+ * Clients pass {@code nextCursor} as {@code since} on the next call. When
+ * {@code resyncRequired} is true the cursor is older than the retained history and
+ * the client must reload the full file list.
+ */
+@Builder
+public record ChangeFeedResponseDTO(
+        List<FileChangeDTO> changes,
+        long nextCursor,
+        boolean hasMore,
+        boolean resyncRequired
+) {}
@@ -0,0 +1,21 @@
+package com.vault.secure_vault.dto.File;
+
+import com.vault.secure_vault.model.FileChangeType;
+import lombok.Builder;
+import java.time.Instant;
+
+/**
+ * A single entry of the file change feed.
+ */
+@Builder
+public record FileChangeDTO(
+        long sequence,
+        FileChangeType type,
+        String fileId,
+        String fileName,
+        String folderPath,
+        String previousPath,
+        int version,
+        long size,
+        Instant changedAt
+) {}
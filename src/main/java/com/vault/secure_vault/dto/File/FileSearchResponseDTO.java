@@ -0,0 +1,14 @@
+package com.vault.secure_vault.dto.File;
+
+import lombok.Builder;
+import java.util.List;
+
+/**
+ * One page of filename search results.
+ * {@code nextCursor} is null when there are no more results.
+ */
+@Builder
+public record FileSearchResponseDTO(
+        List<FileUploadResponseDTO> files,
+        String nextCursor
+) {}
@@ -10,6 +10,7 @@ import java.time.Instant;
 public record FileUploadResponseDTO(
         String fileId,
         String fileName,
+        String folderPath,
         String contentType,
         long size,
         Instant updatedAt
@@ -0,0 +1,12 @@
+package com.vault.secure_vault.dto.Folder;
+
+import jakarta.validation.constraints.NotBlank;
+
+/**
+ * Request DTO for creating a folder.
+ * Missing parent folders are created automatically.
+ */
+public record CreateFolderRequestDTO(
+        @NotBlank(message = "Folder path is required")
+        String path
+) {}
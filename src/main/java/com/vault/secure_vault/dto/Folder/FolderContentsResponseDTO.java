@@ -0,0 +1,20 @@
+package com.vault.secure_vault.dto.Folder;
+
+import com.vault.secure_vault.dto.File.FileUploadResponseDTO;
+import lombok.Builder;
+
+import java.util.List;
+
+/**
+ * One page of a folder listing: direct subfolders and latest files.
+ */
+@Builder
+public record FolderContentsResponseDTO(
+        String path,
+        int page,
+        int size,
+        List<FolderResponseDTO> folders,
+        boolean hasMoreFolders,
+        List<FileUploadResponseDTO> files,
+        boolean hasMoreFiles
+) {}
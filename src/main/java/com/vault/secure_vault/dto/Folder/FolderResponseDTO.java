@@ -0,0 +1,16 @@
+package com.vault.secure_vault.dto.Folder;
+
+import lombok.Builder;
+import java.time.Instant;
+
+/**
+ * Represents a folder with its size rollup.
+ */
+@Builder
+public record FolderResponseDTO(
+        String path,
+        String name,
+        long size,
+        long fileCount,
+        Instant createdAt
+) {}
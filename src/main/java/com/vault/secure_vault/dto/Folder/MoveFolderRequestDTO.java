@@ -0,0 +1,14 @@
+package com.vault.secure_vault.dto.Folder;
+
+import jakarta.validation.constraints.NotBlank;
+
+/**
+ * Request DTO for moving or renaming a folder with its whole subtree.
+ */
+public record MoveFolderRequestDTO(
+        @NotBlank(message = "Source path is required")
+        String sourcePath,
+
+        @NotBlank(message = "Target path is required")
+        String targetPath
+) {}
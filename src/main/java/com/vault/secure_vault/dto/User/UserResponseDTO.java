@@ -1,6 +1,7 @@
 package com.vault.secure_vault.dto.User;
 
 
+import com.vault.secure_vault.model.VersionRetentionPolicy;
 import lombok.Builder;
 
 import java.time.Instant;
@@ -20,5 +21,6 @@ public record UserResponseDTO (
         int credits,
         long storageUsed,
         long storageLimit,
+        VersionRetentionPolicy versionRetention,
         Instant createdAt
 ) {}
@@ -0,0 +1,16 @@
+package com.vault.secure_vault.dto.User;
+
+import jakarta.validation.constraints.Min;
+
+/**
+ * Request DTO for setting the user's version retention policy.
+ *
+ * <p>Both values 0 keeps every version. Send null values to fall back to the global policy.</p>
+ */
+public record VersionRetentionRequestDTO(
+        @Min(value = 0, message = "keepLastVersions must not be negative")
+        Integer keepLastVersions,
+
+        @Min(value = 0, message = "keepDailyForDays must not be negative")
+        Integer keepDailyForDays
+) {}
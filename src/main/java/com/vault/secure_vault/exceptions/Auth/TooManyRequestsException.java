@@ -0,0 +1,18 @@
+package com.vault.secure_vault.exceptions.Auth;
+
+import lombok.Getter;
+
+/**
+ * Thrown when a request is shed because the server (or the caller) is over its limit.
+ * Mapped to 429 with a {@code Retry-After} header.
+ */
+@Getter
+public class TooManyRequestsException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public TooManyRequestsException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
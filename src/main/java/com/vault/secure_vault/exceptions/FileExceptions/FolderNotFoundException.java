@@ -0,0 +1,7 @@
+package com.vault.secure_vault.exceptions.FileExceptions;
+
+public class FolderNotFoundException extends RuntimeException {
+    public FolderNotFoundException(String path) {
+        super("Folder not found: " + path);
+    }
+}
@@ -0,0 +1,18 @@
+package com.vault.secure_vault.exceptions.FileExceptions;
+
+import lombok.Getter;
+
+/**
+ * Thrown when a requested byte range lies outside the file. Mapped to 416 with a
+ * {@code Content-Range: bytes *}{@code /size} header.
+ */
+@Getter
+public class RangeNotSatisfiableException extends RuntimeException {
+
+    private final long totalSize;
+
+    public RangeNotSatisfiableException(long totalSize) {
+        super("Requested range is outside the file");
+        this.totalSize = totalSize;
+    }
+}
@@ -0,0 +1,23 @@
+package com.vault.secure_vault.exceptions.FileExceptions;
+
+import lombok.Getter;
+
+/**
+ * Thrown when the storage backend is shed: its circuit is open, its bulkhead is full or a
+ * call timed out. Mapped to 503 with a {@code Retry-After} header.
+ */
+@Getter
+public class StorageUnavailableException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public StorageUnavailableException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public StorageUnavailableException(String message, long retryAfterSeconds, Throwable cause) {
+        super(message, cause);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
@@ -1,9 +1,13 @@
 package com.vault.secure_vault.exceptions;
 
 import com.vault.secure_vault.dto.Error.ErrorResponse;
+import com.vault.secure_vault.exceptions.Auth.TooManyRequestsException;
 import com.vault.secure_vault.exceptions.FileExceptions.FileTooLargeException;
+import com.vault.secure_vault.exceptions.FileExceptions.FolderNotFoundException;
 import com.vault.secure_vault.exceptions.FileExceptions.InvalidFileTypeExceptions;
+import com.vault.secure_vault.exceptions.FileExceptions.RangeNotSatisfiableException;
 import com.vault.secure_vault.exceptions.FileExceptions.StorageLimitExceededException;
+import com.vault.secure_vault.exceptions.FileExceptions.StorageUnavailableException;
 import com.vault.secure_vault.exceptions.User.InsufficientCreditsException;
 import com.vault.secure_vault.exceptions.User.UserAlreadyExistsException;
 import com.vault.secure_vault.exceptions.User.UserNotFoundException;
@@ -11,6 +15,7 @@ import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.JwtException;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
@@ -88,6 +93,51 @@ public class GlobalExceptionHandler {
         );
     }
 
+    @ExceptionHandler(FolderNotFoundException.class)
+    public ResponseEntity<ApiResponse<?>> handleFolderNotFound(
+            FolderNotFoundException ex,
+            HttpServletRequest request
+    ) {
+        return build(
+                HttpStatus.NOT_FOUND,
+                "FOLDER_NOT_FOUND",
+                ex.getMessage(),
+                request
+        );
+    }
+
+    @ExceptionHandler(StorageUnavailableException.class)
+    public ResponseEntity<ApiResponse<?>> handleStorageUnavailable(
+            StorageUnavailableException ex,
+            HttpServletRequest request
+    ) {
+        ResponseEntity<ApiResponse<?>> response = build(
+                HttpStatus.SERVICE_UNAVAILABLE,
+                "STORAGE_UNAVAILABLE",
+                ex.getMessage(),
+                request
+        );
+        return ResponseEntity.status(response.getStatusCode())
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, ex.getRetryAfterSeconds())))
+                .body(response.getBody());
+    }
+
+    @ExceptionHandler(RangeNotSatisfiableException.class)
+    public ResponseEntity<ApiResponse<?>> handleRangeNotSatisfiable(
+            RangeNotSatisfiableException ex,
+            HttpServletRequest request
+    ) {
+        ResponseEntity<ApiResponse<?>> response = build(
+                HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE,
+                "RANGE_NOT_SATISFIABLE",
+                ex.getMessage(),
+                request
+        );
+        return ResponseEntity.status(response.getStatusCode())
+                .header(HttpHeaders.CONTENT_RANGE, "bytes */" + ex.getTotalSize())
+                .body(response.getBody());
+    }
+
     // ============================
     // Authentication & Authorization
     // ============================
@@ -118,6 +168,22 @@ public class GlobalExceptionHandler {
         );
     }
 
+    @ExceptionHandler(TooManyRequestsException.class)
+    public ResponseEntity<ApiResponse<?>> handleTooManyRequests(
+            TooManyRequestsException ex,
+            HttpServletRequest request
+    ) {
+        ResponseEntity<ApiResponse<?>> response = build(
+                HttpStatus.TOO_MANY_REQUESTS,
+                "TOO_MANY_REQUESTS",
+                ex.getMessage(),
+                request
+        );
+        return ResponseEntity.status(response.getStatusCode())
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, ex.getRetryAfterSeconds())))
+                .body(response.getBody());
+    }
+
     @ExceptionHandler(AccessDeniedException.class)
     public ResponseEntity<ApiResponse<?>> handleAccessDenied(
             AccessDeniedException ex,
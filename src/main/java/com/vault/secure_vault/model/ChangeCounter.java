@@ -0,0 +1,31 @@
+package com.vault.secure_vault.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+/**
+ * Per-user sequence counter for the file change feed.
+ * <p>
+ * Incremented atomically with findAndModify, so concurrent writers never
+ * hand out the same sequence number.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "change_counters")
+public class ChangeCounter {
+
+    /**
+     * Owner email (one counter per user).
+     */
+    @Id
+    private String ownerEmail;
+
+    /**
+     * Last sequence number handed out.
+     */
+    private long sequence;
+}
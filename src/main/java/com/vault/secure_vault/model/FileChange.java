@@ -0,0 +1,82 @@
+package com.vault.secure_vault.model;
+
+import lombok.*;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+/**
+ * One entry of a user's file change feed.
+ * <p>
+ * Sequence numbers are per user, strictly increasing and never reused, so a client
+ * can resume from the last sequence it has seen. Entries expire after 30 days; a
+ * client whose cursor is older than the oldest retained entry must do a full resync.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "file_changes")
+@CompoundIndex(name = "owner_sequence_idx", def = "{'ownerEmail': 1, 'sequence': 1}", unique = true)
+public class FileChange {
+
+    /**
+     * Unique identifier of the change entry.
+     */
+    @Id
+    private String id;
+
+    /**
+     * Email of the user whose files changed.
+     */
+    private String ownerEmail;
+
+    /**
+     * Per-user monotonically increasing sequence number.
+     */
+    private long sequence;
+
+    /**
+     * Kind of change.
+     */
+    private FileChangeType type;
+
+    /**
+     * Affected file version. Null for folder events.
+     */
+    private String fileId;
+
+    /**
+     * Original filename of the affected file. Null for folder events.
+     */
+    private String fileName;
+
+    /**
+     * Folder of the affected file, or the new path for folder moves.
+     */
+    private String folderPath;
+
+    /**
+     * Previous folder path. Only set for folder moves.
+     */
+    private String previousPath;
+
+    /**
+     * Version number of the affected file.
+     */
+    private int version;
+
+    /**
+     * Size of the affected file version in bytes.
+     */
+    private long size;
+
+    /**
+     * Timestamp when the change happened.
+     */
+    @Indexed(expireAfter = "30d")
+    private Instant createdAt;
+}
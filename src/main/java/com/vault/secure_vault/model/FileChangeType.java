@@ -0,0 +1,21 @@
+package com.vault.secure_vault.model;
+
+/**
+ * Kind of change recorded in the per-user change feed.
+ */
+public enum FileChangeType {
+    /** First version of a file was uploaded. */
+    UPLOADED,
+    /** A new version of an existing file was uploaded. */
+    NEW_VERSION,
+    /** A file version was soft deleted. */
+    DELETED,
+    /** A soft deleted file version was restored and is latest again. */
+    RESTORED,
+    /** An older version became latest because the latest one was deleted. */
+    LATEST_CHANGED,
+    /** A folder and its whole subtree moved to a new path. */
+    FOLDER_MOVED,
+    /** A soft deleted file version was permanently removed. */
+    PURGED
+}
@@ -3,9 +3,13 @@ package com.vault.secure_vault.model;
 import lombok.*;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.Instant;
+import java.util.List;
 
 /**
  * Represents metadata for a file stored in the system.
@@ -16,6 +20,7 @@ import java.time.Instant;
  * - versioning
  * - soft delete state
  * - storage references
+ * - folder placement
  *
  * Actual file content is stored in physical storage (local/S3/etc).
  */
@@ -24,6 +29,24 @@ import java.time.Instant;
 @NoArgsConstructor
 @AllArgsConstructor
 @Document(collection = "files")
+@CompoundIndexes({
+        @CompoundIndex(
+                name = "owner_folder_listing_idx",
+                def = "{'ownerEmail': 1, 'folderPath': 1, 'deleted': 1, 'isLatest': 1, 'originalFilename': 1}"
+        ),
+        @CompoundIndex(
+                name = "owner_filename_trigram_idx",
+                def = "{'ownerEmail': 1, 'filenameTrigrams': 1, '_id': 1}"
+        ),
+        @CompoundIndex(
+                name = "trash_retention_idx",
+                def = "{'deleted': 1, 'deletedAt': 1}"
+        ),
+        @CompoundIndex(
+                name = "tier_access_idx",
+                def = "{'storageTier': 1, 'lastAccessedAt': 1}"
+        )
+})
 public class FileMetadata {
 
     /**
@@ -38,12 +61,33 @@ public class FileMetadata {
      */
     private String originalFilename;
 
+    /**
+     * Canonical path of the folder containing this file.
+     * Example: /docs/reports/ ('/' for the root folder)
+     * <p>
+     * Versions are tracked per (ownerEmail + folderPath + originalFilename).
+     */
+    private String folderPath;
+
+    /**
+     * Lowercase copy of originalFilename, used to confirm substring matches.
+     */
+    private String searchName;
+
+    /**
+     * Distinct lowercase trigrams of originalFilename (multikey indexed).
+     * Used for server side partial filename search.
+     */
+    private List<String> filenameTrigrams;
+
     /**
      * Internal stored filename/path used in physical storage.
      * Example: user@email.com/uuid_resume.pdf
      * <p>
      * This must NEVER be exposed to the client.
+     * Indexed so the orphan blob collector can check listed keys in batches.
      */
+    @Indexed
     private String storedFilename;
 
     /**
@@ -87,9 +131,38 @@ public class FileMetadata {
      */
     private Instant deletedAt;
 
+    /**
+     * Set when the purge worker has claimed this deleted version for permanent removal.
+     * A claimed version can no longer be restored.
+     */
+    private boolean purging;
+
+    /**
+     * Tier currently holding the blob when tiered storage is enabled.
+     * Null means the primary (hot) tier.
+     */
+    private StorageTier storageTier;
+
+    /**
+     * Last time the blob was downloaded, flushed periodically from in-memory counters.
+     * Used by the tier migrator to find cold blobs.
+     */
+    private Instant lastAccessedAt;
+
+    /**
+     * Number of downloads, flushed periodically from in-memory counters.
+     */
+    private long accessCount;
+
+    /**
+     * Set when the blob was written through the encryption layer. Such a blob is never
+     * served as plaintext, even if its stored header went missing.
+     */
+    private boolean encrypted;
+
     /**
      * Indicates whether this version is the latest version of the file.
-     * Only ONE record per (ownerEmail + originalFilename) should have isLatest = true.
+     * Only ONE record per (ownerEmail + folderPath + originalFilename) should have isLatest = true.
      */
     private boolean isLatest;
 }
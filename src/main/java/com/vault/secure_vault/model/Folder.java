@@ -0,0 +1,75 @@
+package com.vault.secure_vault.model;
+
+import lombok.*;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+/**
+ * Represents a folder in a user's vault.
+ * <p>
+ * Folders use a materialized path: {@code path} holds the full canonical path
+ * (e.g. {@code /docs/reports/}) and {@code parentPath} the path of the parent folder.
+ * Listing a folder is an indexed lookup on {@code (ownerEmail, parentPath)} and a
+ * subtree is a prefix range on {@code (ownerEmail, path)}.
+ *
+ * The root folder {@code /} is implicit and never stored.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "folders")
+@CompoundIndexes({
+        @CompoundIndex(name = "owner_path_idx", def = "{'ownerEmail': 1, 'path': 1}", unique = true),
+        @CompoundIndex(name = "owner_parent_name_idx", def = "{'ownerEmail': 1, 'parentPath': 1, 'name': 1}")
+})
+public class Folder {
+
+    /**
+     * Unique identifier of the folder.
+     */
+    @Id
+    private String id;
+
+    /**
+     * Email of the user who owns this folder.
+     */
+    private String ownerEmail;
+
+    /**
+     * Canonical path of this folder, always starting and ending with '/'.
+     */
+    private String path;
+
+    /**
+     * Canonical path of the parent folder. '/' for top level folders.
+     */
+    private String parentPath;
+
+    /**
+     * Display name (last path segment).
+     */
+    private String name;
+
+    /**
+     * Total bytes of non-deleted file versions stored in this folder and all subfolders.
+     * Maintained incrementally on upload, delete, restore and move.
+     */
+    private long size;
+
+    /**
+     * Number of non-deleted file versions stored in this folder and all subfolders.
+     */
+    private long fileCount;
+
+    /**
+     * Timestamp when the folder was created.
+     */
+    @CreatedDate
+    private Instant createdAt;
+}
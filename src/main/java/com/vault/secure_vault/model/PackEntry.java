@@ -0,0 +1,58 @@
+package com.vault.secure_vault.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+/**
+ * Location of a small blob inside a pack segment file.
+ * <p>
+ * Keyed by stored path, so a read is one primary key lookup followed by one
+ * positional read. The {@code (segment, offset)} index lets the compactor walk a
+ * segment in file order.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "pack_entries")
+@CompoundIndex(name = "segment_offset_idx", def = "{'segment': 1, 'offset': 1}")
+public class PackEntry {
+
+    /**
+     * Stored path of the blob (same key space as the other backends).
+     */
+    @Id
+    private String storedPath;
+
+    /**
+     * Segment file holding the blob.
+     */
+    private long segment;
+
+    /**
+     * Byte offset of the blob within the segment.
+     */
+    private long offset;
+
+    /**
+     * Blob length in bytes.
+     */
+    private int length;
+
+    /**
+     * CRC32 of the blob, checked on every read.
+     */
+    private long crc32;
+
+    /**
+     * When the blob was written (or last relocated by the compactor).
+     */
+    private Instant createdAt;
+}
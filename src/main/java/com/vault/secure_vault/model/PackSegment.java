@@ -0,0 +1,46 @@
+package com.vault.secure_vault.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+/**
+ * Bookkeeping for one append-only pack segment file.
+ * <p>
+ * {@code liveBytes} is adjusted with {@code $inc} on every append, delete and relocation,
+ * so the compactor can pick segments by garbage ratio without scanning entries.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "pack_segments")
+public class PackSegment {
+
+    /**
+     * Segment number; also the file name.
+     */
+    @Id
+    private long id;
+
+    /**
+     * Bytes still referenced by entries.
+     */
+    private long liveBytes;
+
+    /**
+     * No further appends; eligible for compaction.
+     */
+    private boolean sealed;
+
+    /**
+     * Set once the compactor has moved every entry out; the file is removed
+     * after the retention delay.
+     */
+    private Instant retiredAt;
+}
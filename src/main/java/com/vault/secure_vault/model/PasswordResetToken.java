@@ -5,6 +5,7 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.Instant;
@@ -14,6 +15,8 @@ import java.time.Instant;
  * <p>
  * Each token is associated with a user's email and has an expiry time.
  * Once used, the token is marked as used and cannot be reused.
+ * <p>
+ * Only the hash of the token is stored; expired documents are removed by a TTL index.
  */
 @Document(collection = "password_reset_tokens")
 @Data
@@ -31,17 +34,20 @@ public class PasswordResetToken {
     /**
      * Email of the user who requested password reset.
      */
+    @Indexed
     private String email;
 
     /**
-     * Secure random token used for password reset verification.
+     * SHA-256 hash of the secure random token used for password reset verification.
      */
-    private String token;
+    @Indexed(unique = true, sparse = true)
+    private String tokenHash;
 
     /**
      * Expiry timestamp for the reset token.
-     * After this time, the token is considered invalid.
+     * After this time, the token is considered invalid, and MongoDB deletes the document.
      */
+    @Indexed(expireAfter = "0s")
     private Instant expiryDate;
 
     /**
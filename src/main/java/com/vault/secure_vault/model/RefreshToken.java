@@ -2,15 +2,19 @@ package com.vault.secure_vault.model;
 
 import lombok.*;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.Instant;
 
 /**
- * Represents a refresh token used to obtain new JWT access tokens.
+ * Represents a refresh session: one signed-in device of a user.
  * <p>
- * Each user can have only one active refresh token at a time.
- * Refresh tokens can be revoked and have an expiration time.
+ * A user can have several sessions at a time (phone, laptop, ...). Each session
+ * accepts exactly one refresh token, which is replaced on every refresh (rotation).
+ * Presenting an older token of the session means it was stolen and revokes the session.
+ * <p>
+ * Only the hash of the current token is stored; expired documents are removed by a TTL index.
  */
 @Data
 @Builder
@@ -19,24 +23,51 @@ import java.time.Instant;
 @Document(collection = "refresh_tokens")
 public class RefreshToken {
     /**
-     * Unique identifier of the refresh token document.
+     * Session id, carried in the {@code sid} claim of the refresh token.
      */
     @Id
     private String id;
+
+    /**
+     * SHA-256 hash of the current refresh token of the session (see {@code OpaqueTokens}).
+     * The raw token is only ever known to the client.
+     * Sparse so documents written before hashing do not collide on null.
+     */
+    @Indexed(unique = true, sparse = true)
+    private String tokenHash;
+
     /**
-     * Secure random token value.
+     * Hash of the token replaced by the last rotation, used to tell a retried
+     * refresh from token reuse.
      */
-    private String token;
+    private String previousTokenHash;
 
     /**
      * Email of the user to whom this refresh token belongs.
      */
+    @Indexed
     private String userEmail;
 
+    /**
+     * Client description captured at login (User-Agent).
+     */
+    private String deviceName;
+
+    /**
+     * Login time of the session.
+     */
+    private Instant createdAt;
+
+    /**
+     * Time of the last rotation.
+     */
+    private Instant rotatedAt;
+
     /**
      * Expiration timestamp of the refresh token.
-     * After this time, the token is considered invalid.
+     * After this time, the token is considered invalid, and MongoDB deletes the document.
      */
+    @Indexed(expireAfter = "0s")
     private Instant expiryDate;
 
     /**
@@ -44,4 +75,9 @@ public class RefreshToken {
      * Revoked tokens must not be accepted.
      */
     private boolean revoked;
+
+    /**
+     * When the session was revoked.
+     */
+    private Instant revokedAt;
 }
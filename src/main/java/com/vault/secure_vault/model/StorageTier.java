@@ -0,0 +1,11 @@
+package com.vault.secure_vault.model;
+
+/**
+ * Storage tier holding a blob when tiered storage is enabled.
+ */
+public enum StorageTier {
+    /** Fast local disk; every new blob starts here. */
+    HOT,
+    /** Object storage; blobs not accessed for a while are demoted here. */
+    COLD
+}
@@ -64,6 +64,12 @@ public class User {
      */
     private long storageLimit;
 
+    /**
+     * Per-user version retention override.
+     * Null means the global policy applies.
+     */
+    private VersionRetentionPolicy versionRetention;
+
     /**
      * Timestamp when the user account was created.
      */
@@ -0,0 +1,39 @@
+package com.vault.secure_vault.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Rules deciding which older versions of a file are kept.
+ * <p>
+ * A version is kept if it matches ANY rule. The latest version is always kept.
+ * A rule set to 0 is disabled; with both rules disabled every version is kept.
+ *
+ * Embedded in {@link User} for per-user overrides, otherwise the global
+ * policy from {@code app.version-retention} applies.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class VersionRetentionPolicy {
+
+    /**
+     * Keep the N most recent versions (including the latest).
+     */
+    private int keepLastVersions;
+
+    /**
+     * Keep the newest version of each day for this many days.
+     */
+    private int keepDailyForDays;
+
+    /**
+     * True if at least one rule is active, i.e. versions may be pruned.
+     */
+    public boolean isActive() {
+        return keepLastVersions > 0 || keepDailyForDays > 0;
+    }
+}
@@ -0,0 +1,21 @@
+package com.vault.secure_vault.repository;
+
+import com.vault.secure_vault.model.FileChange;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface FileChangeRepository extends MongoRepository<FileChange, String> {
+
+    // Changes after a cursor, oldest first
+    List<FileChange> findByOwnerEmailAndSequenceGreaterThanOrderBySequenceAsc(
+            String ownerEmail,
+            long sequence,
+            Pageable pageable
+    );
+
+    // Oldest retained change, used to detect cursors that fell out of retention
+    Optional<FileChange> findFirstByOwnerEmailOrderBySequenceAsc(String ownerEmail);
+}
@@ -1,7 +1,10 @@
 package com.vault.secure_vault.repository;
 
 import com.vault.secure_vault.model.FileMetadata;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
 
 import java.util.List;
 import java.util.Optional;
@@ -12,9 +15,17 @@ public interface FileMetadataRepository extends MongoRepository<FileMetadata, St
             String ownerEmail
     );
 
+    // List latest files of a single folder, one page at a time
+    Slice<FileMetadata> findByOwnerEmailAndFolderPathAndDeletedFalseAndIsLatestTrue(
+            String ownerEmail,
+            String folderPath,
+            Pageable pageable
+    );
+
     // Latest version (upload / replace logic)
-    Optional<FileMetadata> findByOwnerEmailAndOriginalFilenameAndDeletedFalseAndIsLatestTrue(
+    Optional<FileMetadata> findByOwnerEmailAndFolderPathAndOriginalFilenameAndDeletedFalseAndIsLatestTrue(
             String ownerEmail,
+            String folderPath,
             String originalFilename
     );
 
@@ -24,16 +35,26 @@ public interface FileMetadataRepository extends MongoRepository<FileMetadata, St
             String ownerEmail
     );
 
-    // Find previous version (used ONLY during delete)
-    Optional<FileMetadata> findTopByOwnerEmailAndOriginalFilenameAndDeletedFalseAndVersionLessThanOrderByVersionDesc(
+    // Encrypted blobs must not be read back as plaintext
+    boolean existsByStoredFilenameAndEncryptedTrue(String storedFilename);
+
+    // Find previous version (used ONLY during delete); versions claimed for pruning are skipped
+    @Query(
+            value = "{ 'ownerEmail': ?0, 'folderPath': ?1, 'originalFilename': ?2, 'deleted': false, 'purging': { $ne: true }, 'version': { $lt: ?3 } }",
+            sort = "{ 'version': -1 }"
+    )
+    Optional<FileMetadata> findPreviousVersion(
             String ownerEmail,
+            String folderPath,
             String originalFilename,
             int version
     );
 
-    List<FileMetadata> findByOwnerEmailAndOriginalFilenameOrderByVersionDesc(String ownerEmail, String originalFilename);
+    List<FileMetadata> findByOwnerEmailAndFolderPathAndOriginalFilenameOrderByVersionDesc(String ownerEmail, String folderPath, String originalFilename);
     
-    Optional<FileMetadata> findByIdAndOwnerEmailAndDeletedTrue(String id, String ownerEmail);
+    // Restorable deleted version (not yet claimed by the purge worker)
+    @Query("{ '_id': ?0, 'ownerEmail': ?1, 'deleted': true, 'purging': { $ne: true } }")
+    Optional<FileMetadata> findRestorableById(String id, String ownerEmail);
 
-    List<FileMetadata> findByOwnerEmailAndOriginalFilenameAndDeletedFalseOrderByVersionDesc(String ownerEmail, String originalFilename);
+    List<FileMetadata> findByOwnerEmailAndFolderPathAndOriginalFilenameAndDeletedFalseOrderByVersionDesc(String ownerEmail, String folderPath, String originalFilename);
 }
@@ -0,0 +1,18 @@
+package com.vault.secure_vault.repository;
+
+import com.vault.secure_vault.model.Folder;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+import java.util.Optional;
+
+public interface FolderRepository extends MongoRepository<Folder, String> {
+
+    Optional<Folder> findByOwnerEmailAndPath(String ownerEmail, String path);
+
+    boolean existsByOwnerEmailAndPath(String ownerEmail, String path);
+
+    // Direct children of a folder (folder listing)
+    Slice<Folder> findByOwnerEmailAndParentPath(String ownerEmail, String parentPath, Pageable pageable);
+}
@@ -3,10 +3,11 @@ package com.vault.secure_vault.repository;
 import com.vault.secure_vault.model.PasswordResetToken;
 import org.springframework.data.mongodb.repository.MongoRepository;
 
+import java.time.Instant;
 import java.util.Optional;
 
 public interface PasswordResetTokenRepository extends MongoRepository<PasswordResetToken, String> {
-    Optional<PasswordResetToken> findByTokenAndUsedFalse(String token);
+    Optional<PasswordResetToken> findByTokenHashAndUsedFalseAndExpiryDateAfter(String tokenHash, Instant now);
 
     void deleteByEmail(String email);
 }
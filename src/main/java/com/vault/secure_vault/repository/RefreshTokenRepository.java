@@ -3,11 +3,10 @@ package com.vault.secure_vault.repository;
 import com.vault.secure_vault.model.RefreshToken;
 import org.springframework.data.mongodb.repository.MongoRepository;
 
-import java.util.Optional;
+import java.time.Instant;
+import java.util.List;
 
 public interface RefreshTokenRepository extends MongoRepository<RefreshToken, String> {
 
-    Optional<RefreshToken> findByTokenAndRevokedFalse(String token);
-
-    void deleteByUserEmail(String email);
+    List<RefreshToken> findByUserEmailAndRevokedFalseAndExpiryDateAfterOrderByCreatedAtDesc(String userEmail, Instant now);
 }
@@ -0,0 +1,283 @@
+package com.vault.secure_vault.search;
+
+import com.vault.secure_vault.config.ContentIndexProperties;
+import com.vault.secure_vault.model.FileMetadata;
+import com.vault.secure_vault.storage.FileStorageService;
+import com.vault.secure_vault.util.FileDownloadData;
+import com.vault.secure_vault.util.ThreadFactories;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Asynchronous full-text indexing pipeline for uploaded documents.
+ *
+ * <p>{@link #submit(FileMetadata)} is called after an upload is persisted. Extraction runs on
+ * a bounded worker pool; when the queue is full the job is dropped rather than slowing
+ * down uploads. Each owner has an embedded segment based index on local disk
+ * (see {@link OwnerContentIndex}); buffers are flushed and segments merged periodically.</p>
+ *
+ * <p>The index only maps terms to file ids. Soft delete and latest-version rules are
+ * applied at query time against {@code files}, so delete, restore and new versions never
+ * have to touch the index.</p>
+ *
+ * <p>Metrics: {@code vault.content_index.documents}, {@code vault.content_index.bytes}
+ * (indexing throughput), {@code vault.content_index.extract} and
+ * {@code vault.content_index.query} (latency), {@code vault.content_index.queue}.</p>
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ContentIndexService {
+
+    private static final int LIVE_CHECK_BATCH_SIZE = 1000;
+    private static final long IDLE_INDEX_MILLIS = TimeUnit.MINUTES.toMillis(10);
+
+    private final ContentIndexProperties properties;
+    private final FileStorageService fileStorageService;
+    private final MongoTemplate mongoTemplate;
+    private final MeterRegistry meterRegistry;
+
+    private final ConcurrentHashMap<String, OwnerContentIndex> indexes = new ConcurrentHashMap<>();
+
+    @Value(ThreadFactories.VIRTUAL_THREADS_PROPERTY)
+    private boolean virtualThreads;
+
+    private ThreadPoolExecutor executor;
+    private TextExtractor extractor;
+    private Timer extractTimer;
+    private Timer queryTimer;
+    private Counter documentsCounter;
+    private Counter bytesCounter;
+    private Counter droppedCounter;
+
+    /**
+     * Result page of a content search.
+     *
+     * @param files   matching latest, non-deleted files
+     * @param hasMore whether another page exists
+     */
+    public record SearchPage(List<FileMetadata> files, boolean hasMore) {}
+
+    @PostConstruct
+    void init() {
+        // Fixed worker count even on virtual threads: it bounds concurrent extractions
+        executor = new ThreadPoolExecutor(
+                properties.getWorkerThreads(),
+                properties.getWorkerThreads(),
+                0L,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(properties.getQueueCapacity()),
+                ThreadFactories.named("content-indexer-", virtualThreads),
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+        extractor = new TextExtractor(properties.getMaxExtractBytes(), properties.getMaxTermsPerDocument());
+
+        extractTimer = meterRegistry.timer("vault.content_index.extract");
+        queryTimer = meterRegistry.timer("vault.content_index.query");
+        documentsCounter = meterRegistry.counter("vault.content_index.documents");
+        bytesCounter = meterRegistry.counter("vault.content_index.bytes");
+        droppedCounter = meterRegistry.counter("vault.content_index.dropped");
+        meterRegistry.gauge("vault.content_index.queue", executor, e -> e.getQueue().size());
+    }
+
+    /**
+     * Queues a freshly uploaded file for indexing. Never blocks the caller.
+     *
+     * @param file persisted file metadata
+     */
+    public void submit(FileMetadata file) {
+        if (!properties.isEnabled()
+                || !properties.getIndexedTypes().contains(file.getContentType())
+                || file.getSize() > properties.getMaxExtractBytes()) {
+            return;
+        }
+
+        try {
+            executor.execute(() -> index(file));
+        } catch (RejectedExecutionException e) {
+            droppedCounter.increment();
+            log.warn("Content index queue full, skipping file {}", file.getId());
+        }
+    }
+
+    private void index(FileMetadata file) {
+        long start = System.nanoTime();
+        try {
+            FileDownloadData data = fileStorageService.download(
+                    file.getStoredFilename(),
+                    file.getOriginalFilename(),
+                    file.getContentType()
+            );
+
+            Set<String> terms;
+            try (InputStream in = data.inputStream()) {
+                terms = extractor.extractTerms(in, file.getContentType());
+            }
+
+            OwnerContentIndex index = indexFor(file.getOwnerEmail());
+            while (!index.add(file.getId(), terms)) {
+                // evicted by maintain() after we looked it up
+                indexes.remove(file.getOwnerEmail(), index);
+                index = indexFor(file.getOwnerEmail());
+            }
+
+            documentsCounter.increment();
+            bytesCounter.increment(file.getSize());
+
+            if (index.bufferedDocs() >= properties.getFlushDocuments()) {
+                index.flush();
+            }
+        } catch (Exception e) {
+            log.warn("Failed to index file {}: {}", file.getId(), e.getMessage());
+        } finally {
+            extractTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Full-text search over the owner's latest, non-deleted documents.
+     * All query terms must be present (AND semantics).
+     *
+     * @param ownerEmail owner email
+     * @param query      free text query
+     * @param page       zero based page index
+     * @param size       page size
+     * @return one page of results ordered by file id
+     */
+    public SearchPage search(String ownerEmail, String query, int page, int size) {
+        if (!properties.isEnabled()) {
+            throw new IllegalStateException("Content search is disabled");
+        }
+
+        Set<String> terms = TextExtractor.tokenize(query == null ? "" : query);
+        if (terms.isEmpty()) {
+            throw new IllegalArgumentException("Search query must contain at least one word");
+        }
+
+        int pageSize = Math.max(1, Math.min(size, 100));
+        int skip = Math.max(0, page) * pageSize;
+
+        long start = System.nanoTime();
+        try {
+            List<String> candidates = new ArrayList<>(indexFor(ownerEmail).search(terms));
+            Collections.sort(candidates);
+
+            // Resolve candidates in id order, keeping only latest non-deleted versions
+            List<FileMetadata> matches = new ArrayList<>();
+            for (int i = 0; i < candidates.size() && matches.size() <= skip + pageSize; i += LIVE_CHECK_BATCH_SIZE) {
+                List<String> batch = candidates.subList(i, Math.min(i + LIVE_CHECK_BATCH_SIZE, candidates.size()));
+                matches.addAll(mongoTemplate.find(
+                        Query.query(Criteria.where("_id").in(batch)
+                                        .and("ownerEmail").is(ownerEmail)
+                                        .and("deleted").is(false)
+                                        .and("isLatest").is(true))
+                                .with(Sort.by("_id")),
+                        FileMetadata.class
+                ));
+            }
+
+            List<FileMetadata> result = matches.stream().skip(skip).limit(pageSize).toList();
+            return new SearchPage(result, matches.size() > skip + pageSize);
+        } catch (IOException e) {
+            throw new IllegalStateException("Content index is unavailable", e);
+        } finally {
+            queryTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Flushes buffered documents, merges owners with too many segments and
+     * drops idle owner indexes from memory.
+     */
+    @Scheduled(fixedDelayString = "${app.content-index.flush-interval:PT30S}")
+    public void maintain() {
+        long now = System.currentTimeMillis();
+
+        indexes.forEach((owner, index) -> {
+            try {
+                if (index.flush()) {
+                    log.debug("Flushed content index segment for {}", owner);
+                }
+                if (index.segmentCount() > properties.getMaxSegments()) {
+                    index.merge(this::liveIds);
+                }
+                if (index.evictIfIdle(now - IDLE_INDEX_MILLIS)) {
+                    indexes.remove(owner, index);
+                }
+            } catch (IOException e) {
+                log.warn("Content index maintenance failed for {}: {}", owner, e.getMessage());
+            }
+        });
+    }
+
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        executor.shutdown();
+        executor.awaitTermination(30, TimeUnit.SECONDS);
+        indexes.values().forEach(index -> {
+            try {
+                index.flush();
+            } catch (IOException e) {
+                log.warn("Failed to flush content index on shutdown: {}", e.getMessage());
+            }
+        });
+    }
+
+    private OwnerContentIndex indexFor(String ownerEmail) {
+        return indexes.computeIfAbsent(ownerEmail, owner -> {
+            try {
+                return OwnerContentIndex.open(Paths.get(properties.getIndexDir()).resolve(ownerDirectory(owner)));
+            } catch (IOException e) {
+                throw new IllegalStateException("Failed to open content index", e);
+            }
+        });
+    }
+
+    /**
+     * Returns the subset of ids that still have a metadata record (deleted or not).
+     * Soft deleted files stay indexed because they can be restored.
+     */
+    private Set<String> liveIds(Collection<String> ids) {
+        Set<String> live = new HashSet<>();
+        List<String> all = new ArrayList<>(ids);
+
+        for (int i = 0; i < all.size(); i += LIVE_CHECK_BATCH_SIZE) {
+            Query query = Query.query(Criteria.where("_id").in(all.subList(i, Math.min(i + LIVE_CHECK_BATCH_SIZE, all.size()))));
+            query.fields().include("_id");
+            mongoTemplate.find(query, FileMetadata.class).forEach(f -> live.add(f.getId()));
+        }
+        return live;
+    }
+
+    private static Path ownerDirectory(String ownerEmail) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(ownerEmail.getBytes(StandardCharsets.UTF_8));
+            return Path.of(HexFormat.of().formatHex(digest, 0, 16));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
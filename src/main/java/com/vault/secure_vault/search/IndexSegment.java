@@ -0,0 +1,167 @@
+package com.vault.secure_vault.search;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.util.*;
+
+/**
+ * Immutable on-disk inverted index segment.
+ *
+ * <p>File layout:
+ * <pre>
+ * [postings block]*   UTF docId ... per term, terms in sorted order
+ * [dictionary]        int termCount, then (UTF term, long offset, int length, int docCount)*
+ * [footer]            long dictionaryOffset, int MAGIC
+ * </pre>
+ *
+ * <p>Only the dictionary is kept in memory. Postings are read on demand with a
+ * positional read, so opening a segment costs one read of the dictionary.</p>
+ */
+public final class IndexSegment {
+
+    private static final int MAGIC = 0x56494458; // "VIDX"
+    private static final int FOOTER_SIZE = Long.BYTES + Integer.BYTES;
+
+    private record Entry(long offset, int length, int docCount) {}
+
+    private final Path file;
+    private final Map<String, Entry> dictionary;
+
+    private IndexSegment(Path file, Map<String, Entry> dictionary) {
+        this.file = file;
+        this.dictionary = dictionary;
+    }
+
+    public Path file() {
+        return file;
+    }
+
+    public Set<String> terms() {
+        return dictionary.keySet();
+    }
+
+    /**
+     * Writes a new segment atomically (temp file + move).
+     *
+     * @param target   segment file to create
+     * @param postings term to doc ids, iterated in sorted term order
+     * @return the opened segment
+     */
+    public static IndexSegment write(Path target, SortedMap<String, ? extends Collection<String>> postings) throws IOException {
+        Path tmp = target.resolveSibling(target.getFileName() + ".tmp");
+        Map<String, Entry> dictionary = new HashMap<>(postings.size() * 2);
+
+        try (CountingOutputStream counting = new CountingOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(tmp)));
+             DataOutputStream out = new DataOutputStream(counting)) {
+
+            for (Map.Entry<String, ? extends Collection<String>> e : postings.entrySet()) {
+                long start = counting.count;
+                for (String docId : e.getValue()) {
+                    out.writeUTF(docId);
+                }
+                dictionary.put(e.getKey(), new Entry(start, (int) (counting.count - start), e.getValue().size()));
+            }
+
+            long dictionaryOffset = counting.count;
+            out.writeInt(postings.size());
+            for (String term : postings.keySet()) {
+                Entry entry = dictionary.get(term);
+                out.writeUTF(term);
+                out.writeLong(entry.offset());
+                out.writeInt(entry.length());
+                out.writeInt(entry.docCount());
+            }
+            out.writeLong(dictionaryOffset);
+            out.writeInt(MAGIC);
+        }
+
+        Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return new IndexSegment(target, dictionary);
+    }
+
+    /**
+     * Opens an existing segment by loading its dictionary.
+     */
+    public static IndexSegment open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            ByteBuffer footer = readFully(channel, size - FOOTER_SIZE, FOOTER_SIZE);
+            long dictionaryOffset = footer.getLong();
+            if (footer.getInt() != MAGIC) {
+                throw new IOException("Corrupt index segment: " + file);
+            }
+
+            ByteBuffer dict = readFully(channel, dictionaryOffset, (int) (size - FOOTER_SIZE - dictionaryOffset));
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(dict.array()));
+
+            int termCount = in.readInt();
+            Map<String, Entry> dictionary = new HashMap<>(termCount * 2);
+            for (int i = 0; i < termCount; i++) {
+                String term = in.readUTF();
+                dictionary.put(term, new Entry(in.readLong(), in.readInt(), in.readInt()));
+            }
+            return new IndexSegment(file, dictionary);
+        }
+    }
+
+    /**
+     * Number of documents containing the term, 0 if absent.
+     */
+    public int docCount(String term) {
+        Entry entry = dictionary.get(term);
+        return entry == null ? 0 : entry.docCount();
+    }
+
+    /**
+     * Reads the posting list of a term.
+     */
+    public List<String> postings(String term) throws IOException {
+        Entry entry = dictionary.get(term);
+        if (entry == null) {
+            return List.of();
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer block = readFully(channel, entry.offset(), entry.length());
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(block.array()));
+            List<String> docIds = new ArrayList<>(entry.docCount());
+            for (int i = 0; i < entry.docCount(); i++) {
+                docIds.add(in.readUTF());
+            }
+            return docIds;
+        }
+    }
+
+    private static ByteBuffer readFully(FileChannel channel, long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new EOFException("Unexpected end of index segment");
+            }
+        }
+        buffer.flip();
+        return buffer;
+    }
+
+    private static final class CountingOutputStream extends FilterOutputStream {
+        private long count;
+
+        private CountingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+    }
+}
@@ -0,0 +1,246 @@
+package com.vault.secure_vault.search;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * Inverted index of a single owner's documents.
+ *
+ * <p>New documents go into an in-memory buffer which is periodically flushed into a new
+ * immutable {@link IndexSegment}. When the number of segments grows past a threshold
+ * they are merged into one, dropping postings of documents that no longer exist.</p>
+ *
+ * <p>Queries see the buffer and every segment, so a document is searchable as soon as
+ * its extraction finished.</p>
+ *
+ * <p>State is guarded by a {@link ReentrantLock} rather than {@code synchronized}: flush
+ * and search do file I/O while holding it, which would pin a virtual thread to its
+ * carrier on Java 21.</p>
+ */
+@Slf4j
+final class OwnerContentIndex {
+
+    private static final String SEGMENT_PREFIX = "seg-";
+    private static final String SEGMENT_SUFFIX = ".idx";
+
+    private final Path directory;
+    private final List<IndexSegment> segments = new ArrayList<>();
+    private TreeMap<String, Set<String>> buffer = new TreeMap<>();
+    private int bufferedDocs;
+    private long nextSegmentId;
+    private volatile long lastAccessMillis = System.currentTimeMillis();
+    private boolean evicted;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private OwnerContentIndex(Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Opens (or creates) the index stored in the given directory.
+     */
+    static OwnerContentIndex open(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        OwnerContentIndex index = new OwnerContentIndex(directory);
+
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                if (name.endsWith(".tmp")) {
+                    Files.deleteIfExists(file);
+                } else if (name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX)) {
+                    index.segments.add(IndexSegment.open(file));
+                    long id = Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+                    index.nextSegmentId = Math.max(index.nextSegmentId, id + 1);
+                }
+            }
+        }
+        return index;
+    }
+
+    long lastAccessMillis() {
+        return lastAccessMillis;
+    }
+
+    int bufferedDocs() {
+        lock.lock();
+        try {
+            return bufferedDocs;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    int segmentCount() {
+        lock.lock();
+        try {
+            return segments.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Adds a document to the in-memory buffer.
+     *
+     * @return false if the index was evicted; the caller has to reopen it and retry
+     */
+    boolean add(String docId, Set<String> terms) {
+        lastAccessMillis = System.currentTimeMillis();
+        lock.lock();
+        try {
+            if (evicted) {
+                return false;
+            }
+            for (String term : terms) {
+                buffer.computeIfAbsent(term, t -> new HashSet<>()).add(docId);
+            }
+            bufferedDocs++;
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Marks the index evicted if nothing is buffered and it was not used since
+     * {@code idleSinceMillis}. Later {@link #add} calls are refused, so no document can
+     * land in an instance that is being dropped from memory.
+     *
+     * @return true if the index was evicted
+     */
+    boolean evictIfIdle(long idleSinceMillis) {
+        lock.lock();
+        try {
+            if (bufferedDocs == 0 && lastAccessMillis < idleSinceMillis) {
+                evicted = true;
+            }
+            return evicted;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Writes buffered documents into a new segment.
+     *
+     * @return true if a segment was written
+     */
+    boolean flush() throws IOException {
+        lock.lock();
+        try {
+            if (bufferedDocs == 0) {
+                return false;
+            }
+            segments.add(IndexSegment.write(nextSegmentFile(), buffer));
+            buffer = new TreeMap<>();
+            bufferedDocs = 0;
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns ids of documents containing every term.
+     * Terms are intersected rarest first so the candidate set shrinks quickly.
+     */
+    Set<String> search(Set<String> terms) throws IOException {
+        lastAccessMillis = System.currentTimeMillis();
+
+        lock.lock();
+        try {
+            List<String> ordered = new ArrayList<>(terms);
+            ordered.sort(Comparator.comparingInt(this::docFrequency));
+
+            Set<String> result = null;
+            for (String term : ordered) {
+                Set<String> docs = new HashSet<>(buffer.getOrDefault(term, Set.of()));
+                for (IndexSegment segment : segments) {
+                    docs.addAll(segment.postings(term));
+                }
+                if (result == null) {
+                    result = docs;
+                } else {
+                    result.retainAll(docs);
+                }
+                if (result.isEmpty()) {
+                    break;
+                }
+            }
+            return result == null ? Set.of() : result;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Merges all current segments into one.
+     *
+     * @param liveIds returns the subset of the given doc ids that still exist
+     * @return number of segments merged
+     */
+    int merge(Function<Collection<String>, Set<String>> liveIds) throws IOException {
+        List<IndexSegment> toMerge;
+        Path target;
+        lock.lock();
+        try {
+            if (segments.size() < 2) {
+                return 0;
+            }
+            toMerge = List.copyOf(segments);
+            target = nextSegmentFile();
+        } finally {
+            lock.unlock();
+        }
+
+        TreeMap<String, Set<String>> merged = new TreeMap<>();
+        Set<String> allDocs = new HashSet<>();
+        for (IndexSegment segment : toMerge) {
+            for (String term : segment.terms()) {
+                List<String> postings = segment.postings(term);
+                merged.computeIfAbsent(term, t -> new HashSet<>()).addAll(postings);
+                allDocs.addAll(postings);
+            }
+        }
+
+        Set<String> live = liveIds.apply(allDocs);
+        merged.values().forEach(docs -> docs.retainAll(live));
+        merged.values().removeIf(Set::isEmpty);
+
+        IndexSegment result = IndexSegment.write(target, merged);
+
+        lock.lock();
+        try {
+            segments.removeAll(toMerge);
+            segments.add(0, result);
+        } finally {
+            lock.unlock();
+        }
+        for (IndexSegment old : toMerge) {
+            Files.deleteIfExists(old.file());
+        }
+        log.debug("Merged {} segments in {} ({} live of {} documents)",
+                toMerge.size(), directory, live.size(), allDocs.size());
+        return toMerge.size();
+    }
+
+    private int docFrequency(String term) {
+        int count = buffer.getOrDefault(term, Set.of()).size();
+        for (IndexSegment segment : segments) {
+            count += segment.docCount(term);
+        }
+        return count;
+    }
+
+    private Path nextSegmentFile() {
+        return directory.resolve(String.format("%s%08d%s", SEGMENT_PREFIX, nextSegmentId++, SEGMENT_SUFFIX));
+    }
+}
@@ -0,0 +1,128 @@
+package com.vault.secure_vault.search;
+
+import com.vault.secure_vault.util.BoundedInputStream;
+import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.text.PDFTextStripper;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Streams text out of uploaded documents and turns it into index terms.
+ *
+ * <p>Text, CSV and JSON are decoded as UTF-8 and tokenized while reading, so only the
+ * current token is held in memory. PDF text is produced page by page by PDFBox and fed
+ * through the same tokenizer. PDFBox needs random access, so a PDF is spooled to a temp
+ * file first instead of being buffered on the heap. Reading stops after {@code maxBytes}
+ * of input or {@code maxTerms} distinct terms.</p>
+ */
+public class TextExtractor {
+
+    static final int MIN_TERM_LENGTH = 2;
+    static final int MAX_TERM_LENGTH = 64;
+
+    private final long maxBytes;
+    private final int maxTerms;
+
+    public TextExtractor(long maxBytes, int maxTerms) {
+        this.maxBytes = maxBytes;
+        this.maxTerms = maxTerms;
+    }
+
+    /**
+     * Extracts the distinct terms of a document.
+     *
+     * @param input       document content, closed by the caller
+     * @param contentType MIME type of the document
+     * @return distinct lowercase terms
+     * @throws IOException if reading or parsing fails
+     */
+    public Set<String> extractTerms(InputStream input, String contentType) throws IOException {
+        TermCollector collector = new TermCollector(maxTerms);
+        InputStream limited = new BoundedInputStream(input, maxBytes);
+
+        if ("application/pdf".equals(contentType)) {
+            Path spool = Files.createTempFile("vault-extract-", ".pdf");
+            try {
+                Files.copy(limited, spool, StandardCopyOption.REPLACE_EXISTING);
+                try (PDDocument document = Loader.loadPDF(spool.toFile())) {
+                    new PDFTextStripper().writeText(document, collector);
+                }
+            } finally {
+                Files.deleteIfExists(spool);
+            }
+        } else {
+            try (Reader reader = new InputStreamReader(limited, StandardCharsets.UTF_8)) {
+                reader.transferTo(collector);
+            }
+        }
+        collector.flush();
+        return collector.terms();
+    }
+
+    /**
+     * Tokenizes a query string with the same rules used for documents.
+     */
+    public static Set<String> tokenize(String text) {
+        TermCollector collector = new TermCollector(Integer.MAX_VALUE);
+        collector.write(text.toCharArray(), 0, text.length());
+        collector.flush();
+        return collector.terms();
+    }
+
+    /**
+     * Writer that splits incoming characters into lowercase letter/digit tokens.
+     */
+    private static final class TermCollector extends Writer {
+
+        private final int maxTerms;
+        private final Set<String> terms = new HashSet<>();
+        private final StringBuilder current = new StringBuilder();
+
+        private TermCollector(int maxTerms) {
+            this.maxTerms = maxTerms;
+        }
+
+        @Override
+        public void write(char[] buffer, int offset, int length) {
+            for (int i = offset; i < offset + length; i++) {
+                char c = buffer[i];
+                if (Character.isLetterOrDigit(c)) {
+                    if (current.length() < MAX_TERM_LENGTH) {
+                        current.append(c);
+                    }
+                } else {
+                    emit();
+                }
+            }
+        }
+
+        private void emit() {
+            if (current.length() >= MIN_TERM_LENGTH && terms.size() < maxTerms) {
+                terms.add(current.toString().toLowerCase(Locale.ROOT));
+            }
+            current.setLength(0);
+        }
+
+        @Override
+        public void flush() {
+            emit();
+        }
+
+        @Override
+        public void close() {
+            flush();
+        }
+
+        Set<String> terms() {
+            return terms;
+        }
+    }
+}
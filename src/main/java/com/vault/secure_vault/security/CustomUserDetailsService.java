@@ -18,7 +18,7 @@ import java.util.List;
 @RequiredArgsConstructor
 public class CustomUserDetailsService  implements UserDetailsService {
     private final UserRepository userRepository;
-
+    private final PrincipalCache principalCache;
 
     /**
      * Loads user details by email for Spring Security authentication.
@@ -36,7 +36,30 @@ public class CustomUserDetailsService  implements UserDetailsService {
                 .orElseThrow(() ->
                         new UsernameNotFoundException("User not found or deleted with email: " + email)
                 );
-        return buildUserDetails(user);
+        return buildUserDetails(user, user.getPassword());
+    }
+
+    /**
+     * Loads the principal of an already authenticated request (JWT), served from
+     * {@link PrincipalCache} when possible.
+     *
+     * <p>The returned principal carries no password hash: it is never used to check
+     * credentials, and cached objects must not be shared with the login flow, which
+     * erases credentials after authentication.</p>
+     *
+     * @param email the user's email (token subject)
+     * @return UserDetails without credentials
+     * @throws UsernameNotFoundException if user does not exist or is deleted
+     */
+    public UserDetails loadPrincipal(String email) throws UsernameNotFoundException {
+        return principalCache.get(email, key -> {
+            User user = userRepository.findByEmail(key)
+                    .filter(u -> !u.isDeleted())
+                    .orElseThrow(() ->
+                            new UsernameNotFoundException("User not found or deleted with email: " + key)
+                    );
+            return buildUserDetails(user, "");
+        });
     }
 
     /**
@@ -52,10 +75,10 @@ public class CustomUserDetailsService  implements UserDetailsService {
     /**
      * Builds Spring Security UserDetails from domain User entity.
      */
-    private UserDetails buildUserDetails(User user) {
+    private UserDetails buildUserDetails(User user, String password) {
         return org.springframework.security.core.userdetails.User
                 .withUsername(user.getEmail())
-                .password(user.getPassword())
+                .password(password)
                 .authorities(getAuthorities(user))
                 .accountExpired(false)
                 .accountLocked(false)
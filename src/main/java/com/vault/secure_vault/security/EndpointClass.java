@@ -0,0 +1,47 @@
+package com.vault.secure_vault.security;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * Groups of endpoints sharing a rate limit budget.
+ */
+public enum EndpointClass {
+
+    UPLOAD,
+    DOWNLOAD,
+    SEARCH,
+    AUTH,
+    DEFAULT;
+
+    /**
+     * Classifies a request by method and path, without allocating.
+     */
+    public static EndpointClass of(HttpServletRequest request) {
+        String path = request.getRequestURI();
+        String method = request.getMethod();
+
+        if (path.startsWith("/api/auth/") || path.equals("/api/users/register")) {
+            return AUTH;
+        }
+        if (path.startsWith("/api/files/")) {
+            if ("POST".equals(method) && path.endsWith("/upload")) {
+                return UPLOAD;
+            }
+            if ("GET".equals(method) && path.endsWith("/download")) {
+                return DOWNLOAD;
+            }
+            if (path.startsWith("/api/files/search")) {
+                return SEARCH;
+            }
+        }
+        if (path.startsWith("/api/v2/files/") && path.endsWith("/content")) {
+            if ("PUT".equals(method)) {
+                return UPLOAD;
+            }
+            if ("GET".equals(method)) {
+                return DOWNLOAD;
+            }
+        }
+        return DEFAULT;
+    }
+}
@@ -1,5 +1,6 @@
 package com.vault.secure_vault.security;
 
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -49,10 +50,11 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
 
         final String token = authHeader.substring(7).trim();
-        final String email;
+        final Claims claims;
 
         try{
-            email = jwtService.extractEmail(token);
+            // single parse and signature check per request
+            claims = jwtService.verify(token);
         }catch (Exception e){
             log.warn("Invalid JWT token: {}", e.getMessage());
             SecurityContextHolder.clearContext();
@@ -62,10 +64,12 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             return;
         }
 
+        final String email = claims.getSubject();
+
         if(email != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = customUserDetailsService.loadUserByUsername(email);
+            UserDetails userDetails = customUserDetailsService.loadPrincipal(email);
 
-            if(jwtService.isTokenValid(token, userDetails)){
+            if(jwtService.isTokenValid(claims, userDetails)){
                 UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
                         userDetails,
                         null,
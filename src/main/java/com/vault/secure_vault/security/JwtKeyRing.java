@@ -0,0 +1,173 @@
+package com.vault.secure_vault.security;
+
+import com.vault.secure_vault.config.JwtSigningProperties;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.security.*;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.time.Instant;
+import java.util.*;
+
+/**
+ * In-memory set of Ed25519 signing keys.
+ *
+ * <p>Exactly one key signs new tokens. Retired keys keep verifying tokens until the
+ * overlap window has passed, so a rotation never logs anybody out. The ring is an
+ * immutable snapshot swapped atomically, readers never lock.</p>
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class JwtKeyRing {
+
+    private static final String ALGORITHM = "Ed25519";
+
+    private final JwtSigningProperties properties;
+
+    /**
+     * One key of the ring.
+     *
+     * @param retiredAt when the key stopped signing, {@code null} for the active key
+     */
+    public record SigningKey(String kid, PrivateKey privateKey, PublicKey publicKey, Instant retiredAt) {
+    }
+
+    private record Snapshot(SigningKey active, Map<String, SigningKey> byKid) {
+    }
+
+    private volatile Snapshot snapshot;
+
+    private boolean generated;
+
+    @PostConstruct
+    void init() {
+        if (!properties.isEdDsa()) {
+            return;
+        }
+
+        if (properties.getKeys().isEmpty()) {
+            log.warn("No jwt.signing.keys configured, generating an in-memory key ring. "
+                    + "Tokens only verify on this node.");
+            generated = true;
+            SigningKey key = generate();
+            snapshot = new Snapshot(key, Map.of(key.kid(), key));
+            return;
+        }
+
+        Map<String, SigningKey> byKid = new LinkedHashMap<>();
+        SigningKey active = null;
+        for (JwtSigningProperties.Key configured : properties.getKeys()) {
+            active = load(configured);
+            if (byKid.put(active.kid(), active) != null) {
+                throw new IllegalStateException("Duplicate JWT key id " + active.kid());
+            }
+        }
+        snapshot = new Snapshot(active, Map.copyOf(byKid));
+    }
+
+    /**
+     * Key used for signing new tokens.
+     */
+    public SigningKey active() {
+        return snapshot.active();
+    }
+
+    /**
+     * Finds a key able to verify a token.
+     *
+     * @param kid key id from the token header
+     * @return the key, empty if unknown or past its overlap window
+     */
+    public Optional<SigningKey> find(String kid) {
+        Snapshot current = snapshot;
+        if (current == null || kid == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(current.byKid().get(kid))
+                .filter(key -> !isExpired(key, Instant.now()));
+    }
+
+    /**
+     * Keys currently accepted for verification, active key first.
+     */
+    public List<SigningKey> verificationKeys() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            return List.of();
+        }
+        Instant now = Instant.now();
+        List<SigningKey> keys = new ArrayList<>();
+        keys.add(current.active());
+        current.byKid().values().stream()
+                .filter(key -> key != current.active() && !isExpired(key, now))
+                .forEach(keys::add);
+        return keys;
+    }
+
+    /**
+     * Rotates a generated ring: a fresh key starts signing, the previous one is retired
+     * and keys past their overlap window are dropped.
+     */
+    @Scheduled(
+            fixedDelayString = "${jwt.signing.rotation-interval:P7D}",
+            initialDelayString = "${jwt.signing.rotation-interval:P7D}"
+    )
+    public void rotate() {
+        if (!generated) {
+            return;
+        }
+
+        Instant now = Instant.now();
+        Snapshot current = snapshot;
+        SigningKey next = generate();
+
+        Map<String, SigningKey> byKid = new LinkedHashMap<>();
+        byKid.put(next.kid(), next);
+        for (SigningKey key : current.byKid().values()) {
+            SigningKey retired = key == current.active()
+                    ? new SigningKey(key.kid(), key.privateKey(), key.publicKey(), now)
+                    : key;
+            if (!isExpired(retired, now)) {
+                byKid.put(retired.kid(), retired);
+            }
+        }
+
+        snapshot = new Snapshot(next, Map.copyOf(byKid));
+        log.info("Rotated JWT signing key to {}", next.kid());
+    }
+
+    private boolean isExpired(SigningKey key, Instant now) {
+        return key.retiredAt() != null
+                && key.retiredAt().plus(properties.getVerificationOverlap()).isBefore(now);
+    }
+
+    private static SigningKey generate() {
+        try {
+            KeyPair pair = KeyPairGenerator.getInstance(ALGORITHM).generateKeyPair();
+            return new SigningKey(UUID.randomUUID().toString(), pair.getPrivate(), pair.getPublic(), null);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Ed25519 not available", e);
+        }
+    }
+
+    private static SigningKey load(JwtSigningProperties.Key configured) {
+        if (configured.getKid() == null || configured.getKid().isBlank()) {
+            throw new IllegalStateException("Every jwt.signing.keys entry needs a kid");
+        }
+        try {
+            KeyFactory factory = KeyFactory.getInstance(ALGORITHM);
+            PrivateKey privateKey = factory.generatePrivate(
+                    new PKCS8EncodedKeySpec(Base64.getDecoder().decode(configured.getPrivateKey())));
+            PublicKey publicKey = factory.generatePublic(
+                    new X509EncodedKeySpec(Base64.getDecoder().decode(configured.getPublicKey())));
+            return new SigningKey(configured.getKid(), privateKey, publicKey, null);
+        } catch (GeneralSecurityException | IllegalArgumentException | NullPointerException e) {
+            throw new IllegalStateException("Invalid Ed25519 key " + configured.getKid(), e);
+        }
+    }
+}
@@ -1,16 +1,37 @@
 package com.vault.secure_vault.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.vault.secure_vault.config.JwtSigningProperties;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.LocatorAdapter;
 import io.jsonwebtoken.security.Keys;
 import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
+import javax.crypto.Mac;
 import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
 import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
 import java.util.Date;
+import java.util.UUID;
 
 /**
  * Service responsible for JWT creation, parsing, and validation.
@@ -18,32 +39,131 @@ import java.util.Date;
  * <p><b>Security Critical Component</b></p>
  * <p>This class controls how access tokens are generated and verified.
  * Any vulnerability here compromises the entire authentication system.</p>
+ *
+ * <p>Tokens are signed with HS256 ({@code jwt.secret}) or, when
+ * {@code jwt.signing.algorithm=EdDSA}, with the active key of {@link JwtKeyRing}.
+ * EdDSA tokens carry a {@code kid} header used to pick the verification key.</p>
+ *
+ * <p>Refresh tokens are only ever checked by this service, so they are signed with a
+ * separate HS256 key ({@code jwt.refresh-secret}) and carry their own audience. They
+ * outlive access-key rotations and never verify against the published JWKS.</p>
  */
 @Slf4j
 @Service
+@RequiredArgsConstructor
 public class JwtService {
 
+    /**
+     * Claim marking refresh tokens, so they are never accepted as access tokens.
+     */
+    public static final String TOKEN_USE_CLAIM = "token_use";
+    public static final String REFRESH_TOKEN_USE = "refresh";
+
+    /**
+     * Claim carrying the refresh session id.
+     */
+    public static final String SESSION_ID_CLAIM = "sid";
+
+    /**
+     * Audience of refresh tokens; access tokens have none.
+     */
+    public static final String REFRESH_AUDIENCE = "secure-vault-refresh";
+
+    private final JwtSigningProperties signingProperties;
+    private final JwtKeyRing keyRing;
 
-    @Value("${jwt.secret}")
+    @Value("${jwt.secret:}")
     private String secret;
 
+    /**
+     * Signs refresh tokens. Falls back to a key derived from {@code jwt.secret}.
+     */
+    @Value("${jwt.refresh-secret:}")
+    private String refreshSecret;
+
     @Value("${jwt.access-token-expiry-ms}")
     private long accessTokenExpiration ;
 
     @Value("${jwt.issuer}")
     private String issuer;
 
+    /**
+     * Caches verified claims by token digest, skipping repeated HMAC checks of the
+     * same token. Off by default.
+     */
+    @Value("${jwt.verified-cache.enabled:false}")
+    private boolean verifiedCacheEnabled;
+
+    @Value("${jwt.verified-cache.maximum-size:10000}")
+    private long verifiedCacheMaximumSize;
+
     private SecretKey signingKey;
 
+    private SecretKey refreshKey;
+
+    private JwtParser refreshParser;
+
+    /**
+     * Thread safe parser, built once.
+     */
+    private JwtParser parser;
+
+    private Cache<String, Claims> verifiedTokens;
+
     /**
      * Initializes and validates the signing key after properties are loaded.
      */
     @PostConstruct
     private void init() {
-        if (secret == null || secret.length() < 32) {
+        boolean hmacNeeded = !signingProperties.isEdDsa() || signingProperties.isAcceptLegacyHs256();
+
+        if (hmacNeeded && (secret == null || secret.length() < 32)) {
             throw new IllegalStateException("JWT secret must be at least 32 characters long");
         }
-        this.signingKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        if (hmacNeeded) {
+            this.signingKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        }
+
+        this.parser = signingProperties.isEdDsa()
+                ? Jwts.parser().keyLocator(new KeyRingLocator()).build()
+                : Jwts.parser().verifyWith(signingKey).build();
+
+        this.refreshKey = refreshKey();
+        this.refreshParser = Jwts.parser()
+                .verifyWith(refreshKey)
+                .requireAudience(REFRESH_AUDIENCE)
+                .build();
+
+        if (verifiedCacheEnabled) {
+            // An entry never outlives the token it was verified from
+            this.verifiedTokens = Caffeine.newBuilder()
+                    .maximumSize(verifiedCacheMaximumSize)
+                    .expireAfter(Expiry.<String, Claims>creating((digest, claims) -> {
+                        long remainingMs = claims.getExpiration().getTime() - System.currentTimeMillis();
+                        return Duration.ofMillis(Math.max(remainingMs, 0));
+                    }))
+                    .build();
+        }
+    }
+
+    private SecretKey refreshKey() {
+        if (refreshSecret != null && !refreshSecret.isBlank()) {
+            if (refreshSecret.length() < 32) {
+                throw new IllegalStateException("JWT refresh secret must be at least 32 characters long");
+            }
+            return Keys.hmacShaKeyFor(refreshSecret.getBytes(StandardCharsets.UTF_8));
+        }
+        if (secret == null || secret.length() < 32) {
+            throw new IllegalStateException("Set jwt.refresh-secret (at least 32 characters)");
+        }
+        // a separate key from jwt.secret, so refresh tokens never verify as legacy access tokens
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+            return Keys.hmacShaKeyFor(mac.doFinal("refresh-token-signing".getBytes(StandardCharsets.UTF_8)));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 not available", e);
+        }
     }
 
     /**
@@ -53,27 +173,138 @@ public class JwtService {
      * @return JWT access token string
      */
     public String generateAccessToken(UserDetails userDetails) {
-        return Jwts.builder()
+        return sign(Jwts.builder()
                 .subject(userDetails.getUsername())
                 .issuer(issuer)
                 .issuedAt(new Date())
-                .expiration(new Date(System.currentTimeMillis()+accessTokenExpiration * 60_000))
+                .expiration(new Date(System.currentTimeMillis()+accessTokenExpiration * 60_000)));
+    }
+
+    /**
+     * Generates a signed refresh token for one device session.
+     *
+     * @param email     session owner
+     * @param sessionId refresh session id ({@code sid} claim)
+     * @param expiry    token expiry
+     * @return JWT refresh token string
+     */
+    public String generateRefreshToken(String email, String sessionId, Instant expiry) {
+        return Jwts.builder()
+                .subject(email)
+                .issuer(issuer)
+                .audience().add(REFRESH_AUDIENCE).and()
+                .id(UUID.randomUUID().toString())
+                .claim(SESSION_ID_CLAIM, sessionId)
+                .claim(TOKEN_USE_CLAIM, REFRESH_TOKEN_USE)
+                .issuedAt(new Date())
+                .expiration(Date.from(expiry))
+                .signWith(refreshKey, Jwts.SIG.HS256)
+                .compact();
+    }
+
+    /**
+     * Verifies a refresh token (signature, expiry and token use) without touching the database.
+     *
+     * @param token refresh token
+     * @return verified claims, including {@code sid}
+     * @throws JwtException if the token is invalid, expired or not a refresh token
+     */
+    public Claims verifyRefreshToken(String token) {
+        Claims claims = refreshParser.parseSignedClaims(token).getPayload();
+        if (!REFRESH_TOKEN_USE.equals(claims.get(TOKEN_USE_CLAIM, String.class))
+                || claims.get(SESSION_ID_CLAIM, String.class) == null) {
+            throw new JwtException("Not a refresh token");
+        }
+        return claims;
+    }
+
+    private String sign(JwtBuilder builder) {
+        if (signingProperties.isEdDsa()) {
+            JwtKeyRing.SigningKey key = keyRing.active();
+            return builder
+                    .header().keyId(key.kid()).and()
+                    .signWith(key.privateKey(), Jwts.SIG.EdDSA)
+                    .compact();
+        }
+
+        return builder
                 .signWith(signingKey, Jwts.SIG.HS256)
                 .compact();
     }
 
     /**
-     * Extracts all claims from the JWT token.
+     * Picks the verification key from the token header.
+     * <p>
+     * Tokens with a {@code kid} are checked against the key ring; tokens without one are
+     * legacy HS256 tokens, accepted only while {@code jwt.signing.accept-legacy-hs256} is on.
+     * The parser additionally rejects a key that does not match the header {@code alg}.
+     */
+    private class KeyRingLocator extends LocatorAdapter<Key> {
+
+        @Override
+        protected Key locate(JwsHeader header) {
+            String kid = header.getKeyId();
+            if (kid == null) {
+                if (signingKey == null) {
+                    throw new JwtException("Token has no key id");
+                }
+                return signingKey;
+            }
+            return keyRing.find(kid)
+                    .map(JwtKeyRing.SigningKey::publicKey)
+                    .orElseThrow(() -> new JwtException("Unknown or retired key id"));
+        }
+    }
+
+    /**
+     * Verifies the token signature and expiry and returns its claims.
+     *
+     * <p>This is the only place a token is parsed. Callers needing several claims must
+     * call it once and read them from the result.</p>
      *
      * @param token JWT token
-     * @return Claims payload
-     */
-    private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(signingKey)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+     * @return verified Claims payload
+     * @throws JwtException if the token is malformed, tampered with or expired
+     */
+    public Claims verify(String token) {
+        if (verifiedTokens == null) {
+            return requireAccessToken(parser.parseSignedClaims(token).getPayload());
+        }
+
+        String digest = digest(token);
+        Claims cached = verifiedTokens.getIfPresent(digest);
+        if (cached != null) {
+            // Entries expire with the token, this only covers the last few milliseconds
+            if (cached.getExpiration().before(new Date())) {
+                verifiedTokens.invalidate(digest);
+                throw new ExpiredJwtException(null, cached, "JWT expired");
+            }
+            return cached;
+        }
+
+        Claims claims = requireAccessToken(parser.parseSignedClaims(token).getPayload());
+        if (claims.getExpiration() != null) {
+            verifiedTokens.put(digest, claims);
+        }
+        return claims;
+    }
+
+    private static Claims requireAccessToken(Claims claims) {
+        if (claims.get(TOKEN_USE_CLAIM) != null
+                || (claims.getAudience() != null && claims.getAudience().contains(REFRESH_AUDIENCE))) {
+            throw new JwtException("Not an access token");
+        }
+        return claims;
+    }
+
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256")
+                    .digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
     }
 
     /**
@@ -83,7 +314,7 @@ public class JwtService {
      * @return subject value
      */
     public String extractEmail(String token) {
-        return extractAllClaims(token).getSubject();
+        return verify(token).getSubject();
     }
 
     /**
@@ -94,8 +325,19 @@ public class JwtService {
      * @return true if valid, false otherwise
      */
     public boolean isTokenValid(String token, UserDetails userDetails) {
-        final String username = extractEmail(token);
-        return (username.equals(userDetails.getUsername())) && !isTokenExpired(token);
+        return isTokenValid(verify(token), userDetails);
+    }
+
+    /**
+     * Validates already verified claims against user details and expiry.
+     *
+     * @param claims claims returned by {@link #verify(String)}
+     * @param userDetails user details to validate against
+     * @return true if valid, false otherwise
+     */
+    public boolean isTokenValid(Claims claims, UserDetails userDetails) {
+        return userDetails.getUsername().equals(claims.getSubject())
+                && claims.getExpiration().after(new Date());
     }
 
     /**
@@ -105,7 +347,7 @@ public class JwtService {
      * @return true if expired, false otherwise
      */
     public boolean isTokenExpired(String token) {
-        return extractAllClaims(token)
+        return verify(token)
                 .getExpiration().before(new Date());
     }
 
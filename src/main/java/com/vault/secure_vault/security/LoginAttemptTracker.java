@@ -0,0 +1,216 @@
+package com.vault.secure_vault.security;
+
+import com.vault.secure_vault.config.LoginThrottleProperties;
+import com.vault.secure_vault.exceptions.Auth.TooManyRequestsException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * In-memory tracker of failed logins per email and per client IP.
+ *
+ * <p>Checked before the password is hashed, so a blocked guess costs a map lookup
+ * instead of a BCrypt computation. After the free attempts, each further failure
+ * doubles the lockout ({@code baseBackoff * 2^n}, capped at {@code maxBackoff}).</p>
+ *
+ * <p>Memory stays bounded under millions of distinct keys:</p>
+ * <ul>
+ *     <li>keys are stored as 64-bit hashes, the state of a key is one packed {@code long}
+ *         (failure count and time of the last failure)</li>
+ *     <li>counts decay, halving every {@code decayHalfLife} without failures</li>
+ *     <li>each stripe is an LRU map with a fixed capacity; stripes have independent locks
+ *         so concurrent logins rarely contend</li>
+ * </ul>
+ */
+@Component
+@RequiredArgsConstructor
+public class LoginAttemptTracker {
+
+    private static final int STRIPES = 64;
+    private static final long COUNT_MASK = 0xFFFF_FFFFL;
+
+    private final LoginThrottleProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    private Stripe[] stripes;
+    private Counter blockedCounter;
+
+    /**
+     * Time source, replaced in tests.
+     */
+    LongSupplier nanoTime = System::nanoTime;
+
+    /**
+     * Seconds are counted from here so they fit the 32 bits of the packed state.
+     */
+    private long epochNanos;
+
+    @PostConstruct
+    void init() {
+        epochNanos = nanoTime.getAsLong();
+        int capacity = Math.max(1, properties.getMaxTrackedKeys() / STRIPES);
+        stripes = new Stripe[STRIPES];
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Stripe(capacity);
+        }
+        blockedCounter = meterRegistry.counter("vault.login_throttle.blocked");
+    }
+
+    /**
+     * Rejects the attempt if the email or the IP is locked out.
+     *
+     * @throws TooManyRequestsException with the remaining lockout as retry-after
+     */
+    public void checkAllowed(String email, String clientIp) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+
+        long now = nowSeconds();
+        long wait = Math.max(
+                remainingLockout(emailKey(email), properties.getFreeAttemptsPerEmail(), now),
+                remainingLockout(ipKey(clientIp), properties.getFreeAttemptsPerIp(), now)
+        );
+
+        if (wait > 0) {
+            blockedCounter.increment();
+            throw new TooManyRequestsException("Too many failed login attempts, please retry later", wait);
+        }
+    }
+
+    /**
+     * Records a failed login for both the email and the IP.
+     */
+    public void recordFailure(String email, String clientIp) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+
+        long now = nowSeconds();
+        increment(emailKey(email), now);
+        increment(ipKey(clientIp), now);
+    }
+
+    /**
+     * Clears the email's failures after a successful login. The IP keeps its history,
+     * so one valid account cannot be used to reset an attacker's IP budget.
+     */
+    public void recordSuccess(String email) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+
+        long key = emailKey(email);
+        Stripe stripe = stripeFor(key);
+        synchronized (stripe) {
+            stripe.entries.remove(key);
+        }
+    }
+
+    private long remainingLockout(long key, int freeAttempts, long now) {
+        if (key == 0) {
+            return 0;
+        }
+
+        long state;
+        Stripe stripe = stripeFor(key);
+        synchronized (stripe) {
+            Long packed = stripe.entries.get(key);
+            if (packed == null) {
+                return 0;
+            }
+            state = packed;
+        }
+
+        long last = state >>> 32;
+        long failures = decay(state & COUNT_MASK, now - last);
+        if (failures <= freeAttempts) {
+            return 0;
+        }
+
+        long lockedUntil = last + backoffSeconds(failures - freeAttempts);
+        return Math.max(0, lockedUntil - now);
+    }
+
+    private void increment(long key, long now) {
+        if (key == 0) {
+            return;
+        }
+
+        Stripe stripe = stripeFor(key);
+        synchronized (stripe) {
+            Long packed = stripe.entries.get(key);
+            long failures = 0;
+            if (packed != null) {
+                failures = decay(packed & COUNT_MASK, now - (packed >>> 32));
+            }
+            failures = Math.min(failures + 1, COUNT_MASK);
+            stripe.entries.put(key, (now << 32) | failures);
+        }
+    }
+
+    private long decay(long failures, long elapsedSeconds) {
+        long halfLife = Math.max(1, properties.getDecayHalfLife().toSeconds());
+        long halvings = elapsedSeconds / halfLife;
+        return halvings >= 32 ? 0 : failures >>> halvings;
+    }
+
+    private long backoffSeconds(long excessFailures) {
+        long base = Math.max(1, properties.getBaseBackoff().toSeconds());
+        long max = properties.getMaxBackoff().toSeconds();
+        int shift = (int) Math.min(excessFailures - 1, 30);
+        return Math.min(base << shift, max);
+    }
+
+    private long nowSeconds() {
+        return TimeUnit.NANOSECONDS.toSeconds(nanoTime.getAsLong() - epochNanos);
+    }
+
+    private Stripe stripeFor(long key) {
+        return stripes[(int) (key ^ (key >>> 32)) & (STRIPES - 1)];
+    }
+
+    private static long emailKey(String email) {
+        return email == null ? 0 : hash("e:" + email.trim().toLowerCase(Locale.ROOT));
+    }
+
+    private static long ipKey(String clientIp) {
+        return clientIp == null ? 0 : hash("i:" + clientIp);
+    }
+
+    /**
+     * 64-bit FNV-1a. Collisions only merge two keys' counters; with 64 bits they are
+     * negligible at the tracked key counts.
+     */
+    private static long hash(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b;
+            hash *= 0x100000001b3L;
+        }
+        return hash == 0 ? 1 : hash;
+    }
+
+    private static final class Stripe {
+
+        private final Map<Long, Long> entries;
+
+        Stripe(int capacity) {
+            this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Long, Long> eldest) {
+                    return size() > capacity;
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.vault.secure_vault.security;
+
+import com.vault.secure_vault.config.PasswordHashingProperties;
+import com.vault.secure_vault.exceptions.Auth.TooManyRequestsException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Dedicated, bounded pool for BCrypt work (login, registration, password reset).
+ *
+ * <p>Hashing is deliberately slow; running it on request threads lets a login spike take
+ * every core. Here it is limited to a fixed number of threads and a bounded queue. When
+ * the queue is full the job is rejected right away with {@link TooManyRequestsException}
+ * (429 + Retry-After) instead of piling up.</p>
+ *
+ * <p>Metrics: {@code vault.password_hash.duration} (time on the pool),
+ * {@code vault.password_hash.wait} (time queued), {@code vault.password_hash.queue}
+ * (current depth) and {@code vault.password_hash.rejected}.</p>
+ */
+@Component
+@RequiredArgsConstructor
+public class PasswordHashingExecutor {
+
+    private final PasswordHashingProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    private ThreadPoolExecutor executor;
+    private Timer durationTimer;
+    private Timer waitTimer;
+    private Counter rejectedCounter;
+
+    @PostConstruct
+    void init() {
+        // Platform threads even in virtual thread mode: BCrypt is CPU bound, and the pool
+        // size is what keeps it from taking every core
+        AtomicInteger threadIds = new AtomicInteger();
+        executor = new ThreadPoolExecutor(
+                properties.getThreads(),
+                properties.getThreads(),
+                0L,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(properties.getQueueCapacity()),
+                r -> {
+                    Thread t = new Thread(r, "password-hash-" + threadIds.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                },
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+
+        durationTimer = meterRegistry.timer("vault.password_hash.duration");
+        waitTimer = meterRegistry.timer("vault.password_hash.wait");
+        rejectedCounter = meterRegistry.counter("vault.password_hash.rejected");
+        meterRegistry.gauge("vault.password_hash.queue", executor, e -> e.getQueue().size());
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Runs a hashing task on the pool and waits for its result.
+     * Runtime exceptions thrown by the task (e.g. bad credentials) are rethrown as is.
+     *
+     * @param task work that hashes or checks a password
+     * @return task result
+     * @throws TooManyRequestsException if the pool is saturated
+     */
+    public <T> T execute(Supplier<T> task) {
+        long queuedAt = System.nanoTime();
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                waitTimer.record(System.nanoTime() - queuedAt, TimeUnit.NANOSECONDS);
+                return durationTimer.record(task);
+            });
+        } catch (RejectedExecutionException e) {
+            rejectedCounter.increment();
+            throw new TooManyRequestsException(
+                    "Too many authentication requests, please retry later",
+                    properties.getRetryAfter().toSeconds()
+            );
+        }
+
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while hashing password", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+}
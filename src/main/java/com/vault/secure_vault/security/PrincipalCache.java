@@ -0,0 +1,68 @@
+package com.vault.secure_vault.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.vault.secure_vault.config.PrincipalCacheProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Function;
+
+/**
+ * Bounded, TTL based cache of authenticated principals keyed by email.
+ *
+ * <p>Lets {@link JwtAuthenticationFilter} authenticate requests without a MongoDB
+ * round trip. Entries must be invalidated whenever a user is modified; the TTL only
+ * bounds staleness for changes made outside {@code UserService} / {@code AuthService}.</p>
+ *
+ * <p>Hit and miss counts are exported as {@code cache.gets{cache="principal"}}.</p>
+ */
+@Component
+@RequiredArgsConstructor
+public class PrincipalCache {
+
+    private final PrincipalCacheProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    private Cache<String, UserDetails> cache;
+
+    @PostConstruct
+    void init() {
+        cache = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfterWrite(properties.getTtl())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "principal");
+    }
+
+    /**
+     * Returns the cached principal, loading it on a miss.
+     * Loader failures (e.g. unknown user) are propagated and not cached.
+     *
+     * @param email  user email
+     * @param loader loads the principal from the database
+     * @return principal
+     */
+    public UserDetails get(String email, Function<String, UserDetails> loader) {
+        if (!properties.isEnabled()) {
+            return loader.apply(email);
+        }
+        return cache.get(email, loader);
+    }
+
+    /**
+     * Drops the cached principal of one user.
+     *
+     * @param email user email
+     */
+    public void invalidate(String email) {
+        if (email != null) {
+            cache.invalidate(email);
+        }
+    }
+}
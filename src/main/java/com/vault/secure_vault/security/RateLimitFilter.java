@@ -0,0 +1,313 @@
+package com.vault.secure_vault.security;
+
+import com.vault.secure_vault.config.RateLimitProperties;
+import com.vault.secure_vault.util.TokenBucket;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-client, per-endpoint-class rate limiting.
+ *
+ * <p>Runs after {@link JwtAuthenticationFilter}, so clients are keyed by authenticated
+ * user, or by IP for anonymous requests. Each client has a request bucket per
+ * {@link EndpointClass} and, where configured, a byte bucket. Uploads are charged their
+ * {@code Content-Length}, downloads the bytes actually written (or the declared
+ * {@code Content-Length} for asynchronous streaming downloads). Byte buckets may go into
+ * debt; a client in debt is rejected until it has paid it back.</p>
+ *
+ * <p>The hot path is a map lookup plus one CAS per bucket ({@link TokenBucket}). Responses
+ * carry {@code RateLimit-Limit}, {@code RateLimit-Remaining} and {@code RateLimit-Reset}
+ * headers; rejected requests get 429 with {@code Retry-After}.</p>
+ */
+@Component
+@RequiredArgsConstructor
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final int KIB = 1024;
+
+    private final RateLimitProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    private final Map<String, ClientBuckets> clients = new ConcurrentHashMap<>();
+    private final Map<EndpointClass, Counter> rejectedCounters = new EnumMap<>(EndpointClass.class);
+
+    @PostConstruct
+    void initMetrics() {
+        for (EndpointClass endpointClass : EndpointClass.values()) {
+            rejectedCounters.put(endpointClass,
+                    meterRegistry.counter("vault.rate_limit.rejected", "class", endpointClass.name().toLowerCase()));
+        }
+        meterRegistry.gaugeMapSize("vault.rate_limit.clients", Tags.empty(), clients);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return !properties.isEnabled() || !request.getRequestURI().startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request,
+                                    @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+
+        EndpointClass endpointClass = EndpointClass.of(request);
+        RateLimitProperties.Limit limit = properties.getLimits().get(endpointClass);
+        if (limit == null || limit.getRequestsPerSecond() <= 0) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        long now = System.nanoTime();
+        ClientBuckets buckets = bucketsFor(clientKey(request), now);
+        TokenBucket requests = buckets.requests(endpointClass, limit, now);
+        TokenBucket bytes = buckets.bytes(endpointClass, limit, now);
+
+        long waitNanos = bytes != null ? bytes.debtNanos(now) : 0;
+        if (waitNanos == 0) {
+            waitNanos = requests.tryAcquire(1, now);
+        }
+
+        response.setHeader("RateLimit-Limit", String.valueOf(requests.capacity()));
+        response.setHeader("RateLimit-Remaining", String.valueOf(requests.remaining(now)));
+        response.setHeader("RateLimit-Reset", String.valueOf(toSecondsCeil(requests.nanosUntilFull(now))));
+
+        if (waitNanos > 0) {
+            rejectedCounters.get(endpointClass).increment();
+            response.setStatus(429);
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(toSecondsCeil(waitNanos)));
+            response.setContentType("application/json");
+            response.getWriter().write("{\"error\": \"rate_limit_exceeded\"}");
+            return;
+        }
+
+        if (bytes == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        if (endpointClass == EndpointClass.UPLOAD) {
+            long length = request.getContentLengthLong();
+            if (length > 0) {
+                bytes.charge(toKib(length), now);
+            }
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        CountingResponse counting = new CountingResponse(response);
+        try {
+            filterChain.doFilter(request, counting);
+        } finally {
+            if (request.isAsyncStarted()) {
+                // Streaming handlers write through the unwrapped response after this thread
+                // returns, so charge the declared length once the exchange completes
+                request.getAsyncContext().addListener(new ChargeOnComplete(bytes, response));
+            } else {
+                bytes.charge(toKib(counting.written), System.nanoTime());
+            }
+        }
+    }
+
+    /**
+     * Drops buckets of clients that have been idle (and therefore full) for the idle timeout.
+     * A dropped client starts again with full buckets, which is exactly its state.
+     */
+    @Scheduled(fixedDelayString = "${app.rate-limit.eviction-interval:PT1M}")
+    public void evictIdle() {
+        long now = System.nanoTime();
+        long idleNanos = properties.getIdleTimeout().toNanos();
+        clients.values().removeIf(client -> client.isIdle(now, idleNanos));
+    }
+
+    private ClientBuckets bucketsFor(String key, long now) {
+        ClientBuckets buckets = clients.get(key);
+        if (buckets != null) {
+            return buckets;
+        }
+        if (clients.size() >= properties.getMaxClients()) {
+            // Over capacity: fail open with throwaway buckets instead of growing the map
+            // until the next eviction
+            return new ClientBuckets();
+        }
+        return clients.computeIfAbsent(key, k -> new ClientBuckets());
+    }
+
+    private static String clientKey(HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.isAuthenticated()) {
+            return authentication.getName();
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+
+    private static long toSecondsCeil(long nanos) {
+        return (nanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1);
+    }
+
+    private static long toKib(long bytes) {
+        return (bytes + KIB - 1) / KIB;
+    }
+
+    /**
+     * Buckets of one client, created lazily per endpoint class.
+     */
+    private static final class ClientBuckets {
+
+        private final TokenBucket[] requests = new TokenBucket[EndpointClass.values().length];
+        private final TokenBucket[] bytes = new TokenBucket[EndpointClass.values().length];
+
+        TokenBucket requests(EndpointClass endpointClass, RateLimitProperties.Limit limit, long now) {
+            int i = endpointClass.ordinal();
+            TokenBucket bucket = requests[i];
+            if (bucket == null) {
+                synchronized (this) {
+                    bucket = requests[i];
+                    if (bucket == null) {
+                        bucket = new TokenBucket(limit.getRequestsPerSecond(), limit.getRequestBurst(), now);
+                        requests[i] = bucket;
+                    }
+                }
+            }
+            return bucket;
+        }
+
+        TokenBucket bytes(EndpointClass endpointClass, RateLimitProperties.Limit limit, long now) {
+            if (limit.getBytesPerSecond() <= 0) {
+                return null;
+            }
+            int i = endpointClass.ordinal();
+            TokenBucket bucket = bytes[i];
+            if (bucket == null) {
+                synchronized (this) {
+                    bucket = bytes[i];
+                    if (bucket == null) {
+                        bucket = new TokenBucket(
+                                (double) limit.getBytesPerSecond() / KIB,
+                                Math.max(1, limit.getBytesBurst() / KIB),
+                                now
+                        );
+                        bytes[i] = bucket;
+                    }
+                }
+            }
+            return bucket;
+        }
+
+        boolean isIdle(long now, long idleNanos) {
+            for (int i = 0; i < requests.length; i++) {
+                TokenBucket request = requests[i];
+                TokenBucket transfer = bytes[i];
+                if ((request != null && !request.isIdle(now, idleNanos))
+                        || (transfer != null && !transfer.isIdle(now, idleNanos))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Charges the {@code Content-Length} of an asynchronous download when it completes.
+     */
+    private record ChargeOnComplete(TokenBucket bytes, HttpServletResponse response) implements AsyncListener {
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            String length = response.getHeader(HttpHeaders.CONTENT_LENGTH);
+            if (length != null) {
+                try {
+                    bytes.charge(toKib(Long.parseLong(length)), System.nanoTime());
+                } catch (NumberFormatException ignored) {
+                    // nothing sensible to charge
+                }
+            }
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+    }
+
+    /**
+     * Counts the bytes of a download response body.
+     */
+    private static final class CountingResponse extends HttpServletResponseWrapper {
+
+        private long written;
+        private ServletOutputStream stream;
+
+        CountingResponse(HttpServletResponse response) {
+            super(response);
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            if (stream == null) {
+                ServletOutputStream delegate = super.getOutputStream();
+                stream = new ServletOutputStream() {
+                    @Override
+                    public void write(int b) throws IOException {
+                        delegate.write(b);
+                        written++;
+                    }
+
+                    @Override
+                    public void write(byte[] b, int off, int len) throws IOException {
+                        delegate.write(b, off, len);
+                        written += len;
+                    }
+
+                    @Override
+                    public void flush() throws IOException {
+                        delegate.flush();
+                    }
+
+                    @Override
+                    public boolean isReady() {
+                        return delegate.isReady();
+                    }
+
+                    @Override
+                    public void setWriteListener(WriteListener listener) {
+                        delegate.setWriteListener(listener);
+                    }
+                };
+            }
+            return stream;
+        }
+    }
+}
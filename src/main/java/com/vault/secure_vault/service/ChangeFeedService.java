@@ -0,0 +1,294 @@
+package com.vault.secure_vault.service;
+
+import com.vault.secure_vault.model.ChangeCounter;
+import com.vault.secure_vault.model.FileChange;
+import com.vault.secure_vault.model.FileChangeType;
+import com.vault.secure_vault.model.FileMetadata;
+import com.vault.secure_vault.repository.FileChangeRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Service responsible for the per-user file change feed used by sync clients.
+ *
+ * <p>This includes:
+ * <ul>
+ *     <li>Recording upload, new version, delete, restore and move events</li>
+ *     <li>Paginated reads after a cursor</li>
+ *     <li>Long polling: an idle client holds one request until something changes</li>
+ * </ul>
+ *
+ * <p>Waiting requests are parked as {@link DeferredResult}s and do not hold a thread.
+ * They are woken up by writes on this node; on other nodes they simply time out with an
+ * empty page and the client polls again.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ChangeFeedService {
+
+    public static final int MAX_PAGE_SIZE = 500;
+    public static final long MAX_WAIT_SECONDS = 60;
+    private static final int MAX_WAITERS = 10_000;
+
+    /**
+     * A gap younger than this is treated as an in-flight write; an older one is a sequence
+     * number whose write failed and is skipped.
+     */
+    private static final Duration GAP_GRACE = Duration.ofSeconds(5);
+
+    private final FileChangeRepository fileChangeRepository;
+    private final MongoTemplate mongoTemplate;
+
+    private final ConcurrentHashMap<String, Set<Waiter>> waiters = new ConcurrentHashMap<>();
+    private final AtomicInteger waiterCount = new AtomicInteger();
+
+    /**
+     * One page of the change feed.
+     *
+     * @param changes        changes after the requested cursor, oldest first
+     * @param nextCursor     cursor to pass on the next call
+     * @param hasMore        true if more changes are immediately available
+     * @param resyncRequired true if the cursor is older than the retained history
+     */
+    public record ChangesPage(List<FileChange> changes, long nextCursor, boolean hasMore, boolean resyncRequired) {}
+
+    private record Waiter(long since, int limit, DeferredResult<?> result, Consumer<ChangesPage> sink) {}
+
+    /**
+     * Records a change to a single file version.
+     *
+     * @param type change type
+     * @param file affected file version
+     */
+    public void record(FileChangeType type, FileMetadata file) {
+        recordAll(file.getOwnerEmail(), type, List.of(file));
+    }
+
+    /**
+     * Records the same change for several file versions of one owner.
+     * Sequence numbers are reserved as one block.
+     *
+     * @param ownerEmail owner email
+     * @param type       change type
+     * @param files      affected file versions
+     */
+    public void recordAll(String ownerEmail, FileChangeType type, List<FileMetadata> files) {
+        if (files.isEmpty()) {
+            return;
+        }
+
+        long sequence = reserve(ownerEmail, files.size()) - files.size();
+        Instant now = Instant.now();
+
+        List<FileChange> changes = new ArrayList<>(files.size());
+        for (FileMetadata file : files) {
+            changes.add(FileChange.builder()
+                    .ownerEmail(ownerEmail)
+                    .sequence(++sequence)
+                    .type(type)
+                    .fileId(file.getId())
+                    .fileName(file.getOriginalFilename())
+                    .folderPath(file.getFolderPath())
+                    .version(file.getVersion())
+                    .size(file.getSize())
+                    .createdAt(now)
+                    .build());
+        }
+        fileChangeRepository.saveAll(changes);
+
+        wakeUp(ownerEmail);
+    }
+
+    /**
+     * Records a folder subtree move as a single event.
+     *
+     * @param ownerEmail   owner email
+     * @param previousPath old folder path
+     * @param newPath      new folder path
+     */
+    public void recordFolderMove(String ownerEmail, String previousPath, String newPath) {
+        fileChangeRepository.save(FileChange.builder()
+                .ownerEmail(ownerEmail)
+                .sequence(reserve(ownerEmail, 1))
+                .type(FileChangeType.FOLDER_MOVED)
+                .folderPath(newPath)
+                .previousPath(previousPath)
+                .createdAt(Instant.now())
+                .build());
+
+        wakeUp(ownerEmail);
+    }
+
+    /**
+     * Reads changes after a cursor.
+     *
+     * @param ownerEmail owner email
+     * @param since      last sequence the client has seen, 0 for the beginning
+     * @param limit      maximum number of changes
+     * @return one page of changes
+     */
+    public ChangesPage fetch(String ownerEmail, long since, int limit) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+
+        List<FileChange> found = fileChangeRepository.findByOwnerEmailAndSequenceGreaterThanOrderBySequenceAsc(
+                ownerEmail,
+                since,
+                PageRequest.of(0, pageSize + 1)
+        );
+
+        if (found.isEmpty()) {
+            return new ChangesPage(List.of(), since, false, historyLost(ownerEmail, since));
+        }
+
+        Instant graceLimit = Instant.now().minus(GAP_GRACE);
+
+        if (found.get(0).getSequence() > since + 1
+                && found.get(0).getCreatedAt().isBefore(graceLimit)
+                && historyLost(ownerEmail, since)) {
+            return new ChangesPage(List.of(), since, false, true);
+        }
+
+        // Stop at a recent gap: a concurrent writer may still be inserting the missing entry.
+        // Older gaps are failed writes and skipped, at the head of the page as anywhere else.
+        List<FileChange> page = new ArrayList<>();
+        long expected = since + 1;
+        for (FileChange change : found) {
+            if (page.size() == pageSize) {
+                break;
+            }
+            if (change.getSequence() != expected && change.getCreatedAt().isAfter(graceLimit)) {
+                break;
+            }
+            page.add(change);
+            expected = change.getSequence() + 1;
+        }
+
+        long nextCursor = page.isEmpty() ? since : page.get(page.size() - 1).getSequence();
+        boolean hasMore = found.size() > page.size();
+        return new ChangesPage(page, nextCursor, hasMore, false);
+    }
+
+    /**
+     * Reads changes after a cursor, waiting up to {@code waitSeconds} if there are none yet.
+     *
+     * @param ownerEmail  owner email
+     * @param since       last sequence the client has seen
+     * @param limit       maximum number of changes
+     * @param waitSeconds how long to hold the request when nothing changed
+     * @param mapper      converts the page into the response body
+     * @return deferred response, completed when changes arrive or the wait expires
+     */
+    public <T> DeferredResult<T> poll(
+            String ownerEmail,
+            long since,
+            int limit,
+            long waitSeconds,
+            Function<ChangesPage, T> mapper
+    ) {
+        long wait = Math.max(0, Math.min(waitSeconds, MAX_WAIT_SECONDS));
+        ChangesPage page = fetch(ownerEmail, since, limit);
+
+        if (!page.changes().isEmpty() || page.resyncRequired() || wait == 0
+                || waiterCount.get() >= MAX_WAITERS) {
+            DeferredResult<T> immediate = new DeferredResult<>();
+            immediate.setResult(mapper.apply(page));
+            return immediate;
+        }
+
+        DeferredResult<T> result = new DeferredResult<>(TimeUnit.SECONDS.toMillis(wait));
+        Waiter waiter = new Waiter(since, limit, result, p -> result.setResult(mapper.apply(p)));
+
+        result.onTimeout(() -> result.setResult(mapper.apply(new ChangesPage(List.of(), since, false, false))));
+        result.onCompletion(() -> removeWaiter(ownerEmail, waiter));
+
+        waiters.computeIfAbsent(ownerEmail, k -> ConcurrentHashMap.newKeySet()).add(waiter);
+        waiterCount.incrementAndGet();
+
+        // A write may have landed between the first read and registration
+        ChangesPage recheck = fetch(ownerEmail, since, limit);
+        if (!recheck.changes().isEmpty()) {
+            waiter.sink().accept(recheck);
+        }
+        return result;
+    }
+
+    private void wakeUp(String ownerEmail) {
+        Set<Waiter> parked = waiters.remove(ownerEmail);
+        if (parked == null) {
+            return;
+        }
+        for (Waiter waiter : parked) {
+            if (waiter.result().isSetOrExpired()) {
+                continue;
+            }
+            try {
+                waiter.sink().accept(fetch(ownerEmail, waiter.since(), waiter.limit()));
+            } catch (RuntimeException e) {
+                log.warn("Failed to complete change feed poll for {}: {}", ownerEmail, e.getMessage());
+                waiter.result().setErrorResult(e);
+            }
+        }
+    }
+
+    private void removeWaiter(String ownerEmail, Waiter waiter) {
+        waiterCount.decrementAndGet();
+        waiters.computeIfPresent(ownerEmail, (k, set) -> {
+            set.remove(waiter);
+            return set.isEmpty() ? null : set;
+        });
+    }
+
+    /**
+     * Reserves {@code count} sequence numbers and returns the last one.
+     */
+    private long reserve(String ownerEmail, int count) {
+        ChangeCounter counter = mongoTemplate.findAndModify(
+                Query.query(Criteria.where("_id").is(ownerEmail)),
+                new Update().inc("sequence", count),
+                FindAndModifyOptions.options().upsert(true).returnNew(true),
+                ChangeCounter.class
+        );
+        return counter.getSequence();
+    }
+
+    /**
+     * True if changes right after {@code since} may have expired.
+     *
+     * <p>The TTL index removes the oldest changes first, so history is lost exactly when
+     * the oldest retained change is newer than the cursor while changes after the cursor
+     * happened. As long as the cursor's own entry (or an older one) is retained, every
+     * missing sequence after it is a hole, not expired history.</p>
+     */
+    private boolean historyLost(String ownerEmail, long since) {
+        if (since == 0) {
+            return false;
+        }
+        ChangeCounter counter = mongoTemplate.findById(ownerEmail, ChangeCounter.class);
+        if (counter == null || counter.getSequence() <= since) {
+            return false;
+        }
+        return fileChangeRepository.findFirstByOwnerEmailOrderBySequenceAsc(ownerEmail)
+                .map(oldest -> oldest.getSequence() > since)
+                .orElse(true);
+    }
+}
@@ -0,0 +1,130 @@
+package com.vault.secure_vault.service;
+
+import com.vault.secure_vault.model.FileMetadata;
+import com.vault.secure_vault.util.FilenameNgrams;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Service responsible for server side filename search.
+ *
+ * <p>Search is backed by the {@code (ownerEmail, filenameTrigrams, _id)} multikey index.
+ * The index entries are written together with each file record in
+ * {@link FileService#uploadFile}, so there is no separate index to keep in sync:
+ * delete and restore only flip flags that are part of the query.</p>
+ *
+ * <p>Results are paginated with a keyset cursor (the last returned id) so every page
+ * costs the same regardless of how deep the client scrolls.</p>
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class FileSearchService {
+
+    public static final int MAX_PAGE_SIZE = 100;
+    private static final int BACKFILL_BATCH_SIZE = 500;
+
+    private final MongoTemplate mongoTemplate;
+
+    /**
+     * Result page of a filename search.
+     *
+     * @param files      matching latest, non-deleted files
+     * @param nextCursor cursor for the next page, null when there are no more results
+     */
+    public record SearchPage(List<FileMetadata> files, String nextCursor) {}
+
+    /**
+     * Searches the owner's latest, non-deleted files by partial filename (case insensitive).
+     *
+     * @param ownerEmail owner email
+     * @param query      partial filename, at least 3 characters
+     * @param cursor     cursor returned by the previous page, null for the first page
+     * @param size       page size
+     * @return one page of results
+     * @throws IllegalArgumentException if the query is too short or the cursor is invalid
+     */
+    public SearchPage search(String ownerEmail, String query, String cursor, int size) {
+        Set<String> grams = FilenameNgrams.trigrams(query == null ? "" : query.trim());
+
+        if (grams.isEmpty()) {
+            throw new IllegalArgumentException(
+                    "Search query must be at least " + FilenameNgrams.GRAM_SIZE + " characters"
+            );
+        }
+
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+
+        Criteria criteria = Criteria.where("ownerEmail").is(ownerEmail)
+                .and("filenameTrigrams").all(grams)
+                .and("deleted").is(false)
+                .and("isLatest").is(true)
+                .and("searchName").regex(FilenameNgrams.containsRegex(query.trim()));
+
+        if (cursor != null && !cursor.isBlank()) {
+            if (!ObjectId.isValid(cursor)) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            criteria = criteria.and("_id").gt(new ObjectId(cursor));
+        }
+
+        List<FileMetadata> matches = mongoTemplate.find(
+                Query.query(criteria)
+                        .with(Sort.by(Sort.Direction.ASC, "_id"))
+                        .limit(pageSize + 1),
+                FileMetadata.class
+        );
+
+        if (matches.size() <= pageSize) {
+            return new SearchPage(matches, null);
+        }
+
+        List<FileMetadata> page = matches.subList(0, pageSize);
+        return new SearchPage(page, page.get(pageSize - 1).getId());
+    }
+
+    /**
+     * Indexes file records created before filename search existed.
+     * Processes records in small batches; records that already have grams are skipped.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillTrigrams() {
+        Query missing = Query.query(Criteria.where("filenameTrigrams").exists(false))
+                .limit(BACKFILL_BATCH_SIZE);
+        missing.fields().include("originalFilename");
+
+        long indexed = 0;
+        List<FileMetadata> batch;
+
+        while (!(batch = mongoTemplate.find(missing, FileMetadata.class)).isEmpty()) {
+            BulkOperations ops = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, FileMetadata.class);
+
+            for (FileMetadata file : batch) {
+                ops.updateOne(
+                        Query.query(Criteria.where("_id").is(file.getId())),
+                        new Update()
+                                .set("searchName", FilenameNgrams.searchKey(file.getOriginalFilename()))
+                                .set("filenameTrigrams", List.copyOf(FilenameNgrams.trigrams(file.getOriginalFilename())))
+                );
+            }
+            indexed += ops.execute().getModifiedCount();
+        }
+
+        if (indexed > 0) {
+            log.info("Built filename trigrams for {} legacy file records", indexed);
+        }
+    }
+}
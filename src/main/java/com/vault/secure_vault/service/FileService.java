@@ -1,15 +1,23 @@
 package com.vault.secure_vault.service;
 
+import com.vault.secure_vault.config.EncryptionProperties;
+import com.vault.secure_vault.config.StorageKeyProperties;
 import com.vault.secure_vault.config.UploadProperties;
 import com.vault.secure_vault.exceptions.FileExceptions.FileTooLargeException;
+import com.vault.secure_vault.exceptions.FileExceptions.RangeNotSatisfiableException;
 import com.vault.secure_vault.exceptions.FileExceptions.StorageLimitExceededException;
+import com.vault.secure_vault.model.FileChangeType;
 import com.vault.secure_vault.model.FileMetadata;
 import com.vault.secure_vault.model.User;
 import com.vault.secure_vault.repository.FileMetadataRepository;
-import com.vault.secure_vault.repository.UserRepository;
+import com.vault.secure_vault.search.ContentIndexService;
 import com.vault.secure_vault.storage.FileStorageService;
 import com.vault.secure_vault.util.FileDownloadData;
+import com.vault.secure_vault.util.FilenameNgrams;
+import com.vault.secure_vault.util.FolderPaths;
+import com.vault.secure_vault.util.StorageKeys;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpRange;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
@@ -17,7 +25,6 @@ import java.io.IOException;
 import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
-import java.util.UUID;
 
 
 /**
@@ -26,10 +33,12 @@ import java.util.UUID;
  * <p>This includes:
  * <ul>
  *     <li>File upload with versioning</li>
+ *     <li>Folder placement and folder size rollups</li>
  *     <li>Storage limit enforcement</li>
  *     <li>Soft delete & restore</li>
  *     <li>File download</li>
  *     <li>Version history retrieval</li>
+ *     <li>Change feed entries for sync clients</li>
  * </ul>
  *
  * <p><b>Important:</b> This service enforces ownership and storage rules.
@@ -42,14 +51,43 @@ public class FileService {
     private final UserService userService;
     private final FileMetadataRepository repository;
     private final UploadProperties uploadProperties;
-    private final UserRepository userRepository;
     private final FileStorageService fileStorageService;
+    private final FolderService folderService;
+    private final ContentIndexService contentIndexService;
+    private final ChangeFeedService changeFeedService;
+    private final StorageKeyProperties storageKeyProperties;
+    private final StorageKeyMigrationService storageKeyMigrationService;
+    private final EncryptionProperties encryptionProperties;
+
+    /**
+     * An upload that passed validation and has a storage path reserved.
+     * Produced by {@link #prepareUpload}, completed by {@link #commitUpload} once the
+     * content has been written to storage.
+     */
+    public record UploadPlan(
+            String ownerEmail,
+            String folderPath,
+            String originalFilename,
+            String contentType,
+            long size,
+            String storedPath
+    ) {}
+
+    /**
+     * Part of a file returned by {@link #downloadFileRange}.
+     *
+     * @param start     first byte of the range
+     * @param end       last byte of the range (inclusive)
+     * @param totalSize size of the whole file
+     */
+    public record RangeDownload(FileDownloadData data, long start, long end, long totalSize) {}
 
     /**
      * Uploads a file for a user with automatic versioning and storage validation.
      *
      * @param file       file to upload
      * @param ownerEmail email of file owner
+     * @param folder     target folder path, null or blank for root
      * @return saved FileMetadata entity
      * @throws IOException if file read fails
      * @throws IllegalArgumentException if file is empty
@@ -57,31 +95,91 @@ public class FileService {
      * @throws StorageLimitExceededException if user storage limit is exceeded
      */
     @Transactional
-    public FileMetadata uploadFile(MultipartFile file, String ownerEmail) throws IOException {
+    public FileMetadata uploadFile(MultipartFile file, String ownerEmail, String folder) throws IOException {
 
-        if(file.isEmpty()) throw new IllegalArgumentException("File is empty");
+        UploadPlan plan = prepareUpload(
+                ownerEmail,
+                file.getOriginalFilename(),
+                file.getContentType(),
+                file.getSize(),
+                folder
+        );
 
+        fileStorageService.upload(
+                file.getBytes(),
+                plan.storedPath(),
+                plan.contentType()
+        );
 
-        if(file.getSize() > uploadProperties.getMaxSizeBytes()) throw new FileTooLargeException();
+        return commitUpload(plan);
+    }
+
+    /**
+     * Validates an upload before any content is transferred.
+     * Shared by the multipart endpoint and the streaming (reactive) endpoint.
+     *
+     * @param ownerEmail       email of file owner
+     * @param originalFilename client file name
+     * @param contentType      MIME type
+     * @param size             content length in bytes
+     * @param folder           target folder path, null or blank for root
+     * @return plan holding the normalized folder and the storage path to write to
+     * @throws IllegalArgumentException if file is empty or has no name
+     * @throws FileTooLargeException if file exceeds max allowed size
+     * @throws StorageLimitExceededException if user storage limit is exceeded
+     */
+    public UploadPlan prepareUpload(String ownerEmail, String originalFilename, String contentType, long size, String folder) {
+
+        if(size <= 0) throw new IllegalArgumentException("File is empty");
+        if(originalFilename == null || originalFilename.isBlank()) throw new IllegalArgumentException("File name is required");
+
+        String folderPath = FolderPaths.normalize(folder);
+
+
+        if(size > uploadProperties.getMaxSizeBytes()) throw new FileTooLargeException();
 
         User user = userService.getByEmail(ownerEmail);
 
         long usedStorage = user.getStorageUsed();
         long maxAllowedSize = user.getStorageLimit();
-        long newFileSize = file.getSize();
 
-        if(usedStorage  + newFileSize > maxAllowedSize) {
+        if(usedStorage  + size > maxAllowedSize) {
             throw new StorageLimitExceededException(
                             "Storage limit exceeded. Used: "+usedStorage+
-                            ", File: "+newFileSize+
+                            ", File: "+size+
                             ", Limit: "+maxAllowedSize
             );
         }
 
+        if (!FolderPaths.ROOT.equals(folderPath)) {
+            folderService.ensureFolder(ownerEmail, folderPath);
+        }
+
+        String storedPath = storageKeyProperties.isHashedLayout()
+                ? StorageKeys.hashed()
+                : StorageKeys.legacy(ownerEmail, originalFilename);
+
+        return new UploadPlan(ownerEmail, folderPath, originalFilename, contentType, size, storedPath);
+    }
+
+    /**
+     * Records an upload whose content is already in storage: new version, storage usage,
+     * folder rollups, content indexing and change feed.
+     *
+     * @param plan plan returned by {@link #prepareUpload}
+     * @return saved FileMetadata entity
+     */
+    @Transactional
+    public FileMetadata commitUpload(UploadPlan plan) {
+
+        String ownerEmail = plan.ownerEmail();
+        String folderPath = plan.folderPath();
+
         Optional<FileMetadata> latestFileOpt =
-                repository.findByOwnerEmailAndOriginalFilenameAndDeletedFalseAndIsLatestTrue(
+                repository.findByOwnerEmailAndFolderPathAndOriginalFilenameAndDeletedFalseAndIsLatestTrue(
                         ownerEmail,
-                        file.getOriginalFilename()
+                        folderPath,
+                        plan.originalFilename()
                 );
 
         int nextVersion = latestFileOpt.map(f -> f.getVersion() + 1).orElse(1);
@@ -91,29 +189,36 @@ public class FileService {
             repository.save(latestFile);
         });
 
-         String storedPath = ownerEmail + "/" + UUID.randomUUID()+ "_" + file.getOriginalFilename();
-         fileStorageService.upload(
-                 file.getBytes(),
-                 storedPath,
-                 file.getContentType()
-         );
-
+        Instant now = Instant.now();
         FileMetadata metadata = FileMetadata.builder()
                 .ownerEmail(ownerEmail)
-                .originalFilename(file.getOriginalFilename())
-                .storedFilename(storedPath)
-                .contentType(file.getContentType())
-                .size(newFileSize)
+                .originalFilename(plan.originalFilename())
+                .folderPath(folderPath)
+                .searchName(FilenameNgrams.searchKey(plan.originalFilename()))
+                .filenameTrigrams(List.copyOf(FilenameNgrams.trigrams(plan.originalFilename())))
+                .storedFilename(plan.storedPath())
+                .contentType(plan.contentType())
+                .size(plan.size())
                 .version(nextVersion)
                 .isLatest(true)
                 .deleted(false)
-                .createdAt(Instant.now())
+                .createdAt(now)
+                .lastAccessedAt(now)
+                .encrypted(encryptionProperties.isEnabled())
                 .build();
 
         repository.save(metadata);
 
-        user.addUsedStorage(newFileSize);
-        userService.save(user);
+        userService.addStorageUsed(ownerEmail, plan.size());
+
+        folderService.applyDelta(ownerEmail, folderPath, plan.size(), 1);
+
+        contentIndexService.submit(metadata);
+
+        changeFeedService.record(
+                nextVersion == 1 ? FileChangeType.UPLOADED : FileChangeType.NEW_VERSION,
+                metadata
+        );
 
         return metadata;
     }
@@ -138,20 +243,24 @@ public class FileService {
         file.setLatest(false);
         repository.save(file);
 
-        User user = userRepository.getByEmail(ownerEmail);
-        user.setStorageUsed(user.getStorageUsed() - file.getSize());
-        userService.save(user);
+        userService.addStorageUsed(ownerEmail, -file.getSize());
+
+        folderService.applyDelta(ownerEmail, file.getFolderPath(), -file.getSize(), -1);
+
+        changeFeedService.record(FileChangeType.DELETED, file);
 
         if (wasLatest) {
             repository
-                    .findTopByOwnerEmailAndOriginalFilenameAndDeletedFalseAndVersionLessThanOrderByVersionDesc(
+                    .findPreviousVersion(
                             ownerEmail,
+                            file.getFolderPath(),
                             file.getOriginalFilename(),
                             file.getVersion()
                     )
                     .ifPresent(prev -> {
                         prev.setLatest(true);
                         repository.save(prev);
+                        changeFeedService.record(FileChangeType.LATEST_CHANGED, prev);
                     });
         }
     }
@@ -165,20 +274,26 @@ public class FileService {
      */
     @Transactional
     public FileMetadata restoreFile(String fileId, String ownerEmail) {
-        FileMetadata file = repository.findByIdAndOwnerEmailAndDeletedTrue(fileId,ownerEmail).orElseThrow(() -> new RuntimeException("File not found"));
+        FileMetadata file = repository.findRestorableById(fileId,ownerEmail).orElseThrow(() -> new RuntimeException("File not found"));
 
         file.setDeleted(false);
         file.setDeletedAt(null);
         file.setLatest(true);
 
-        repository.findByOwnerEmailAndOriginalFilenameAndDeletedFalseOrderByVersionDesc(ownerEmail,file.getOriginalFilename())
+        repository.findByOwnerEmailAndFolderPathAndOriginalFilenameAndDeletedFalseOrderByVersionDesc(ownerEmail,file.getFolderPath(),file.getOriginalFilename())
                 .forEach(f->{
                     if(!f.getId().equals(file.getId())) {
                         f.setLatest(false);
                         repository.save(f);
                     }
                 });
-        return repository.save(file);
+        FileMetadata restored = repository.save(file);
+
+        folderService.applyDelta(ownerEmail, file.getFolderPath(), file.getSize(), 1);
+
+        changeFeedService.record(FileChangeType.RESTORED, restored);
+
+        return restored;
     }
 
     /**
@@ -214,7 +329,7 @@ public class FileService {
      * @param ownerEmail owner email
      * @return FileMetadata
      */
-    private FileMetadata validateFileAccess(String fileId, String ownerEmail){
+    public FileMetadata validateFileAccess(String fileId, String ownerEmail){
         return repository
                 .findByIdAndOwnerEmailAndDeletedFalseAndIsLatestTrue(fileId, ownerEmail)
                 .orElseThrow(()-> new RuntimeException("file not found "));
@@ -232,6 +347,7 @@ public class FileService {
     public FileDownloadData downloadFile(String fileId, String ownerEmail)  throws IOException {
 
         FileMetadata file = validateFileAccess(fileId,ownerEmail);
+        storageKeyMigrationService.onAccess(file);
         return fileStorageService.download(
                 file.getStoredFilename(),
                 file.getOriginalFilename(),
@@ -239,6 +355,38 @@ public class FileService {
         );
     }
 
+    /**
+     * Downloads one byte range of a file for a user after validating access.
+     * Only the storage chunks covering the range are read.
+     *
+     * @param fileId file ID
+     * @param ownerEmail owner email
+     * @param range requested range (from the HTTP {@code Range} header)
+     * @return the range content and its position within the file
+     * @throws RangeNotSatisfiableException if the range lies outside the file
+     * @throws IOException if download fails
+     */
+    public RangeDownload downloadFileRange(String fileId, String ownerEmail, HttpRange range) throws IOException {
+
+        FileMetadata file = validateFileAccess(fileId, ownerEmail);
+        long start;
+        long end;
+        try {
+            start = range.getRangeStart(file.getSize());
+            end = range.getRangeEnd(file.getSize());
+        } catch (IllegalArgumentException e) {
+            throw new RangeNotSatisfiableException(file.getSize());
+        }
+
+        storageKeyMigrationService.onAccess(file);
+        FileDownloadData data = new FileDownloadData(
+                fileStorageService.downloadRange(file.getStoredFilename(), start, end - start + 1),
+                file.getOriginalFilename(),
+                file.getContentType()
+        );
+        return new RangeDownload(data, start, end, file.getSize());
+    }
+
     /**
      * Retrieves all versions of a file for a user.
      *
@@ -253,8 +401,9 @@ public class FileService {
             throw new RuntimeException("File does not belong to the owner of this file");
         }
 
-        return repository.findByOwnerEmailAndOriginalFilenameOrderByVersionDesc(
+        return repository.findByOwnerEmailAndFolderPathAndOriginalFilenameOrderByVersionDesc(
                 ownerEmail,
+                baseFile.getFolderPath(),
                 baseFile.getOriginalFilename()
         );
     }
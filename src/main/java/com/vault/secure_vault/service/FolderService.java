@@ -0,0 +1,302 @@
+package com.vault.secure_vault.service;
+
+import com.vault.secure_vault.exceptions.FileExceptions.FolderNotFoundException;
+import com.vault.secure_vault.model.FileMetadata;
+import com.vault.secure_vault.model.Folder;
+import com.vault.secure_vault.repository.FileMetadataRepository;
+import com.vault.secure_vault.repository.FolderRepository;
+import com.vault.secure_vault.util.FolderPaths;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationUpdate;
+import org.springframework.data.mongodb.core.aggregation.StringOperators;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Service responsible for folder hierarchy management.
+ *
+ * <p>This includes:
+ * <ul>
+ *     <li>Folder creation (missing ancestors are created on the fly)</li>
+ *     <li>Paginated listing of a single folder</li>
+ *     <li>Bulk move / rename of a whole subtree</li>
+ *     <li>Incremental size rollups for every folder on the path</li>
+ * </ul>
+ *
+ * <p>Folders are stored with a materialized path, so a subtree move is a constant
+ * number of multi-document updates instead of a per-file loop.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class FolderService {
+
+    public static final int MAX_PAGE_SIZE = 200;
+
+    private static final String MIGRATIONS = "migrations";
+    private static final String ROOT_FOLDER_BACKFILL = "folders.root-backfill";
+
+    private final FolderRepository folderRepository;
+    private final FileMetadataRepository fileMetadataRepository;
+    private final MongoTemplate mongoTemplate;
+    private final ChangeFeedService changeFeedService;
+
+    /**
+     * Files uploaded before folders existed have no folderPath.
+     * They are moved to the root folder once at startup so the listing index covers them.
+     * The {@code folderPath} filter cannot use an index, so a marker in the
+     * {@code migrations} collection keeps later startups from scanning all files again.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillRootFolder() {
+        Query marker = Query.query(Criteria.where("_id").is(ROOT_FOLDER_BACKFILL));
+        if (mongoTemplate.exists(marker, MIGRATIONS)) {
+            return;
+        }
+
+        long updated = mongoTemplate.updateMulti(
+                Query.query(Criteria.where("folderPath").exists(false)),
+                Update.update("folderPath", FolderPaths.ROOT),
+                FileMetadata.class
+        ).getModifiedCount();
+
+        if (updated > 0) {
+            log.info("Moved {} legacy file records to the root folder", updated);
+        }
+        mongoTemplate.upsert(marker, new Update().setOnInsert("completedAt", Instant.now()), MIGRATIONS);
+    }
+
+    /**
+     * Creates a folder and any missing ancestors.
+     *
+     * @param ownerEmail owner email
+     * @param rawPath    folder path, e.g. "docs/reports"
+     * @return the created folder
+     * @throws IllegalStateException if the folder already exists
+     */
+    @Transactional
+    public Folder createFolder(String ownerEmail, String rawPath) {
+        String path = FolderPaths.normalize(rawPath);
+
+        if (FolderPaths.ROOT.equals(path) || folderRepository.existsByOwnerEmailAndPath(ownerEmail, path)) {
+            throw new IllegalStateException("Folder already exists");
+        }
+
+        ensureFolder(ownerEmail, path);
+        return getFolder(ownerEmail, path);
+    }
+
+    /**
+     * Makes sure a folder and all its ancestors exist. Idempotent.
+     *
+     * @param ownerEmail owner email
+     * @param path       canonical folder path
+     */
+    public void ensureFolder(String ownerEmail, String path) {
+        Instant now = Instant.now();
+
+        for (String current : FolderPaths.selfAndAncestors(path)) {
+            if (FolderPaths.ROOT.equals(current)) {
+                continue;
+            }
+            Update update = new Update()
+                    .setOnInsert("parentPath", FolderPaths.parentOf(current))
+                    .setOnInsert("name", FolderPaths.nameOf(current))
+                    .setOnInsert("size", 0L)
+                    .setOnInsert("fileCount", 0L)
+                    .setOnInsert("createdAt", now);
+
+            mongoTemplate.upsert(ownerPath(ownerEmail, current), update, Folder.class);
+        }
+    }
+
+    /**
+     * Returns a folder by path.
+     *
+     * @throws FolderNotFoundException if the folder does not exist
+     */
+    public Folder getFolder(String ownerEmail, String path) {
+        return folderRepository.findByOwnerEmailAndPath(ownerEmail, path)
+                .orElseThrow(() -> new FolderNotFoundException(path));
+    }
+
+    /**
+     * Lists the direct subfolders of a folder, one page at a time.
+     */
+    public Slice<Folder> listSubfolders(String ownerEmail, String path, int page, int size) {
+        return folderRepository.findByOwnerEmailAndParentPath(
+                ownerEmail,
+                path,
+                PageRequest.of(page, clampPageSize(size), Sort.by("name"))
+        );
+    }
+
+    /**
+     * Lists the latest, non-deleted files directly inside a folder, one page at a time.
+     * Served from the (ownerEmail, folderPath, deleted, isLatest, originalFilename) index.
+     */
+    public Slice<FileMetadata> listFiles(String ownerEmail, String path, int page, int size) {
+        return fileMetadataRepository.findByOwnerEmailAndFolderPathAndDeletedFalseAndIsLatestTrue(
+                ownerEmail,
+                path,
+                PageRequest.of(page, clampPageSize(size), Sort.by("originalFilename"))
+        );
+    }
+
+    /**
+     * Moves (or renames) a folder together with its whole subtree.
+     *
+     * <p>Runs as three bulk updates (subfolders, the folder itself, files) plus two rollup
+     * adjustments, independent of how many files the subtree holds.
+     *
+     * @param ownerEmail owner email
+     * @param rawSource  current folder path
+     * @param rawTarget  new folder path
+     * @return the moved folder
+     * @throws FolderNotFoundException if the source does not exist
+     * @throws IllegalStateException   if the target exists or lies inside the source
+     * @throws IllegalArgumentException if a moved path would exceed the maximum length
+     */
+    @Transactional
+    public Folder moveFolder(String ownerEmail, String rawSource, String rawTarget) {
+        String source = FolderPaths.normalize(rawSource);
+        String target = FolderPaths.normalize(rawTarget);
+
+        if (FolderPaths.ROOT.equals(source) || FolderPaths.ROOT.equals(target)) {
+            throw new IllegalArgumentException("Root folder cannot be moved");
+        }
+        if (target.startsWith(source)) {
+            throw new IllegalStateException("Cannot move a folder into itself");
+        }
+
+        Folder folder = getFolder(ownerEmail, source);
+
+        if (folderRepository.existsByOwnerEmailAndPath(ownerEmail, target)) {
+            throw new IllegalStateException("Target folder already exists");
+        }
+
+        Criteria descendants = Criteria.where("ownerEmail").is(ownerEmail)
+                .and("path").regex(FolderPaths.subtreeRegex(source)).ne(source);
+
+        // Files only live in existing folders, so the longest folder path bounds the subtree
+        int growth = target.codePointCount(0, target.length()) - source.codePointCount(0, source.length());
+        if (growth > 0 && longestPath(descendants) + growth > FolderPaths.MAX_PATH_LENGTH) {
+            throw new IllegalArgumentException("Folder path is too long");
+        }
+
+        String targetParent = FolderPaths.parentOf(target);
+        ensureFolder(ownerEmail, targetParent);
+
+        // Descendant folders: rewrite the path prefix of both path and parentPath
+        mongoTemplate.updateMulti(
+                Query.query(descendants),
+                AggregationUpdate.update()
+                        .set("path").toValue(rewritePrefix("path", source, target))
+                        .set("parentPath").toValue(rewritePrefix("parentPath", source, target)),
+                Folder.class
+        );
+
+        // The folder itself gets a new parent and name
+        mongoTemplate.updateFirst(
+                ownerPath(ownerEmail, source),
+                new Update()
+                        .set("path", target)
+                        .set("parentPath", targetParent)
+                        .set("name", FolderPaths.nameOf(target)),
+                Folder.class
+        );
+
+        // Every file version in the subtree, including soft deleted ones
+        mongoTemplate.updateMulti(
+                Query.query(Criteria.where("ownerEmail").is(ownerEmail)
+                        .and("folderPath").regex(FolderPaths.subtreeRegex(source))),
+                AggregationUpdate.update()
+                        .set("folderPath").toValue(rewritePrefix("folderPath", source, target)),
+                FileMetadata.class
+        );
+
+        // Rollups: the subtree leaves its old ancestors and joins the new ones
+        applyDelta(ownerEmail, FolderPaths.parentOf(source), -folder.getSize(), -folder.getFileCount());
+        applyDelta(ownerEmail, targetParent, folder.getSize(), folder.getFileCount());
+
+        changeFeedService.recordFolderMove(ownerEmail, source, target);
+
+        return getFolder(ownerEmail, target);
+    }
+
+    /**
+     * Adjusts size and file count of a folder and all of its ancestors.
+     * The root folder is implicit; its totals are the user's storage usage.
+     *
+     * @param ownerEmail owner email
+     * @param path       canonical folder path the change happened in
+     * @param bytes      size delta in bytes
+     * @param files      file count delta
+     */
+    public void applyDelta(String ownerEmail, String path, long bytes, long files) {
+        if (path == null || (bytes == 0 && files == 0)) {
+            return;
+        }
+
+        List<String> paths = FolderPaths.selfAndAncestors(path)
+                .stream()
+                .filter(p -> !FolderPaths.ROOT.equals(p))
+                .toList();
+
+        if (paths.isEmpty()) {
+            return;
+        }
+
+        mongoTemplate.updateMulti(
+                Query.query(Criteria.where("ownerEmail").is(ownerEmail).and("path").in(paths)),
+                new Update().inc("size", bytes).inc("fileCount", files),
+                Folder.class
+        );
+    }
+
+    private Query ownerPath(String ownerEmail, String path) {
+        return Query.query(Criteria.where("ownerEmail").is(ownerEmail).and("path").is(path));
+    }
+
+    /**
+     * Length in code points of the longest folder path matching the filter, 0 if none.
+     */
+    private int longestPath(Criteria folders) {
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.match(folders),
+                Aggregation.project().and(StringOperators.valueOf("path").lengthCP()).as("length"),
+                Aggregation.group().max("length").as("length")
+        );
+        Document longest = mongoTemplate.aggregate(aggregation, Folder.class, Document.class).getUniqueMappedResult();
+        return longest == null ? 0 : longest.getInteger("length");
+    }
+
+    private StringOperators.Concat rewritePrefix(String field, String source, String target) {
+        // $substrCP counts code points; String.length() counts UTF-16 units, which differ
+        // for characters outside the BMP (emoji)
+        return StringOperators.Concat.stringValue(target)
+                .concatValueOf(
+                        StringOperators.valueOf(field)
+                                .substringCP(source.codePointCount(0, source.length()), FolderPaths.MAX_PATH_LENGTH)
+                );
+    }
+
+    private int clampPageSize(int size) {
+        return Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+    }
+}
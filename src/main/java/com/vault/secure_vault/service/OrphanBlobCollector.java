@@ -0,0 +1,170 @@
+package com.vault.secure_vault.service;
+
+import com.vault.secure_vault.config.OrphanGcProperties;
+import com.vault.secure_vault.model.FileMetadata;
+import com.vault.secure_vault.storage.BlobBatchDeleter;
+import com.vault.secure_vault.storage.FileStorageService;
+import com.vault.secure_vault.storage.StoredObject;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Mark and sweep collector for blobs that no metadata record points at.
+ *
+ * <p>Such blobs appear when an upload fails between the storage write and the
+ * metadata save. The collector streams the storage listing, checks the keys against
+ * {@code storedFilename} in batches with one indexed {@code $in} query each, and deletes
+ * the unreferenced ones older than the grace period.</p>
+ *
+ * <p>Memory is bounded by the batch size, independent of the number of stored objects.
+ * Every metadata record counts as a reference, including soft deleted and purging ones,
+ * so their blobs are left to the trash purge worker.</p>
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class OrphanBlobCollector {
+
+    private final OrphanGcProperties properties;
+    private final FileStorageService fileStorageService;
+    private final BlobBatchDeleter blobBatchDeleter;
+    private final MongoTemplate mongoTemplate;
+    private final MeterRegistry meterRegistry;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    private Counter scannedCounter;
+    private Counter deletedCounter;
+    private Counter reclaimedBytesCounter;
+
+    @PostConstruct
+    void initMetrics() {
+        scannedCounter = meterRegistry.counter("vault.orphan_gc.scanned");
+        deletedCounter = meterRegistry.counter("vault.orphan_gc.deleted");
+        reclaimedBytesCounter = meterRegistry.counter("vault.orphan_gc.reclaimed_bytes");
+    }
+
+    /**
+     * Result of one collection run.
+     */
+    public record Report(long scanned, long orphans, long deleted, long reclaimedBytes) {
+    }
+
+    @Scheduled(
+            fixedDelayString = "${app.orphan-gc.interval:P1D}",
+            initialDelayString = "${app.orphan-gc.initial-delay:PT30M}"
+    )
+    public void scheduledCollect() {
+        if (properties.isEnabled()) {
+            collect();
+        }
+    }
+
+    /**
+     * Runs one full pass over the storage backend.
+     *
+     * @return the run report, or {@code null} if another run is in progress
+     */
+    public Report collect() {
+        if (!running.compareAndSet(false, true)) {
+            return null;
+        }
+
+        try {
+            Sweep sweep = new Sweep(Instant.now().minus(properties.getGracePeriod()));
+            fileStorageService.forEachObject(sweep::offer);
+            sweep.flush();
+
+            Report report = sweep.report();
+            log.info("Orphan collection scanned {} blobs, deleted {} of {} orphans, reclaimed {} bytes",
+                    report.scanned(), report.deleted(), report.orphans(), report.reclaimedBytes());
+            return report;
+        } catch (UnsupportedOperationException e) {
+            log.warn("Orphan collection skipped: {}", e.getMessage());
+            return null;
+        } finally {
+            running.set(false);
+        }
+    }
+
+    /**
+     * State of one pass: the current batch and running totals.
+     */
+    private final class Sweep {
+
+        private final Instant cutoff;
+        private final Map<String, Long> batch = new HashMap<>();
+
+        private long scanned;
+        private long orphans;
+        private long deleted;
+        private long reclaimedBytes;
+
+        Sweep(Instant cutoff) {
+            this.cutoff = cutoff;
+        }
+
+        void offer(StoredObject object) {
+            scanned++;
+            scannedCounter.increment();
+
+            if (object.lastModified() == null || !object.lastModified().isBefore(cutoff)) {
+                return;
+            }
+
+            batch.put(object.path(), object.size());
+            if (batch.size() >= properties.getBatchSize()) {
+                flush();
+            }
+        }
+
+        void flush() {
+            if (batch.isEmpty()) {
+                return;
+            }
+
+            Query referenced = Query.query(Criteria.where("storedFilename").in(batch.keySet()));
+            referenced.fields().include("storedFilename");
+
+            for (FileMetadata file : mongoTemplate.find(referenced, FileMetadata.class)) {
+                batch.remove(file.getStoredFilename());
+            }
+
+            if (!batch.isEmpty()) {
+                orphans += batch.size();
+                Set<String> failed = blobBatchDeleter.deleteAll(batch.keySet());
+
+                batch.forEach((path, size) -> {
+                    if (!failed.contains(path)) {
+                        deleted++;
+                        reclaimedBytes += size;
+                        deletedCounter.increment();
+                        reclaimedBytesCounter.increment(size);
+                    }
+                });
+
+                if (!failed.isEmpty()) {
+                    log.warn("Could not delete {} orphan blobs, will retry next run", failed.size());
+                }
+            }
+
+            batch.clear();
+        }
+
+        Report report() {
+            return new Report(scanned, orphans, deleted, reclaimedBytes);
+        }
+    }
+}
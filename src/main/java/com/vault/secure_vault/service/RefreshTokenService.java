@@ -1,90 +1,206 @@
 package com.vault.secure_vault.service;
 
+import com.vault.secure_vault.config.SessionProperties;
 import com.vault.secure_vault.model.RefreshToken;
 import com.vault.secure_vault.repository.RefreshTokenRepository;
+import com.vault.secure_vault.security.JwtService;
+import com.vault.secure_vault.util.OpaqueTokens;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
+import java.util.List;
 import java.util.UUID;
 
 /**
- * Service responsible for managing refresh tokens lifecycle.
+ * Service responsible for managing refresh sessions lifecycle.
  *
  * <p>This includes:
  * <ul>
- *     <li>Creating new refresh tokens</li>
- *     <li>Validating existing tokens</li>
- *     <li>Revoking tokens</li>
+ *     <li>Creating a session per signed-in device</li>
+ *     <li>Rotating the refresh token on every use, with reuse detection</li>
+ *     <li>Revoking sessions</li>
  * </ul>
  *
+ * <p>Refresh tokens are signed JWTs carrying the session id ({@code sid}). Signature and
+ * expiry are checked in memory. The only database operation of a valid refresh is the
+ * conditional update rotating the token, which also rejects revoked sessions.</p>
+ *
  * <p><b>Security Critical:</b> This service directly controls authentication sessions.
  * Any change here affects login, logout, and token refresh behavior.
  */
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class RefreshTokenService {
 
-    private static final long SECONDS_IN_DAY = 86400L;
     private final RefreshTokenRepository refreshTokenRepository;
+    private final MongoTemplate mongoTemplate;
+    private final JwtService jwtService;
+    private final SessionProperties properties;
+
+    /**
+     * A rotated refresh session: the owner and the token replacing the presented one.
+     */
+    public record Rotation(String userEmail, String refreshToken) {
+    }
 
     /**
-     * Creates a new refresh token for a user.
-     * Any existing refresh token for the user is revoked before creation.
+     * Starts a new session for a device. Other sessions of the user stay valid.
      *
-     * @param userEmail email of the user
-     * @param expiryDays number of days before token expiry
-     * @return newly created RefreshToken
+     * @param userEmail  email of the user
+     * @param deviceName client description, may be null
+     * @return raw refresh token, to be handed to the client
      */
-    @Transactional
-    public RefreshToken create(String userEmail, int expiryDays){
-        refreshTokenRepository.deleteByUserEmail(userEmail);
+    public String create(String userEmail, String deviceName){
+        Instant now = Instant.now();
+        Instant expiry = now.plus(properties.getRefreshTokenTtl());
+        String sessionId = UUID.randomUUID().toString();
+        String token = jwtService.generateRefreshToken(userEmail, sessionId, expiry);
 
-        return refreshTokenRepository.save(
+        refreshTokenRepository.save(
                 RefreshToken.builder()
-                        .token(UUID.randomUUID().toString())
+                        .id(sessionId)
+                        .tokenHash(OpaqueTokens.hash(token))
                         .userEmail(userEmail)
-                        .expiryDate(Instant.now().plusSeconds(expiryDays * SECONDS_IN_DAY))
+                        .deviceName(deviceName)
+                        .createdAt(now)
+                        .expiryDate(expiry)
                         .revoked(false)
                         .build()
         );
+        return token;
     }
 
     /**
-     * Validates a refresh token.
+     * Validates a refresh token and replaces it with a new one.
      *
      * <p>Checks:
      * <ul>
-     *     <li>Token exists</li>
-     *     <li>Token is not revoked</li>
-     *     <li>Token is not expired</li>
+     *     <li>Signature and expiry (in memory)</li>
+     *     <li>Token is the current token of a non-revoked session (conditional update)</li>
      * </ul>
+     * An older token of the session is treated as stolen and revokes the session, unless it
+     * was rotated within the grace period (concurrent or retried refresh).
      *
      * @param token refresh token string
-     * @return valid RefreshToken entity
-     * @throws IllegalStateException if token is invalid or expired
+     * @return owner and new refresh token
+     * @throws IllegalStateException if token is invalid, expired, revoked or reused
      */
-    public RefreshToken validateToken(String token){
-        RefreshToken refreshToken = refreshTokenRepository.findByTokenAndRevokedFalse(token).orElseThrow(()-> new RuntimeException("Invalid refresh token"));
+    public Rotation rotate(String token){
+        Claims claims = verify(token);
+        String sessionId = claims.get(JwtService.SESSION_ID_CLAIM, String.class);
 
-        if(refreshToken.getExpiryDate().isBefore(Instant.now())){
-            refreshToken.setRevoked(true);
-            refreshTokenRepository.save(refreshToken);
-            throw new RuntimeException("Refresh token expired");
+        Instant now = Instant.now();
+        Instant expiry = now.plus(properties.getRefreshTokenTtl());
+        String presentedHash = OpaqueTokens.hash(token);
+        String next = jwtService.generateRefreshToken(claims.getSubject(), sessionId, expiry);
+
+        Query current = Query.query(Criteria.where("_id").is(sessionId)
+                .and("tokenHash").is(presentedHash)
+                .and("revoked").is(false));
+        Update rotate = new Update()
+                .set("tokenHash", OpaqueTokens.hash(next))
+                .set("previousTokenHash", presentedHash)
+                .set("rotatedAt", now)
+                .set("expiryDate", expiry);
+
+        if (mongoTemplate.updateFirst(current, rotate, RefreshToken.class).getModifiedCount() == 1) {
+            return new Rotation(claims.getSubject(), next);
         }
 
-        return refreshToken;
+        handleStaleToken(sessionId, presentedHash, now);
+        throw new RuntimeException("Invalid or expired refresh token");
     }
 
     /**
-     * Revokes a refresh token, making it unusable for future authentication.
+     * Revokes the session of a refresh token (logout on one device).
      *
-     * @param token RefreshToken entity to revoke
+     * @param token refresh token string
      */
-    public void revokeToken(RefreshToken token){
-        token.setRevoked(true);
-        refreshTokenRepository.save(token);
+    public void revoke(String token){
+        revokeSession(verify(token).get(JwtService.SESSION_ID_CLAIM, String.class));
     }
 
+    /**
+     * Revokes every session of a user, e.g. after a password reset.
+     *
+     * @param userEmail email of the user
+     */
+    public void revokeAll(String userEmail){
+        mongoTemplate.updateMulti(
+                Query.query(Criteria.where("userEmail").is(userEmail).and("revoked").is(false)),
+                new Update().set("revoked", true).set("revokedAt", Instant.now()),
+                RefreshToken.class
+        );
+    }
+
+    /**
+     * Active sessions of a user, newest first.
+     *
+     * @param userEmail email of the user
+     */
+    public List<RefreshToken> listSessions(String userEmail){
+        return refreshTokenRepository
+                .findByUserEmailAndRevokedFalseAndExpiryDateAfterOrderByCreatedAtDesc(userEmail, Instant.now());
+    }
+
+    /**
+     * Revokes one session of a user.
+     *
+     * @param userEmail email of the user
+     * @param sessionId session to revoke
+     * @return false if the user has no such session
+     */
+    public boolean revokeSession(String userEmail, String sessionId){
+        return mongoTemplate.updateFirst(
+                Query.query(Criteria.where("_id").is(sessionId).and("userEmail").is(userEmail)),
+                new Update().set("revoked", true).set("revokedAt", Instant.now()),
+                RefreshToken.class
+        ).getMatchedCount() == 1;
+    }
+
+    private Claims verify(String token){
+        try {
+            return jwtService.verifyRefreshToken(token);
+        } catch (JwtException | IllegalArgumentException e) {
+            throw new RuntimeException("Invalid or expired refresh token");
+        }
+    }
+
+    private void revokeSession(String sessionId){
+        mongoTemplate.updateFirst(
+                Query.query(Criteria.where("_id").is(sessionId)),
+                new Update().set("revoked", true).set("revokedAt", Instant.now()),
+                RefreshToken.class
+        );
+    }
+
+    /**
+     * Called when a correctly signed token is not the session's current token.
+     */
+    private void handleStaleToken(String sessionId, String presentedHash, Instant now){
+        RefreshToken session = refreshTokenRepository.findById(sessionId).orElse(null);
+        if (session == null || session.isRevoked()) {
+            return;
+        }
+
+        boolean justRotated = presentedHash.equals(session.getPreviousTokenHash())
+                && session.getRotatedAt() != null
+                && session.getRotatedAt().plus(properties.getRotationGracePeriod()).isAfter(now);
+        if (justRotated) {
+            return;
+        }
+
+        log.warn("Refresh token reuse detected for session {} of {}, revoking session",
+                sessionId, session.getUserEmail());
+        revokeSession(sessionId);
+    }
 }
@@ -0,0 +1,186 @@
+package com.vault.secure_vault.service;
+
+import com.mongodb.client.result.UpdateResult;
+import com.vault.secure_vault.config.StorageKeyProperties;
+import com.vault.secure_vault.model.FileMetadata;
+import com.vault.secure_vault.storage.FileStorageService;
+import com.vault.secure_vault.util.StorageKeys;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.regex.Pattern;
+
+/**
+ * Moves blobs stored under legacy {@code ownerEmail/uuid_filename} keys to the
+ * hash-prefixed layout ({@link StorageKeys}).
+ *
+ * <p>Migration is lazy: {@link FileService#downloadFile} queues legacy blobs as they are
+ * read, and a scheduled run migrates a batch of them. An optional sweep also picks up
+ * legacy blobs nobody reads, walking the collection in {@code _id} order. Each migration copies the blob to its new key (a hard link
+ * or server side copy where possible), switches {@code storedFilename} with a conditional
+ * update and deletes the old key after {@code old-key-retention}, so in-flight downloads
+ * of the old key can finish. Old keys whose deletion is lost on restart are removed by
+ * the orphan collector.</p>
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class StorageKeyMigrationService {
+
+    private static final Pattern HASHED_PREFIX = Pattern.compile("^[0-9a-f]{2}/[0-9a-f]{2}/");
+
+    private final StorageKeyProperties properties;
+    private final FileStorageService fileStorageService;
+    private final MongoTemplate mongoTemplate;
+    private final MeterRegistry meterRegistry;
+
+    private final Set<String> queued = ConcurrentHashMap.newKeySet();
+    private final Queue<PendingDelete> pendingDeletes = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    private Counter migratedCounter;
+
+    /**
+     * Last {@code _id} the sweep looked at, null to start from the beginning. Only touched
+     * by the scheduled run, which {@link #running} keeps single threaded.
+     */
+    private String sweepCursor;
+
+    @PostConstruct
+    void initMetrics() {
+        migratedCounter = meterRegistry.counter("vault.storage_keys.migrated");
+        meterRegistry.gaugeCollectionSize("vault.storage_keys.queued", Collections.emptyList(), queued);
+    }
+
+    private record PendingDelete(String storedPath, Instant dueAt) {
+    }
+
+    /**
+     * Queues a file for migration if it still uses a legacy key. Cheap enough for the
+     * download path: a string check and a set insert.
+     */
+    public void onAccess(FileMetadata file) {
+        if (!properties.isHashedLayout()
+                || !properties.isLazyMigration()
+                || StorageKeys.isHashed(file.getStoredFilename())
+                || queued.size() >= properties.getMaxQueued()) {
+            return;
+        }
+        queued.add(file.getId());
+    }
+
+    @Scheduled(fixedDelayString = "${app.storage-keys.migration-interval:PT1M}")
+    public void scheduledMigrate() {
+        if (!running.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            deleteDueOldKeys();
+            if (properties.isHashedLayout()) {
+                migrateQueued();
+                if (properties.isSweepEnabled()) {
+                    sweep();
+                }
+            }
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private void migrateQueued() {
+        List<String> ids = new ArrayList<>();
+        Iterator<String> iterator = queued.iterator();
+        while (iterator.hasNext() && ids.size() < properties.getBatchSize()) {
+            ids.add(iterator.next());
+            iterator.remove();
+        }
+        if (ids.isEmpty()) {
+            return;
+        }
+
+        Query query = Query.query(Criteria.where("_id").in(ids).and("purging").ne(true));
+        for (FileMetadata file : mongoTemplate.find(query, FileMetadata.class)) {
+            migrate(file);
+        }
+    }
+
+    /**
+     * Walks the files in {@code _id} order, a batch per run, and wraps around at the end.
+     * Resuming after the last id instead of re-querying from the start keeps a few files
+     * whose copy keeps failing from being returned first on every run.
+     */
+    private void sweep() {
+        Criteria criteria = Criteria.where("storedFilename").not().regex(HASHED_PREFIX)
+                .and("purging").ne(true);
+        if (sweepCursor != null) {
+            criteria.and("_id").gt(sweepCursor);
+        }
+        Query query = Query.query(criteria)
+                .with(Sort.by("_id"))
+                .limit(properties.getBatchSize());
+
+        List<FileMetadata> files = mongoTemplate.find(query, FileMetadata.class);
+        for (FileMetadata file : files) {
+            migrate(file);
+        }
+        sweepCursor = files.size() < properties.getBatchSize() ? null : files.getLast().getId();
+    }
+
+    private void migrate(FileMetadata file) {
+        String oldKey = file.getStoredFilename();
+        if (StorageKeys.isHashed(oldKey)) {
+            return;
+        }
+        String newKey = StorageKeys.hashed();
+
+        try {
+            fileStorageService.copy(oldKey, newKey);
+        } catch (Exception e) {
+            log.warn("Could not copy blob of file {} to its new key: {}", file.getId(), e.getMessage());
+            return;
+        }
+
+        UpdateResult result = mongoTemplate.updateFirst(
+                Query.query(Criteria.where("_id").is(file.getId()).and("storedFilename").is(oldKey)),
+                new Update().set("storedFilename", newKey),
+                FileMetadata.class
+        );
+
+        if (result.getModifiedCount() == 0) {
+            // purged or migrated concurrently, the old key is still authoritative
+            fileStorageService.delete(newKey);
+            return;
+        }
+
+        pendingDeletes.add(new PendingDelete(oldKey, Instant.now().plus(properties.getOldKeyRetention())));
+        migratedCounter.increment();
+    }
+
+    private void deleteDueOldKeys() {
+        Instant now = Instant.now();
+        PendingDelete pending;
+        while ((pending = pendingDeletes.peek()) != null && !pending.dueAt().isAfter(now)) {
+            pendingDeletes.poll();
+            try {
+                fileStorageService.delete(pending.storedPath());
+            } catch (RuntimeException e) {
+                log.warn("Could not delete old key {}, leaving it to the orphan collector", pending.storedPath());
+            }
+        }
+    }
+}
@@ -0,0 +1,233 @@
+package com.vault.secure_vault.service;
+
+import com.mongodb.client.result.UpdateResult;
+import com.vault.secure_vault.config.TieringProperties;
+import com.vault.secure_vault.model.FileMetadata;
+import com.vault.secure_vault.model.StorageTier;
+import com.vault.secure_vault.storage.FileStorageService;
+import com.vault.secure_vault.storage.tiered.BlobAccessTracker;
+import com.vault.secure_vault.storage.tiered.TieredFileStorageService;
+import com.vault.secure_vault.util.Throttle;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.InputStream;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Moves blobs between the hot and cold tier of {@link TieredFileStorageService}.
+ *
+ * <p>Two jobs:</p>
+ * <ul>
+ *     <li><b>Flush</b> - drains the in-memory {@link BlobAccessTracker} into
+ *     {@code accessCount}/{@code lastAccessedAt} with one unordered bulk write, and
+ *     accumulates the counts for promotion decisions.</li>
+ *     <li><b>Migrate</b> - promotes cold blobs read at least
+ *     {@code promote-after-accesses} times since the previous run, then demotes hot blobs
+ *     not read for {@code cold-after}. Each move copies the blob, flips
+ *     {@code storageTier} with a conditional update and only then deletes the source,
+ *     so a blob is always readable. Moves are rate limited by {@link Throttle}.</li>
+ * </ul>
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "storage.provider", havingValue = "tiered")
+@RequiredArgsConstructor
+public class TierMigrationService {
+
+    private final TieringProperties properties;
+    private final TieredFileStorageService tieredStorage;
+    private final BlobAccessTracker accessTracker;
+    private final MongoTemplate mongoTemplate;
+    private final MeterRegistry meterRegistry;
+
+    private final Map<String, Long> promotionWindow = new ConcurrentHashMap<>();
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    private Counter promotedCounter;
+    private Counter demotedCounter;
+    private Counter movedBytesCounter;
+
+    @PostConstruct
+    void initMetrics() {
+        promotedCounter = meterRegistry.counter("vault.tiering.promoted");
+        demotedCounter = meterRegistry.counter("vault.tiering.demoted");
+        movedBytesCounter = meterRegistry.counter("vault.tiering.moved_bytes");
+    }
+
+    /**
+     * Result of one migration run.
+     */
+    public record Report(long promoted, long demoted, long movedBytes) {
+    }
+
+    /**
+     * Persists the access counters gathered since the previous flush.
+     */
+    @Scheduled(fixedDelayString = "${app.tiering.flush-interval:PT1M}")
+    public void flushAccessCounts() {
+        Map<String, Long> counts = accessTracker.drain();
+        if (counts.isEmpty()) {
+            return;
+        }
+
+        Instant now = Instant.now();
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, FileMetadata.class);
+        counts.forEach((path, count) -> {
+            bulk.updateOne(
+                    Query.query(Criteria.where("storedFilename").is(path)),
+                    new Update().inc("accessCount", count).set("lastAccessedAt", now)
+            );
+            if (promotionWindow.size() < properties.getMaxTrackedBlobs() || promotionWindow.containsKey(path)) {
+                promotionWindow.merge(path, count, Long::sum);
+            }
+        });
+        bulk.execute();
+    }
+
+    @Scheduled(
+            fixedDelayString = "${app.tiering.migration-interval:PT15M}",
+            initialDelayString = "${app.tiering.initial-delay:PT5M}"
+    )
+    public void scheduledMigrate() {
+        if (properties.isMigrationEnabled()) {
+            migrate();
+        }
+    }
+
+    /**
+     * Runs one promotion and one demotion pass.
+     *
+     * @return the run report, or {@code null} if another run is in progress
+     */
+    public Report migrate() {
+        if (!running.compareAndSet(false, true)) {
+            return null;
+        }
+
+        try {
+            Throttle throttle = new Throttle(properties.getMaxBytesPerSecond().toBytes());
+            long[] movedBytes = new long[1];
+
+            long promoted = promote(throttle, movedBytes);
+            long demoted = demote(throttle, movedBytes);
+
+            if (promoted > 0 || demoted > 0) {
+                log.info("Tier migration promoted {} and demoted {} blobs ({} bytes)", promoted, demoted, movedBytes[0]);
+            }
+            return new Report(promoted, demoted, movedBytes[0]);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private long promote(Throttle throttle, long[] movedBytes) throws InterruptedException {
+        List<String> candidates = new ArrayList<>();
+        promotionWindow.forEach((path, count) -> {
+            if (count >= properties.getPromoteAfterAccesses()) {
+                candidates.add(path);
+            }
+        });
+        promotionWindow.clear();
+        if (candidates.isEmpty()) {
+            return 0;
+        }
+
+        Query query = Query.query(Criteria.where("storedFilename").in(candidates)
+                        .and("storageTier").is(StorageTier.COLD)
+                        .and("purging").ne(true))
+                .limit(properties.getBatchSize());
+
+        long promoted = 0;
+        for (FileMetadata file : mongoTemplate.find(query, FileMetadata.class)) {
+            if (move(file, tieredStorage.coldTier(), tieredStorage.hotTier(), StorageTier.HOT, throttle)) {
+                promoted++;
+                promotedCounter.increment();
+                movedBytes[0] += file.getSize();
+            }
+        }
+        return promoted;
+    }
+
+    private long demote(Throttle throttle, long[] movedBytes) throws InterruptedException {
+        Instant cutoff = Instant.now().minus(properties.getColdAfter());
+
+        Query query = Query.query(Criteria.where("storageTier").in(null, StorageTier.HOT)
+                        .orOperator(
+                                Criteria.where("lastAccessedAt").lt(cutoff),
+                                Criteria.where("lastAccessedAt").is(null)
+                        )
+                        .and("purging").ne(true))
+                .with(Sort.by(Sort.Direction.ASC, "lastAccessedAt"))
+                .limit(properties.getBatchSize());
+
+        long demoted = 0;
+        for (FileMetadata file : mongoTemplate.find(query, FileMetadata.class)) {
+            if (move(file, tieredStorage.hotTier(), tieredStorage.coldTier(), StorageTier.COLD, throttle)) {
+                demoted++;
+                demotedCounter.increment();
+                movedBytes[0] += file.getSize();
+            }
+        }
+        return demoted;
+    }
+
+    /**
+     * Copies one blob to the target tier, records the new tier and removes the source copy.
+     *
+     * @return true if the blob moved
+     */
+    private boolean move(FileMetadata file, FileStorageService from, FileStorageService to, StorageTier target,
+                         Throttle throttle) throws InterruptedException {
+        String path = file.getStoredFilename();
+        throttle.acquire(file.getSize());
+
+        try {
+            byte[] data;
+            try (InputStream in = from.download(path, file.getOriginalFilename(), file.getContentType()).inputStream()) {
+                data = in.readAllBytes();
+            }
+            to.upload(data, path, file.getContentType());
+        } catch (Exception e) {
+            log.warn("Could not move blob {} to {} tier: {}", file.getId(), target, e.getMessage());
+            return false;
+        }
+
+        Criteria source = target == StorageTier.COLD
+                ? Criteria.where("storageTier").in(null, StorageTier.HOT)
+                : Criteria.where("storageTier").is(StorageTier.COLD);
+
+        UpdateResult result = mongoTemplate.updateFirst(
+                Query.query(Criteria.where("_id").is(file.getId()).andOperator(source)),
+                new Update().set("storageTier", target),
+                FileMetadata.class
+        );
+
+        if (result.getModifiedCount() == 0) {
+            // purged or moved concurrently: drop our copy, the source is still authoritative
+            to.delete(path);
+            return false;
+        }
+
+        from.delete(path);
+        return true;
+    }
+}
@@ -0,0 +1,144 @@
+package com.vault.secure_vault.service;
+
+import com.vault.secure_vault.config.PurgeProperties;
+import com.vault.secure_vault.model.FileChangeType;
+import com.vault.secure_vault.model.FileMetadata;
+import com.vault.secure_vault.storage.BlobBatchDeleter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+/**
+ * Background worker that permanently removes soft deleted file versions once they
+ * are older than the configured retention window.
+ *
+ * <p>Each batch is processed in three steps:
+ * <ol>
+ *     <li>Claim: expired records are found through the (deleted, deletedAt) index and
+ *     flagged {@code purging}, which makes them non-restorable.</li>
+ *     <li>Free: their blobs are deleted in parallel, rate limited chunks.</li>
+ *     <li>Forget: metadata of successfully deleted blobs is removed in one bulk delete.</li>
+ * </ol>
+ *
+ * <p>Every step is idempotent and claimed records still match the claim query, so a
+ * crash at any point is simply resumed by the next run.</p>
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TrashPurgeService {
+
+    private final PurgeProperties properties;
+    private final MongoTemplate mongoTemplate;
+    private final BlobBatchDeleter blobBatchDeleter;
+    private final ChangeFeedService changeFeedService;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    /**
+     * Purges all expired trash. Runs on a fixed delay and never overlaps itself.
+     */
+    @Scheduled(
+            fixedDelayString = "${app.purge.interval:PT1H}",
+            initialDelayString = "${app.purge.initial-delay:PT5M}"
+    )
+    public void purgeExpiredTrash() {
+        if (!properties.isEnabled() || !running.compareAndSet(false, true)) {
+            return;
+        }
+
+        long purged = 0;
+        long reclaimedBytes = 0;
+        try {
+            Instant cutoff = Instant.now().minus(properties.getRetention());
+
+            while (true) {
+                List<FileMetadata> batch = claimBatch(cutoff);
+                if (batch.isEmpty()) {
+                    break;
+                }
+
+                Set<String> failed = blobBatchDeleter.deleteAll(
+                        batch.stream().map(FileMetadata::getStoredFilename).toList()
+                );
+
+                List<FileMetadata> removed = batch.stream()
+                        .filter(f -> !failed.contains(f.getStoredFilename()))
+                        .toList();
+
+                forget(removed);
+
+                purged += removed.size();
+                reclaimedBytes += removed.stream().mapToLong(FileMetadata::getSize).sum();
+
+                if (removed.isEmpty()) {
+                    log.warn("Trash purge made no progress, {} blob deletes failed", failed.size());
+                    break;
+                }
+            }
+        } finally {
+            running.set(false);
+        }
+
+        if (purged > 0) {
+            log.info("Purged {} expired file versions, reclaimed {} bytes", purged, reclaimedBytes);
+        }
+    }
+
+    /**
+     * Flags the next batch of expired records as purging and returns them.
+     * Records claimed by a crashed run are picked up again because they are still deleted.
+     */
+    private List<FileMetadata> claimBatch(Instant cutoff) {
+        Query expired = Query.query(Criteria.where("deleted").is(true).and("deletedAt").lt(cutoff))
+                .with(Sort.by("deletedAt"))
+                .limit(properties.getBatchSize());
+        expired.fields().include("_id");
+
+        List<String> ids = mongoTemplate.find(expired, FileMetadata.class)
+                .stream()
+                .map(FileMetadata::getId)
+                .toList();
+
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        Query claimable = Query.query(Criteria.where("_id").in(ids).and("deleted").is(true));
+        mongoTemplate.updateMulti(claimable, Update.update("purging", true), FileMetadata.class);
+
+        // Only records still deleted after the claim; a concurrent restore wins
+        return mongoTemplate.find(
+                Query.query(Criteria.where("_id").in(ids).and("deleted").is(true).and("purging").is(true)),
+                FileMetadata.class
+        );
+    }
+
+    private void forget(List<FileMetadata> removed) {
+        if (removed.isEmpty()) {
+            return;
+        }
+
+        mongoTemplate.remove(
+                Query.query(Criteria.where("_id").in(removed.stream().map(FileMetadata::getId).toList())),
+                FileMetadata.class
+        );
+
+        Map<String, List<FileMetadata>> byOwner = removed.stream()
+                .collect(Collectors.groupingBy(FileMetadata::getOwnerEmail));
+        byOwner.forEach((owner, files) -> changeFeedService.recordAll(owner, FileChangeType.PURGED, files));
+    }
+}
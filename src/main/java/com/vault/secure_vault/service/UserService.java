@@ -2,11 +2,20 @@ package com.vault.secure_vault.service;
 import com.vault.secure_vault.dto.User.StorageUpgradeRequestDTO;
 import com.vault.secure_vault.dto.User.UserProfileUpdateDTO;
 import com.vault.secure_vault.dto.User.UserRegistrationRequestDTO;
+import com.vault.secure_vault.dto.User.VersionRetentionRequestDTO;
 import com.vault.secure_vault.exceptions.User.InsufficientCreditsException;
 import com.vault.secure_vault.model.User;
+import com.vault.secure_vault.model.VersionRetentionPolicy;
 import com.vault.secure_vault.repository.UserRepository;
+import com.vault.secure_vault.security.PasswordHashingExecutor;
+import com.vault.secure_vault.security.PrincipalCache;
 import com.vault.secure_vault.util.constant.StorageConstant;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
@@ -24,6 +33,7 @@ import java.time.Instant;
  *     <li>Profile updates</li>
  *     <li>Storage upgrades</li>
  *     <li>Credit management</li>
+ *     <li>Version retention preferences</li>
  * </ul>
  *
  * <p><b>Important:</b> Controllers must NOT contain business logic.
@@ -35,6 +45,9 @@ public class UserService {
 
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final PrincipalCache principalCache;
+    private final PasswordHashingExecutor passwordHashingExecutor;
+    private final MongoTemplate mongoTemplate;
 
     private static final int DEFAULT_CREDITS = 10;
     private static final long DEFAULT_STORAGE_LIMIT = 500*1024*1024;
@@ -55,14 +68,14 @@ public class UserService {
                 .email(request.email())
                 .firstName(request.firstName())
                 .lastName(request.lastName())
-                .password(passwordEncoder.encode(request.password()))
+                .password(passwordHashingExecutor.execute(() -> passwordEncoder.encode(request.password())))
                 .credits(DEFAULT_CREDITS)
                 .storageLimit(DEFAULT_STORAGE_LIMIT)
                 .storageUsed(0L)
                 .createdAt(Instant.now())
                 .isDeleted(false)
                 .build();
-         return userRepository.save(user);
+         return persist(user);
     }
 
 
@@ -89,13 +102,14 @@ public class UserService {
      * @return updated User entity
      */
     public User updateProfile(String email, UserProfileUpdateDTO request){
-        User user = userRepository.findByEmail(email).orElseThrow(()-> new UsernameNotFoundException("User not found"));
+        Update update = new Update();
+        if(request.firstName() != null) update.set("firstName", request.firstName());
+        if(request.lastName() != null) update.set("lastName", request.lastName());
+        if(request.photoUrl() != null) update.set("photoUrl", request.photoUrl());
 
-        if(request.firstName() != null) user.setFirstName(request.firstName());
-        if(request.lastName() != null) user.setLastName(request.lastName());
-        if(request.photoUrl() != null) user.setPhotoUrl(request.photoUrl());
-
-        return userRepository.save(user);
+        User user = update(byEmail(email), update);
+        if (user == null) throw new UsernameNotFoundException("User not found");
+        return user;
     }
 
     /**
@@ -110,12 +124,67 @@ public class UserService {
     }
 
     /**
-     * Persists user entity.
+     * Replaces the user's password hash.
      *
-     * @param user user entity
+     * @param email           user email
+     * @param encodedPassword new password hash
+     * @throws UsernameNotFoundException if user does not exist
      */
-    public void save(User user) {
-        userRepository.save(user);
+    public void updatePassword(String email, String encodedPassword) {
+        if (update(byEmail(email), new Update().set("password", encodedPassword)) == null) {
+            throw new UsernameNotFoundException("User not found");
+        }
+    }
+
+    /**
+     * Adds {@code delta} bytes (negative to release) to the user's storage usage with an
+     * atomic {@code $inc}, so concurrent uploads and deletes never overwrite each other.
+     *
+     * @param email user email
+     * @param delta bytes to add
+     */
+    public void addStorageUsed(String email, long delta) {
+        mongoTemplate.updateFirst(
+                Query.query(Criteria.where("email").is(email)),
+                new Update().inc("storageUsed", delta),
+                User.class
+        );
+        principalCache.invalidate(email);
+    }
+
+    /**
+     * Saves a new user and drops its cached principal, so the next authenticated
+     * request sees it.
+     */
+    private User persist(User user) {
+        User saved = userRepository.save(user);
+        principalCache.invalidate(saved.getEmail());
+        return saved;
+    }
+
+    /**
+     * Applies a targeted update to an existing user and drops its cached principal.
+     *
+     * <p>Existing users are never saved whole: a full document write would put back the
+     * {@code storageUsed} read earlier and undo concurrent {@link #addStorageUsed} calls.</p>
+     *
+     * @return the updated user, or {@code null} if no user matched
+     */
+    private User update(Query query, Update update) {
+        User updated = mongoTemplate.findAndModify(
+                query,
+                update.set("updatedAt", Instant.now()),
+                FindAndModifyOptions.options().returnNew(true),
+                User.class
+        );
+        if (updated != null) {
+            principalCache.invalidate(updated.getEmail());
+        }
+        return updated;
+    }
+
+    private static Query byEmail(String email) {
+        return Query.query(Criteria.where("email").is(email));
     }
 
     /**
@@ -132,16 +201,14 @@ public class UserService {
 
         if(creditsToSpend <= 0) throw new IllegalArgumentException("creditsToSpend must be greater than 0");
 
-        User user = getCurrentUser(email);
-
-        if(user.getCredits() < creditsToSpend) throw new RuntimeException("Insufficient credit");
-
         long extraStorage = creditsToSpend * StorageConstant.STORAGE_PER_CREDIT;
 
-        user.setCredits(user.getCredits() - creditsToSpend);
-        user.setStorageLimit(user.getStorageLimit() + extraStorage);
-
-        return userRepository.save(user);
+        User user = spendCredits(email, creditsToSpend, extraStorage);
+        if(user == null) {
+            getCurrentUser(email);
+            throw new RuntimeException("Insufficient credit");
+        }
+        return user;
     }
 
     /**
@@ -155,20 +222,52 @@ public class UserService {
     @Transactional
     public User upgradeStorage(String email, StorageUpgradeRequestDTO request) {
 
-        User user = userRepository.findByEmail(email).orElseThrow(()-> new UsernameNotFoundException("User not found"));
-
         int creditsToSpend = request.credits();
 
-        if (user.getCredits() < creditsToSpend) {
+        long additionalStorage = creditsToSpend * DEFAULT_STORAGE_LIMIT;
+
+        User user = spendCredits(email, creditsToSpend, additionalStorage);
+        if (user == null) {
+            getCurrentUser(email);
             throw new InsufficientCreditsException("Not enough credits");
         }
+        return user;
+    }
 
-        long additionalStorage = creditsToSpend * DEFAULT_STORAGE_LIMIT;
+    /**
+     * Takes credits and adds storage in one conditional update, so concurrent purchases
+     * cannot spend the same credits twice.
+     *
+     * @return the updated user, or {@code null} if the user is missing or has too few credits
+     */
+    private User spendCredits(String email, int credits, long storage) {
+        return update(
+                Query.query(Criteria.where("email").is(email).and("credits").gte(credits)),
+                new Update().inc("credits", -credits).inc("storageLimit", storage)
+        );
+    }
 
-        user.setCredits(user.getCredits() - creditsToSpend);
-        user.setStorageLimit(user.getStorageLimit() + additionalStorage);
+    /**
+     * Sets (or clears) the user's personal version retention policy.
+     *
+     * @param email   user email
+     * @param request retention rules; both null resets to the global policy
+     * @return updated User entity
+     */
+    public User updateVersionRetention(String email, VersionRetentionRequestDTO request) {
+        Update update = new Update();
+        if (request.keepLastVersions() == null && request.keepDailyForDays() == null) {
+            update.unset("versionRetention");
+        } else {
+            update.set("versionRetention", VersionRetentionPolicy.builder()
+                    .keepLastVersions(request.keepLastVersions() == null ? 0 : request.keepLastVersions())
+                    .keepDailyForDays(request.keepDailyForDays() == null ? 0 : request.keepDailyForDays())
+                    .build());
+        }
 
-        return userRepository.save(user);
+        User user = update(byEmail(email), update);
+        if (user == null) throw new UsernameNotFoundException("User not found");
+        return user;
     }
 
 }
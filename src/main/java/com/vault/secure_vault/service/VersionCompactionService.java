@@ -0,0 +1,254 @@
+package com.vault.secure_vault.service;
+
+import com.vault.secure_vault.config.VersionRetentionProperties;
+import com.vault.secure_vault.model.FileChangeType;
+import com.vault.secure_vault.model.FileMetadata;
+import com.vault.secure_vault.model.User;
+import com.vault.secure_vault.model.VersionRetentionPolicy;
+import com.vault.secure_vault.storage.BlobBatchDeleter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOptions;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Background compactor enforcing version retention policies.
+ *
+ * <p>For every user with an active policy (personal override or global), files with
+ * prunable versions are found with one aggregation per user, which also returns the
+ * version list of each file, so no query runs per file. Prunable versions are
+ * claimed, their blobs freed in parallel batches, their metadata removed in bulk and
+ * the user's {@code storageUsed} decremented with a single atomic {@code $inc}.</p>
+ *
+ * <p>The latest version is never pruned: it is excluded when selecting, when claiming
+ * and when removing, and a claimed version is never promoted to latest on delete.</p>
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class VersionCompactionService {
+
+    private final VersionRetentionProperties properties;
+    private final MongoTemplate mongoTemplate;
+    private final BlobBatchDeleter blobBatchDeleter;
+    private final FolderService folderService;
+    private final ChangeFeedService changeFeedService;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    /**
+     * Prunes old versions for all users. Runs on a fixed delay and never overlaps itself.
+     */
+    @Scheduled(
+            fixedDelayString = "${app.version-retention.interval:PT6H}",
+            initialDelayString = "${app.version-retention.initial-delay:PT10M}"
+    )
+    public void compact() {
+        if (!properties.isEnabled() || !running.compareAndSet(false, true)) {
+            return;
+        }
+
+        VersionRetentionPolicy global = VersionRetentionPolicy.builder()
+                .keepLastVersions(properties.getKeepLastVersions())
+                .keepDailyForDays(properties.getKeepDailyForDays())
+                .build();
+
+        Query users = new Query();
+        users.fields().include("email").include("versionRetention");
+
+        long pruned = 0;
+        try (Stream<User> stream = mongoTemplate.stream(users, User.class)) {
+            for (Iterator<User> it = stream.iterator(); it.hasNext(); ) {
+                User user = it.next();
+                VersionRetentionPolicy policy = user.getVersionRetention() != null
+                        ? user.getVersionRetention()
+                        : global;
+
+                if (policy.isActive()) {
+                    pruned += compactUser(user.getEmail(), policy);
+                }
+            }
+        } finally {
+            running.set(false);
+        }
+
+        if (pruned > 0) {
+            log.info("Version compaction pruned {} file versions", pruned);
+        }
+    }
+
+    /**
+     * Applies a policy to all files of one user.
+     *
+     * @return number of pruned versions
+     */
+    long compactUser(String ownerEmail, VersionRetentionPolicy policy) {
+        // With only a count rule, files with few versions can be skipped on the server
+        int minVersions = policy.getKeepDailyForDays() > 0 ? 2 : policy.getKeepLastVersions() + 1;
+
+        // Only the fields the retention rules look at are pushed
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.match(Criteria.where("ownerEmail").is(ownerEmail).and("deleted").is(false)),
+                Aggregation.group("folderPath", "originalFilename")
+                        .count().as("count")
+                        .push(new Document("id", "$_id")
+                                .append("version", "$version")
+                                .append("createdAt", "$createdAt")
+                                .append("isLatest", "$isLatest"))
+                        .as("versions"),
+                Aggregation.match(Criteria.where("count").gte(minVersions))
+        ).withOptions(AggregationOptions.builder().allowDiskUse(true).build());
+
+        List<FileMetadata> batch = new ArrayList<>();
+        long pruned = 0;
+        Instant now = Instant.now();
+
+        try (Stream<Document> groups = mongoTemplate.aggregateStream(aggregation, FileMetadata.class, Document.class)) {
+            for (Iterator<Document> it = groups.iterator(); it.hasNext(); ) {
+                batch.addAll(selectPrunable(versionsDesc(it.next()), policy, now));
+
+                if (batch.size() >= properties.getBatchSize()) {
+                    pruned += prune(ownerEmail, batch);
+                    batch = new ArrayList<>();
+                }
+            }
+        }
+
+        return pruned + prune(ownerEmail, batch);
+    }
+
+    /**
+     * Versions pushed by the aggregation, newest first. The group stage collects them in
+     * no particular order, so they are sorted here.
+     */
+    private static List<FileMetadata> versionsDesc(Document group) {
+        List<FileMetadata> versions = new ArrayList<>();
+        for (Document version : group.getList("versions", Document.class)) {
+            Date createdAt = version.getDate("createdAt");
+            versions.add(FileMetadata.builder()
+                    .id(version.get("id").toString())
+                    .version(version.getInteger("version", 0))
+                    .createdAt(createdAt == null ? null : createdAt.toInstant())
+                    .isLatest(version.getBoolean("isLatest", false))
+                    .build());
+        }
+        versions.sort(Comparator.comparingInt(FileMetadata::getVersion).reversed());
+        return versions;
+    }
+
+    /**
+     * Picks the versions that no rule keeps.
+     *
+     * @param versionsDesc non-deleted versions of one file, newest first
+     */
+    static List<FileMetadata> selectPrunable(List<FileMetadata> versionsDesc, VersionRetentionPolicy policy, Instant now) {
+        Instant dailyCutoff = now.minus(policy.getKeepDailyForDays(), ChronoUnit.DAYS);
+        Set<Instant> keptDays = new HashSet<>();
+        List<FileMetadata> prunable = new ArrayList<>();
+
+        for (int i = 0; i < versionsDesc.size(); i++) {
+            FileMetadata version = versionsDesc.get(i);
+
+            boolean keep = version.isLatest() || i < policy.getKeepLastVersions();
+
+            if (policy.getKeepDailyForDays() > 0
+                    && version.getCreatedAt() != null
+                    && version.getCreatedAt().isAfter(dailyCutoff)
+                    && keptDays.add(version.getCreatedAt().truncatedTo(ChronoUnit.DAYS))) {
+                keep = true;
+            }
+
+            if (!keep) {
+                prunable.add(version);
+            }
+        }
+        return prunable;
+    }
+
+    private long prune(String ownerEmail, List<FileMetadata> candidates) {
+        if (candidates.isEmpty()) {
+            return 0;
+        }
+
+        List<String> ids = candidates.stream().map(FileMetadata::getId).toList();
+
+        // Claim: never touch a version that became latest or was deleted meanwhile
+        Criteria prunable = Criteria.where("_id").in(ids)
+                .and("isLatest").is(false)
+                .and("deleted").is(false);
+        mongoTemplate.updateMulti(Query.query(prunable), Update.update("purging", true), FileMetadata.class);
+
+        List<FileMetadata> claimed = mongoTemplate.find(
+                Query.query(Criteria.where("_id").in(ids)
+                        .and("isLatest").is(false)
+                        .and("deleted").is(false)
+                        .and("purging").is(true)),
+                FileMetadata.class
+        );
+
+        Set<String> failed = blobBatchDeleter.deleteAll(
+                claimed.stream().map(FileMetadata::getStoredFilename).toList()
+        );
+
+        List<FileMetadata> removed = claimed.stream()
+                .filter(f -> !failed.contains(f.getStoredFilename()))
+                .toList();
+
+        if (!failed.isEmpty()) {
+            // Release the claim so the versions stay restorable and are retried next run
+            List<String> failedIds = claimed.stream()
+                    .filter(f -> failed.contains(f.getStoredFilename()))
+                    .map(FileMetadata::getId)
+                    .toList();
+            mongoTemplate.updateMulti(
+                    Query.query(Criteria.where("_id").in(failedIds)),
+                    new Update().unset("purging"),
+                    FileMetadata.class
+            );
+        }
+
+        if (removed.isEmpty()) {
+            return 0;
+        }
+
+        mongoTemplate.remove(
+                Query.query(Criteria.where("_id").in(removed.stream().map(FileMetadata::getId).toList())
+                        .and("isLatest").is(false)),
+                FileMetadata.class
+        );
+
+        long bytes = removed.stream().mapToLong(FileMetadata::getSize).sum();
+        mongoTemplate.updateFirst(
+                Query.query(Criteria.where("email").is(ownerEmail)),
+                new Update().inc("storageUsed", -bytes),
+                User.class
+        );
+
+        Map<String, List<FileMetadata>> byFolder = removed.stream()
+                .collect(Collectors.groupingBy(FileMetadata::getFolderPath));
+        byFolder.forEach((folder, files) -> folderService.applyDelta(
+                ownerEmail,
+                folder,
+                -files.stream().mapToLong(FileMetadata::getSize).sum(),
+                -files.size()
+        ));
+
+        changeFeedService.recordAll(ownerEmail, FileChangeType.PURGED, removed);
+
+        return removed.size();
+    }
+}
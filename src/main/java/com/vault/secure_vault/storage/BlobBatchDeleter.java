@@ -0,0 +1,109 @@
+package com.vault.secure_vault.storage;
+
+import com.vault.secure_vault.config.PurgeProperties;
+import com.vault.secure_vault.util.ThreadFactories;
+import com.vault.secure_vault.util.Throttle;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Deletes large numbers of blobs through {@link FileStorageService#deleteAll} in
+ * parallel, rate limited chunks.
+ *
+ * <p>Shared by every background job that frees storage, so they all respect the same
+ * parallelism and delete rate.</p>
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BlobBatchDeleter {
+
+    /**
+     * Keys per storage call; matches the S3 DeleteObjects limit.
+     */
+    public static final int CHUNK_SIZE = 1000;
+
+    private final FileStorageService fileStorageService;
+    private final PurgeProperties properties;
+
+    @Value(ThreadFactories.VIRTUAL_THREADS_PROPERTY)
+    private boolean virtualThreads;
+
+    private ExecutorService executor;
+    private Semaphore inFlight;
+    private Throttle throttle;
+
+    @PostConstruct
+    void init() {
+        // Virtual threads are not pooled; the semaphore keeps the parallelism bound instead
+        executor = virtualThreads
+                ? Executors.newThreadPerTaskExecutor(ThreadFactories.named("blob-deleter-", true))
+                : Executors.newFixedThreadPool(properties.getParallelism(), ThreadFactories.named("blob-deleter-", false));
+        inFlight = new Semaphore(properties.getParallelism());
+        throttle = new Throttle(properties.getMaxDeletesPerSecond());
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Deletes the given blobs.
+     *
+     * @param storedPaths internal storage paths
+     * @return paths that could not be deleted
+     */
+    public Set<String> deleteAll(Collection<String> storedPaths) {
+        List<String> paths = new ArrayList<>(storedPaths);
+        List<Future<Set<String>>> futures = new ArrayList<>();
+        Set<String> failed = new HashSet<>();
+
+        try {
+            for (int i = 0; i < paths.size(); i += CHUNK_SIZE) {
+                List<String> chunk = paths.subList(i, Math.min(i + CHUNK_SIZE, paths.size()));
+                throttle.acquire(chunk.size());
+                futures.add(executor.submit(() -> deleteChunk(chunk)));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        int submitted = 0;
+        for (Future<Set<String>> future : futures) {
+            List<String> chunk = paths.subList(submitted, Math.min(submitted + CHUNK_SIZE, paths.size()));
+            submitted += CHUNK_SIZE;
+            try {
+                failed.addAll(future.get());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                failed.addAll(chunk);
+            } catch (ExecutionException e) {
+                log.warn("Blob delete chunk failed: {}", e.getCause().getMessage());
+                failed.addAll(chunk);
+            }
+        }
+
+        // chunks never submitted because of an interrupt
+        if (submitted < paths.size()) {
+            failed.addAll(paths.subList(submitted, paths.size()));
+        }
+        return failed;
+    }
+
+    private Set<String> deleteChunk(List<String> chunk) throws InterruptedException {
+        inFlight.acquire();
+        try {
+            return fileStorageService.deleteAll(chunk);
+        } finally {
+            inFlight.release();
+        }
+    }
+}
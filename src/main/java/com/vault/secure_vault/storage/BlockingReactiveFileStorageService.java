@@ -0,0 +1,66 @@
+package com.vault.secure_vault.storage;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * {@link ReactiveFileStorageService} on top of a blocking {@link FileStorageService}.
+ *
+ * <p>For backends without a non-blocking client (erasure-coded storage) and for chains
+ * with layers the native reactive backends would skip (encryption). Uploads are
+ * collected into one array, since the blocking API takes whole files, and every call runs
+ * on the bounded elastic scheduler. Streaming endpoints keep working, only without the
+ * memory savings of a native implementation: an upload holds its whole body on the heap.
+ * The join is capped at the declared (and already validated) content length, so a client
+ * cannot stream more than it announced.</p>
+ */
+public class BlockingReactiveFileStorageService implements ReactiveFileStorageService {
+
+    private static final int READ_BUFFER_SIZE = 64 * 1024;
+
+    private final FileStorageService storage;
+
+    public BlockingReactiveFileStorageService(FileStorageService storage) {
+        this.storage = storage;
+    }
+
+    @Override
+    public Mono<Void> upload(Flux<DataBuffer> content, String path, String contentType, long contentLength) {
+        if (contentLength < 0 || contentLength > Integer.MAX_VALUE - 8) {
+            return Mono.error(new IllegalArgumentException("Upload too large to buffer: " + contentLength + " bytes"));
+        }
+        return DataBufferUtils.join(content, (int) contentLength)
+                .map(buffer -> {
+                    try {
+                        byte[] data = new byte[buffer.readableByteCount()];
+                        buffer.read(data);
+                        return data;
+                    } finally {
+                        DataBufferUtils.release(buffer);
+                    }
+                })
+                .publishOn(Schedulers.boundedElastic())
+                .flatMap(data -> Mono.fromCallable(() -> storage.upload(data, path, contentType)))
+                .then();
+    }
+
+    @Override
+    public Flux<DataBuffer> download(String storedPath) {
+        return DataBufferUtils.readInputStream(
+                () -> storage.download(storedPath, null, null).inputStream(),
+                DefaultDataBufferFactory.sharedInstance,
+                READ_BUFFER_SIZE
+        ).subscribeOn(Schedulers.boundedElastic());
+    }
+
+    @Override
+    public Mono<Void> delete(String storedPath) {
+        return Mono.fromRunnable(() -> storage.delete(storedPath))
+                .subscribeOn(Schedulers.boundedElastic())
+                .then();
+    }
+}
@@ -0,0 +1,109 @@
+package com.vault.secure_vault.storage;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * Download body handed out by {@link ResilientFileStorageService}.
+ *
+ * <p>Keeps the download's bulkhead permit until closed, so slow body reads count against
+ * the download limit just like slow opens. Records when a read started; the service's
+ * watchdog aborts a stream whose current read has been blocked longer than the read
+ * timeout, which unblocks the reading thread with an {@link IOException}.</p>
+ */
+final class BulkheadInputStream extends FilterInputStream {
+
+    private static final long IDLE = Long.MIN_VALUE;
+
+    private final Runnable release;
+    private final Consumer<BulkheadInputStream> onClose;
+    private final AtomicBoolean closed = new AtomicBoolean();
+
+    private volatile long readingSince = IDLE;
+    private volatile boolean aborted;
+
+    BulkheadInputStream(InputStream in, Runnable release, Consumer<BulkheadInputStream> onClose) {
+        super(in);
+        this.release = release;
+        this.onClose = onClose;
+    }
+
+    @Override
+    public int read() throws IOException {
+        readingSince = System.nanoTime();
+        try {
+            return in.read();
+        } catch (IOException e) {
+            throw translate(e);
+        } finally {
+            readingSince = IDLE;
+        }
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        readingSince = System.nanoTime();
+        try {
+            return in.read(b, off, len);
+        } catch (IOException e) {
+            throw translate(e);
+        } finally {
+            readingSince = IDLE;
+        }
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        readingSince = System.nanoTime();
+        try {
+            return in.skip(n);
+        } catch (IOException e) {
+            throw translate(e);
+        } finally {
+            readingSince = IDLE;
+        }
+    }
+
+    /**
+     * Closes the wrapped stream and returns the permit; safe to call more than once.
+     */
+    @Override
+    public void close() throws IOException {
+        if (!closed.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            in.close();
+        } finally {
+            release.run();
+            onClose.accept(this);
+        }
+    }
+
+    /**
+     * True if the current read has been blocked for longer than the given time.
+     */
+    boolean stalled(long now, long timeoutNanos) {
+        long since = readingSince;
+        return since != IDLE && now - since > timeoutNanos;
+    }
+
+    /**
+     * Called by the watchdog: fails the blocked read and frees the permit.
+     */
+    void abort() {
+        aborted = true;
+        try {
+            close();
+        } catch (IOException ignored) {
+            // the stream is abandoned either way
+        }
+    }
+
+    private IOException translate(IOException e) {
+        return aborted ? new IOException("Storage read timed out", e) : e;
+    }
+}
@@ -0,0 +1,11 @@
+package com.vault.secure_vault.storage;
+
+/**
+ * Marker for {@link FileStorageService} implementations that only route calls to
+ * other backends.
+ *
+ * <p>Per-backend protections (bulkheads, circuit breakers) are applied to the backends
+ * being routed to, not to the composite itself.</p>
+ */
+public interface DelegatingFileStorageService extends FileStorageService {
+}
@@ -1,7 +1,13 @@
 package com.vault.secure_vault.storage;
 
+import com.vault.secure_vault.util.BoundedInputStream;
 import com.vault.secure_vault.util.FileDownloadData;
 import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.function.Consumer;
 
 /**
  * Abstraction for file storage operations.
@@ -34,6 +40,29 @@ public interface FileStorageService {
      */
     FileDownloadData download(String storedPath, String originalFilename,String contentType) throws IOException;
 
+    /**
+     * Reads part of a file.
+     *
+     * <p>The default implementation downloads the file and skips to the range. Backends
+     * that can seek (files, S3 range requests) should override it.</p>
+     *
+     * @param storedPath internal storage path
+     * @param offset     first byte to read
+     * @param length     maximum number of bytes; fewer are returned at the end of the file
+     * @return the requested bytes; the caller closes the stream
+     * @throws IOException if the file is not found or the read fails
+     */
+    default InputStream downloadRange(String storedPath, long offset, long length) throws IOException {
+        InputStream in = download(storedPath, null, null).inputStream();
+        try {
+            in.skipNBytes(offset);
+        } catch (IOException e) {
+            in.close();
+            throw e;
+        }
+        return new BoundedInputStream(in, length);
+    }
+
     /**
      * Deletes a file from storage backend.
      *
@@ -43,4 +72,65 @@ public interface FileStorageService {
      * @throws IOException if deletion fails
      */
     void delete(String storedPath);
+
+    /**
+     * Copies a file to a new path within the same backend.
+     *
+     * <p>The default implementation downloads and re-uploads the content. Backends with a
+     * server side copy (or links) should override it.</p>
+     *
+     * @param sourcePath existing internal storage path
+     * @param targetPath new internal storage path
+     * @throws IOException if the copy fails
+     */
+    default void copy(String sourcePath, String targetPath) throws IOException {
+        try (InputStream in = download(sourcePath, null, null).inputStream()) {
+            upload(in.readAllBytes(), targetPath, null);
+        }
+    }
+
+    /**
+     * Checks whether a file exists in the storage backend.
+     *
+     * @param storedPath internal storage path
+     * @return true if the file exists
+     * @throws UnsupportedOperationException if the backend cannot check existence
+     */
+    default boolean exists(String storedPath) {
+        throw new UnsupportedOperationException("Existence checks are not supported by " + getClass().getSimpleName());
+    }
+
+    /**
+     * Deletes several files from the storage backend.
+     *
+     * <p>The default implementation deletes one by one. Backends with a native
+     * batch API should override it.</p>
+     *
+     * @param storedPaths internal storage paths
+     * @return paths that could not be deleted (empty when everything succeeded)
+     */
+    default Set<String> deleteAll(Collection<String> storedPaths) {
+        Set<String> failed = new HashSet<>();
+        for (String storedPath : storedPaths) {
+            try {
+                delete(storedPath);
+            } catch (RuntimeException e) {
+                failed.add(storedPath);
+            }
+        }
+        return failed;
+    }
+
+    /**
+     * Streams every object held by the storage backend.
+     *
+     * <p>Implementations must list lazily (page by page or directory walk) so callers
+     * can process very large stores with bounded memory. Used by the orphan collector.</p>
+     *
+     * @param consumer called once per stored object
+     * @throws UnsupportedOperationException if the backend cannot list its objects
+     */
+    default void forEachObject(Consumer<StoredObject> consumer) {
+        throw new UnsupportedOperationException("Listing is not supported by " + getClass().getSimpleName());
+    }
 }
@@ -0,0 +1,44 @@
+package com.vault.secure_vault.storage;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking counterpart of {@link FileStorageService}.
+ *
+ * <p>Content is streamed as {@link DataBuffer} chunks so a transfer never holds a
+ * whole file in memory and never parks a request thread on I/O. Objects written
+ * here are readable through {@link FileStorageService} and vice versa.</p>
+ *
+ * <p>Implementations are selected using Spring profiles.</p>
+ */
+public interface ReactiveFileStorageService {
+
+    /**
+     * Streams content to the storage backend. Buffers are released once written.
+     *
+     * @param content       file content
+     * @param path          logical storage path (must be unique)
+     * @param contentType   MIME type of the file
+     * @param contentLength exact length of {@code content} in bytes
+     * @return completes when the content is durably stored
+     */
+    Mono<Void> upload(Flux<DataBuffer> content, String path, String contentType, long contentLength);
+
+    /**
+     * Streams a file from storage. Subscribers must release the emitted buffers.
+     *
+     * @param storedPath internal storage path
+     * @return file content
+     */
+    Flux<DataBuffer> download(String storedPath);
+
+    /**
+     * Deletes a file from storage backend.
+     *
+     * @param storedPath internal storage path
+     * @return completes once deleted (also when the file did not exist)
+     */
+    Mono<Void> delete(String storedPath);
+}
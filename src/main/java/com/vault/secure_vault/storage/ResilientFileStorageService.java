@@ -0,0 +1,419 @@
+package com.vault.secure_vault.storage;
+
+import com.vault.secure_vault.config.StorageResilienceProperties;
+import com.vault.secure_vault.exceptions.FileExceptions.StorageUnavailableException;
+import com.vault.secure_vault.util.AdaptiveTimeout;
+import com.vault.secure_vault.util.CircuitBreaker;
+import com.vault.secure_vault.util.FileDownloadData;
+import com.vault.secure_vault.util.ThreadFactories;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.DisposableBean;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * Protects callers from a slow or failing storage backend.
+ *
+ * <ul>
+ *     <li><b>Bulkhead</b> - each operation type has its own bounded number of concurrent
+ *     calls. A call waits at most {@code max-wait} for a slot, so a brownout ties up a fixed
+ *     number of threads instead of all of them, and auth or listing requests keep
+ *     their threads.</li>
+ *     <li><b>Circuit breaker</b> - when too many recent calls fail or time out, calls fail
+ *     fast until a few half-open probes succeed.</li>
+ *     <li><b>Adaptive timeout</b> - callers wait at most a multiple of the recently observed
+ *     latency percentile. The call itself runs on a separate thread and keeps its bulkhead
+ *     slot until it really finishes, so timed out calls still count against the limit.</li>
+ *     <li><b>Download bodies</b> - a download keeps its slot until the returned stream is
+ *     closed, and a read blocked longer than {@code read-timeout} aborts the stream. A
+ *     stream that is opened after its caller timed out is closed right away.</li>
+ * </ul>
+ *
+ * <p>Rejections surface as {@link StorageUnavailableException} (503). Applied to every
+ * {@link FileStorageService} bean by
+ * {@link com.vault.secure_vault.config.StorageResilienceConfig}. Listing is passed through
+ * unprotected; it only runs in background jobs.</p>
+ */
+public class ResilientFileStorageService implements FileStorageService, DisposableBean {
+
+    public enum Operation { UPLOAD, DOWNLOAD, DELETE }
+
+    private final FileStorageService delegate;
+    private final StorageResilienceProperties properties;
+    private final ExecutorService executor;
+    private final CircuitBreaker circuitBreaker;
+    private final Map<Operation, Semaphore> bulkheads = new EnumMap<>(Operation.class);
+    private final Map<Operation, AdaptiveTimeout> timeouts = new EnumMap<>(Operation.class);
+    private final Counter bulkheadRejections;
+    private final Counter circuitRejections;
+    private final Counter timedOut;
+    private final Set<BulkheadInputStream> openStreams = ConcurrentHashMap.newKeySet();
+    private final ScheduledExecutorService watchdog;
+    private final long readTimeoutNanos;
+
+    /**
+     * How a call returning an open stream hands it to the caller.
+     */
+    private interface StreamHandOff<T> {
+
+        /**
+         * Wraps the result so it keeps the bulkhead permit until closed.
+         */
+        T guard(T result, Runnable release);
+
+        /**
+         * Closes a result nobody is waiting for any more.
+         */
+        void discard(T result);
+    }
+
+    public ResilientFileStorageService(
+            FileStorageService delegate,
+            String backend,
+            StorageResilienceProperties properties,
+            MeterRegistry meterRegistry,
+            boolean virtualThreads
+    ) {
+        this.delegate = delegate;
+        this.properties = properties;
+
+        ThreadFactory threadFactory = ThreadFactories.named("storage-" + backend + "-", virtualThreads);
+        // Concurrency is bounded by the bulkheads, not by the executor
+        this.executor = virtualThreads
+                ? Executors.newThreadPerTaskExecutor(threadFactory)
+                : Executors.newCachedThreadPool(threadFactory);
+
+        this.circuitBreaker = new CircuitBreaker(
+                properties.getFailureRateThreshold(),
+                properties.getSlidingWindowSize(),
+                properties.getMinimumCalls(),
+                properties.getOpenDuration().toNanos(),
+                properties.getHalfOpenProbes()
+        );
+
+        bulkheads.put(Operation.UPLOAD, new Semaphore(properties.getMaxConcurrentUploads()));
+        bulkheads.put(Operation.DOWNLOAD, new Semaphore(properties.getMaxConcurrentDownloads()));
+        bulkheads.put(Operation.DELETE, new Semaphore(properties.getMaxConcurrentDeletes()));
+
+        for (Operation operation : Operation.values()) {
+            AdaptiveTimeout timeout = new AdaptiveTimeout(
+                    properties.getInitialTimeout().toNanos(),
+                    properties.getMinTimeout().toNanos(),
+                    properties.getMaxTimeout().toNanos(),
+                    properties.getTimeoutPercentile(),
+                    properties.getTimeoutMultiplier(),
+                    256
+            );
+            timeouts.put(operation, timeout);
+
+            String tag = operation.name().toLowerCase();
+            Semaphore bulkhead = bulkheads.get(operation);
+            Gauge.builder("vault.storage.bulkhead.available", bulkhead, Semaphore::availablePermits)
+                    .tags("backend", backend, "operation", tag)
+                    .register(meterRegistry);
+            Gauge.builder("vault.storage.timeout.seconds", timeout, t -> t.timeoutNanos() / 1e9)
+                    .tags("backend", backend, "operation", tag)
+                    .register(meterRegistry);
+        }
+
+        Gauge.builder("vault.storage.circuit.state", circuitBreaker, breaker -> breaker.state().ordinal())
+                .tag("backend", backend)
+                .description("0 closed, 1 open, 2 half open")
+                .register(meterRegistry);
+        this.bulkheadRejections = meterRegistry.counter("vault.storage.rejected", "backend", backend, "reason", "bulkhead");
+        this.circuitRejections = meterRegistry.counter("vault.storage.rejected", "backend", backend, "reason", "circuit_open");
+        this.timedOut = meterRegistry.counter("vault.storage.rejected", "backend", backend, "reason", "timeout");
+
+        this.readTimeoutNanos = properties.getReadTimeout().toNanos();
+        long checkMillis = Math.max(100, properties.getReadTimeout().toMillis() / 4);
+        this.watchdog = Executors.newSingleThreadScheduledExecutor(
+                ThreadFactories.named("storage-" + backend + "-watchdog-", false));
+        watchdog.scheduleWithFixedDelay(this::abortStalledReads, checkMillis, checkMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public String upload(byte[] data, String path, String contentType) throws IOException {
+        long transferNanos = (long) (data.length * 1e9 / Math.max(1, properties.getMinUploadThroughputPerSecond().toBytes()));
+        return call(Operation.UPLOAD, transferNanos, () -> delegate.upload(data, path, contentType));
+    }
+
+    @Override
+    public FileDownloadData download(String storedPath, String originalFilename, String contentType) throws IOException {
+        return call(
+                Operation.DOWNLOAD,
+                0,
+                () -> delegate.download(storedPath, originalFilename, contentType),
+                new StreamHandOff<>() {
+                    @Override
+                    public FileDownloadData guard(FileDownloadData data, Runnable release) {
+                        return new FileDownloadData(
+                                guardStream(data.inputStream(), release),
+                                data.originalFilename(),
+                                data.contentType()
+                        );
+                    }
+
+                    @Override
+                    public void discard(FileDownloadData data) {
+                        closeQuietly(data.inputStream());
+                    }
+                }
+        );
+    }
+
+    @Override
+    public InputStream downloadRange(String storedPath, long offset, long length) throws IOException {
+        return call(
+                Operation.DOWNLOAD,
+                0,
+                () -> delegate.downloadRange(storedPath, offset, length),
+                new StreamHandOff<>() {
+                    @Override
+                    public InputStream guard(InputStream in, Runnable release) {
+                        return guardStream(in, release);
+                    }
+
+                    @Override
+                    public void discard(InputStream in) {
+                        closeQuietly(in);
+                    }
+                }
+        );
+    }
+
+    @Override
+    public void delete(String storedPath) {
+        callUnchecked(Operation.DELETE, () -> {
+            delegate.delete(storedPath);
+            return null;
+        });
+    }
+
+    @Override
+    public Set<String> deleteAll(Collection<String> storedPaths) {
+        return callUnchecked(Operation.DELETE, () -> delegate.deleteAll(storedPaths));
+    }
+
+    @Override
+    public void copy(String sourcePath, String targetPath) throws IOException {
+        call(Operation.UPLOAD, 0, () -> {
+            delegate.copy(sourcePath, targetPath);
+            return null;
+        });
+    }
+
+    @Override
+    public boolean exists(String storedPath) {
+        return callUnchecked(Operation.DOWNLOAD, () -> delegate.exists(storedPath));
+    }
+
+    @Override
+    public void forEachObject(Consumer<StoredObject> consumer) {
+        delegate.forEachObject(consumer);
+    }
+
+    @Override
+    public void destroy() {
+        watchdog.shutdownNow();
+        executor.shutdownNow();
+    }
+
+    /**
+     * Returns the wrapped backend.
+     */
+    public FileStorageService getDelegate() {
+        return delegate;
+    }
+
+    private <T> T callUnchecked(Operation operation, Callable<T> task) {
+        try {
+            return call(operation, 0, task);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private <T> T call(Operation operation, long extraTimeoutNanos, Callable<T> task) throws IOException {
+        return call(operation, extraTimeoutNanos, task, null);
+    }
+
+    /**
+     * @param handOff for calls returning an open stream, {@code null} otherwise
+     */
+    private <T> T call(Operation operation, long extraTimeoutNanos, Callable<T> task, StreamHandOff<T> handOff)
+            throws IOException {
+        Semaphore bulkhead = bulkheads.get(operation);
+        try {
+            if (!bulkhead.tryAcquire(properties.getMaxWait().toNanos(), TimeUnit.NANOSECONDS)) {
+                bulkheadRejections.increment();
+                throw new StorageUnavailableException("Storage is busy, try again shortly", 1);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new StorageUnavailableException("Interrupted while waiting for storage", 1);
+        }
+
+        // Bulkhead first: a half-open probe must never be admitted and then rejected
+        long now = System.nanoTime();
+        if (!circuitBreaker.tryAcquire(now)) {
+            bulkhead.release();
+            circuitRejections.increment();
+            throw new StorageUnavailableException(
+                    "Storage is unavailable, try again later",
+                    toSecondsCeil(circuitBreaker.retryAfterNanos(now))
+            );
+        }
+
+        AdaptiveTimeout timeout = timeouts.get(operation);
+        AtomicBoolean settled = new AtomicBoolean();
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                long start = System.nanoTime();
+                boolean handedOff = false;
+                try {
+                    T result = task.call();
+                    long end = System.nanoTime();
+                    timeout.record(end - start);
+                    if (settled.compareAndSet(false, true)) {
+                        circuitBreaker.onSuccess(end);
+                        if (handOff != null) {
+                            handedOff = true;
+                            return handOff.guard(result, bulkhead::release);
+                        }
+                    } else if (handOff != null) {
+                        // the caller gave up waiting; nobody will read or close this stream
+                        handOff.discard(result);
+                    }
+                    return result;
+                } catch (Exception | Error e) {
+                    if (settled.compareAndSet(false, true)) {
+                        circuitBreaker.onFailure(System.nanoTime());
+                    }
+                    throw e;
+                } finally {
+                    if (!handedOff) {
+                        bulkhead.release();
+                    }
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            bulkhead.release();
+            circuitBreaker.onFailure(System.nanoTime());
+            throw new StorageUnavailableException("Storage is shutting down", 1, e);
+        }
+
+        long timeoutNanos = timeout.timeoutNanos() + extraTimeoutNanos;
+        try {
+            return future.get(timeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            if (!settled.compareAndSet(false, true)) {
+                // finished right at the deadline; the result was not abandoned, use it
+                return awaitSettled(future);
+            }
+            future.cancel(true);
+            circuitBreaker.onFailure(System.nanoTime());
+            timedOut.increment();
+            throw new StorageUnavailableException("Storage did not respond in time", 1, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            if (settled.compareAndSet(false, true)) {
+                future.cancel(true);
+            } else if (handOff != null) {
+                // already finished; close the stream once the task has returned it
+                executor.execute(() -> {
+                    try {
+                        handOff.discard(future.get());
+                    } catch (Exception ignored) {
+                        // failed calls hold nothing
+                    }
+                });
+            }
+            throw new StorageUnavailableException("Interrupted while waiting for storage", 1, e);
+        } catch (ExecutionException e) {
+            throw rethrowCause(e);
+        }
+    }
+
+    /**
+     * Returns the result of a task that has already settled (it is about to return).
+     */
+    private static <T> T awaitSettled(Future<T> future) throws IOException {
+        try {
+            return unwrap(future);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new StorageUnavailableException("Interrupted while waiting for storage", 1, e);
+        }
+    }
+
+    private static <T> T unwrap(Future<T> future) throws IOException, InterruptedException {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            throw rethrowCause(e);
+        }
+    }
+
+    private static RuntimeException rethrowCause(ExecutionException e) throws IOException {
+        Throwable cause = e.getCause();
+        if (cause instanceof IOException io) {
+            throw io;
+        }
+        if (cause instanceof RuntimeException runtime) {
+            throw runtime;
+        }
+        if (cause instanceof Error error) {
+            throw error;
+        }
+        throw new RuntimeException(cause);
+    }
+
+    private InputStream guardStream(InputStream in, Runnable release) {
+        AtomicBoolean released = new AtomicBoolean();
+        BulkheadInputStream guarded = new BulkheadInputStream(
+                in,
+                () -> {
+                    if (released.compareAndSet(false, true)) {
+                        release.run();
+                    }
+                },
+                openStreams::remove
+        );
+        openStreams.add(guarded);
+        return guarded;
+    }
+
+    private void abortStalledReads() {
+        long now = System.nanoTime();
+        for (BulkheadInputStream stream : openStreams) {
+            if (stream.stalled(now, readTimeoutNanos)) {
+                stream.abort();
+                circuitBreaker.onFailure(now);
+                timedOut.increment();
+            }
+        }
+    }
+
+    private static void closeQuietly(InputStream in) {
+        try {
+            in.close();
+        } catch (IOException ignored) {
+            // abandoned stream
+        }
+    }
+
+    private static long toSecondsCeil(long nanos) {
+        return Math.max(1, (nanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+    }
+}
@@ -0,0 +1,13 @@
+package com.vault.secure_vault.storage;
+
+import java.time.Instant;
+
+/**
+ * One object as listed by a storage backend.
+ *
+ * @param path         internal storage path (same value as {@code FileMetadata.storedFilename})
+ * @param size         size in bytes
+ * @param lastModified time the object was last written
+ */
+public record StoredObject(String path, long size, Instant lastModified) {
+}
@@ -0,0 +1,95 @@
+package com.vault.secure_vault.storage.cloud;
+
+import com.vault.secure_vault.storage.ReactiveFileStorageService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import software.amazon.awssdk.core.async.AsyncRequestBody;
+import software.amazon.awssdk.core.async.AsyncResponseTransformer;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+import software.amazon.awssdk.services.s3.model.DeleteObjectRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import java.nio.ByteBuffer;
+
+/**
+ * AWS S3 implementation of {@link ReactiveFileStorageService}.
+ *
+ * <p>Backed by {@link S3AsyncClient}: request and response bodies are streamed
+ * straight between the HTTP exchange and S3 without buffering the object.</p>
+ */
+@Service
+@Profile("cloud")
+@ConditionalOnProperty(name = "storage.provider", havingValue = "s3")
+@RequiredArgsConstructor
+public class ReactiveS3StorageService implements ReactiveFileStorageService {
+
+    private final S3AsyncClient s3AsyncClient;
+
+    @Value("${aws.s3.bucket-name}")
+    private String bucketName;
+
+    @Override
+    public Mono<Void> upload(Flux<DataBuffer> content, String storedPath, String contentType, long contentLength) {
+        PutObjectRequest request = PutObjectRequest.builder()
+                .bucket(bucketName)
+                .key(storedPath)
+                .contentType(contentType)
+                .contentLength(contentLength)
+                .build();
+
+        AsyncRequestBody body = AsyncRequestBody.fromPublisher(
+                content.map(ReactiveS3StorageService::toByteBuffer)
+        );
+
+        return Mono.fromFuture(() -> s3AsyncClient.putObject(request, body))
+                .onErrorMap(e -> new RuntimeException("Error uploading file to s3", e))
+                .then();
+    }
+
+    @Override
+    public Flux<DataBuffer> download(String storedPath) {
+        GetObjectRequest request = GetObjectRequest.builder()
+                .bucket(bucketName)
+                .key(storedPath)
+                .build();
+
+        return Mono.fromFuture(() -> s3AsyncClient.getObject(request, AsyncResponseTransformer.toPublisher()))
+                .flatMapMany(publisher -> Flux.from(publisher))
+                .<DataBuffer>map(DefaultDataBufferFactory.sharedInstance::wrap)
+                .onErrorMap(e -> new RuntimeException("Error downloading file from s3", e));
+    }
+
+    @Override
+    public Mono<Void> delete(String storedPath) {
+        DeleteObjectRequest request = DeleteObjectRequest.builder()
+                .bucket(bucketName)
+                .key(storedPath)
+                .build();
+
+        return Mono.fromFuture(() -> s3AsyncClient.deleteObject(request))
+                .onErrorMap(e -> new RuntimeException("Error deleting file from s3", e))
+                .then();
+    }
+
+    /**
+     * Copies a buffer into a heap {@link ByteBuffer} and releases it, so pooled
+     * buffers are returned as soon as the SDK has taken the bytes.
+     */
+    private static ByteBuffer toByteBuffer(DataBuffer buffer) {
+        try {
+            ByteBuffer copy = ByteBuffer.allocate(buffer.readableByteCount());
+            buffer.toByteBuffer(copy);
+            return copy;
+        } finally {
+            DataBufferUtils.release(buffer);
+        }
+    }
+}
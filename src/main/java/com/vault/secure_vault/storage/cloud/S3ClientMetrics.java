@@ -0,0 +1,154 @@
+package com.vault.secure_vault.storage.cloud;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import software.amazon.awssdk.core.interceptor.Context;
+import software.amazon.awssdk.core.interceptor.ExecutionAttributes;
+import software.amazon.awssdk.core.interceptor.ExecutionInterceptor;
+import software.amazon.awssdk.core.metrics.CoreMetric;
+import software.amazon.awssdk.http.HttpMetric;
+import software.amazon.awssdk.metrics.MetricCollection;
+import software.amazon.awssdk.metrics.MetricPublisher;
+import software.amazon.awssdk.metrics.SdkMetric;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Micrometer bridge for the S3 clients.
+ *
+ * <p>Per client ({@code sync}, {@code async}):</p>
+ * <ul>
+ *     <li>{@code vault.s3.requests.in_flight} - requests currently executing</li>
+ *     <li>{@code vault.s3.pool.leased} / {@code available} / {@code pending} / {@code max} -
+ *     connection pool state as last reported by the HTTP client</li>
+ *     <li>{@code vault.s3.api_call} - call duration by operation</li>
+ * </ul>
+ * <p>{@code vault.s3.transfers.in_flight} counts transfer manager uploads and downloads.
+ * The CRT client manages its connections natively and does not publish SDK metrics,
+ * so for it only the transfer gauge is available.</p>
+ */
+@Component
+@Profile("cloud")
+@RequiredArgsConstructor
+public class S3ClientMetrics {
+
+    private final MeterRegistry meterRegistry;
+
+    private final AtomicInteger transfersInFlight = new AtomicInteger();
+
+    @PostConstruct
+    void registerTransferGauge() {
+        meterRegistry.gauge("vault.s3.transfers.in_flight", transfersInFlight);
+    }
+
+    /**
+     * Interceptor maintaining the in-flight request gauge of one client.
+     */
+    public ExecutionInterceptor inFlightInterceptor(String client) {
+        AtomicInteger inFlight = meterRegistry.gauge(
+                "vault.s3.requests.in_flight", Tags.of("client", client), new AtomicInteger());
+
+        return new ExecutionInterceptor() {
+            @Override
+            public void beforeExecution(Context.BeforeExecution context, ExecutionAttributes attributes) {
+                inFlight.incrementAndGet();
+            }
+
+            @Override
+            public void afterExecution(Context.AfterExecution context, ExecutionAttributes attributes) {
+                inFlight.decrementAndGet();
+            }
+
+            @Override
+            public void onExecutionFailure(Context.FailedExecution context, ExecutionAttributes attributes) {
+                inFlight.decrementAndGet();
+            }
+        };
+    }
+
+    /**
+     * Metric publisher recording pool state and call durations of one client.
+     */
+    public MetricPublisher publisher(String client) {
+        return new PoolMetricPublisher(client);
+    }
+
+    /**
+     * Counts a transfer as in flight until its future completes.
+     */
+    public <T> CompletableFuture<T> track(CompletableFuture<T> transfer) {
+        transfersInFlight.incrementAndGet();
+        return transfer.whenComplete((result, error) -> transfersInFlight.decrementAndGet());
+    }
+
+    private final class PoolMetricPublisher implements MetricPublisher {
+
+        private final String client;
+        private final AtomicInteger leased;
+        private final AtomicInteger available;
+        private final AtomicInteger pending;
+        private final AtomicInteger max;
+
+        PoolMetricPublisher(String client) {
+            this.client = client;
+            Tags tags = Tags.of("client", client);
+            this.leased = meterRegistry.gauge("vault.s3.pool.leased", tags, new AtomicInteger());
+            this.available = meterRegistry.gauge("vault.s3.pool.available", tags, new AtomicInteger());
+            this.pending = meterRegistry.gauge("vault.s3.pool.pending", tags, new AtomicInteger());
+            this.max = meterRegistry.gauge("vault.s3.pool.max", tags, new AtomicInteger());
+        }
+
+        @Override
+        public void publish(MetricCollection metrics) {
+            String operation = first(metrics, CoreMetric.OPERATION_NAME);
+            Duration duration = first(metrics, CoreMetric.API_CALL_DURATION);
+            if (duration != null) {
+                Timer.builder("vault.s3.api_call")
+                        .tags("client", client, "operation", operation != null ? operation : "unknown")
+                        .register(meterRegistry)
+                        .record(duration);
+            }
+            recordPool(metrics);
+        }
+
+        /**
+         * Pool values live in the HTTP client collection nested under each attempt;
+         * the last attempt reflects the most recent state.
+         */
+        private void recordPool(MetricCollection metrics) {
+            Integer leasedNow = first(metrics, HttpMetric.LEASED_CONCURRENCY);
+            if (leasedNow != null) {
+                leased.set(leasedNow);
+                setIfPresent(available, first(metrics, HttpMetric.AVAILABLE_CONCURRENCY));
+                setIfPresent(pending, first(metrics, HttpMetric.PENDING_CONCURRENCY_ACQUIRES));
+                setIfPresent(max, first(metrics, HttpMetric.MAX_CONCURRENCY));
+            }
+            for (MetricCollection child : metrics.children()) {
+                recordPool(child);
+            }
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    private static <T> T first(MetricCollection metrics, SdkMetric<T> metric) {
+        List<T> values = metrics.metricValues(metric);
+        return values.isEmpty() ? null : values.getFirst();
+    }
+
+    private static void setIfPresent(AtomicInteger gauge, Integer value) {
+        if (value != null) {
+            gauge.set(value);
+        }
+    }
+}
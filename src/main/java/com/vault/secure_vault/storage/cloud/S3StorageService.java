@@ -1,30 +1,52 @@
 package com.vault.secure_vault.storage.cloud;
 
 import com.vault.secure_vault.storage.FileStorageService;
+import com.vault.secure_vault.storage.StoredObject;
 import com.vault.secure_vault.util.FileDownloadData;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
 import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Service;
 import software.amazon.awssdk.core.ResponseInputStream;
-import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.core.async.AsyncRequestBody;
+import software.amazon.awssdk.core.async.AsyncResponseTransformer;
 import software.amazon.awssdk.services.s3.S3Client;
 import software.amazon.awssdk.services.s3.model.*;
+import software.amazon.awssdk.transfer.s3.S3TransferManager;
+import software.amazon.awssdk.transfer.s3.model.Copy;
+import software.amazon.awssdk.transfer.s3.model.CopyRequest;
+import software.amazon.awssdk.transfer.s3.model.DownloadRequest;
+import software.amazon.awssdk.transfer.s3.model.Upload;
+import software.amazon.awssdk.transfer.s3.model.UploadRequest;
 import java.io.IOException;
+import java.io.InputStream;
+import java.util.*;
+import java.util.function.Consumer;
 
 /**
  * AWS S3 implementation of {@link FileStorageService}.
  *
- * <p>Used in production environment. Stores files in S3 bucket.</p>
+ * <p>Used in production environment. Stores files in S3 bucket. Object transfers go
+ * through the {@link S3TransferManager} (multipart and parallel ranged GETs for large
+ * objects); listing and deletes use the synchronous client.</p>
+ *
+ * <p>Also active with {@code storage.provider=tiered}, where it serves as the cold tier.</p>
  */
 @Service
 @Profile("cloud")
-@ConditionalOnProperty(name = "storage.provider", havingValue = "s3")
+@ConditionalOnExpression("'${storage.provider:}' == 's3' or '${storage.provider:}' == 'tiered'")
 @RequiredArgsConstructor
 public class S3StorageService implements FileStorageService {
 
+    /**
+     * S3 DeleteObjects accepts at most 1000 keys per call.
+     */
+    private static final int MAX_KEYS_PER_DELETE = 1000;
+
     private final S3Client s3Client;
+    private final S3TransferManager transferManager;
+    private final S3ClientMetrics metrics;
 
     @Value("${aws.s3.bucket-name}")
     private String bucketName;
@@ -40,10 +62,12 @@ public class S3StorageService implements FileStorageService {
                     .contentLength((long) data.length)
                     .build();
 
-            s3Client.putObject(
-                    request,
-                    RequestBody.fromBytes(data)
-            );
+            Upload upload = transferManager.upload(UploadRequest.builder()
+                    .putObjectRequest(request)
+                    .requestBody(AsyncRequestBody.fromBytes(data))
+                    .build());
+
+            metrics.track(upload.completionFuture()).join();
             return storedPath;
         } catch (Exception e) {
             throw new RuntimeException("Error uploading file to s3", e);
@@ -58,8 +82,16 @@ public class S3StorageService implements FileStorageService {
                     .key(storedPath)
                     .build();
 
+            DownloadRequest<ResponseInputStream<GetObjectResponse>> downloadRequest = DownloadRequest.builder()
+                    .getObjectRequest(request)
+                    .responseTransformer(AsyncResponseTransformer.<GetObjectResponse>toBlockingInputStream())
+                    .build();
+
+            // completes once the response starts; the body is then consumed from the stream
             ResponseInputStream<GetObjectResponse> s3Object =
-                    s3Client.getObject(request);
+                    metrics.track(transferManager.download(downloadRequest).completionFuture())
+                            .join()
+                            .result();
 
             return new FileDownloadData(
                     s3Object,
@@ -72,6 +104,25 @@ public class S3StorageService implements FileStorageService {
         }
     }
 
+    @Override
+    public InputStream downloadRange(String storedPath, long offset, long length) throws IOException {
+        if (length <= 0) {
+            return InputStream.nullInputStream();
+        }
+        try {
+            // ranged GET, only the requested bytes leave S3
+            GetObjectRequest request = GetObjectRequest.builder()
+                    .bucket(bucketName)
+                    .key(storedPath)
+                    .range("bytes=" + offset + "-" + (offset + length - 1))
+                    .build();
+
+            return s3Client.getObject(request);
+        } catch (Exception e) {
+            throw new RuntimeException("Error downloading file range from S3", e);
+        }
+    }
+
     @Override
     public void delete(String storedPath) {
         try{
@@ -85,4 +136,84 @@ public class S3StorageService implements FileStorageService {
             throw new RuntimeException("failed to delete file from s3", e);
         }
     }
+
+    @Override
+    public void copy(String sourcePath, String targetPath) throws IOException {
+        try {
+            // server side copy; the transfer manager switches to multipart copy for large objects
+            Copy copy = transferManager.copy(CopyRequest.builder()
+                    .copyObjectRequest(CopyObjectRequest.builder()
+                            .sourceBucket(bucketName)
+                            .sourceKey(sourcePath)
+                            .destinationBucket(bucketName)
+                            .destinationKey(targetPath)
+                            .build())
+                    .build());
+
+            metrics.track(copy.completionFuture()).join();
+        } catch (Exception e) {
+            throw new RuntimeException("Error copying file in S3", e);
+        }
+    }
+
+    @Override
+    public boolean exists(String storedPath) {
+        try {
+            s3Client.headObject(HeadObjectRequest.builder()
+                    .bucket(bucketName)
+                    .key(storedPath)
+                    .build());
+            return true;
+        } catch (NoSuchKeyException e) {
+            return false;
+        } catch (S3Exception e) {
+            if (e.statusCode() == 404) {
+                return false;
+            }
+            throw new RuntimeException("Error checking file in S3", e);
+        }
+    }
+
+    @Override
+    public Set<String> deleteAll(Collection<String> storedPaths) {
+        Set<String> failed = new HashSet<>();
+        List<String> keys = new ArrayList<>(storedPaths);
+
+        for (int i = 0; i < keys.size(); i += MAX_KEYS_PER_DELETE) {
+            List<String> chunk = keys.subList(i, Math.min(i + MAX_KEYS_PER_DELETE, keys.size()));
+            try {
+                DeleteObjectsRequest request = DeleteObjectsRequest.builder()
+                        .bucket(bucketName)
+                        .delete(Delete.builder()
+                                .objects(chunk.stream()
+                                        .map(key -> ObjectIdentifier.builder().key(key).build())
+                                        .toList())
+                                .quiet(true)
+                                .build())
+                        .build();
+
+                s3Client.deleteObjects(request)
+                        .errors()
+                        .forEach(error -> failed.add(error.key()));
+            } catch (Exception e) {
+                failed.addAll(chunk);
+            }
+        }
+        return failed;
+    }
+
+    @Override
+    public void forEachObject(Consumer<StoredObject> consumer) {
+        ListObjectsV2Request request = ListObjectsV2Request.builder()
+                .bucket(bucketName)
+                .maxKeys(MAX_KEYS_PER_DELETE)
+                .build();
+
+        // The paginator fetches the next page only when the previous one is consumed
+        s3Client.listObjectsV2Paginator(request)
+                .contents()
+                .forEach(object -> consumer.accept(
+                        new StoredObject(object.key(), object.size(), object.lastModified())
+                ));
+    }
 }
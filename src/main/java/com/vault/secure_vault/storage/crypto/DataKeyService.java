@@ -0,0 +1,136 @@
+package com.vault.secure_vault.storage.crypto;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.vault.secure_vault.config.EncryptionProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Cipher;
+import javax.crypto.KeyGenerator;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Generates, wraps and unwraps per-blob data keys.
+ *
+ * <p>Data keys are random AES-256 keys, wrapped with AES-GCM under a master key (the key
+ * id is authenticated as associated data). Unwrapped keys are cached by their wrapped
+ * form, so repeated reads of a blob cost no key unwrap; hit and miss counts are exported
+ * as {@code cache.gets{cache="data_keys"}}.</p>
+ */
+@Component
+@ConditionalOnProperty(name = "app.encryption.enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class DataKeyService {
+
+    private static final int KEY_BITS = 256;
+    private static final int IV_LENGTH = 12;
+    private static final int TAG_BITS = 128;
+
+    private final EncryptionProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    private final SecureRandom random = new SecureRandom();
+
+    private Map<String, SecretKey> masterKeys;
+    private String activeKeyId;
+    private Cache<String, SecretKey> unwrapped;
+
+    /**
+     * A fresh data key and its wrapped form for the blob header.
+     */
+    public record DataKey(SecretKey key, String masterKeyId, byte[] wrapped) {
+    }
+
+    @PostConstruct
+    void init() {
+        if (properties.getMasterKeys().isEmpty()) {
+            throw new IllegalStateException("app.encryption.enabled requires app.encryption.master-keys");
+        }
+
+        Map<String, SecretKey> keys = new LinkedHashMap<>();
+        for (EncryptionProperties.MasterKey configured : properties.getMasterKeys()) {
+            byte[] bytes = Base64.getDecoder().decode(configured.getKey());
+            if (bytes.length != KEY_BITS / 8) {
+                throw new IllegalStateException("Master key " + configured.getId() + " must be 256 bits");
+            }
+            if (configured.getId().getBytes(StandardCharsets.UTF_8).length > 255) {
+                throw new IllegalStateException("Master key id " + configured.getId() + " is too long");
+            }
+            if (keys.put(configured.getId(), new SecretKeySpec(bytes, "AES")) != null) {
+                throw new IllegalStateException("Duplicate master key id " + configured.getId());
+            }
+            activeKeyId = configured.getId();
+        }
+        masterKeys = Map.copyOf(keys);
+
+        unwrapped = Caffeine.newBuilder()
+                .maximumSize(properties.getKeyCacheMaximumSize())
+                .expireAfterAccess(properties.getKeyCacheTtl())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, unwrapped, "data_keys");
+    }
+
+    /**
+     * Creates a data key for a new blob, wrapped with the active master key.
+     */
+    public DataKey generate() throws GeneralSecurityException {
+        KeyGenerator generator = KeyGenerator.getInstance("AES");
+        generator.init(KEY_BITS, random);
+        SecretKey key = generator.generateKey();
+
+        byte[] iv = new byte[IV_LENGTH];
+        random.nextBytes(iv);
+        Cipher cipher = Cipher.getInstance("AES/GCM/NoPadding");
+        cipher.init(Cipher.ENCRYPT_MODE, masterKeys.get(activeKeyId), new GCMParameterSpec(TAG_BITS, iv));
+        cipher.updateAAD(activeKeyId.getBytes(StandardCharsets.UTF_8));
+        byte[] sealed = cipher.doFinal(key.getEncoded());
+
+        byte[] wrapped = new byte[IV_LENGTH + sealed.length];
+        System.arraycopy(iv, 0, wrapped, 0, IV_LENGTH);
+        System.arraycopy(sealed, 0, wrapped, IV_LENGTH, sealed.length);
+
+        unwrapped.put(cacheKey(activeKeyId, wrapped), key);
+        return new DataKey(key, activeKeyId, wrapped);
+    }
+
+    /**
+     * Returns the data key of an existing blob.
+     *
+     * @throws IllegalStateException if the master key is unknown or the wrapped key was tampered with
+     */
+    public SecretKey unwrap(String masterKeyId, byte[] wrapped) {
+        return unwrapped.get(cacheKey(masterKeyId, wrapped), ignored -> {
+            SecretKey masterKey = masterKeys.get(masterKeyId);
+            if (masterKey == null) {
+                throw new IllegalStateException("Unknown master key " + masterKeyId);
+            }
+            try {
+                Cipher cipher = Cipher.getInstance("AES/GCM/NoPadding");
+                cipher.init(Cipher.DECRYPT_MODE, masterKey, new GCMParameterSpec(TAG_BITS, wrapped, 0, IV_LENGTH));
+                cipher.updateAAD(masterKeyId.getBytes(StandardCharsets.UTF_8));
+                byte[] key = cipher.doFinal(wrapped, IV_LENGTH, wrapped.length - IV_LENGTH);
+                return new SecretKeySpec(key, "AES");
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException("Could not unwrap data key with master key " + masterKeyId, e);
+            }
+        });
+    }
+
+    private static String cacheKey(String masterKeyId, byte[] wrapped) {
+        return masterKeyId + ":" + Base64.getEncoder().encodeToString(wrapped);
+    }
+}
@@ -0,0 +1,102 @@
+package com.vault.secure_vault.storage.crypto;
+
+import javax.crypto.Cipher;
+import javax.crypto.SecretKey;
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.GeneralSecurityException;
+
+/**
+ * Decrypts a run of chunks of an encrypted blob as they are read.
+ *
+ * <p>Holds one chunk of plaintext at a time. Reading starts at {@code firstChunk}, drops
+ * {@code skip} bytes of its plaintext and ends after {@code limit} bytes, so a range read
+ * only fetches and decrypts the chunks overlapping the range. A chunk is released to the
+ * caller only after its tag verified.</p>
+ */
+final class DecryptingInputStream extends InputStream {
+
+    private final InputStream sealed;
+    private final SecretKey key;
+    private final EncryptedBlobFormat.Header header;
+    private final Cipher cipher;
+
+    private long nextChunk;
+    private long remaining;
+    private int skip;
+
+    private byte[] plain = new byte[0];
+    private int position;
+
+    /**
+     * @param sealed     stored bytes, starting at the beginning of {@code firstChunk}
+     * @param firstChunk index of the first chunk in {@code sealed}
+     * @param skip       plaintext bytes to drop from the first chunk
+     * @param limit      plaintext bytes to return
+     */
+    DecryptingInputStream(InputStream sealed, SecretKey key, EncryptedBlobFormat.Header header,
+                          long firstChunk, int skip, long limit) throws GeneralSecurityException {
+        this.sealed = sealed;
+        this.key = key;
+        this.header = header;
+        this.cipher = Cipher.getInstance("AES/GCM/NoPadding");
+        this.nextChunk = firstChunk;
+        this.skip = skip;
+        this.remaining = limit;
+    }
+
+    @Override
+    public int read() throws IOException {
+        byte[] one = new byte[1];
+        return read(one, 0, 1) < 0 ? -1 : one[0] & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (remaining <= 0) {
+            if (nextChunk == 0 && header.plaintextLength() == 0) {
+                // an empty blob still has its one (empty) chunk; verify it, so a blob
+                // truncated to its header does not pass as empty
+                fill();
+            }
+            return -1;
+        }
+        if (len == 0) {
+            return 0;
+        }
+        while (position == plain.length) {
+            if (nextChunk >= header.chunkCount()) {
+                return -1;
+            }
+            fill();
+        }
+
+        int count = (int) Math.min(Math.min(len, plain.length - position), remaining);
+        System.arraycopy(plain, position, b, off, count);
+        position += count;
+        remaining -= count;
+        return count;
+    }
+
+    @Override
+    public void close() throws IOException {
+        sealed.close();
+    }
+
+    private void fill() throws IOException {
+        int sealedLength = header.plainChunkLength(nextChunk) + EncryptedBlobFormat.TAG_LENGTH;
+        byte[] chunk = sealed.readNBytes(sealedLength);
+        if (chunk.length != sealedLength) {
+            throw new IOException("Encrypted blob is truncated at chunk " + nextChunk);
+        }
+
+        try {
+            plain = EncryptedBlobFormat.decryptChunk(cipher, key, header, nextChunk, chunk);
+        } catch (GeneralSecurityException e) {
+            throw new IOException("Encrypted blob failed authentication at chunk " + nextChunk, e);
+        }
+        nextChunk++;
+        position = Math.min(skip, plain.length);
+        skip = 0;
+    }
+}
@@ -0,0 +1,173 @@
+package com.vault.secure_vault.storage.crypto;
+
+import javax.crypto.Cipher;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.GCMParameterSpec;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.util.Arrays;
+
+/**
+ * On-disk layout of an encrypted blob.
+ *
+ * <pre>
+ * header: "VENC" | version (1) | key id length (1) | master key id
+ *         | wrapped key length (1) | wrapped data key | chunk size (4) | plaintext length (8)
+ * body:   chunk 0 | chunk 1 | ... each chunk is AES-GCM ciphertext followed by its 16 byte tag
+ * </pre>
+ *
+ * <p>Every chunk is sealed on its own, with the chunk index as nonce (data keys are never
+ * reused across blobs) and the header, the chunk index and a last-chunk flag as associated
+ * data. Chunks therefore cannot be swapped, dropped or moved to another blob, the header
+ * cannot be edited, and a reader can decrypt any chunk without touching the ones before
+ * it. A blob always has at least one chunk, so truncation to the header is detected too.</p>
+ */
+final class EncryptedBlobFormat {
+
+    static final int TAG_LENGTH = 16;
+    static final int MAX_HEADER_LENGTH = 4 + 1 + 1 + 255 + 1 + 255 + 4 + 8;
+
+    private static final byte[] MAGIC = {'V', 'E', 'N', 'C'};
+    private static final byte VERSION = 1;
+    private static final int NONCE_LENGTH = 12;
+
+    private EncryptedBlobFormat() {
+    }
+
+    /**
+     * Parsed header.
+     *
+     * @param bytes the raw header, authenticated with every chunk
+     */
+    record Header(byte[] bytes, String masterKeyId, byte[] wrappedKey, int chunkSize, long plaintextLength) {
+
+        int length() {
+            return bytes.length;
+        }
+
+        long chunkCount() {
+            return Math.max(1, (plaintextLength + chunkSize - 1) / chunkSize);
+        }
+
+        /**
+         * Plaintext bytes in the given chunk.
+         */
+        int plainChunkLength(long chunk) {
+            return (int) Math.min(chunkSize, plaintextLength - chunk * chunkSize);
+        }
+
+        /**
+         * Offset of the given chunk in the stored blob.
+         */
+        long chunkOffset(long chunk) {
+            return length() + chunk * (chunkSize + TAG_LENGTH);
+        }
+
+        long storedLength() {
+            return length() + plaintextLength + chunkCount() * TAG_LENGTH;
+        }
+    }
+
+    static Header header(String masterKeyId, byte[] wrappedKey, int chunkSize, long plaintextLength) {
+        byte[] id = masterKeyId.getBytes(StandardCharsets.UTF_8);
+        ByteBuffer buffer = ByteBuffer.allocate(4 + 1 + 1 + id.length + 1 + wrappedKey.length + 4 + 8)
+                .put(MAGIC)
+                .put(VERSION)
+                .put((byte) id.length)
+                .put(id)
+                .put((byte) wrappedKey.length)
+                .put(wrappedKey)
+                .putInt(chunkSize)
+                .putLong(plaintextLength);
+        return new Header(buffer.array(), masterKeyId, wrappedKey, chunkSize, plaintextLength);
+    }
+
+    /**
+     * Parses the header at the start of a stored blob.
+     *
+     * @param prefix the first bytes of the blob (up to {@link #MAX_HEADER_LENGTH})
+     * @return the header, or {@code null} if the blob does not start with the magic bytes
+     * @throws IllegalStateException if the magic is present but the header is not valid
+     */
+    static Header parse(byte[] prefix) {
+        if (prefix.length < MAGIC.length
+                || !Arrays.equals(prefix, 0, MAGIC.length, MAGIC, 0, MAGIC.length)) {
+            return null;
+        }
+        // fail closed: treating a damaged header as plaintext would serve ciphertext or
+        // let a rewritten header skip authentication
+        if (prefix.length < MAGIC.length + 1 || prefix[MAGIC.length] != VERSION) {
+            throw new IllegalStateException("Unsupported encrypted blob version");
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(prefix);
+        try {
+            buffer.position(MAGIC.length + 1);
+            byte[] id = new byte[buffer.get() & 0xFF];
+            buffer.get(id);
+            byte[] wrappedKey = new byte[buffer.get() & 0xFF];
+            buffer.get(wrappedKey);
+            int chunkSize = buffer.getInt();
+            long plaintextLength = buffer.getLong();
+            if (chunkSize <= 0 || plaintextLength < 0) {
+                throw new IllegalStateException("Invalid encrypted blob header");
+            }
+            return new Header(
+                    Arrays.copyOf(prefix, buffer.position()),
+                    new String(id, StandardCharsets.UTF_8),
+                    wrappedKey,
+                    chunkSize,
+                    plaintextLength
+            );
+        } catch (BufferUnderflowException e) {
+            throw new IllegalStateException("Truncated encrypted blob header", e);
+        }
+    }
+
+    /**
+     * Encrypts a whole blob, header included.
+     */
+    static byte[] encrypt(byte[] data, SecretKey key, Header header) throws GeneralSecurityException {
+        byte[] out = new byte[Math.toIntExact(header.storedLength())];
+        System.arraycopy(header.bytes(), 0, out, 0, header.length());
+
+        Cipher cipher = Cipher.getInstance("AES/GCM/NoPadding");
+        long chunks = header.chunkCount();
+        for (long chunk = 0; chunk < chunks; chunk++) {
+            init(cipher, Cipher.ENCRYPT_MODE, key, header, chunk);
+            cipher.doFinal(
+                    data,
+                    (int) (chunk * header.chunkSize()),
+                    header.plainChunkLength(chunk),
+                    out,
+                    (int) header.chunkOffset(chunk)
+            );
+        }
+        return out;
+    }
+
+    /**
+     * Decrypts and verifies one chunk.
+     *
+     * @param sealed ciphertext and tag of the chunk
+     * @return plaintext of the chunk
+     * @throws javax.crypto.AEADBadTagException if the chunk or header was tampered with
+     */
+    static byte[] decryptChunk(Cipher cipher, SecretKey key, Header header, long chunk, byte[] sealed)
+            throws GeneralSecurityException {
+        init(cipher, Cipher.DECRYPT_MODE, key, header, chunk);
+        return cipher.doFinal(sealed);
+    }
+
+    private static void init(Cipher cipher, int mode, SecretKey key, Header header, long chunk)
+            throws GeneralSecurityException {
+        byte[] nonce = ByteBuffer.allocate(NONCE_LENGTH).putInt(0).putLong(chunk).array();
+        cipher.init(mode, key, new GCMParameterSpec(TAG_LENGTH * 8, nonce));
+        cipher.updateAAD(header.bytes());
+        cipher.updateAAD(ByteBuffer.allocate(9)
+                .putLong(chunk)
+                .put((byte) (chunk == header.chunkCount() - 1 ? 1 : 0))
+                .array());
+    }
+}
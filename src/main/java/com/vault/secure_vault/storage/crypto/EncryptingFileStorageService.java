@@ -0,0 +1,188 @@
+package com.vault.secure_vault.storage.crypto;
+
+import com.vault.secure_vault.storage.DelegatingFileStorageService;
+import com.vault.secure_vault.storage.FileStorageService;
+import com.vault.secure_vault.storage.StoredObject;
+import com.vault.secure_vault.util.FileDownloadData;
+
+import javax.crypto.SecretKey;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PushbackInputStream;
+import java.security.GeneralSecurityException;
+import java.util.Collection;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Encrypts blobs before they reach the backend (envelope encryption with AES-GCM).
+ *
+ * <p>Each blob gets a fresh data key, wrapped by the active master key and stored in the
+ * blob's header (see {@link EncryptedBlobFormat}), so no key material lives in MongoDB and
+ * copies of a blob stay readable. Content is sealed in fixed-size chunks: a full download
+ * decrypts chunk by chunk while streaming, and {@link #downloadRange} fetches and decrypts
+ * only the chunks overlapping the range. Blobs written before encryption was enabled have
+ * no header and are passed through unchanged, unless their metadata says they were
+ * encrypted: a stripped header fails the read instead of downgrading to plaintext. A
+ * blob starting with the header magic but no valid header fails too.</p>
+ *
+ * <p>Installed as the outermost layer by
+ * {@link com.vault.secure_vault.config.StorageChainConfig} when {@code app.encryption.enabled}
+ * is set.</p>
+ */
+public class EncryptingFileStorageService implements DelegatingFileStorageService {
+
+    private final FileStorageService backend;
+    private final DataKeyService dataKeys;
+    private final int chunkSize;
+    private final Predicate<String> recordedEncrypted;
+
+    /**
+     * @param recordedEncrypted tells whether the metadata of a stored path marks it encrypted
+     */
+    public EncryptingFileStorageService(FileStorageService backend, DataKeyService dataKeys, int chunkSize,
+                                        Predicate<String> recordedEncrypted) {
+        this.backend = backend;
+        this.dataKeys = dataKeys;
+        this.chunkSize = chunkSize;
+        this.recordedEncrypted = recordedEncrypted;
+    }
+
+    @Override
+    public String upload(byte[] data, String path, String contentType) throws IOException {
+        byte[] sealed;
+        try {
+            DataKeyService.DataKey dataKey = dataKeys.generate();
+            EncryptedBlobFormat.Header header = EncryptedBlobFormat.header(
+                    dataKey.masterKeyId(),
+                    dataKey.wrapped(),
+                    chunkSize,
+                    data.length
+            );
+            sealed = EncryptedBlobFormat.encrypt(data, dataKey.key(), header);
+        } catch (GeneralSecurityException e) {
+            throw new RuntimeException("Failed to encrypt file", e);
+        }
+        return backend.upload(sealed, path, contentType);
+    }
+
+    @Override
+    public FileDownloadData download(String storedPath, String originalFilename, String contentType) throws IOException {
+        FileDownloadData stored = backend.download(storedPath, originalFilename, contentType);
+        PushbackInputStream in = new PushbackInputStream(stored.inputStream(), EncryptedBlobFormat.MAX_HEADER_LENGTH);
+        try {
+            byte[] prefix = in.readNBytes(EncryptedBlobFormat.MAX_HEADER_LENGTH);
+            EncryptedBlobFormat.Header header = EncryptedBlobFormat.parse(prefix);
+            if (header == null) {
+                requirePlaintextAllowed(storedPath);
+                in.unread(prefix);
+                return new FileDownloadData(in, originalFilename, contentType);
+            }
+
+            in.unread(prefix, header.length(), prefix.length - header.length());
+            return new FileDownloadData(
+                    decrypting(in, header, 0, 0, header.plaintextLength()),
+                    originalFilename,
+                    contentType
+            );
+        } catch (IOException | RuntimeException e) {
+            in.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Reads a plaintext range. Offsets refer to the plaintext; the header is read first
+     * to locate the chunks, then only those chunks are fetched.
+     */
+    @Override
+    public InputStream downloadRange(String storedPath, long offset, long length) throws IOException {
+        byte[] prefix;
+        try (InputStream in = backend.downloadRange(storedPath, 0, EncryptedBlobFormat.MAX_HEADER_LENGTH)) {
+            prefix = in.readAllBytes();
+        }
+        EncryptedBlobFormat.Header header = EncryptedBlobFormat.parse(prefix);
+        if (header == null) {
+            requirePlaintextAllowed(storedPath);
+            return backend.downloadRange(storedPath, offset, length);
+        }
+
+        long plaintextLength = header.plaintextLength();
+        if (offset >= plaintextLength || length <= 0) {
+            return InputStream.nullInputStream();
+        }
+        long end = Math.min(plaintextLength, offset + length);
+        long firstChunk = offset / header.chunkSize();
+        long lastChunk = (end - 1) / header.chunkSize();
+
+        long sealedStart = header.chunkOffset(firstChunk);
+        long sealedEnd = header.chunkOffset(lastChunk) + header.plainChunkLength(lastChunk)
+                + EncryptedBlobFormat.TAG_LENGTH;
+        InputStream sealed = backend.downloadRange(storedPath, sealedStart, sealedEnd - sealedStart);
+        try {
+            return decrypting(
+                    sealed,
+                    header,
+                    firstChunk,
+                    (int) (offset - firstChunk * header.chunkSize()),
+                    end - offset
+            );
+        } catch (RuntimeException e) {
+            sealed.close();
+            throw e;
+        }
+    }
+
+    @Override
+    public void delete(String storedPath) {
+        backend.delete(storedPath);
+    }
+
+    @Override
+    public Set<String> deleteAll(Collection<String> storedPaths) {
+        return backend.deleteAll(storedPaths);
+    }
+
+    /**
+     * Copies the stored bytes as they are; the header carries everything needed to
+     * decrypt them under the new path.
+     */
+    @Override
+    public void copy(String sourcePath, String targetPath) throws IOException {
+        backend.copy(sourcePath, targetPath);
+    }
+
+    @Override
+    public boolean exists(String storedPath) {
+        return backend.exists(storedPath);
+    }
+
+    /**
+     * Lists the backend. Sizes are those of the stored (encrypted) blobs.
+     */
+    @Override
+    public void forEachObject(Consumer<StoredObject> consumer) {
+        backend.forEachObject(consumer);
+    }
+
+    public FileStorageService backend() {
+        return backend;
+    }
+
+    private void requirePlaintextAllowed(String storedPath) {
+        if (recordedEncrypted.test(storedPath)) {
+            throw new IllegalStateException("Encrypted blob " + storedPath + " has no encryption header");
+        }
+    }
+
+    private InputStream decrypting(InputStream sealed, EncryptedBlobFormat.Header header,
+                                   long firstChunk, int skip, long limit) {
+        SecretKey key = dataKeys.unwrap(header.masterKeyId(), header.wrappedKey());
+        try {
+            return new DecryptingInputStream(sealed, key, header, firstChunk, skip, limit);
+        } catch (GeneralSecurityException e) {
+            throw new RuntimeException("Failed to decrypt file", e);
+        }
+    }
+}
@@ -0,0 +1,378 @@
+package com.vault.secure_vault.storage.erasure;
+
+import com.vault.secure_vault.config.ErasureCodingProperties;
+import com.vault.secure_vault.storage.FileStorageService;
+import com.vault.secure_vault.storage.StoredObject;
+import com.vault.secure_vault.storage.local.LocalBlobLocator;
+import com.vault.secure_vault.util.FileDownloadData;
+import com.vault.secure_vault.util.ReedSolomon;
+import com.vault.secure_vault.util.ThreadFactories;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Reed-Solomon erasure-coded implementation of {@link FileStorageService}.
+ *
+ * <p>Each blob is split into {@code k} data shards plus {@code m} parity shards, written
+ * in parallel to {@code k + m} different directories under the blob's stored path. Any
+ * {@code k} intact shards rebuild the blob, so up to {@code m} directories can be lost or
+ * corrupted, at a storage overhead of {@code (k + m) / k} instead of a full copy.</p>
+ *
+ * <p>Every shard starts with a small header (index, shard counts, blob length, CRC32 of
+ * the payload). Reads ask every directory at once and use the first {@code k} shards that
+ * pass their checksum; when a data shard is among the missing ones it is reconstructed on
+ * the fly. Because the header carries the shard index, reads do not depend on where a
+ * shard was placed, and directories can be added later.</p>
+ *
+ * <p>Enabled with {@code storage.provider=erasure}.</p>
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "storage.provider", havingValue = "erasure")
+public class ErasureCodedFileStorageService implements FileStorageService {
+
+    private static final int MAGIC = 0x56454331; // "VEC1"
+    private static final int HEADER_SIZE = 20;
+    private static final String TEMP_PREFIX = ".shard-";
+
+    private final List<Path> dirs;
+    private final ReedSolomon codec;
+    private final ExecutorService executor;
+
+    private final Counter reconstructedCounter;
+    private final Counter badShardCounter;
+
+    /**
+     * One shard as read back from disk.
+     */
+    private record Shard(int index, long blobLength, byte[] payload) {
+    }
+
+    public ErasureCodedFileStorageService(
+            ErasureCodingProperties properties,
+            MeterRegistry meterRegistry,
+            @Value(ThreadFactories.VIRTUAL_THREADS_PROPERTY) boolean virtualThreads
+    ) {
+        this.codec = new ReedSolomon(properties.getDataShards(), properties.getParityShards());
+        this.dirs = properties.getDirs().stream()
+                .map(dir -> Paths.get(dir).toAbsolutePath().normalize())
+                .distinct()
+                .toList();
+        if (dirs.size() < codec.totalShards()) {
+            throw new IllegalStateException("storage.erasure.dirs needs at least "
+                    + codec.totalShards() + " distinct directories, got " + dirs.size());
+        }
+
+        // shard I/O is short and blocking; one task per shard, no queueing behind other blobs
+        this.executor = Executors.newThreadPerTaskExecutor(ThreadFactories.named("erasure-io-", virtualThreads));
+        this.reconstructedCounter = meterRegistry.counter("vault.erasure.reconstructed");
+        this.badShardCounter = meterRegistry.counter("vault.erasure.bad_shards");
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Override
+    public String upload(byte[] data, String storedPath, String contentType) throws IOException {
+        int shardSize = codec.shardSize(data.length);
+        byte[][] shards = new byte[codec.totalShards()][shardSize];
+        for (int i = 0; i < codec.dataShards(); i++) {
+            int from = i * shardSize;
+            if (from < data.length) {
+                System.arraycopy(data, from, shards[i], 0, Math.min(shardSize, data.length - from));
+            }
+        }
+        codec.encodeParity(shards, shardSize);
+
+        // rotate the starting directory so shard 0 (and its read load) is spread out
+        int start = Math.floorMod(storedPath.hashCode(), dirs.size());
+        List<Future<Path>> writes = new ArrayList<>();
+        for (int i = 0; i < codec.totalShards(); i++) {
+            Path target = LocalBlobLocator.resolve(dirs.get((start + i) % dirs.size()), storedPath);
+            byte[] shard = shards[i];
+            int index = i;
+            writes.add(executor.submit(() -> writeShard(target, index, data.length, shard, shardSize)));
+        }
+
+        List<Path> written = new ArrayList<>();
+        IOException failure = null;
+        for (Future<Path> write : writes) {
+            try {
+                written.add(write.get());
+            } catch (ExecutionException e) {
+                failure = failure == null ? new IOException("Shard write failed", e.getCause()) : failure;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                failure = failure == null ? new IOException("Interrupted while writing shards", e) : failure;
+            }
+        }
+
+        if (failure != null) {
+            // a partially written blob would silently run with less redundancy than configured
+            for (Path path : written) {
+                Files.deleteIfExists(path);
+            }
+            throw new RuntimeException("Failed to store erasure coded file", failure);
+        }
+        return storedPath;
+    }
+
+    @Override
+    public FileDownloadData download(String storedPath, String originalFilename, String contentType) throws IOException {
+        ExecutorCompletionService<Shard> reads = new ExecutorCompletionService<>(executor);
+        List<Future<Shard>> pending = new ArrayList<>();
+        for (Path dir : dirs) {
+            Path path = LocalBlobLocator.resolve(dir, storedPath);
+            pending.add(reads.submit(() -> readShard(path)));
+        }
+
+        Shard[] shards = new Shard[codec.totalShards()];
+        int found = 0;
+        long blobLength = -1;
+        try {
+            for (int i = 0; i < pending.size() && found < codec.dataShards(); i++) {
+                Shard shard = takeQuietly(reads);
+                if (shard == null || shards[shard.index()] != null) {
+                    continue;
+                }
+                if (blobLength >= 0 && shard.blobLength() != blobLength) {
+                    // leftover of an older write under the same key
+                    badShardCounter.increment();
+                    continue;
+                }
+                blobLength = shard.blobLength();
+                shards[shard.index()] = shard;
+                found++;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while reading shards", e);
+        } finally {
+            pending.forEach(future -> future.cancel(true));
+        }
+
+        if (found < codec.dataShards()) {
+            throw new RuntimeException(found == 0
+                    ? "File not found on disk"
+                    : "Only " + found + " of " + codec.dataShards() + " required shards are readable");
+        }
+        return new FileDownloadData(
+                new ByteArrayInputStream(assemble(shards, blobLength)),
+                originalFilename,
+                contentType
+        );
+    }
+
+    @Override
+    public void delete(String storedPath) {
+        try {
+            for (Path dir : dirs) {
+                Files.deleteIfExists(LocalBlobLocator.resolve(dir, storedPath));
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to delete erasure coded file", e);
+        }
+    }
+
+    /**
+     * True when enough shard files exist to attempt a read; checksums are not verified.
+     */
+    @Override
+    public boolean exists(String storedPath) {
+        int present = 0;
+        for (Path dir : dirs) {
+            if (Files.isRegularFile(LocalBlobLocator.resolve(dir, storedPath))) {
+                present++;
+            }
+        }
+        return present >= codec.dataShards();
+    }
+
+    /**
+     * Lists blobs through their shard 0 file, reporting the original blob size. A blob that
+     * lost shard 0 is not listed.
+     */
+    @Override
+    public void forEachObject(Consumer<StoredObject> consumer) {
+        for (Path dir : dirs) {
+            if (!Files.isDirectory(dir)) {
+                continue;
+            }
+            try (Stream<Path> paths = Files.walk(dir)) {
+                paths.forEach(path -> reportIfFirstShard(dir, path, consumer));
+            } catch (IOException | UncheckedIOException e) {
+                throw new RuntimeException("Failed to list erasure coded files", e);
+            }
+        }
+    }
+
+    private void reportIfFirstShard(Path dir, Path path, Consumer<StoredObject> consumer) {
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+            if (!attributes.isRegularFile() || path.getFileName().toString().startsWith(TEMP_PREFIX)) {
+                return;
+            }
+            ByteBuffer header;
+            try (InputStream in = Files.newInputStream(path)) {
+                header = ByteBuffer.wrap(in.readNBytes(HEADER_SIZE));
+            }
+            if (header.remaining() < HEADER_SIZE || header.getInt() != MAGIC || header.get() != 0) {
+                return;
+            }
+            header.position(8);
+            consumer.accept(new StoredObject(
+                    dir.relativize(path).toString().replace('\\', '/'),
+                    header.getLong(),
+                    attributes.lastModifiedTime().toInstant()
+            ));
+        } catch (NoSuchFileException e) {
+            // deleted while walking
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Rebuilds missing data shards if needed and concatenates the data.
+     */
+    private byte[] assemble(Shard[] found, long blobLength) {
+        int shardSize = codec.shardSize(blobLength);
+        byte[][] shards = new byte[codec.totalShards()][];
+        boolean[] present = new boolean[codec.totalShards()];
+        boolean dataComplete = true;
+
+        for (int i = 0; i < shards.length; i++) {
+            present[i] = found[i] != null;
+            shards[i] = present[i] ? found[i].payload() : new byte[shardSize];
+            if (i < codec.dataShards() && !present[i]) {
+                dataComplete = false;
+            }
+        }
+        if (!dataComplete) {
+            codec.reconstruct(shards, present, shardSize);
+            reconstructedCounter.increment();
+        }
+
+        byte[] data = new byte[Math.toIntExact(blobLength)];
+        for (int i = 0; i < codec.dataShards(); i++) {
+            int from = i * shardSize;
+            if (from < data.length) {
+                System.arraycopy(shards[i], 0, data, from, Math.min(shardSize, data.length - from));
+            }
+        }
+        return data;
+    }
+
+    private Path writeShard(Path target, int index, long blobLength, byte[] shard, int shardSize) throws IOException {
+        CRC32 crc = new CRC32();
+        crc.update(shard, 0, shardSize);
+
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE)
+                .putInt(MAGIC)
+                .put((byte) index)
+                .put((byte) codec.dataShards())
+                .put((byte) codec.parityShards())
+                .put((byte) 0)
+                .putLong(blobLength)
+                .putInt((int) crc.getValue())
+                .flip();
+
+        Files.createDirectories(target.getParent());
+        Path temp = target.resolveSibling(TEMP_PREFIX + UUID.randomUUID());
+        try {
+            try (var channel = Files.newByteChannel(temp, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+                ByteBuffer payload = ByteBuffer.wrap(shard, 0, shardSize);
+                while (header.hasRemaining()) {
+                    channel.write(header);
+                }
+                while (payload.hasRemaining()) {
+                    channel.write(payload);
+                }
+            }
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            return target;
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Reads and verifies one shard file.
+     *
+     * @return the shard, or {@code null} if the file is missing or damaged
+     */
+    private Shard readShard(Path path) {
+        byte[] bytes;
+        try {
+            bytes = Files.readAllBytes(path);
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException e) {
+            log.warn("Could not read shard {}: {}", path, e.getMessage());
+            badShardCounter.increment();
+            return null;
+        }
+
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        if (bytes.length < HEADER_SIZE || buffer.getInt() != MAGIC) {
+            badShardCounter.increment();
+            return null;
+        }
+        int index = buffer.get() & 0xFF;
+        int dataShards = buffer.get() & 0xFF;
+        int parityShards = buffer.get() & 0xFF;
+        buffer.get();
+        long blobLength = buffer.getLong();
+        int expectedCrc = buffer.getInt();
+
+        if (dataShards != codec.dataShards() || parityShards != codec.parityShards()
+                || index >= codec.totalShards()
+                || bytes.length - HEADER_SIZE != codec.shardSize(blobLength)) {
+            log.warn("Shard {} does not match the configured {}+{} layout", path, codec.dataShards(), codec.parityShards());
+            badShardCounter.increment();
+            return null;
+        }
+
+        CRC32 crc = new CRC32();
+        crc.update(bytes, HEADER_SIZE, bytes.length - HEADER_SIZE);
+        if ((int) crc.getValue() != expectedCrc) {
+            log.warn("Checksum mismatch in shard {}", path);
+            badShardCounter.increment();
+            return null;
+        }
+
+        byte[] payload = new byte[bytes.length - HEADER_SIZE];
+        System.arraycopy(bytes, HEADER_SIZE, payload, 0, payload.length);
+        return new Shard(index, blobLength, payload);
+    }
+
+    private static Shard takeQuietly(CompletionService<Shard> reads) throws InterruptedException {
+        try {
+            return reads.take().get();
+        } catch (ExecutionException e) {
+            return null;
+        }
+    }
+}
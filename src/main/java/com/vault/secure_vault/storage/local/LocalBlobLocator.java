@@ -0,0 +1,42 @@
+package com.vault.secure_vault.storage.local;
+
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Maps stored paths to files on local disks.
+ *
+ * <p>Shared by {@link LocalFileStorageService} and {@link ReactiveLocalFileStorageService},
+ * so both see the same layout whether blobs live in one directory or are striped
+ * across several.</p>
+ */
+public interface LocalBlobLocator {
+
+    /**
+     * Directories holding blobs.
+     */
+    List<Path> roots();
+
+    /**
+     * Returns the existing file for a stored path, or {@code null} if there is none.
+     */
+    Path locate(String storedPath);
+
+    /**
+     * Returns the file a new blob of the given size should be written to.
+     *
+     * @throws RuntimeException if no directory can take the blob
+     */
+    Path place(String storedPath, long size);
+
+    /**
+     * Resolves a stored path below a root, rejecting paths that escape it.
+     */
+    static Path resolve(Path root, String storedPath) {
+        Path path = root.resolve(storedPath).normalize();
+        if (!path.startsWith(root)) {
+            throw new IllegalArgumentException("Invalid storage path");
+        }
+        return path;
+    }
+}
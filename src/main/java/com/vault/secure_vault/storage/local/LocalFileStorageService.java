@@ -1,36 +1,42 @@
 package com.vault.secure_vault.storage.local;
 import com.vault.secure_vault.storage.FileStorageService;
+import com.vault.secure_vault.storage.StoredObject;
+import com.vault.secure_vault.util.BoundedInputStream;
 import com.vault.secure_vault.util.FileDownloadData;
 import lombok.RequiredArgsConstructor;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Service;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
 import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 
 /**
  * Local filesystem implementation of {@link FileStorageService}.
  *
  * <p>Used in development and testing environments. Files are stored
- * on the server's disk.</p>
+ * on the server's disk, in one directory or striped across several
+ * (see {@link LocalBlobLocator}).</p>
  */
 @Profile("local")
 @Service
 @RequiredArgsConstructor
 public class LocalFileStorageService implements FileStorageService {
 
-    @Value("${storage.upload-dir}")
-    private String uploadDir;
+    private final LocalBlobLocator locator;
 
     @Override
     public String upload(byte[]data, String storedPath, String contentType) throws IOException {
         try {
-            Path baseDir = Paths.get(uploadDir).normalize();
-            Files.createDirectories(baseDir);
-
-            Path fullPath = baseDir.resolve(storedPath).normalize();
+            Path fullPath = locator.place(storedPath, data.length);
 
             // create parent directories if needed (e.g. user folders)
             Files.createDirectories(fullPath.getParent());
@@ -47,9 +53,9 @@ public class LocalFileStorageService implements FileStorageService {
     @Override
     public FileDownloadData download(String storedPath, String originalFilename, String contentType) throws IOException {
         try {
-            Path fullPath = Paths.get(uploadDir).resolve(storedPath).normalize();
+            Path fullPath = locator.locate(storedPath);
 
-            if (!Files.exists(fullPath)) {
+            if (fullPath == null) {
                 throw new RuntimeException("File not found on disk");
             }
 
@@ -66,14 +72,89 @@ public class LocalFileStorageService implements FileStorageService {
         }
     }
 
+    @Override
+    public InputStream downloadRange(String storedPath, long offset, long length) throws IOException {
+        Path fullPath = locator.locate(storedPath);
+        if (fullPath == null) {
+            throw new RuntimeException("File not found on disk");
+        }
+
+        FileChannel channel = FileChannel.open(fullPath, StandardOpenOption.READ);
+        channel.position(offset);
+        return new BoundedInputStream(Channels.newInputStream(channel), length);
+    }
+
     @Override
     public void delete(String storedPath) {
         try {
-            Path fullPath = Paths.get(uploadDir).resolve(storedPath).normalize();
-            Files.deleteIfExists(fullPath);
+            // every root, so copies left behind by an interrupted rebalance go too
+            for (Path root : locator.roots()) {
+                Files.deleteIfExists(LocalBlobLocator.resolve(root, storedPath));
+            }
         } catch (IOException e) {
             throw new RuntimeException("Failed to delete file locally", e);
         }
     }
 
+    @Override
+    public void copy(String sourcePath, String targetPath) throws IOException {
+        Path source = locator.locate(sourcePath);
+        if (source == null) {
+            throw new RuntimeException("File not found on disk");
+        }
+
+        Path target = locator.place(targetPath, Files.size(source));
+        Files.createDirectories(target.getParent());
+        try {
+            // a hard link shares the data, no bytes are copied
+            Files.createLink(target, source);
+        } catch (UnsupportedOperationException | FileSystemException e) {
+            // other file system (striped disks) or no link support
+            Files.copy(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+        // a link keeps the source's mtime; the orphan collector must not mistake the new,
+        // not yet referenced key for an old orphan
+        Files.setLastModifiedTime(target, FileTime.from(Instant.now()));
+    }
+
+    @Override
+    public boolean exists(String storedPath) {
+        return locator.locate(storedPath) != null;
+    }
+
+    @Override
+    public void forEachObject(Consumer<StoredObject> consumer) {
+        for (Path baseDir : locator.roots()) {
+            forEachObject(baseDir, consumer);
+        }
+    }
+
+    private void forEachObject(Path baseDir, Consumer<StoredObject> consumer) {
+        if (!Files.isDirectory(baseDir)) {
+            return;
+        }
+
+        // Files.walk is lazy, only the current directory path is held in memory
+        try (Stream<Path> paths = Files.walk(baseDir)) {
+            paths.forEach(path -> {
+                try {
+                    BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+                    if (!attributes.isRegularFile()) {
+                        return;
+                    }
+                    consumer.accept(new StoredObject(
+                            baseDir.relativize(path).toString().replace('\\', '/'),
+                            attributes.size(),
+                            attributes.lastModifiedTime().toInstant()
+                    ));
+                } catch (NoSuchFileException e) {
+                    // deleted while walking
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (IOException | UncheckedIOException e) {
+            throw new RuntimeException("Failed to list local files", e);
+        }
+    }
 }
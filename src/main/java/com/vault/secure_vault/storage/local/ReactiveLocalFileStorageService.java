@@ -0,0 +1,82 @@
+package com.vault.secure_vault.storage.local;
+
+import com.vault.secure_vault.storage.ReactiveFileStorageService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Optional;
+
+/**
+ * Local filesystem implementation of {@link ReactiveFileStorageService}.
+ *
+ * <p>Reads and writes go through {@link java.nio.channels.AsynchronousFileChannel},
+ * so no request thread waits on the disk. Uses the same {@link LocalBlobLocator} as
+ * {@link LocalFileStorageService}; lookups and directory creation are blocking syscalls
+ * and run on the bounded elastic scheduler.</p>
+ */
+@Profile("local")
+@Service
+@RequiredArgsConstructor
+public class ReactiveLocalFileStorageService implements ReactiveFileStorageService {
+
+    private static final int READ_BUFFER_SIZE = 64 * 1024;
+
+    private final LocalBlobLocator locator;
+
+    @Override
+    public Mono<Void> upload(Flux<DataBuffer> content, String storedPath, String contentType, long contentLength) {
+        // placement (free space check) and directory creation block, keep them off the event loop
+        return Mono.fromCallable(() -> {
+                    Path fullPath = locator.place(storedPath, contentLength);
+                    Files.createDirectories(fullPath.getParent());
+                    return fullPath;
+                })
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMap(fullPath -> DataBufferUtils.write(
+                        content,
+                        fullPath,
+                        StandardOpenOption.CREATE,
+                        StandardOpenOption.WRITE,
+                        StandardOpenOption.TRUNCATE_EXISTING
+                ))
+                .onErrorMap(e -> new RuntimeException("Failed to store file locally", e));
+    }
+
+    @Override
+    public Flux<DataBuffer> download(String storedPath) {
+        return Mono.fromCallable(() -> Optional.ofNullable(locator.locate(storedPath)))
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMapMany(fullPath -> fullPath
+                        .map(path -> DataBufferUtils.read(path, DefaultDataBufferFactory.sharedInstance, READ_BUFFER_SIZE))
+                        .orElseGet(() -> Flux.error(new NoSuchFileException(storedPath))))
+                .onErrorMap(NoSuchFileException.class, e -> new RuntimeException("File not found on disk", e));
+    }
+
+    @Override
+    public Mono<Void> delete(String storedPath) {
+        return Mono.fromRunnable(() -> {
+                    try {
+                        for (Path root : locator.roots()) {
+                            Files.deleteIfExists(LocalBlobLocator.resolve(root, storedPath));
+                        }
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                })
+                .subscribeOn(Schedulers.boundedElastic())
+                .onErrorMap(e -> new RuntimeException("Failed to delete file locally", e))
+                .then();
+    }
+}
@@ -0,0 +1,34 @@
+package com.vault.secure_vault.storage.local;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+
+/**
+ * Keeps every blob under one directory ({@code storage.upload-dir}).
+ */
+public class SingleDirectoryLocator implements LocalBlobLocator {
+
+    private final Path root;
+
+    public SingleDirectoryLocator(String uploadDir) {
+        this.root = Paths.get(uploadDir).toAbsolutePath().normalize();
+    }
+
+    @Override
+    public List<Path> roots() {
+        return List.of(root);
+    }
+
+    @Override
+    public Path locate(String storedPath) {
+        Path path = LocalBlobLocator.resolve(root, storedPath);
+        return Files.isRegularFile(path) ? path : null;
+    }
+
+    @Override
+    public Path place(String storedPath, long size) {
+        return LocalBlobLocator.resolve(root, storedPath);
+    }
+}
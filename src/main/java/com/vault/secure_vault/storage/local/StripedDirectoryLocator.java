@@ -0,0 +1,161 @@
+package com.vault.secure_vault.storage.local;
+
+import com.vault.secure_vault.util.ConsistentHashRing;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Spreads blobs across several directories with a consistent hash ring over the
+ * stored path.
+ *
+ * <p>Each directory gets ring points in proportion to its free space (usable space above
+ * {@code minFreeSpace}), so emptier disks take more new writes and disks converge to the
+ * same fill level while aggregate bandwidth scales with the number of disks. Free space
+ * changes as blobs come and go, so {@link #refreshWeights} recomputes the points; the ring
+ * is only rebuilt when a directory's share moved noticeably, which keeps blob moves rare.
+ * A write goes to the first directory on the key's preference list that keeps at least
+ * {@code minFreeSpace} free. Reads walk the same list, which finds blobs written before
+ * a directory was added or the weights changed; {@link StripedStorageRebalancer} moves
+ * those to their owner in the background.</p>
+ */
+public class StripedDirectoryLocator implements LocalBlobLocator {
+
+    /**
+     * Share of {@code virtualNodes} a directory's point count must move by before the
+     * ring is rebuilt.
+     */
+    private static final double REWEIGHT_THRESHOLD = 0.05;
+
+    private final List<Path> roots = new ArrayList<>();
+    private final List<String> ids = new ArrayList<>();
+    private final int virtualNodes;
+    private final long minFreeBytes;
+
+    private final ReentrantLock reweightLock = new ReentrantLock();
+    private volatile int[] points;
+    private volatile ConsistentHashRing<Path> ring;
+
+    public StripedDirectoryLocator(List<String> dirs, int virtualNodes, long minFreeBytes) {
+        this.virtualNodes = virtualNodes;
+        this.minFreeBytes = minFreeBytes;
+
+        for (String dir : dirs) {
+            Path root = Paths.get(dir).toAbsolutePath().normalize();
+            try {
+                Files.createDirectories(root);
+                // free space is read from the file store, so it must be reachable
+                Files.getFileStore(root);
+            } catch (IOException e) {
+                throw new IllegalStateException("Storage directory is not usable: " + root, e);
+            }
+            roots.add(root);
+            ids.add(root.toString());
+        }
+
+        this.points = points();
+        this.ring = new ConsistentHashRing<>(roots, ids, points);
+    }
+
+    /**
+     * Recomputes the ring points from the current free space of each directory.
+     *
+     * <p>Free space is read before taking the lock, so no file store I/O happens while
+     * holding it; the lock only orders concurrent refreshes publishing a new ring.</p>
+     *
+     * @return whether the ring changed
+     */
+    public boolean refreshWeights() {
+        int[] next = points();
+        int threshold = (int) Math.max(1, virtualNodes * REWEIGHT_THRESHOLD);
+
+        reweightLock.lock();
+        try {
+            int[] current = points;
+            boolean shifted = false;
+            for (int i = 0; i < next.length; i++) {
+                shifted |= Math.abs(next[i] - current[i]) > threshold;
+            }
+            if (!shifted) {
+                return false;
+            }
+            ring = new ConsistentHashRing<>(roots, ids, next);
+            points = next;
+            return true;
+        } finally {
+            reweightLock.unlock();
+        }
+    }
+
+    @Override
+    public List<Path> roots() {
+        return ring.nodes();
+    }
+
+    @Override
+    public Path locate(String storedPath) {
+        for (Path root : ring.preferenceList(storedPath)) {
+            Path path = LocalBlobLocator.resolve(root, storedPath);
+            if (Files.isRegularFile(path)) {
+                return path;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public Path place(String storedPath, long size) {
+        for (Path root : ring.preferenceList(storedPath)) {
+            if (usableSpace(root) - size >= minFreeBytes) {
+                return LocalBlobLocator.resolve(root, storedPath);
+            }
+        }
+        throw new RuntimeException("No storage directory has enough free space");
+    }
+
+    /**
+     * Directory a stored path belongs in under the current ring.
+     */
+    public Path owner(String storedPath) {
+        return ring.owner(storedPath);
+    }
+
+    /**
+     * Whether a directory can take a blob of the given size.
+     */
+    public boolean hasRoomFor(Path root, long size) {
+        return usableSpace(root) - size >= minFreeBytes;
+    }
+
+    /**
+     * Ring points per directory: {@code virtualNodes} for the one with the most free space,
+     * proportionally fewer for the others, at least one each.
+     */
+    private int[] points() {
+        long[] free = new long[roots.size()];
+        long largest = 1;
+        for (int i = 0; i < free.length; i++) {
+            free[i] = Math.max(0, usableSpace(roots.get(i)) - minFreeBytes);
+            largest = Math.max(largest, free[i]);
+        }
+
+        int[] result = new int[free.length];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = (int) Math.max(1, Math.round((double) virtualNodes * free[i] / largest));
+        }
+        return result;
+    }
+
+    private static long usableSpace(Path root) {
+        try {
+            return Files.getFileStore(root).getUsableSpace();
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package com.vault.secure_vault.storage.local;
+
+import com.vault.secure_vault.config.LocalStorageProperties;
+import com.vault.secure_vault.util.Throttle;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+/**
+ * Keeps the striping ring weighted by free space and moves striped blobs to the directory
+ * that owns them under the current ring.
+ *
+ * <p>After a directory is added or the weights change, a share of keys belongs to a new
+ * owner but still lives on the old disks; reads find them through the preference list, and this job moves them over in the
+ * background, rate limited so foreground I/O keeps priority. Each move copies to a
+ * temporary file on the target disk, renames it into place and only then deletes the
+ * source, so a blob is readable at every step. Only active when
+ * {@code storage.local.dirs} is configured.</p>
+ */
+@Slf4j
+@Component
+@Profile("local")
+@RequiredArgsConstructor
+public class StripedStorageRebalancer {
+
+    private static final String TEMP_PREFIX = ".rebalance-";
+
+    /**
+     * Files modified more recently may still be written to.
+     */
+    private static final Duration MIN_AGE = Duration.ofMinutes(5);
+
+    private final LocalBlobLocator locator;
+    private final LocalStorageProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    private Counter movedCounter;
+    private Counter movedBytesCounter;
+
+    @PostConstruct
+    void initMetrics() {
+        movedCounter = meterRegistry.counter("vault.local_rebalance.moved");
+        movedBytesCounter = meterRegistry.counter("vault.local_rebalance.moved_bytes");
+    }
+
+    @Scheduled(
+            fixedDelayString = "${storage.local.reweight-interval:PT10M}",
+            initialDelayString = "${storage.local.reweight-interval:PT10M}"
+    )
+    public void scheduledReweight() {
+        if (locator instanceof StripedDirectoryLocator striped && striped.refreshWeights()) {
+            log.info("Storage directories reweighted by free space");
+        }
+    }
+
+    @Scheduled(
+            fixedDelayString = "${storage.local.rebalance-interval:PT6H}",
+            initialDelayString = "${storage.local.rebalance-initial-delay:PT2M}"
+    )
+    public void scheduledRebalance() {
+        if (properties.isRebalanceEnabled() && locator instanceof StripedDirectoryLocator striped) {
+            rebalance(striped);
+        }
+    }
+
+    /**
+     * Runs one pass over every directory.
+     *
+     * @return number of blobs moved, or -1 if another pass is in progress
+     */
+    public long rebalance(StripedDirectoryLocator striped) {
+        if (!running.compareAndSet(false, true)) {
+            return -1;
+        }
+
+        Throttle throttle = new Throttle(properties.getRebalanceMaxBytesPerSecond().toBytes());
+        Instant cutoff = Instant.now().minus(MIN_AGE);
+        long moved = 0;
+
+        try {
+            for (Path root : striped.roots()) {
+                try (Stream<Path> paths = Files.walk(root)) {
+                    for (Path path : (Iterable<Path>) paths::iterator) {
+                        if (moveIfMisplaced(striped, root, path, cutoff, throttle)) {
+                            moved++;
+                        }
+                    }
+                } catch (IOException | UncheckedIOException e) {
+                    log.warn("Rebalance of {} stopped: {}", root, e.getMessage());
+                }
+            }
+            if (moved > 0) {
+                log.info("Rebalance moved {} blobs", moved);
+            }
+            return moved;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return moved;
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private boolean moveIfMisplaced(StripedDirectoryLocator striped, Path root, Path path, Instant cutoff,
+                                    Throttle throttle) throws InterruptedException {
+        BasicFileAttributes attributes;
+        try {
+            attributes = Files.readAttributes(path, BasicFileAttributes.class);
+        } catch (IOException e) {
+            return false;
+        }
+        if (!attributes.isRegularFile()
+                || path.getFileName().toString().startsWith(TEMP_PREFIX)
+                || attributes.lastModifiedTime().toInstant().isAfter(cutoff)) {
+            return false;
+        }
+
+        String storedPath = root.relativize(path).toString().replace('\\', '/');
+        Path owner = striped.owner(storedPath);
+        if (owner.equals(root) || !striped.hasRoomFor(owner, attributes.size())) {
+            return false;
+        }
+
+        throttle.acquire(attributes.size());
+
+        Path target = LocalBlobLocator.resolve(owner, storedPath);
+        Path temp = target.resolveSibling(TEMP_PREFIX + UUID.randomUUID());
+        try {
+            Files.createDirectories(target.getParent());
+            Files.copy(path, temp, StandardCopyOption.COPY_ATTRIBUTES);
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            Files.delete(path);
+        } catch (IOException e) {
+            log.warn("Could not move {} to {}: {}", storedPath, owner, e.getMessage());
+            try {
+                Files.deleteIfExists(temp);
+            } catch (IOException ignored) {
+                // picked up by the orphan collector
+            }
+            return false;
+        }
+
+        movedCounter.increment();
+        movedBytesCounter.increment(attributes.size());
+        return true;
+    }
+}
@@ -0,0 +1,188 @@
+package com.vault.secure_vault.storage.pack;
+
+import com.vault.secure_vault.config.PackProperties;
+import com.vault.secure_vault.model.PackEntry;
+import com.vault.secure_vault.model.PackSegment;
+import com.vault.secure_vault.util.Throttle;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+/**
+ * Reclaims space held by deleted and overwritten pack entries.
+ *
+ * <p>Sealed segments whose share of live bytes dropped below
+ * {@code app.pack.compaction-live-ratio} have their remaining entries appended to the
+ * active segment, then are retired. Each entry is repointed with a conditional update on
+ * its old location, so an entry deleted or rewritten while it was being copied is left
+ * alone and the copy simply becomes garbage in the new segment. Retired files are kept
+ * for {@code app.pack.retired-segment-retention} so reads that resolved the old location
+ * just before the move can still finish.</p>
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.pack.enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class PackCompactor {
+
+    private final PackStore packStore;
+    private final PackProperties properties;
+    private final MongoTemplate mongoTemplate;
+    private final MeterRegistry meterRegistry;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    private Counter relocatedCounter;
+    private Counter reclaimedBytesCounter;
+
+    @PostConstruct
+    void initMetrics() {
+        relocatedCounter = meterRegistry.counter("vault.pack.compaction.relocated");
+        reclaimedBytesCounter = meterRegistry.counter("vault.pack.compaction.reclaimed_bytes");
+    }
+
+    @Scheduled(
+            fixedDelayString = "${app.pack.compaction-interval:PT30M}",
+            initialDelayString = "${app.pack.compaction-initial-delay:PT5M}"
+    )
+    public void scheduledCompaction() {
+        compact();
+        removeRetiredSegments();
+    }
+
+    /**
+     * Compacts every eligible segment once.
+     *
+     * @return number of segments retired, or -1 if another pass is in progress
+     */
+    public int compact() {
+        if (!running.compareAndSet(false, true)) {
+            return -1;
+        }
+
+        Throttle throttle = new Throttle(properties.getCompactionMaxBytesPerSecond().toBytes());
+        int retired = 0;
+        try {
+            List<PackSegment> sealed = mongoTemplate.find(
+                    Query.query(Criteria.where("sealed").is(true).and("retiredAt").is(null)),
+                    PackSegment.class
+            );
+            for (PackSegment segment : sealed) {
+                if (segment.getId() == packStore.activeSegment() || !isSparse(segment)) {
+                    continue;
+                }
+                try {
+                    compactSegment(segment.getId(), throttle);
+                    retired++;
+                } catch (IOException e) {
+                    log.warn("Compaction of pack segment {} stopped: {}", segment.getId(), e.getMessage());
+                }
+            }
+            if (retired > 0) {
+                log.info("Pack compaction retired {} segments", retired);
+            }
+            return retired;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return retired;
+        } finally {
+            running.set(false);
+        }
+    }
+
+    /**
+     * Deletes retired segments whose retention has elapsed.
+     */
+    public void removeRetiredSegments() {
+        Instant cutoff = Instant.now().minus(properties.getRetiredSegmentRetention());
+        List<PackSegment> expired = mongoTemplate.find(
+                Query.query(Criteria.where("retiredAt").lt(cutoff)),
+                PackSegment.class
+        );
+        for (PackSegment segment : expired) {
+            // an entry still pointing here means the segment was retired too early; keep it
+            if (mongoTemplate.exists(Query.query(Criteria.where("segment").is(segment.getId())), PackEntry.class)) {
+                log.warn("Retired pack segment {} still has entries, keeping it", segment.getId());
+                continue;
+            }
+            try {
+                long size = fileSize(packStore.segmentPath(segment.getId()));
+                packStore.deleteSegment(segment.getId());
+                mongoTemplate.remove(Query.query(Criteria.where("_id").is(segment.getId())), PackSegment.class);
+                reclaimedBytesCounter.increment(size);
+            } catch (IOException e) {
+                log.warn("Could not delete pack segment {}: {}", segment.getId(), e.getMessage());
+            }
+        }
+    }
+
+    private boolean isSparse(PackSegment segment) {
+        long size = fileSize(packStore.segmentPath(segment.getId()));
+        return size > 0 && (double) segment.getLiveBytes() / size < properties.getCompactionLiveRatio();
+    }
+
+    private void compactSegment(long segmentId, Throttle throttle) throws IOException, InterruptedException {
+        Query entriesInSegment = Query.query(Criteria.where("segment").is(segmentId))
+                .with(Sort.by("offset"));
+
+        try (Stream<PackEntry> entries = mongoTemplate.stream(entriesInSegment, PackEntry.class)) {
+            for (PackEntry entry : (Iterable<PackEntry>) entries::iterator) {
+                relocate(entry, throttle);
+            }
+        }
+
+        mongoTemplate.updateFirst(
+                Query.query(Criteria.where("_id").is(segmentId)),
+                new Update().set("retiredAt", Instant.now()),
+                PackSegment.class
+        );
+    }
+
+    private void relocate(PackEntry entry, Throttle throttle) throws IOException, InterruptedException {
+        byte[] data = packStore.read(entry);
+        throttle.acquire(data.length);
+        PackStore.Location location = packStore.append(data);
+
+        long updated = mongoTemplate.updateFirst(
+                Query.query(Criteria.where("_id").is(entry.getStoredPath())
+                        .and("segment").is(entry.getSegment())
+                        .and("offset").is(entry.getOffset())),
+                new Update()
+                        .set("segment", location.segment())
+                        .set("offset", location.offset()),
+                PackEntry.class
+        ).getModifiedCount();
+
+        if (updated == 1) {
+            packStore.adjustLiveBytes(location.segment(), data.length);
+            packStore.adjustLiveBytes(entry.getSegment(), -data.length);
+            relocatedCounter.increment();
+        }
+    }
+
+    private static long fileSize(Path path) {
+        try {
+            return Files.size(path);
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.vault.secure_vault.storage.pack;
+
+import com.vault.secure_vault.storage.DelegatingFileStorageService;
+import com.vault.secure_vault.storage.FileStorageService;
+import com.vault.secure_vault.storage.StoredObject;
+import com.vault.secure_vault.util.FileDownloadData;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Sends small blobs to the {@link PackStore} and everything else to the regular backend.
+ *
+ * <p>Per-object storage pays a fixed cost (an inode, an S3 request) that dominates for
+ * tiny files; packing them into large segments turns that into one index lookup and one
+ * positional read. Reads try the packs first and fall back to the backend, so blobs
+ * written before packing was enabled stay readable. Installed by
+ * {@link com.vault.secure_vault.config.StorageChainConfig} when {@code app.pack.enabled}
+ * is set.</p>
+ */
+public class PackRoutingFileStorageService implements DelegatingFileStorageService {
+
+    private final FileStorageService backend;
+    private final PackStore packStore;
+    private final long threshold;
+
+    public PackRoutingFileStorageService(FileStorageService backend, PackStore packStore, long threshold) {
+        this.backend = backend;
+        this.packStore = packStore;
+        this.threshold = threshold;
+    }
+
+    @Override
+    public String upload(byte[] data, String path, String contentType) throws IOException {
+        if (data.length > threshold) {
+            return backend.upload(data, path, contentType);
+        }
+        packStore.put(path, data);
+        return path;
+    }
+
+    @Override
+    public FileDownloadData download(String storedPath, String originalFilename, String contentType) throws IOException {
+        byte[] packed = packStore.get(storedPath);
+        if (packed == null) {
+            return backend.download(storedPath, originalFilename, contentType);
+        }
+        return new FileDownloadData(new ByteArrayInputStream(packed), originalFilename, contentType);
+    }
+
+    @Override
+    public InputStream downloadRange(String storedPath, long offset, long length) throws IOException {
+        byte[] packed = packStore.get(storedPath);
+        if (packed == null) {
+            return backend.downloadRange(storedPath, offset, length);
+        }
+        int from = (int) Math.min(offset, packed.length);
+        return new ByteArrayInputStream(packed, from, (int) Math.min(length, packed.length - from));
+    }
+
+    @Override
+    public void delete(String storedPath) {
+        if (!packStore.remove(storedPath)) {
+            backend.delete(storedPath);
+        }
+    }
+
+    /**
+     * Removes packed keys in one batch and sends the rest to the backend, so orphan
+     * collection and purges free packed blobs as well.
+     */
+    @Override
+    public Set<String> deleteAll(Collection<String> storedPaths) {
+        Set<String> unpacked = packStore.removeAll(storedPaths);
+        return unpacked.isEmpty() ? new HashSet<>() : backend.deleteAll(unpacked);
+    }
+
+    /**
+     * Packed blobs are copied by appending their bytes again; unpacked ones use the
+     * backend copy.
+     */
+    @Override
+    public void copy(String sourcePath, String targetPath) throws IOException {
+        byte[] packed = packStore.get(sourcePath);
+        if (packed == null) {
+            backend.copy(sourcePath, targetPath);
+        } else {
+            packStore.put(targetPath, packed);
+        }
+    }
+
+    @Override
+    public boolean exists(String storedPath) {
+        return packStore.contains(storedPath) || backend.exists(storedPath);
+    }
+
+    /**
+     * Lists the backend, then every packed blob.
+     */
+    @Override
+    public void forEachObject(Consumer<StoredObject> consumer) {
+        backend.forEachObject(consumer);
+        packStore.forEachEntry(consumer);
+    }
+
+    public FileStorageService backend() {
+        return backend;
+    }
+}
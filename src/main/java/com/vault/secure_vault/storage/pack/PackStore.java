@@ -0,0 +1,323 @@
+package com.vault.secure_vault.storage.pack;
+
+import com.vault.secure_vault.config.PackProperties;
+import com.vault.secure_vault.model.PackEntry;
+import com.vault.secure_vault.model.PackSegment;
+import com.vault.secure_vault.storage.StoredObject;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndReplaceOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only segment files holding many small blobs each.
+ *
+ * <p>Blobs are appended to the active segment under a lock, which is the only
+ * serialization point; the location is then recorded in {@link PackEntry}. A crash
+ * between the two leaves unreferenced bytes, which compaction reclaims. Reads look up
+ * the entry by key and do one positional {@link FileChannel#read(ByteBuffer, long)} on a
+ * shared read-only channel, so concurrent reads of one segment never contend.</p>
+ *
+ * <p>The append lock is a {@link ReentrantLock} rather than a monitor, so virtual threads
+ * queued behind an fsync park instead of pinning their carriers. It covers the file write
+ * and the segment swap only; the MongoDB updates of a rollover run after it is released.</p>
+ */
+@Component
+@ConditionalOnProperty(name = "app.pack.enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class PackStore {
+
+    private final PackProperties properties;
+    private final MongoTemplate mongoTemplate;
+
+    private final Map<Long, FileChannel> readers = new ConcurrentHashMap<>();
+    private final ReentrantLock appendLock = new ReentrantLock();
+
+    private Path dir;
+    private FileChannel active;
+    private long activeId;
+    private long activeSize;
+
+    /**
+     * Where a blob was written.
+     */
+    public record Location(long segment, long offset) {
+    }
+
+    @PostConstruct
+    void open() throws IOException {
+        dir = Paths.get(properties.getDir()).toAbsolutePath().normalize();
+        Files.createDirectories(dir);
+
+        PackSegment last = mongoTemplate.findOne(
+                new Query().with(Sort.by(Sort.Direction.DESC, "_id")).limit(1),
+                PackSegment.class
+        );
+        // a restart always starts a fresh segment, so the previous one can be compacted
+        if (last != null && !last.isSealed()) {
+            seal(last.getId());
+        }
+        long id = last == null ? 1 : last.getId() + 1;
+        openSegment(id);
+        recordSegment(id);
+    }
+
+    @PreDestroy
+    void close() throws IOException {
+        appendLock.lock();
+        try {
+            active.close();
+        } finally {
+            appendLock.unlock();
+        }
+        for (FileChannel reader : readers.values()) {
+            reader.close();
+        }
+    }
+
+    /**
+     * Stores a blob, replacing any previous blob under the same key.
+     */
+    public void put(String storedPath, byte[] data) throws IOException {
+        CRC32 crc = new CRC32();
+        crc.update(data);
+        Location location = append(data);
+
+        PackEntry previous = mongoTemplate.findAndReplace(
+                Query.query(Criteria.where("_id").is(storedPath)),
+                PackEntry.builder()
+                        .storedPath(storedPath)
+                        .segment(location.segment())
+                        .offset(location.offset())
+                        .length(data.length)
+                        .crc32(crc.getValue())
+                        .createdAt(Instant.now())
+                        .build(),
+                FindAndReplaceOptions.options().upsert()
+        );
+        adjustLiveBytes(location.segment(), data.length);
+        if (previous != null) {
+            adjustLiveBytes(previous.getSegment(), -previous.getLength());
+        }
+    }
+
+    /**
+     * Returns the blob, or {@code null} if it is not in the packs.
+     */
+    public byte[] get(String storedPath) throws IOException {
+        PackEntry entry = mongoTemplate.findById(storedPath, PackEntry.class);
+        return entry == null ? null : read(entry);
+    }
+
+    public boolean contains(String storedPath) {
+        return mongoTemplate.exists(Query.query(Criteria.where("_id").is(storedPath)), PackEntry.class);
+    }
+
+    /**
+     * Removes a blob. Its bytes stay in the segment until compaction.
+     *
+     * @return false if the blob was not in the packs
+     */
+    public boolean remove(String storedPath) {
+        PackEntry entry = mongoTemplate.findAndRemove(
+                Query.query(Criteria.where("_id").is(storedPath)),
+                PackEntry.class
+        );
+        if (entry == null) {
+            return false;
+        }
+        adjustLiveBytes(entry.getSegment(), -entry.getLength());
+        return true;
+    }
+
+    /**
+     * Removes every given blob that is in the packs, with one query and one delete
+     * instead of a round trip per key. Used by batch deletes (purge, orphan collection).
+     *
+     * @return keys that were not in the packs
+     */
+    public Set<String> removeAll(Collection<String> storedPaths) {
+        List<PackEntry> removed = mongoTemplate.findAllAndRemove(
+                Query.query(Criteria.where("_id").in(storedPaths)),
+                PackEntry.class
+        );
+
+        Map<Long, Long> freed = new HashMap<>();
+        Set<String> remaining = new HashSet<>(storedPaths);
+        for (PackEntry entry : removed) {
+            freed.merge(entry.getSegment(), (long) entry.getLength(), Long::sum);
+            remaining.remove(entry.getStoredPath());
+        }
+        freed.forEach((segment, bytes) -> adjustLiveBytes(segment, -bytes));
+        return remaining;
+    }
+
+    /**
+     * Streams every packed blob.
+     */
+    public void forEachEntry(Consumer<StoredObject> consumer) {
+        try (Stream<PackEntry> entries = mongoTemplate.stream(new Query(), PackEntry.class)) {
+            entries.forEach(entry -> consumer.accept(
+                    new StoredObject(entry.getStoredPath(), entry.getLength(), entry.getCreatedAt())
+            ));
+        }
+    }
+
+    /**
+     * Reads an entry and verifies its checksum.
+     */
+    byte[] read(PackEntry entry) throws IOException {
+        FileChannel channel = reader(entry.getSegment());
+        ByteBuffer buffer = ByteBuffer.allocate(entry.getLength());
+        long position = entry.getOffset();
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position);
+            if (read < 0) {
+                throw new IOException("Pack segment " + entry.getSegment() + " is truncated");
+            }
+            position += read;
+        }
+
+        byte[] data = buffer.array();
+        CRC32 crc = new CRC32();
+        crc.update(data);
+        if (crc.getValue() != entry.getCrc32()) {
+            throw new IOException("Checksum mismatch for packed blob in segment " + entry.getSegment());
+        }
+        return data;
+    }
+
+    /**
+     * Appends bytes to the active segment, rolling over to a new one when full.
+     */
+    Location append(byte[] data) throws IOException {
+        long rolledOver = -1;
+        Location location;
+        appendLock.lock();
+        try {
+            if (activeSize > 0 && activeSize + data.length > properties.getSegmentSize().toBytes()) {
+                rolledOver = activeId;
+                active.close();
+                openSegment(activeId + 1);
+            }
+
+            long offset = activeSize;
+            ByteBuffer buffer = ByteBuffer.wrap(data);
+            while (buffer.hasRemaining()) {
+                active.write(buffer, offset + buffer.position());
+            }
+            if (properties.isFsync()) {
+                active.force(false);
+            }
+            activeSize += data.length;
+            location = new Location(activeId, offset);
+        } finally {
+            appendLock.unlock();
+        }
+
+        if (rolledOver >= 0) {
+            seal(rolledOver);
+            recordSegment(rolledOver + 1);
+        }
+        return location;
+    }
+
+    void adjustLiveBytes(long segment, long delta) {
+        mongoTemplate.upsert(
+                Query.query(Criteria.where("_id").is(segment)),
+                new Update().inc("liveBytes", delta),
+                PackSegment.class
+        );
+    }
+
+    long activeSegment() {
+        appendLock.lock();
+        try {
+            return activeId;
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    Path segmentPath(long segment) {
+        return dir.resolve(String.format("%012d.pack", segment));
+    }
+
+    /**
+     * Closes the cached reader and deletes a segment file.
+     */
+    void deleteSegment(long segment) throws IOException {
+        FileChannel reader = readers.remove(segment);
+        if (reader != null) {
+            reader.close();
+        }
+        Files.deleteIfExists(segmentPath(segment));
+    }
+
+    private FileChannel reader(long segment) {
+        return readers.computeIfAbsent(segment, id -> {
+            try {
+                return FileChannel.open(segmentPath(id), StandardOpenOption.READ);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    /**
+     * Makes a segment file the append target; called with the append lock held.
+     */
+    private void openSegment(long id) throws IOException {
+        active = FileChannel.open(
+                segmentPath(id),
+                StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE
+        );
+        activeId = id;
+        activeSize = active.size();
+    }
+
+    private void recordSegment(long id) {
+        mongoTemplate.upsert(
+                Query.query(Criteria.where("_id").is(id)),
+                new Update().set("sealed", false).setOnInsert("liveBytes", 0L),
+                PackSegment.class
+        );
+    }
+
+    private void seal(long id) {
+        mongoTemplate.updateFirst(
+                Query.query(Criteria.where("_id").is(id)),
+                new Update().set("sealed", true),
+                PackSegment.class
+        );
+    }
+}
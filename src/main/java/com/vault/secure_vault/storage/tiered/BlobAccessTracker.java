@@ -0,0 +1,56 @@
+package com.vault.secure_vault.storage.tiered;
+
+import com.vault.secure_vault.config.TieringProperties;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-memory download counters per stored blob.
+ *
+ * <p>Recording is a map lookup and a {@link LongAdder} increment, so downloads never
+ * touch MongoDB for bookkeeping. {@link #drain()} hands the accumulated counts to the
+ * periodic flush. Counts are approximate: an increment racing with a drain may be lost,
+ * which is harmless for tiering decisions.</p>
+ */
+@Component
+@ConditionalOnProperty(name = "storage.provider", havingValue = "tiered")
+@RequiredArgsConstructor
+public class BlobAccessTracker {
+
+    private final TieringProperties properties;
+
+    private volatile ConcurrentHashMap<String, LongAdder> counts = new ConcurrentHashMap<>();
+
+    /**
+     * Counts one access to a blob.
+     */
+    public void record(String storedPath) {
+        ConcurrentHashMap<String, LongAdder> current = counts;
+        LongAdder counter = current.get(storedPath);
+        if (counter == null) {
+            if (current.size() >= properties.getMaxTrackedBlobs()) {
+                return;
+            }
+            counter = current.computeIfAbsent(storedPath, key -> new LongAdder());
+        }
+        counter.increment();
+    }
+
+    /**
+     * Returns the counts recorded since the previous drain and starts over.
+     */
+    public Map<String, Long> drain() {
+        ConcurrentHashMap<String, LongAdder> drained = counts;
+        counts = new ConcurrentHashMap<>();
+
+        Map<String, Long> result = new HashMap<>(drained.size());
+        drained.forEach((path, counter) -> result.put(path, counter.sum()));
+        return result;
+    }
+}
@@ -0,0 +1,134 @@
+package com.vault.secure_vault.storage.tiered;
+
+import com.vault.secure_vault.storage.DelegatingFileStorageService;
+import com.vault.secure_vault.storage.FileStorageService;
+import com.vault.secure_vault.storage.StoredObject;
+import com.vault.secure_vault.util.FileDownloadData;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Hot/cold tiered implementation of {@link FileStorageService}.
+ *
+ * <p>New blobs are written to the hot tier ({@code LocalFileStorageService}, fast local
+ * disk). {@link com.vault.secure_vault.service.TierMigrationService} later demotes blobs
+ * nobody reads to the cold tier ({@code S3StorageService}) and promotes frequently read
+ * ones back. A blob keeps its key in both tiers, so reads check the hot tier first and
+ * fall back to the cold one, and no metadata lookup is needed on the read path.</p>
+ *
+ * <p>Enabled with {@code storage.provider=tiered} and both the {@code local} and
+ * {@code cloud} profiles active; {@link com.vault.secure_vault.config.StorageChainConfig}
+ * then uses it as the base backend.</p>
+ */
+@Service
+@ConditionalOnProperty(name = "storage.provider", havingValue = "tiered")
+public class TieredFileStorageService implements DelegatingFileStorageService {
+
+    private final FileStorageService hot;
+    private final FileStorageService cold;
+    private final BlobAccessTracker accessTracker;
+
+    public TieredFileStorageService(
+            @Qualifier("localFileStorageService") FileStorageService hot,
+            @Qualifier("s3StorageService") FileStorageService cold,
+            BlobAccessTracker accessTracker
+    ) {
+        this.hot = hot;
+        this.cold = cold;
+        this.accessTracker = accessTracker;
+    }
+
+    @Override
+    public String upload(byte[] data, String path, String contentType) throws IOException {
+        return hot.upload(data, path, contentType);
+    }
+
+    @Override
+    public FileDownloadData download(String storedPath, String originalFilename, String contentType) throws IOException {
+        accessTracker.record(storedPath);
+
+        if (hot.exists(storedPath)) {
+            try {
+                return hot.download(storedPath, originalFilename, contentType);
+            } catch (IOException | RuntimeException e) {
+                // demoted between the check and the read
+                if (hot.exists(storedPath)) {
+                    throw e;
+                }
+            }
+        }
+        return cold.download(storedPath, originalFilename, contentType);
+    }
+
+    @Override
+    public InputStream downloadRange(String storedPath, long offset, long length) throws IOException {
+        accessTracker.record(storedPath);
+
+        if (hot.exists(storedPath)) {
+            try {
+                return hot.downloadRange(storedPath, offset, length);
+            } catch (IOException | RuntimeException e) {
+                // demoted between the check and the open (NoSuchFileException)
+                if (hot.exists(storedPath)) {
+                    throw e;
+                }
+            }
+        }
+        return cold.downloadRange(storedPath, offset, length);
+    }
+
+    @Override
+    public void delete(String storedPath) {
+        hot.delete(storedPath);
+        cold.delete(storedPath);
+    }
+
+    @Override
+    public Set<String> deleteAll(Collection<String> storedPaths) {
+        Set<String> failed = new HashSet<>(hot.deleteAll(storedPaths));
+        failed.addAll(cold.deleteAll(storedPaths));
+        return failed;
+    }
+
+    /**
+     * Copies within the tier currently holding the blob.
+     */
+    @Override
+    public void copy(String sourcePath, String targetPath) throws IOException {
+        if (hot.exists(sourcePath)) {
+            hot.copy(sourcePath, targetPath);
+        } else {
+            cold.copy(sourcePath, targetPath);
+        }
+    }
+
+    @Override
+    public boolean exists(String storedPath) {
+        return hot.exists(storedPath) || cold.exists(storedPath);
+    }
+
+    /**
+     * Lists both tiers. A blob being migrated may be reported twice.
+     */
+    @Override
+    public void forEachObject(Consumer<StoredObject> consumer) {
+        hot.forEachObject(consumer);
+        cold.forEachObject(consumer);
+    }
+
+    public FileStorageService hotTier() {
+        return hot;
+    }
+
+    public FileStorageService coldTier() {
+        return cold;
+    }
+}
@@ -0,0 +1,64 @@
+package com.vault.secure_vault.util;
+
+import java.util.Arrays;
+
+/**
+ * Timeout derived from recently observed latencies.
+ *
+ * <p>Keeps the last {@code windowSize} samples and, every {@code windowSize / 8} samples,
+ * recomputes the timeout as {@code percentile * multiplier}, clamped to {@code [min, max]}.
+ * Until enough samples exist the initial timeout is used. Reading the timeout is a volatile
+ * read; the occasional sort of a few hundred longs happens on the recording thread.</p>
+ */
+public final class AdaptiveTimeout {
+
+    private final long minNanos;
+    private final long maxNanos;
+    private final double percentile;
+    private final double multiplier;
+    private final int recomputeEvery;
+
+    private final long[] samples;
+    private int next;
+    private int count;
+    private int sinceRecompute;
+
+    private volatile long timeoutNanos;
+
+    /**
+     * @param initialNanos timeout used until the window has filled once
+     * @param minNanos     lower bound
+     * @param maxNanos     upper bound
+     * @param percentile   latency percentile, e.g. {@code 0.99}
+     * @param multiplier   head room over the percentile, e.g. {@code 3}
+     * @param windowSize   number of recent samples considered
+     */
+    public AdaptiveTimeout(long initialNanos, long minNanos, long maxNanos, double percentile, double multiplier, int windowSize) {
+        this.minNanos = minNanos;
+        this.maxNanos = maxNanos;
+        this.percentile = percentile;
+        this.multiplier = multiplier;
+        this.samples = new long[Math.max(8, windowSize)];
+        this.recomputeEvery = samples.length / 8;
+        this.timeoutNanos = Math.clamp(initialNanos, minNanos, maxNanos);
+    }
+
+    public long timeoutNanos() {
+        return timeoutNanos;
+    }
+
+    public synchronized void record(long latencyNanos) {
+        samples[next] = latencyNanos;
+        next = (next + 1) % samples.length;
+        if (count < samples.length) {
+            count++;
+        }
+        if (count == samples.length && ++sinceRecompute >= recomputeEvery) {
+            sinceRecompute = 0;
+            long[] sorted = samples.clone();
+            Arrays.sort(sorted);
+            long observed = sorted[(int) Math.min(sorted.length - 1, Math.ceil(percentile * sorted.length) - 1)];
+            timeoutNanos = Math.clamp((long) (observed * multiplier), minNanos, maxNanos);
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.vault.secure_vault.util;
+
+/**
+ * Count-based circuit breaker.
+ *
+ * <p>While {@link State#CLOSED}, outcomes of the last {@code windowSize} calls are kept;
+ * once at least {@code minimumCalls} were seen and the failure rate reaches the threshold,
+ * the breaker opens and rejects every call for {@code openNanos}. It then lets a few probe
+ * calls through ({@link State#HALF_OPEN}): if they all succeed it closes, a single failure
+ * opens it again.</p>
+ *
+ * <p>Every method is a handful of field updates under the monitor, so contention is not a
+ * concern next to the remote calls being guarded.</p>
+ */
+public final class CircuitBreaker {
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final double failureRateThreshold;
+    private final int minimumCalls;
+    private final long openNanos;
+    private final int halfOpenProbes;
+
+    private final boolean[] failures;
+    private int next;
+    private int recorded;
+    private int failed;
+
+    private State state = State.CLOSED;
+    private long openedAt;
+    private int probesStarted;
+    private int probesSucceeded;
+
+    /**
+     * @param failureRateThreshold failure ratio (0..1] that opens the breaker
+     * @param windowSize           number of recent calls considered
+     * @param minimumCalls         calls needed before the rate is evaluated
+     * @param openNanos            how long the breaker stays open
+     * @param halfOpenProbes       probe calls allowed (and required to succeed) when half open
+     */
+    public CircuitBreaker(double failureRateThreshold, int windowSize, int minimumCalls, long openNanos, int halfOpenProbes) {
+        this.failureRateThreshold = failureRateThreshold;
+        this.failures = new boolean[Math.max(1, windowSize)];
+        this.minimumCalls = Math.max(1, Math.min(minimumCalls, failures.length));
+        this.openNanos = openNanos;
+        this.halfOpenProbes = Math.max(1, halfOpenProbes);
+    }
+
+    /**
+     * Returns whether a call may proceed. A permitted call must be followed by
+     * {@link #onSuccess} or {@link #onFailure}.
+     */
+    public synchronized boolean tryAcquire(long now) {
+        if (state == State.CLOSED) {
+            return true;
+        }
+        if (state == State.OPEN) {
+            if (now - openedAt < openNanos) {
+                return false;
+            }
+            state = State.HALF_OPEN;
+            probesStarted = 0;
+            probesSucceeded = 0;
+        }
+        if (probesStarted >= halfOpenProbes) {
+            return false;
+        }
+        probesStarted++;
+        return true;
+    }
+
+    public synchronized void onSuccess(long now) {
+        if (state == State.HALF_OPEN) {
+            if (++probesSucceeded >= halfOpenProbes) {
+                close();
+            }
+        } else if (state == State.CLOSED) {
+            record(false, now);
+        }
+    }
+
+    public synchronized void onFailure(long now) {
+        if (state == State.HALF_OPEN) {
+            open(now);
+        } else if (state == State.CLOSED) {
+            record(true, now);
+        }
+    }
+
+    /**
+     * Time until the breaker lets probes through; zero unless open.
+     */
+    public synchronized long retryAfterNanos(long now) {
+        return state == State.OPEN ? Math.max(0, openNanos - (now - openedAt)) : 0;
+    }
+
+    public synchronized State state() {
+        return state;
+    }
+
+    private void record(boolean failure, long now) {
+        if (recorded == failures.length) {
+            if (failures[next]) {
+                failed--;
+            }
+        } else {
+            recorded++;
+        }
+        failures[next] = failure;
+        if (failure) {
+            failed++;
+        }
+        next = (next + 1) % failures.length;
+
+        if (recorded >= minimumCalls && failed >= failureRateThreshold * recorded) {
+            open(now);
+        }
+    }
+
+    private void open(long now) {
+        state = State.OPEN;
+        openedAt = now;
+    }
+
+    private void close() {
+        state = State.CLOSED;
+        next = 0;
+        recorded = 0;
+        failed = 0;
+    }
+}
@@ -0,0 +1,117 @@
+package com.vault.secure_vault.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Immutable consistent hash ring with weighted virtual nodes.
+ *
+ * <p>Each node is placed on the ring as many times as its virtual node count; a key
+ * belongs to the first point at or after its hash. Adding a node therefore only moves
+ * the keys that fall onto the new node's points. Points are kept in sorted primitive
+ * arrays, so a lookup is one hash and one binary search.</p>
+ *
+ * @param <T> node type
+ */
+public final class ConsistentHashRing<T> {
+
+    private final List<T> nodes;
+    private final long[] points;
+    private final int[] owners;
+
+    /**
+     * @param nodes        ring members
+     * @param nodeIds      stable identifiers of the members, used to place their points
+     * @param virtualNodes number of points per member (at least one is used)
+     */
+    public ConsistentHashRing(List<T> nodes, List<String> nodeIds, int[] virtualNodes) {
+        if (nodes.isEmpty() || nodes.size() != nodeIds.size() || nodes.size() != virtualNodes.length) {
+            throw new IllegalArgumentException("Each ring node needs an id and a virtual node count");
+        }
+        this.nodes = List.copyOf(nodes);
+
+        int total = 0;
+        for (int count : virtualNodes) {
+            total += Math.max(1, count);
+        }
+
+        long[] unsortedPoints = new long[total];
+        int[] ownerOf = new int[total];
+        Integer[] order = new Integer[total];
+        int i = 0;
+        for (int node = 0; node < nodes.size(); node++) {
+            for (int v = 0; v < Math.max(1, virtualNodes[node]); v++) {
+                unsortedPoints[i] = hash(nodeIds.get(node) + "#" + v);
+                ownerOf[i] = node;
+                order[i] = i;
+                i++;
+            }
+        }
+
+        // sort points together with their owner index
+        Arrays.sort(order, (a, b) -> Long.compare(unsortedPoints[a], unsortedPoints[b]));
+
+        this.points = new long[total];
+        this.owners = new int[total];
+        for (int p = 0; p < total; p++) {
+            points[p] = unsortedPoints[order[p]];
+            owners[p] = ownerOf[order[p]];
+        }
+    }
+
+    /**
+     * Returns the node owning the key.
+     */
+    public T owner(String key) {
+        return nodes.get(owners[indexOf(hash(key))]);
+    }
+
+    /**
+     * Returns all nodes in the order they follow the key on the ring: the owner first,
+     * then each further distinct node. Used to fall back when the owner is full and to
+     * search for keys written under an older ring.
+     */
+    public List<T> preferenceList(String key) {
+        List<T> result = new ArrayList<>(nodes.size());
+        boolean[] seen = new boolean[nodes.size()];
+        int start = indexOf(hash(key));
+        for (int p = 0; p < points.length && result.size() < nodes.size(); p++) {
+            int owner = owners[(start + p) % points.length];
+            if (!seen[owner]) {
+                seen[owner] = true;
+                result.add(nodes.get(owner));
+            }
+        }
+        return result;
+    }
+
+    public List<T> nodes() {
+        return nodes;
+    }
+
+    private int indexOf(long hash) {
+        int index = Arrays.binarySearch(points, hash);
+        if (index < 0) {
+            index = -index - 1;
+        }
+        return index == points.length ? 0 : index;
+    }
+
+    /**
+     * 64-bit FNV-1a followed by the SplitMix64 finalizer for avalanche.
+     */
+    static long hash(String value) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            h ^= value.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 30;
+        h *= 0xbf58476d1ce4e5b9L;
+        h ^= h >>> 27;
+        h *= 0x94d049bb133111ebL;
+        h ^= h >>> 31;
+        return h;
+    }
+}
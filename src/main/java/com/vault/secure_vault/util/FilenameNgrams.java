@@ -0,0 +1,53 @@
+package com.vault.secure_vault.util;
+
+import java.util.Locale;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Helpers for the filename trigram index.
+ *
+ * <p>Each file record stores the distinct lowercase trigrams of its name. A substring
+ * query of length n is answered by requiring all of its trigrams ({@code $all}) from the
+ * multikey index and then confirming the exact substring on the few remaining records.</p>
+ */
+public final class FilenameNgrams {
+
+    private FilenameNgrams() {}
+
+    public static final int GRAM_SIZE = 3;
+
+    /**
+     * Case folded form of a filename used for matching.
+     */
+    public static String searchKey(String filename) {
+        return filename == null ? "" : filename.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Returns the distinct trigrams of the case folded input.
+     * Inputs shorter than {@link #GRAM_SIZE} produce no grams.
+     */
+    public static Set<String> trigrams(String value) {
+        String key = searchKey(value);
+        Set<String> grams = new TreeSet<>();
+        for (int i = 0; i + GRAM_SIZE <= key.length(); i++) {
+            grams.add(key.substring(i, i + GRAM_SIZE));
+        }
+        return grams;
+    }
+
+    /**
+     * Builds an unanchored regex matching the literal (case folded) query.
+     */
+    public static String containsRegex(String query) {
+        StringBuilder regex = new StringBuilder();
+        for (char c : searchKey(query).toCharArray()) {
+            if ("\\^$.|?*+()[]{}".indexOf(c) >= 0) {
+                regex.append('\\');
+            }
+            regex.append(c);
+        }
+        return regex.toString();
+    }
+}
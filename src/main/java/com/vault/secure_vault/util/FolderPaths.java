@@ -0,0 +1,104 @@
+package com.vault.secure_vault.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Helpers for materialized folder paths.
+ *
+ * <p>A folder path always starts and ends with {@code /}. The root folder is {@code /},
+ * a nested folder looks like {@code /docs/reports/}. Keeping the trailing slash means a
+ * subtree can be matched with a plain prefix query without catching siblings such as
+ * {@code /docs-old/}.</p>
+ */
+public final class FolderPaths {
+
+    private FolderPaths() {}
+
+    public static final String ROOT = "/";
+
+    /**
+     * Upper bound for a folder path, keeps prefix rewrites and index keys small.
+     */
+    public static final int MAX_PATH_LENGTH = 1024;
+
+    /**
+     * Normalizes user input into a canonical folder path.
+     *
+     * @param path raw path, may be null or blank for root
+     * @return canonical path
+     * @throws IllegalArgumentException if the path contains invalid segments
+     */
+    public static String normalize(String path) {
+        if (path == null || path.isBlank()) {
+            return ROOT;
+        }
+
+        StringBuilder normalized = new StringBuilder(ROOT);
+        for (String segment : path.trim().split("/")) {
+            if (segment.isBlank()) {
+                continue;
+            }
+            if (segment.equals(".") || segment.equals("..")) {
+                throw new IllegalArgumentException("Invalid folder path: " + path);
+            }
+            normalized.append(segment.trim()).append('/');
+        }
+
+        if (normalized.length() > MAX_PATH_LENGTH) {
+            throw new IllegalArgumentException("Folder path is too long");
+        }
+        return normalized.toString();
+    }
+
+    /**
+     * Returns the parent of a canonical folder path, or null for root.
+     */
+    public static String parentOf(String path) {
+        if (ROOT.equals(path)) {
+            return null;
+        }
+        int idx = path.lastIndexOf('/', path.length() - 2);
+        return path.substring(0, idx + 1);
+    }
+
+    /**
+     * Returns the last segment of a canonical folder path.
+     */
+    public static String nameOf(String path) {
+        if (ROOT.equals(path)) {
+            return "";
+        }
+        int idx = path.lastIndexOf('/', path.length() - 2);
+        return path.substring(idx + 1, path.length() - 1);
+    }
+
+    /**
+     * Returns the path itself and all of its ancestors up to root.
+     * Example: {@code /a/b/} gives {@code [/a/b/, /a/, /]}.
+     */
+    public static List<String> selfAndAncestors(String path) {
+        List<String> paths = new ArrayList<>();
+        String current = path;
+        while (current != null) {
+            paths.add(current);
+            current = parentOf(current);
+        }
+        return paths;
+    }
+
+    /**
+     * Builds an anchored regex that matches the given path and everything below it.
+     * Only a literal prefix is emitted so MongoDB can answer it from an index range scan.
+     */
+    public static String subtreeRegex(String path) {
+        StringBuilder regex = new StringBuilder("^");
+        for (char c : path.toCharArray()) {
+            if ("\\^$.|?*+()[]{}".indexOf(c) >= 0) {
+                regex.append('\\');
+            }
+            regex.append(c);
+        }
+        return regex.toString();
+    }
+}
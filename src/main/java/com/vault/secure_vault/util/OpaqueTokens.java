@@ -0,0 +1,45 @@
+package com.vault.secure_vault.util;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.Base64;
+
+/**
+ * Generation and hashing of opaque bearer tokens (refresh, password reset).
+ *
+ * <p>Only the SHA-256 hash of a token is stored. The tokens carry 256 random bits, so a
+ * plain fast hash is enough: it cannot be brute-forced, and a leaked collection gives
+ * no usable tokens. The hash is deterministic, so lookups stay a single indexed query.</p>
+ */
+public final class OpaqueTokens {
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+    private static final int TOKEN_BYTES = 32;
+
+    private OpaqueTokens() {
+    }
+
+    /**
+     * Returns a new URL safe random token.
+     */
+    public static String generate() {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        RANDOM.nextBytes(bytes);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    /**
+     * Returns the value stored in (and looked up from) the database for a token.
+     */
+    public static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
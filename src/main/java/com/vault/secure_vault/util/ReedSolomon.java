@@ -0,0 +1,308 @@
+package com.vault.secure_vault.util;
+
+/**
+ * Systematic Reed-Solomon erasure code over GF(2^8).
+ *
+ * <p>A blob is split into {@code dataShards} equally sized shards and
+ * {@code parityShards} parity shards are computed from them; any {@code dataShards} of
+ * the total are enough to rebuild the rest. The encoding matrix is a Vandermonde matrix
+ * normalised so its top rows are the identity, which leaves data shards unchanged and
+ * makes a read with every data shard present a plain concatenation.</p>
+ *
+ * <p>Multiplication uses a full 256 x 256 product table, so the inner loops are one table
+ * lookup and one XOR per byte. Instances are immutable and thread safe.</p>
+ */
+public final class ReedSolomon {
+
+    /**
+     * Primitive polynomial x^8 + x^4 + x^3 + x^2 + 1.
+     */
+    private static final int POLYNOMIAL = 0x11D;
+
+    private static final byte[] EXP = new byte[512];
+    private static final int[] LOG = new int[256];
+    private static final byte[][] MUL = new byte[256][256];
+
+    static {
+        int x = 1;
+        for (int i = 0; i < 255; i++) {
+            EXP[i] = (byte) x;
+            LOG[x] = i;
+            x <<= 1;
+            if (x >= 256) {
+                x ^= POLYNOMIAL;
+            }
+        }
+        // doubled so mul() never needs a modulo
+        for (int i = 255; i < EXP.length; i++) {
+            EXP[i] = EXP[i - 255];
+        }
+        for (int a = 0; a < 256; a++) {
+            for (int b = 0; b < 256; b++) {
+                MUL[a][b] = mul(a, b);
+            }
+        }
+    }
+
+    private final int dataShards;
+    private final int parityShards;
+
+    /**
+     * All {@code dataShards + parityShards} rows; row i produces shard i.
+     */
+    private final byte[][] matrix;
+
+    public ReedSolomon(int dataShards, int parityShards) {
+        if (dataShards < 1 || parityShards < 0 || dataShards + parityShards > 256) {
+            throw new IllegalArgumentException(
+                    "Invalid shard counts: " + dataShards + " data, " + parityShards + " parity");
+        }
+        this.dataShards = dataShards;
+        this.parityShards = parityShards;
+
+        byte[][] vandermonde = vandermonde(dataShards + parityShards, dataShards);
+        byte[][] top = new byte[dataShards][];
+        System.arraycopy(vandermonde, 0, top, 0, dataShards);
+        this.matrix = multiply(vandermonde, invert(top));
+    }
+
+    public int dataShards() {
+        return dataShards;
+    }
+
+    public int parityShards() {
+        return parityShards;
+    }
+
+    public int totalShards() {
+        return dataShards + parityShards;
+    }
+
+    /**
+     * Shard size needed to hold {@code length} bytes of data.
+     */
+    public int shardSize(long length) {
+        return (int) Math.max(1, (length + dataShards - 1) / dataShards);
+    }
+
+    /**
+     * Computes the parity shards from the data shards.
+     *
+     * @param shards    {@code totalShards()} arrays of {@code shardSize} bytes; the first
+     *                  {@code dataShards()} hold the data, the rest are overwritten
+     * @param shardSize bytes per shard
+     */
+    public void encodeParity(byte[][] shards, int shardSize) {
+        checkShards(shards, shardSize);
+        byte[][] parityRows = new byte[parityShards][];
+        byte[][] outputs = new byte[parityShards][];
+        for (int p = 0; p < parityShards; p++) {
+            parityRows[p] = matrix[dataShards + p];
+            outputs[p] = shards[dataShards + p];
+        }
+        codeSomeShards(parityRows, shards, outputs, shardSize);
+    }
+
+    /**
+     * Rebuilds missing shards in place.
+     *
+     * @param shards    {@code totalShards()} arrays of {@code shardSize} bytes; contents of
+     *                  entries not marked present are overwritten
+     * @param present   which shards hold valid data
+     * @param shardSize bytes per shard
+     * @throws IllegalArgumentException if fewer than {@code dataShards()} shards are present
+     */
+    public void reconstruct(byte[][] shards, boolean[] present, int shardSize) {
+        checkShards(shards, shardSize);
+
+        int available = 0;
+        for (boolean p : present) {
+            if (p) {
+                available++;
+            }
+        }
+        if (available == totalShards()) {
+            return;
+        }
+        if (available < dataShards) {
+            throw new IllegalArgumentException(
+                    "Need " + dataShards + " shards to reconstruct, only " + available + " present");
+        }
+
+        // the first dataShards present shards, and the matrix rows that produced them
+        byte[][] subMatrix = new byte[dataShards][];
+        byte[][] subShards = new byte[dataShards][];
+        for (int i = 0, row = 0; i < totalShards() && row < dataShards; i++) {
+            if (present[i]) {
+                subMatrix[row] = matrix[i];
+                subShards[row] = shards[i];
+                row++;
+            }
+        }
+        byte[][] decode = invert(subMatrix);
+
+        int missingData = 0;
+        byte[][] dataRows = new byte[dataShards][];
+        byte[][] dataOutputs = new byte[dataShards][];
+        for (int d = 0; d < dataShards; d++) {
+            if (!present[d]) {
+                dataRows[missingData] = decode[d];
+                dataOutputs[missingData] = shards[d];
+                missingData++;
+            }
+        }
+        codeSomeShards(trim(dataRows, missingData), subShards, trim(dataOutputs, missingData), shardSize);
+
+        // with all data shards back, missing parity is a plain re-encode
+        int missingParity = 0;
+        byte[][] parityRows = new byte[parityShards][];
+        byte[][] parityOutputs = new byte[parityShards][];
+        for (int p = dataShards; p < totalShards(); p++) {
+            if (!present[p]) {
+                parityRows[missingParity] = matrix[p];
+                parityOutputs[missingParity] = shards[p];
+                missingParity++;
+            }
+        }
+        codeSomeShards(trim(parityRows, missingParity), shards, trim(parityOutputs, missingParity), shardSize);
+    }
+
+    /**
+     * outputs[r] = sum over c of rows[r][c] * inputs[c], for the first dataShards inputs.
+     */
+    private void codeSomeShards(byte[][] rows, byte[][] inputs, byte[][] outputs, int shardSize) {
+        for (int r = 0; r < rows.length; r++) {
+            byte[] output = outputs[r];
+            byte[] first = MUL[rows[r][0] & 0xFF];
+            byte[] input = inputs[0];
+            for (int i = 0; i < shardSize; i++) {
+                output[i] = first[input[i] & 0xFF];
+            }
+            for (int c = 1; c < dataShards; c++) {
+                byte[] table = MUL[rows[r][c] & 0xFF];
+                input = inputs[c];
+                for (int i = 0; i < shardSize; i++) {
+                    output[i] ^= table[input[i] & 0xFF];
+                }
+            }
+        }
+    }
+
+    private void checkShards(byte[][] shards, int shardSize) {
+        if (shards.length != totalShards()) {
+            throw new IllegalArgumentException("Expected " + totalShards() + " shards, got " + shards.length);
+        }
+        for (byte[] shard : shards) {
+            if (shard == null || shard.length < shardSize) {
+                throw new IllegalArgumentException("Every shard needs at least " + shardSize + " bytes");
+            }
+        }
+    }
+
+    private static byte[][] trim(byte[][] rows, int count) {
+        byte[][] trimmed = new byte[count][];
+        System.arraycopy(rows, 0, trimmed, 0, count);
+        return trimmed;
+    }
+
+    private static byte mul(int a, int b) {
+        if (a == 0 || b == 0) {
+            return 0;
+        }
+        return EXP[LOG[a] + LOG[b]];
+    }
+
+    private static byte div(int a, int b) {
+        if (b == 0) {
+            throw new ArithmeticException("Division by zero in GF(256)");
+        }
+        if (a == 0) {
+            return 0;
+        }
+        return EXP[LOG[a] - LOG[b] + 255];
+    }
+
+    private static byte power(int base, int exponent) {
+        if (exponent == 0) {
+            return 1;
+        }
+        if (base == 0) {
+            return 0;
+        }
+        return EXP[(LOG[base] * exponent) % 255];
+    }
+
+    private static byte[][] vandermonde(int rows, int cols) {
+        byte[][] result = new byte[rows][cols];
+        for (int r = 0; r < rows; r++) {
+            for (int c = 0; c < cols; c++) {
+                result[r][c] = power(r, c);
+            }
+        }
+        return result;
+    }
+
+    private static byte[][] multiply(byte[][] left, byte[][] right) {
+        int rows = left.length;
+        int inner = right.length;
+        int cols = right[0].length;
+        byte[][] result = new byte[rows][cols];
+        for (int r = 0; r < rows; r++) {
+            for (int c = 0; c < cols; c++) {
+                byte value = 0;
+                for (int i = 0; i < inner; i++) {
+                    value ^= MUL[left[r][i] & 0xFF][right[i][c] & 0xFF];
+                }
+                result[r][c] = value;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Gauss-Jordan inversion of a square matrix.
+     */
+    private static byte[][] invert(byte[][] source) {
+        int n = source.length;
+        byte[][] work = new byte[n][2 * n];
+        for (int r = 0; r < n; r++) {
+            System.arraycopy(source[r], 0, work[r], 0, n);
+            work[r][n + r] = 1;
+        }
+
+        for (int col = 0; col < n; col++) {
+            int pivot = col;
+            while (pivot < n && work[pivot][col] == 0) {
+                pivot++;
+            }
+            if (pivot == n) {
+                throw new IllegalArgumentException("Matrix is singular");
+            }
+            byte[] swap = work[col];
+            work[col] = work[pivot];
+            work[pivot] = swap;
+
+            int scale = work[col][col] & 0xFF;
+            if (scale != 1) {
+                for (int c = 0; c < 2 * n; c++) {
+                    work[col][c] = div(work[col][c] & 0xFF, scale);
+                }
+            }
+            for (int r = 0; r < n; r++) {
+                int factor = work[r][col] & 0xFF;
+                if (r != col && factor != 0) {
+                    byte[] table = MUL[factor];
+                    for (int c = 0; c < 2 * n; c++) {
+                        work[r][c] ^= table[work[col][c] & 0xFF];
+                    }
+                }
+            }
+        }
+
+        byte[][] inverse = new byte[n][n];
+        for (int r = 0; r < n; r++) {
+            System.arraycopy(work[r], n, inverse[r], 0, n);
+        }
+        return inverse;
+    }
+}
@@ -0,0 +1,53 @@
+package com.vault.secure_vault.util;
+
+import java.util.UUID;
+
+/**
+ * Stored path (blob key) layouts.
+ *
+ * <p>The legacy layout {@code ownerEmail/uuid_filename} puts all of a user's blobs in one
+ * directory and under one S3 prefix. The hashed layout {@code ab/cd/<32 hex>} fans keys out
+ * over 65536 directories/prefixes; the two prefix levels are the first digits of the random
+ * id, so they are uniformly distributed without an extra hash. Keys carry no user data.</p>
+ */
+public final class StorageKeys {
+
+    private static final int HASHED_LENGTH = 2 + 1 + 2 + 1 + 32;
+
+    private StorageKeys() {
+    }
+
+    /**
+     * Returns a new key in the hashed layout.
+     */
+    public static String hashed() {
+        String id = UUID.randomUUID().toString().replace("-", "");
+        return id.substring(0, 2) + "/" + id.substring(2, 4) + "/" + id;
+    }
+
+    /**
+     * Returns a new key in the legacy layout.
+     */
+    public static String legacy(String ownerEmail, String originalFilename) {
+        return ownerEmail + "/" + UUID.randomUUID() + "_" + originalFilename;
+    }
+
+    /**
+     * Whether a key uses the hashed layout.
+     */
+    public static boolean isHashed(String key) {
+        if (key == null || key.length() != HASHED_LENGTH || key.charAt(2) != '/' || key.charAt(5) != '/') {
+            return false;
+        }
+        for (int i = 0; i < key.length(); i++) {
+            if (i == 2 || i == 5) {
+                continue;
+            }
+            char c = key.charAt(i);
+            if (!((c >= '0' && c <= '9') || (c >= 'a' && c <= 'f'))) {
+                return false;
+            }
+        }
+        return key.regionMatches(0, key, 6, 2) && key.regionMatches(3, key, 8, 2);
+    }
+}
@@ -0,0 +1,34 @@
+package com.vault.secure_vault.util;
+
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Thread factories for the application's own executors.
+ *
+ * <p>With {@code spring.threads.virtual.enabled=true} Spring Boot runs request handling,
+ * {@code @Scheduled} jobs and {@code @Async} work on virtual threads. Executors created by
+ * our services follow the same switch through this factory, so blocking MongoDB and S3
+ * calls do not hold a platform thread.</p>
+ */
+public final class ThreadFactories {
+
+    /**
+     * Property switching the whole application to virtual threads.
+     */
+    public static final String VIRTUAL_THREADS_PROPERTY = "${spring.threads.virtual.enabled:false}";
+
+    private ThreadFactories() {
+    }
+
+    /**
+     * Returns a factory for named threads: {@code prefix1}, {@code prefix2}, ...
+     *
+     * @param prefix  thread name prefix, e.g. {@code "blob-deleter-"}
+     * @param virtual virtual threads if true, otherwise platform daemon threads
+     */
+    public static ThreadFactory named(String prefix, boolean virtual) {
+        return virtual
+                ? Thread.ofVirtual().name(prefix, 1).factory()
+                : Thread.ofPlatform().name(prefix, 1).daemon(true).factory();
+    }
+}
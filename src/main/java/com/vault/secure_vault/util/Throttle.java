@@ -0,0 +1,47 @@
+package com.vault.secure_vault.util;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Simple blocking rate limiter for background jobs.
+ *
+ * <p>Permits are handed out at a fixed rate; a caller asking for more permits than are
+ * currently available sleeps until they would have accrued. Used to keep maintenance
+ * work (purges, migrations) from competing with foreground requests.</p>
+ */
+public final class Throttle {
+
+    private final double nanosPerPermit;
+    private long nextFreeNanos = System.nanoTime();
+
+    /**
+     * @param permitsPerSecond sustained rate; values {@code <= 0} disable throttling
+     */
+    public Throttle(double permitsPerSecond) {
+        this.nanosPerPermit = permitsPerSecond <= 0 ? 0 : TimeUnit.SECONDS.toNanos(1) / permitsPerSecond;
+    }
+
+    /**
+     * Blocks until the given number of permits is available.
+     *
+     * @param permits number of permits (e.g. objects or bytes)
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public void acquire(long permits) throws InterruptedException {
+        if (nanosPerPermit == 0) {
+            return;
+        }
+
+        long waitNanos;
+        synchronized (this) {
+            long now = System.nanoTime();
+            long start = Math.max(now, nextFreeNanos);
+            nextFreeNanos = start + (long) (permits * nanosPerPermit);
+            waitNanos = start - now;
+        }
+
+        if (waitNanos > 0) {
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        }
+    }
+}
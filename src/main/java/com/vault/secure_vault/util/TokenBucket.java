@@ -0,0 +1,113 @@
+package com.vault.secure_vault.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket for request rate limiting.
+ *
+ * <p>Implemented as GCRA (generic cell rate algorithm): the whole bucket state, token
+ * count and refill time, is packed into one {@code long}, the "theoretical arrival time"
+ * at which the bucket would be full again. An acquire is a single CAS on that value, with
+ * no lock and no allocation.</p>
+ *
+ * <p>Times are {@link System#nanoTime()} values passed in by the caller, so one clock
+ * read can serve several buckets.</p>
+ */
+public final class TokenBucket {
+
+    private final long nanosPerToken;
+    private final long burstNanos;
+    private final long capacity;
+
+    /**
+     * Time at which the bucket is full again; {@code <= now} means full.
+     */
+    private final AtomicLong fullAt;
+
+    /**
+     * @param tokensPerSecond refill rate
+     * @param capacity        maximum burst
+     * @param now             current {@code System.nanoTime()}
+     */
+    public TokenBucket(double tokensPerSecond, long capacity, long now) {
+        this.nanosPerToken = Math.max(1, (long) (1_000_000_000L / tokensPerSecond));
+        this.capacity = Math.max(1, capacity);
+        this.burstNanos = this.capacity * nanosPerToken;
+        this.fullAt = new AtomicLong(now);
+    }
+
+    /**
+     * Takes tokens if available.
+     *
+     * @return 0 if taken, otherwise nanoseconds until they would be available
+     */
+    public long tryAcquire(long tokens, long now) {
+        long cost = tokens * nanosPerToken;
+        while (true) {
+            long current = fullAt.get();
+            long next = Math.max(current, now) + cost;
+            long overdraft = next - now - burstNanos;
+            if (overdraft > 0) {
+                return overdraft;
+            }
+            if (fullAt.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Takes tokens unconditionally, possibly going into debt. Used for costs only known
+     * after the fact (bytes transferred); callers check {@link #debtNanos} before starting.
+     */
+    public void charge(long tokens, long now) {
+        long cost = tokens * nanosPerToken;
+        while (true) {
+            long current = fullAt.get();
+            if (fullAt.compareAndSet(current, Math.max(current, now) + cost)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Nanoseconds until the bucket holds a token again; 0 if it holds one now.
+     */
+    public long debtNanos(long now) {
+        return Math.max(0, fullAt.get() - now - burstNanos + nanosPerToken);
+    }
+
+    /**
+     * Whether {@link #debtNanos} is non-zero.
+     */
+    public boolean isInDebt(long now) {
+        return debtNanos(now) > 0;
+    }
+
+    /**
+     * Tokens currently available.
+     */
+    public long remaining(long now) {
+        long used = Math.max(0, fullAt.get() - now);
+        return Math.max(0, (burstNanos - used) / nanosPerToken);
+    }
+
+    /**
+     * Nanoseconds until the bucket is full again.
+     */
+    public long nanosUntilFull(long now) {
+        return Math.max(0, fullAt.get() - now);
+    }
+
+    /**
+     * True if the bucket has been full for at least the given time, i.e. dropping it
+     * and creating a fresh one later changes nothing.
+     */
+    public boolean isIdle(long now, long idleNanos) {
+        return fullAt.get() + idleNanos <= now;
+    }
+
+    public long capacity() {
+        return capacity;
+    }
+}
@@ -0,0 +1,85 @@
+package com.vault.secure_vault.security;
+
+import com.vault.secure_vault.config.JwtSigningProperties;
+import com.vault.secure_vault.config.PrincipalCacheProperties;
+import com.vault.secure_vault.model.User;
+import com.vault.secure_vault.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Authenticated requests per second through {@link JwtAuthenticationFilter}, with and
+ * without {@link PrincipalCache}.
+ *
+ * <p>The user lookup is a stub that parks for {@code lookupMicros} to stand in for the
+ * MongoDB round trip; {@code 0} leaves only the CPU cost of the filter. Every invocation
+ * starts with an empty security context, like a new request.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AuthenticatedRequestBenchmark {
+
+    private static final String EMAIL = "alice@example.com";
+
+    @Param({"false", "true"})
+    boolean principalCache;
+
+    @Param({"0", "300"})
+    int lookupMicros;
+
+    private JwtAuthenticationFilter filter;
+    private String authorization;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        User user = User.builder().id("u1").email(EMAIL).password("hash").build();
+        UserRepository users = Mockito.mock(UserRepository.class);
+        Mockito.when(users.findByEmail(EMAIL)).thenAnswer(invocation -> {
+            if (lookupMicros > 0) {
+                LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(lookupMicros));
+            }
+            return Optional.of(user);
+        });
+
+        PrincipalCacheProperties cacheProperties = new PrincipalCacheProperties();
+        cacheProperties.setEnabled(principalCache);
+        PrincipalCache cache = new PrincipalCache(cacheProperties, new SimpleMeterRegistry());
+        cache.init();
+
+        JwtSigningProperties signing = new JwtSigningProperties();
+        JwtService jwtService = new JwtService(signing, new JwtKeyRing(signing));
+        ReflectionTestUtils.setField(jwtService, "secret", "benchmark-secret-benchmark-secret-0123456789");
+        ReflectionTestUtils.setField(jwtService, "refreshSecret", "");
+        ReflectionTestUtils.setField(jwtService, "accessTokenExpiration", 15L);
+        ReflectionTestUtils.setField(jwtService, "issuer", "secure-vault");
+        ReflectionTestUtils.invokeMethod(jwtService, "init");
+
+        CustomUserDetailsService userDetails = new CustomUserDetailsService(users, cache);
+        filter = new JwtAuthenticationFilter(jwtService, userDetails);
+        authorization = "Bearer " + jwtService.generateAccessToken(userDetails.loadUserByUsername(EMAIL));
+    }
+
+    @Benchmark
+    public Object request() throws Exception {
+        SecurityContextHolder.clearContext();
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/files");
+        request.addHeader("Authorization", authorization);
+
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+}
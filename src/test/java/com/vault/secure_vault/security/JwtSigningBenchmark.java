@@ -0,0 +1,61 @@
+package com.vault.secure_vault.security;
+
+import com.vault.secure_vault.config.JwtSigningProperties;
+import io.jsonwebtoken.Claims;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Access token sign and verify cost on one core, HS256 vs EdDSA (Ed25519).
+ *
+ * <p>Both go through {@link JwtService}; EdDSA uses a generated in-memory
+ * {@link JwtKeyRing} and resolves the verification key from the {@code kid} header.
+ * The verified-token cache is off, so every call verifies a signature.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtSigningBenchmark {
+
+    @Param({"HS256", "EdDSA"})
+    String algorithm;
+
+    private final UserDetails user = User.withUsername("alice@example.com").password("").roles("USER").build();
+
+    private JwtService jwtService;
+    private String token;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        JwtSigningProperties signing = new JwtSigningProperties();
+        signing.setAlgorithm(algorithm);
+        JwtKeyRing keyRing = new JwtKeyRing(signing);
+        keyRing.init();
+
+        jwtService = new JwtService(signing, keyRing);
+        ReflectionTestUtils.setField(jwtService, "secret", "benchmark-secret-benchmark-secret-0123456789");
+        ReflectionTestUtils.setField(jwtService, "refreshSecret", "");
+        ReflectionTestUtils.setField(jwtService, "accessTokenExpiration", 15L);
+        ReflectionTestUtils.setField(jwtService, "issuer", "secure-vault");
+        ReflectionTestUtils.invokeMethod(jwtService, "init");
+
+        token = jwtService.generateAccessToken(user);
+    }
+
+    @Benchmark
+    public String sign() {
+        return jwtService.generateAccessToken(user);
+    }
+
+    @Benchmark
+    public Claims verify() {
+        return jwtService.verify(token);
+    }
+}
@@ -0,0 +1,84 @@
+package com.vault.secure_vault.security;
+
+import com.vault.secure_vault.config.JwtSigningProperties;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Access tokens verified per second on one core (HS256).
+ *
+ * <p>{@code perCallParser} builds a parser for every token, as {@code extractAllClaims}
+ * did, and {@code perCallParserThreeTimes} repeats that three times, as the filter did per
+ * request ({@code extractEmail}, {@code isTokenValid}, {@code isTokenExpired});
+ * {@code reusedParser} goes through {@link JwtService#verify} with the parser built
+ * once; {@code cached} does the same with {@code jwt.verified-cache.enabled}, where a
+ * repeated token costs one SHA-256 digest and a cache lookup.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtVerifyBenchmark {
+
+    private static final String SECRET = "benchmark-secret-benchmark-secret-0123456789";
+
+    private SecretKey key;
+    private JwtService uncached;
+    private JwtService cached;
+    private String token;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        key = Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+        uncached = jwtService(false);
+        cached = jwtService(true);
+        token = uncached.generateAccessToken(
+                User.withUsername("alice@example.com").password("").roles("USER").build()
+        );
+    }
+
+    @Benchmark
+    public Claims perCallParser() {
+        return Jwts.parser().verifyWith(key).build().parseSignedClaims(token).getPayload();
+    }
+
+    @Benchmark
+    public Claims perCallParserThreeTimes() {
+        perCallParser();
+        perCallParser();
+        return perCallParser();
+    }
+
+    @Benchmark
+    public Claims reusedParser() {
+        return uncached.verify(token);
+    }
+
+    @Benchmark
+    public Claims cached() {
+        return cached.verify(token);
+    }
+
+    private static JwtService jwtService(boolean verifiedCache) {
+        JwtSigningProperties signing = new JwtSigningProperties();
+        JwtService service = new JwtService(signing, new JwtKeyRing(signing));
+        ReflectionTestUtils.setField(service, "secret", SECRET);
+        ReflectionTestUtils.setField(service, "refreshSecret", "");
+        ReflectionTestUtils.setField(service, "accessTokenExpiration", 15L);
+        ReflectionTestUtils.setField(service, "issuer", "secure-vault");
+        ReflectionTestUtils.setField(service, "verifiedCacheEnabled", verifiedCache);
+        ReflectionTestUtils.setField(service, "verifiedCacheMaximumSize", 10_000L);
+        ReflectionTestUtils.invokeMethod(service, "init");
+        return service;
+    }
+}
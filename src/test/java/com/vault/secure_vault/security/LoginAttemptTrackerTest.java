@@ -0,0 +1,139 @@
+package com.vault.secure_vault.security;
+
+import com.vault.secure_vault.config.LoginThrottleProperties;
+import com.vault.secure_vault.exceptions.Auth.TooManyRequestsException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class LoginAttemptTrackerTest {
+
+    private static final String EMAIL = "alice@example.com";
+    private static final String IP = "10.0.0.1";
+
+    private final AtomicLong clock = new AtomicLong(TimeUnit.HOURS.toNanos(5));
+    private final LoginThrottleProperties properties = new LoginThrottleProperties();
+    private LoginAttemptTracker tracker;
+
+    @BeforeEach
+    void setUp() {
+        properties.setFreeAttemptsPerEmail(3);
+        properties.setFreeAttemptsPerIp(100);
+        properties.setBaseBackoff(Duration.ofSeconds(1));
+        properties.setMaxBackoff(Duration.ofSeconds(60));
+        properties.setDecayHalfLife(Duration.ofMinutes(10));
+        properties.setMaxTrackedKeys(1_000);
+
+        tracker = new LoginAttemptTracker(properties, new SimpleMeterRegistry());
+        tracker.nanoTime = clock::get;
+        tracker.init();
+    }
+
+    @Test
+    void freeAttemptsAreNotThrottled() {
+        fail(3);
+
+        tracker.checkAllowed(EMAIL, IP);
+    }
+
+    @Test
+    void backoffDoublesWithEveryFurtherFailure() {
+        fail(4);
+        assertEquals(1, retryAfter());
+
+        advanceSeconds(1);
+        tracker.checkAllowed(EMAIL, IP);
+        fail(1);
+        assertEquals(2, retryAfter());
+
+        advanceSeconds(2);
+        fail(1);
+        assertEquals(4, retryAfter());
+
+        advanceSeconds(3);
+        assertEquals(1, retryAfter());
+        advanceSeconds(1);
+        tracker.checkAllowed(EMAIL, IP);
+    }
+
+    @Test
+    void backoffIsCapped() {
+        fail(40);
+
+        assertEquals(60, retryAfter());
+    }
+
+    @Test
+    void failuresHalveEveryHalfLife() {
+        fail(4);
+
+        // 4 failures decay to 2, one more makes 3: still within the free attempts
+        advanceSeconds(600);
+        tracker.checkAllowed(EMAIL, IP);
+        fail(1);
+        tracker.checkAllowed(EMAIL, IP);
+
+        // and the next one is over the limit again
+        fail(1);
+        assertEquals(1, retryAfter());
+    }
+
+    @Test
+    void longIdleForgetsEverything() {
+        fail(40);
+
+        advanceSeconds(TimeUnit.DAYS.toSeconds(1));
+        fail(3);
+
+        tracker.checkAllowed(EMAIL, IP);
+    }
+
+    @Test
+    void successClearsTheEmailButNotTheIp() {
+        properties.setFreeAttemptsPerIp(4);
+        fail(4);
+
+        tracker.recordSuccess(EMAIL);
+        tracker.checkAllowed(EMAIL, "10.0.0.2");
+
+        tracker.recordFailure("bob@example.com", IP);
+        assertThrows(TooManyRequestsException.class, () -> tracker.checkAllowed("carol@example.com", IP));
+    }
+
+    @Test
+    void emailsAreMatchedCaseInsensitively() {
+        fail(4);
+
+        assertThrows(TooManyRequestsException.class, () -> tracker.checkAllowed(" Alice@Example.COM ", "10.0.0.2"));
+    }
+
+    @Test
+    void disabledTrackerNeverThrottles() {
+        fail(10);
+        properties.setEnabled(false);
+
+        tracker.checkAllowed(EMAIL, IP);
+    }
+
+    private void fail(int times) {
+        for (int i = 0; i < times; i++) {
+            tracker.recordFailure(EMAIL, IP);
+        }
+    }
+
+    private long retryAfter() {
+        return assertThrows(TooManyRequestsException.class, () -> tracker.checkAllowed(EMAIL, IP))
+                .getRetryAfterSeconds();
+    }
+
+    private void advanceSeconds(long seconds) {
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(seconds));
+    }
+}
@@ -0,0 +1,81 @@
+package com.vault.secure_vault.security;
+
+import com.vault.secure_vault.config.RateLimitProperties;
+import com.vault.secure_vault.util.TokenBucket;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request cost of rate limiting.
+ *
+ * <p>{@code acquire} is one {@link TokenBucket#tryAcquire} with a clock read.
+ * {@code filter} runs {@link RateLimitFilter} for an authenticated request of
+ * {@code path}; with {@code enabled=false} it only measures the mock request and the
+ * filter plumbing, so the difference to {@code enabled=true} is the limiter itself. The
+ * limits are high enough that no request is rejected.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RateLimitBenchmark {
+
+    private static final long UNLIMITED = 1L << 40;
+
+    @Param({"false", "true"})
+    boolean enabled;
+
+    @Param({"/api/folders", "/api/files/f1/download"})
+    String path;
+
+    private TokenBucket bucket;
+    private RateLimitFilter filter;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        bucket = new TokenBucket(UNLIMITED, UNLIMITED, System.nanoTime());
+
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setEnabled(enabled);
+        properties.setLimits(Map.of(
+                EndpointClass.DEFAULT, new RateLimitProperties.Limit(UNLIMITED, UNLIMITED, 0, 0),
+                EndpointClass.DOWNLOAD, new RateLimitProperties.Limit(UNLIMITED, UNLIMITED, UNLIMITED, UNLIMITED)
+        ));
+        filter = new RateLimitFilter(properties, new SimpleMeterRegistry());
+        filter.initMetrics();
+
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                "alice@example.com", null, List.of(new SimpleGrantedAuthority("ROLE_USER"))
+        ));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Benchmark
+    public long acquire() {
+        return bucket.tryAcquire(1, System.nanoTime());
+    }
+
+    @Benchmark
+    public int filter() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response.getStatus();
+    }
+}
@@ -0,0 +1,122 @@
+package com.vault.secure_vault.service;
+
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.vault.secure_vault.config.JwtSigningProperties;
+import com.vault.secure_vault.config.SessionProperties;
+import com.vault.secure_vault.model.RefreshToken;
+import com.vault.secure_vault.repository.RefreshTokenRepository;
+import com.vault.secure_vault.security.JwtKeyRing;
+import com.vault.secure_vault.security.JwtService;
+import com.vault.secure_vault.util.OpaqueTokens;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.IndexResolver;
+import org.springframework.data.mongodb.repository.support.MongoRepositoryFactory;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Refresh latency against a {@code refresh_tokens} collection holding
+ * {@code historicalTokens} other sessions.
+ *
+ * <p>Needs a MongoDB at {@code mongoUri}. Setup creates the indexes declared on
+ * {@link RefreshToken} (unique token hash, TTL on expiry) and tops the collection of
+ * database {@code vault_benchmark} up to {@code historicalTokens} documents, a third of
+ * them revoked. The documents are kept, so later runs skip the seeding; drop the database
+ * to start over. Each call is a full {@link RefreshTokenService#rotate}: JWT check, one
+ * conditional update by session id and token hash, and signing the next token.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class RefreshTokenBenchmark {
+
+    private static final int BATCH = 10_000;
+
+    @Param("mongodb://localhost:27017")
+    String mongoUri;
+
+    @Param({"10000000"})
+    long historicalTokens;
+
+    private MongoClient client;
+    private RefreshTokenService refreshTokens;
+    private String token;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        client = MongoClients.create(mongoUri);
+        MongoTemplate mongoTemplate = new MongoTemplate(client, "vault_benchmark");
+
+        IndexOperations indexes = mongoTemplate.indexOps(RefreshToken.class);
+        IndexResolver.create(mongoTemplate.getConverter().getMappingContext())
+                .resolveIndexFor(RefreshToken.class)
+                .forEach(indexes::createIndex);
+        seed(mongoTemplate);
+
+        JwtSigningProperties signing = new JwtSigningProperties();
+        JwtService jwtService = new JwtService(signing, new JwtKeyRing(signing));
+        ReflectionTestUtils.setField(jwtService, "secret", "benchmark-secret-benchmark-secret-0123456789");
+        ReflectionTestUtils.setField(jwtService, "refreshSecret", "");
+        ReflectionTestUtils.setField(jwtService, "accessTokenExpiration", 15L);
+        ReflectionTestUtils.setField(jwtService, "issuer", "secure-vault");
+        ReflectionTestUtils.invokeMethod(jwtService, "init");
+
+        RefreshTokenRepository repository = new MongoRepositoryFactory(mongoTemplate)
+                .getRepository(RefreshTokenRepository.class);
+        refreshTokens = new RefreshTokenService(repository, mongoTemplate, jwtService, new SessionProperties());
+        token = refreshTokens.create("bench@example.com", "benchmark");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        client.close();
+    }
+
+    @Benchmark
+    public String rotate() {
+        token = refreshTokens.rotate(token).refreshToken();
+        return token;
+    }
+
+    /**
+     * Inserts random sessions until the collection holds {@code historicalTokens}.
+     */
+    private void seed(MongoTemplate mongoTemplate) {
+        long missing = historicalTokens - mongoTemplate.estimatedCount(RefreshToken.class);
+        Instant now = Instant.now();
+        // far enough out that the TTL monitor leaves them alone during the run
+        Instant expiry = now.plus(Duration.ofDays(30));
+
+        List<RefreshToken> batch = new ArrayList<>(BATCH);
+        for (long i = 0; i < missing; i++) {
+            String id = UUID.randomUUID().toString();
+            batch.add(RefreshToken.builder()
+                    .id(id)
+                    .tokenHash(OpaqueTokens.hash(id))
+                    .userEmail("user" + (i % 100_000) + "@example.com")
+                    .createdAt(now)
+                    .expiryDate(expiry)
+                    .revoked(i % 3 == 0)
+                    .build());
+            if (batch.size() == BATCH) {
+                mongoTemplate.insert(batch, RefreshToken.class);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            mongoTemplate.insert(batch, RefreshToken.class);
+        }
+    }
+}
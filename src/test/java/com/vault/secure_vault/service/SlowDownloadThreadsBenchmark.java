@@ -0,0 +1,184 @@
+package com.vault.secure_vault.service;
+
+import com.vault.secure_vault.config.EncryptionProperties;
+import com.vault.secure_vault.config.StorageKeyProperties;
+import com.vault.secure_vault.config.UploadProperties;
+import com.vault.secure_vault.model.FileMetadata;
+import com.vault.secure_vault.repository.FileMetadataRepository;
+import com.vault.secure_vault.search.ContentIndexService;
+import com.vault.secure_vault.storage.FileStorageService;
+import com.vault.secure_vault.util.FileDownloadData;
+import com.vault.secure_vault.util.StorageKeys;
+import com.vault.secure_vault.util.ThreadFactories;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serves a burst of slow downloads through {@link FileService#downloadFile} on platform
+ * threads vs virtual threads.
+ *
+ * <p>Each download checks access, resolves the blob and streams it from a
+ * {@link FileStorageService} that blocks {@code chunkDelayMillis} before each of its
+ * {@code chunks} chunks of 64 KiB, like a remote blob read to a slow client. Requests run
+ * the way Tomcat runs them: on a pool of {@code 200} platform threads (the default
+ * {@code server.tomcat.threads.max}), or with {@code spring.threads.virtual.enabled} on one
+ * virtual thread per request, made by {@link ThreadFactories#named}. A score is the time
+ * to drain the whole burst. Metadata lookups are stubbed, so only the storage read
+ * blocks.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class SlowDownloadThreadsBenchmark {
+
+    private static final int TOMCAT_MAX_THREADS = 200;
+    private static final int CHUNK_SIZE = 64 * 1024;
+    private static final String OWNER = "owner@example.com";
+
+    @Param({"200", "1000", "5000"})
+    int downloads;
+
+    @Param({"false", "true"})
+    boolean virtual;
+
+    @Param("8")
+    int chunks;
+
+    @Param("5")
+    int chunkDelayMillis;
+
+    private ExecutorService executor;
+    private FileService fileService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        FileMetadata file = FileMetadata.builder()
+                .id("f1")
+                .ownerEmail(OWNER)
+                .originalFilename("report.pdf")
+                .contentType("application/pdf")
+                .storedFilename(StorageKeys.hashed())
+                .build();
+        FileMetadataRepository repository = Mockito.mock(FileMetadataRepository.class,
+                Mockito.withSettings().stubOnly());
+        Mockito.when(repository.findByIdAndOwnerEmailAndDeletedFalseAndIsLatestTrue("f1", OWNER))
+                .thenReturn(Optional.of(file));
+
+        fileService = new FileService(
+                Mockito.mock(UserService.class, Mockito.withSettings().stubOnly()),
+                repository,
+                new UploadProperties(),
+                new SlowStorage(),
+                Mockito.mock(FolderService.class, Mockito.withSettings().stubOnly()),
+                Mockito.mock(ContentIndexService.class, Mockito.withSettings().stubOnly()),
+                Mockito.mock(ChangeFeedService.class, Mockito.withSettings().stubOnly()),
+                new StorageKeyProperties(),
+                Mockito.mock(StorageKeyMigrationService.class, Mockito.withSettings().stubOnly()),
+                new EncryptionProperties()
+        );
+
+        executor = virtual
+                ? Executors.newThreadPerTaskExecutor(ThreadFactories.named("bench-request-", true))
+                : Executors.newFixedThreadPool(TOMCAT_MAX_THREADS, ThreadFactories.named("bench-request-", false));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Benchmark
+    public long burst() throws Exception {
+        List<Future<Long>> pending = new ArrayList<>(downloads);
+        for (int i = 0; i < downloads; i++) {
+            pending.add(executor.submit(() -> {
+                try (InputStream in = fileService.downloadFile("f1", OWNER).inputStream()) {
+                    return in.transferTo(OutputStream.nullOutputStream());
+                }
+            }));
+        }
+
+        long transferred = 0;
+        for (Future<Long> download : pending) {
+            transferred += download.get();
+        }
+        return transferred;
+    }
+
+    /**
+     * Storage whose downloads block before every chunk.
+     */
+    private final class SlowStorage implements FileStorageService {
+
+        @Override
+        public String upload(byte[] data, String path, String contentType) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public FileDownloadData download(String storedPath, String originalFilename, String contentType) {
+            return new FileDownloadData(new SlowInputStream(chunks, chunkDelayMillis), originalFilename, contentType);
+        }
+
+        @Override
+        public void delete(String storedPath) {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    /**
+     * Stream of filler bytes that blocks before each chunk.
+     */
+    private static final class SlowInputStream extends InputStream {
+
+        private final int delayMillis;
+        private int chunksLeft;
+        private int available;
+
+        private SlowInputStream(int chunks, int delayMillis) {
+            this.chunksLeft = chunks;
+            this.delayMillis = delayMillis;
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] one = new byte[1];
+            return read(one, 0, 1) < 0 ? -1 : one[0] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (available == 0) {
+                if (chunksLeft == 0) {
+                    return -1;
+                }
+                try {
+                    Thread.sleep(delayMillis);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException();
+                }
+                chunksLeft--;
+                available = CHUNK_SIZE;
+            }
+            int count = Math.min(len, available);
+            available -= count;
+            return count;
+        }
+    }
+}
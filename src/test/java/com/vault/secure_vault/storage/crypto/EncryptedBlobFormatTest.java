@@ -0,0 +1,171 @@
+package com.vault.secure_vault.storage.crypto;
+
+import org.junit.jupiter.api.Test;
+
+import javax.crypto.KeyGenerator;
+import javax.crypto.SecretKey;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.GeneralSecurityException;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class EncryptedBlobFormatTest {
+
+    private static final int CHUNK_SIZE = 16;
+
+    private final SecretKey key = newKey();
+
+    @Test
+    void roundTripsAcrossChunkSizes() throws Exception {
+        Random random = new Random(3);
+        for (int length : new int[]{0, 1, CHUNK_SIZE - 1, CHUNK_SIZE, CHUNK_SIZE + 1, 5 * CHUNK_SIZE, 5 * CHUNK_SIZE + 7}) {
+            byte[] data = new byte[length];
+            random.nextBytes(data);
+
+            byte[] sealed = seal(data);
+
+            assertEquals(EncryptedBlobFormat.parse(sealed).storedLength(), sealed.length);
+            assertArrayEquals(data, open(sealed), "length " + length);
+        }
+    }
+
+    @Test
+    void emptyBlobStillHasOneAuthenticatedChunk() throws Exception {
+        byte[] sealed = seal(new byte[0]);
+        EncryptedBlobFormat.Header header = EncryptedBlobFormat.parse(sealed);
+
+        assertEquals(1, header.chunkCount());
+        assertEquals(header.length() + EncryptedBlobFormat.TAG_LENGTH, sealed.length);
+        assertThrows(IOException.class, () -> open(Arrays.copyOf(sealed, header.length())));
+    }
+
+    @Test
+    void plaintextWithoutMagicIsNotParsed() {
+        assertNull(EncryptedBlobFormat.parse("hello world".getBytes()));
+        assertNull(EncryptedBlobFormat.parse(new byte[0]));
+    }
+
+    @Test
+    void damagedHeaderFailsClosed() throws Exception {
+        byte[] sealed = seal(new byte[40]);
+
+        byte[] badVersion = sealed.clone();
+        badVersion[4] = 99;
+        assertThrows(IllegalStateException.class, () -> EncryptedBlobFormat.parse(badVersion));
+
+        byte[] truncated = Arrays.copyOf(sealed, 8);
+        assertThrows(IllegalStateException.class, () -> EncryptedBlobFormat.parse(truncated));
+    }
+
+    @Test
+    void flippedCiphertextOrTagIsRejected() throws Exception {
+        byte[] sealed = seal(new byte[3 * CHUNK_SIZE]);
+        int headerLength = EncryptedBlobFormat.parse(sealed).length();
+
+        for (int position = headerLength; position < sealed.length; position++) {
+            byte[] tampered = sealed.clone();
+            tampered[position] ^= 1;
+            assertThrows(IOException.class, () -> open(tampered), "byte " + position);
+        }
+    }
+
+    @Test
+    void editedHeaderIsRejected() throws Exception {
+        byte[] sealed = seal(new byte[2 * CHUNK_SIZE]);
+        EncryptedBlobFormat.Header header = EncryptedBlobFormat.parse(sealed);
+
+        // last byte of the plaintext length: a shorter length would drop the tail
+        byte[] tampered = sealed.clone();
+        tampered[header.length() - 1] ^= 1;
+
+        assertThrows(IOException.class, () -> open(tampered));
+    }
+
+    @Test
+    void reorderedChunksAreRejected() throws Exception {
+        byte[] sealed = seal(new byte[3 * CHUNK_SIZE]);
+        EncryptedBlobFormat.Header header = EncryptedBlobFormat.parse(sealed);
+        int sealedChunk = CHUNK_SIZE + EncryptedBlobFormat.TAG_LENGTH;
+
+        byte[] swapped = sealed.clone();
+        System.arraycopy(sealed, (int) header.chunkOffset(0), swapped, (int) header.chunkOffset(1), sealedChunk);
+        System.arraycopy(sealed, (int) header.chunkOffset(1), swapped, (int) header.chunkOffset(0), sealedChunk);
+
+        assertThrows(IOException.class, () -> open(swapped));
+    }
+
+    @Test
+    void truncationIsRejected() throws Exception {
+        byte[] sealed = seal(new byte[3 * CHUNK_SIZE + 5]);
+        EncryptedBlobFormat.Header header = EncryptedBlobFormat.parse(sealed);
+
+        // cut inside the last chunk
+        assertThrows(IOException.class, () -> open(Arrays.copyOf(sealed, sealed.length - 1)));
+        // cut at a chunk boundary
+        assertThrows(IOException.class, () -> open(Arrays.copyOf(sealed, (int) header.chunkOffset(3))));
+    }
+
+    @Test
+    void droppedLastChunkCannotPassForTheEnd() throws Exception {
+        byte[] sealed = seal(new byte[3 * CHUNK_SIZE]);
+        EncryptedBlobFormat.Header header = EncryptedBlobFormat.parse(sealed);
+
+        // re-labelling a two chunk prefix as a complete blob changes the header, so every
+        // chunk fails; the last-chunk flag stops the same trick for blobs of equal header
+        EncryptedBlobFormat.Header shorter = EncryptedBlobFormat.header(
+                header.masterKeyId(), header.wrappedKey(), CHUNK_SIZE, 2L * CHUNK_SIZE);
+        byte[] forged = new byte[(int) shorter.storedLength()];
+        System.arraycopy(shorter.bytes(), 0, forged, 0, shorter.length());
+        System.arraycopy(sealed, (int) header.chunkOffset(0), forged, shorter.length(), forged.length - shorter.length());
+
+        assertThrows(IOException.class, () -> open(forged));
+    }
+
+    @Test
+    void decryptsFromAChunkInTheMiddle() throws Exception {
+        byte[] data = new byte[4 * CHUNK_SIZE + 3];
+        new Random(9).nextBytes(data);
+        byte[] sealed = seal(data);
+        EncryptedBlobFormat.Header header = EncryptedBlobFormat.parse(sealed);
+
+        long firstChunk = 2;
+        int skip = 5;
+        int offset = (int) header.chunkOffset(firstChunk);
+        try (InputStream in = new DecryptingInputStream(
+                new ByteArrayInputStream(sealed, offset, sealed.length - offset),
+                key, header, firstChunk, skip, 20)) {
+            int from = (int) firstChunk * CHUNK_SIZE + skip;
+            assertArrayEquals(Arrays.copyOfRange(data, from, from + 20), in.readAllBytes());
+        }
+    }
+
+    private byte[] seal(byte[] data) throws GeneralSecurityException {
+        EncryptedBlobFormat.Header header = EncryptedBlobFormat.header("test", new byte[]{1, 2, 3}, CHUNK_SIZE, data.length);
+        return EncryptedBlobFormat.encrypt(data, key, header);
+    }
+
+    private byte[] open(byte[] sealed) throws IOException, GeneralSecurityException {
+        EncryptedBlobFormat.Header header = EncryptedBlobFormat.parse(sealed);
+        InputStream body = new ByteArrayInputStream(sealed, header.length(), sealed.length - header.length());
+        try (InputStream in = new DecryptingInputStream(body, key, header, 0, 0, header.plaintextLength())) {
+            return in.readAllBytes();
+        }
+    }
+
+    private static SecretKey newKey() {
+        try {
+            KeyGenerator generator = KeyGenerator.getInstance("AES");
+            generator.init(256);
+            return generator.generateKey();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
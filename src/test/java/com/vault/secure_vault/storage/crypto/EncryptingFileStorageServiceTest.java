@@ -0,0 +1,184 @@
+package com.vault.secure_vault.storage.crypto;
+
+import com.vault.secure_vault.config.EncryptionProperties;
+import com.vault.secure_vault.storage.FileStorageService;
+import com.vault.secure_vault.util.FileDownloadData;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EncryptingFileStorageServiceTest {
+
+    private static final int CHUNK_SIZE = 16;
+
+    private final InMemoryStorage backend = new InMemoryStorage();
+    private final Set<String> flaggedEncrypted = new HashSet<>();
+    private EncryptingFileStorageService storage;
+
+    @BeforeEach
+    void setUp() {
+        EncryptionProperties.MasterKey masterKey = new EncryptionProperties.MasterKey();
+        masterKey.setId("k1");
+        masterKey.setKey(Base64.getEncoder().encodeToString(new byte[32]));
+
+        EncryptionProperties properties = new EncryptionProperties();
+        properties.setEnabled(true);
+        properties.setMasterKeys(List.of(masterKey));
+
+        DataKeyService dataKeys = new DataKeyService(properties, new SimpleMeterRegistry());
+        dataKeys.init();
+
+        storage = new EncryptingFileStorageService(backend, dataKeys, CHUNK_SIZE, flaggedEncrypted::contains);
+    }
+
+    @Test
+    void fullDownloadRoundTrips() throws IOException {
+        for (int length : new int[]{0, 1, CHUNK_SIZE, 3 * CHUNK_SIZE, 3 * CHUNK_SIZE + 5}) {
+            byte[] data = random(length);
+            storage.upload(data, "f" + length, null);
+
+            assertFalse(Arrays.equals(data, backend.blobs.get("f" + length)));
+            assertArrayEquals(data, download("f" + length), "length " + length);
+        }
+    }
+
+    @Test
+    void rangeReadsMatchThePlaintext() throws IOException {
+        byte[] data = random(3 * CHUNK_SIZE + 5);
+        storage.upload(data, "f", null);
+
+        for (int offset = 0; offset <= data.length; offset++) {
+            for (int length = 1; offset + length <= data.length + 2; length++) {
+                int end = Math.min(data.length, offset + length);
+                try (InputStream in = storage.downloadRange("f", offset, length)) {
+                    assertArrayEquals(Arrays.copyOfRange(data, offset, end), in.readAllBytes(),
+                            "offset " + offset + " length " + length);
+                }
+            }
+        }
+    }
+
+    @Test
+    void rangeReadFetchesOnlyTheOverlappingChunks() throws IOException {
+        storage.upload(random(10 * CHUNK_SIZE), "f", null);
+        backend.fetchedBytes = 0;
+
+        try (InputStream in = storage.downloadRange("f", 4L * CHUNK_SIZE + 3, 2)) {
+            assertEquals(2, in.readAllBytes().length);
+        }
+
+        // the header prefix plus one sealed chunk
+        long sealedChunk = CHUNK_SIZE + EncryptedBlobFormat.TAG_LENGTH;
+        assertTrue(backend.fetchedBytes <= EncryptedBlobFormat.MAX_HEADER_LENGTH + sealedChunk);
+    }
+
+    @Test
+    void lastChunkRangeIsReadable() throws IOException {
+        byte[] data = random(2 * CHUNK_SIZE + 3);
+        storage.upload(data, "f", null);
+
+        try (InputStream in = storage.downloadRange("f", 2L * CHUNK_SIZE, 100)) {
+            assertArrayEquals(Arrays.copyOfRange(data, 2 * CHUNK_SIZE, data.length), in.readAllBytes());
+        }
+    }
+
+    @Test
+    void legacyPlaintextIsPassedThrough() throws IOException {
+        byte[] data = "written before encryption".getBytes();
+        backend.upload(data, "legacy", null);
+
+        assertArrayEquals(data, download("legacy"));
+        try (InputStream in = storage.downloadRange("legacy", 8, 6)) {
+            assertArrayEquals("before".getBytes(), in.readAllBytes());
+        }
+    }
+
+    @Test
+    void strippedHeaderOfAnEncryptedFileIsRejected() throws IOException {
+        backend.upload("raw bytes".getBytes(), "f", null);
+        flaggedEncrypted.add("f");
+
+        assertThrows(IllegalStateException.class, () -> download("f"));
+        assertThrows(IllegalStateException.class, () -> storage.downloadRange("f", 0, 3));
+    }
+
+    @Test
+    void tamperedBlobFailsTheRead() throws IOException {
+        storage.upload(random(2 * CHUNK_SIZE), "f", null);
+        byte[] stored = backend.blobs.get("f");
+        stored[stored.length - 1] ^= 1;
+
+        assertThrows(IOException.class, () -> download("f"));
+    }
+
+    @Test
+    void copiedBlobStaysReadable() throws IOException {
+        byte[] data = random(CHUNK_SIZE + 1);
+        storage.upload(data, "a", null);
+        storage.copy("a", "b");
+
+        assertArrayEquals(data, download("b"));
+    }
+
+    private byte[] download(String path) throws IOException {
+        FileDownloadData data = storage.download(path, null, null);
+        try (InputStream in = data.inputStream()) {
+            return in.readAllBytes();
+        }
+    }
+
+    private static byte[] random(int length) {
+        byte[] data = new byte[length];
+        new Random(length).nextBytes(data);
+        return data;
+    }
+
+    private static final class InMemoryStorage implements FileStorageService {
+
+        private final Map<String, byte[]> blobs = new HashMap<>();
+        private long fetchedBytes;
+
+        @Override
+        public String upload(byte[] data, String path, String contentType) {
+            blobs.put(path, data.clone());
+            return path;
+        }
+
+        @Override
+        public FileDownloadData download(String storedPath, String originalFilename, String contentType) {
+            byte[] data = blobs.get(storedPath);
+            fetchedBytes += data.length;
+            return new FileDownloadData(new ByteArrayInputStream(data), originalFilename, contentType);
+        }
+
+        @Override
+        public InputStream downloadRange(String storedPath, long offset, long length) {
+            byte[] data = blobs.get(storedPath);
+            int from = (int) Math.min(offset, data.length);
+            int count = (int) Math.min(length, data.length - from);
+            fetchedBytes += count;
+            return new ByteArrayInputStream(data, from, count);
+        }
+
+        @Override
+        public void delete(String storedPath) {
+            blobs.remove(storedPath);
+        }
+
+        @Override
+        public void copy(String sourcePath, String targetPath) {
+            blobs.put(targetPath, blobs.get(sourcePath).clone());
+        }
+    }
+}
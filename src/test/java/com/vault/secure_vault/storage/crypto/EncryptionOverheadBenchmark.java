@@ -0,0 +1,110 @@
+package com.vault.secure_vault.storage.crypto;
+
+import com.vault.secure_vault.config.EncryptionProperties;
+import com.vault.secure_vault.storage.local.LocalFileStorageService;
+import com.vault.secure_vault.storage.local.SingleDirectoryLocator;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Upload and download throughput of local storage with and without
+ * {@link EncryptingFileStorageService} on top.
+ *
+ * <p>The overhead of encryption is {@code 1 - encrypted / plain} for the same operation and
+ * blob size. AES-GCM runs on the JVM's AES and GHASH intrinsics; to see their share, rerun
+ * with {@code -jvmArgsAppend "-XX:-UseAESIntrinsics -XX:-UseGHASHIntrinsics"}.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EncryptionOverheadBenchmark {
+
+    @Param({"65536", "1048576", "16777216"})
+    int blobSize;
+
+    @Param("65536")
+    int chunkSize;
+
+    private Path root;
+    private LocalFileStorageService plain;
+    private EncryptingFileStorageService encrypted;
+    private byte[] blob;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        EncryptionProperties.MasterKey masterKey = new EncryptionProperties.MasterKey();
+        masterKey.setId("bench");
+        masterKey.setKey(Base64.getEncoder().encodeToString(new byte[32]));
+
+        EncryptionProperties properties = new EncryptionProperties();
+        properties.setEnabled(true);
+        properties.setMasterKeys(List.of(masterKey));
+
+        DataKeyService dataKeys = new DataKeyService(properties, new SimpleMeterRegistry());
+        dataKeys.init();
+
+        root = Files.createTempDirectory("vault-crypto-");
+        plain = new LocalFileStorageService(new SingleDirectoryLocator(root.toString()));
+        encrypted = new EncryptingFileStorageService(plain, dataKeys, chunkSize, storedPath -> false);
+
+        blob = new byte[blobSize];
+        new Random(42).nextBytes(blob);
+        plain.upload(blob, "plain", "application/octet-stream");
+        encrypted.upload(blob, "sealed", "application/octet-stream");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        try (Stream<Path> tree = Files.walk(root)) {
+            tree.sorted(Comparator.reverseOrder()).forEach(path -> {
+                try {
+                    Files.delete(path);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        }
+    }
+
+    @Benchmark
+    public String plainUpload() throws IOException {
+        return plain.upload(blob, "plain-upload", "application/octet-stream");
+    }
+
+    @Benchmark
+    public String encryptedUpload() throws IOException {
+        return encrypted.upload(blob, "sealed-upload", "application/octet-stream");
+    }
+
+    @Benchmark
+    public long plainDownload() throws IOException {
+        return drain(plain.download("plain", "blob", "application/octet-stream").inputStream());
+    }
+
+    @Benchmark
+    public long encryptedDownload() throws IOException {
+        return drain(encrypted.download("sealed", "blob", "application/octet-stream").inputStream());
+    }
+
+    private static long drain(InputStream in) throws IOException {
+        try (in) {
+            return in.transferTo(OutputStream.nullOutputStream());
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.vault.secure_vault.storage.local;
+
+import com.vault.secure_vault.util.StorageKeys;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Directory operations on a populated store, legacy key layout vs hashed.
+ *
+ * <p>Setup writes {@code files} empty blobs for one owner through
+ * {@link LocalFileStorageService}: in the legacy layout they all land in the owner's
+ * directory, in the hashed layout they fan out over up to 65536 directories. The
+ * benchmarks then look up existing and missing keys and create and delete a blob.
+ * Run it against the file system of {@code storage.upload-dir} with
+ * {@code -p dir=/path/on/that/disk}.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class StorageKeyLayoutBenchmark {
+
+    private static final String OWNER = "owner@example.com";
+    private static final byte[] EMPTY = new byte[0];
+
+    @Param({"legacy", "hashed"})
+    String layout;
+
+    @Param({"10000", "100000"})
+    int files;
+
+    /**
+     * Parent directory; empty for the default temp directory.
+     */
+    @Param("")
+    String dir;
+
+    private Path root;
+    private LocalFileStorageService storage;
+    private String[] keys;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        root = dir.isEmpty()
+                ? Files.createTempDirectory("vault-keys-")
+                : Files.createTempDirectory(Files.createDirectories(Path.of(dir)), "vault-keys-");
+        storage = new LocalFileStorageService(new SingleDirectoryLocator(root.toString()));
+
+        keys = new String[files];
+        for (int i = 0; i < files; i++) {
+            keys[i] = newKey();
+            storage.upload(EMPTY, keys[i], "application/octet-stream");
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        try (Stream<Path> tree = Files.walk(root)) {
+            tree.sorted(Comparator.reverseOrder()).forEach(path -> {
+                try {
+                    Files.delete(path);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        }
+    }
+
+    @Benchmark
+    public boolean lookupExisting() {
+        return storage.exists(keys[ThreadLocalRandom.current().nextInt(files)]);
+    }
+
+    @Benchmark
+    public boolean lookupMissing() {
+        return storage.exists(newKey());
+    }
+
+    @Benchmark
+    public String createAndDelete() throws IOException {
+        String key = storage.upload(EMPTY, newKey(), "application/octet-stream");
+        storage.delete(key);
+        return key;
+    }
+
+    private String newKey() {
+        return "legacy".equals(layout) ? StorageKeys.legacy(OWNER, "report.pdf") : StorageKeys.hashed();
+    }
+}
@@ -0,0 +1,123 @@
+package com.vault.secure_vault.storage.local;
+
+import com.vault.secure_vault.util.StorageKeys;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Write and read throughput of {@link LocalFileStorageService} on one directory vs
+ * striped across several.
+ *
+ * <p>By default the directories are temp directories on one file system, which only
+ * measures the overhead of the ring. To measure the bandwidth gain, point {@code dirs} at
+ * directories on separate disks, e.g. {@code -p dirs=/mnt/disk1/bench,/mnt/disk2/bench}. A
+ * single directory runs on {@link SingleDirectoryLocator}, more on
+ * {@link StripedDirectoryLocator}. Each run writes into a fresh subdirectory and removes
+ * it afterwards.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(8)
+@Fork(1)
+public class StripedStorageBenchmark {
+
+    private static final int KEYS = 1024;
+
+    /**
+     * Comma-separated parent directories; empty for {@code stripes} temp directories.
+     */
+    @Param("")
+    String dirs;
+
+    @Param({"1", "4"})
+    int stripes;
+
+    @Param({"65536", "1048576"})
+    int blobSize;
+
+    private final List<Path> created = new ArrayList<>();
+    private LocalFileStorageService storage;
+    private String[] keys;
+    private byte[] blob;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        List<String> roots = new ArrayList<>();
+        if (dirs.isEmpty()) {
+            for (int i = 0; i < stripes; i++) {
+                Path dir = Files.createTempDirectory("vault-stripe-");
+                created.add(dir);
+                roots.add(dir.toString());
+            }
+        } else {
+            for (String dir : dirs.split(",")) {
+                Path parent = Files.createDirectories(Path.of(dir.trim()));
+                Path root = Files.createTempDirectory(parent, "vault-stripe-");
+                created.add(root);
+                roots.add(root.toString());
+            }
+        }
+
+        LocalBlobLocator locator = roots.size() == 1
+                ? new SingleDirectoryLocator(roots.get(0))
+                : new StripedDirectoryLocator(roots, 128, 0);
+        storage = new LocalFileStorageService(locator);
+
+        blob = new byte[blobSize];
+        ThreadLocalRandom.current().nextBytes(blob);
+        keys = new String[KEYS];
+        for (int i = 0; i < KEYS; i++) {
+            keys[i] = StorageKeys.hashed();
+            storage.upload(blob, keys[i], "application/octet-stream");
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        for (Path dir : created) {
+            try (Stream<Path> tree = Files.walk(dir)) {
+                tree.sorted(Comparator.reverseOrder()).forEach(path -> {
+                    try {
+                        Files.delete(path);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+        }
+    }
+
+    /**
+     * Overwrites one of the prepared keys, so disk usage stays bounded.
+     */
+    @Benchmark
+    public String write() throws IOException {
+        return storage.upload(blob, randomKey(), "application/octet-stream");
+    }
+
+    @Benchmark
+    public long read() throws IOException {
+        try (InputStream in = storage.download(randomKey(), "blob", "application/octet-stream").inputStream()) {
+            return in.transferTo(OutputStream.nullOutputStream());
+        }
+    }
+
+    private String randomKey() {
+        return keys[ThreadLocalRandom.current().nextInt(KEYS)];
+    }
+}
@@ -0,0 +1,67 @@
+package com.vault.secure_vault.util;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Single-thread (per core) encode and decode throughput of {@link ReedSolomon}.
+ *
+ * <p>{@code encode} computes the parity of one blob; {@code reconstruct} rebuilds as many
+ * data shards as there are parity shards, the worst case a read can hit. Scores are
+ * blobs per second; multiply by {@code blobSize} for bytes per second.</p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ReedSolomonBenchmark {
+
+    /**
+     * Data and parity shards, e.g. {@code 4+2}.
+     */
+    @Param({"4+2", "6+3", "10+4"})
+    String layout;
+
+    @Param({"1048576", "8388608"})
+    int blobSize;
+
+    private ReedSolomon rs;
+    private int shardSize;
+    private byte[][] shards;
+    private boolean[] present;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        String[] counts = layout.split("\\+");
+        rs = new ReedSolomon(Integer.parseInt(counts[0]), Integer.parseInt(counts[1]));
+        shardSize = rs.shardSize(blobSize);
+
+        Random random = new Random(42);
+        shards = new byte[rs.totalShards()][shardSize];
+        for (int i = 0; i < rs.dataShards(); i++) {
+            random.nextBytes(shards[i]);
+        }
+        rs.encodeParity(shards, shardSize);
+
+        present = new boolean[rs.totalShards()];
+        for (int i = rs.parityShards(); i < rs.totalShards(); i++) {
+            present[i] = true;
+        }
+    }
+
+    @Benchmark
+    public byte[][] encode() {
+        rs.encodeParity(shards, shardSize);
+        return shards;
+    }
+
+    @Benchmark
+    public byte[][] reconstruct() {
+        rs.reconstruct(shards, present, shardSize);
+        return shards;
+    }
+}
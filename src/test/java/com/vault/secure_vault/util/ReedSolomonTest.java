@@ -0,0 +1,94 @@
+package com.vault.secure_vault.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ReedSolomonTest {
+
+    private static final int[][] LAYOUTS = {{1, 1}, {2, 1}, {3, 2}, {4, 2}, {6, 3}, {10, 4}};
+
+    @Test
+    void dataShardsAreLeftUnchanged() {
+        ReedSolomon rs = new ReedSolomon(4, 2);
+        byte[][] shards = encoded(rs, 64, new Random(1));
+        byte[][] original = copy(shards);
+
+        rs.encodeParity(shards, 64);
+
+        for (int i = 0; i < rs.dataShards(); i++) {
+            assertArrayEquals(original[i], shards[i]);
+        }
+    }
+
+    @Test
+    void reconstructsEveryErasurePatternUpToParityCount() {
+        Random random = new Random(42);
+        for (int[] layout : LAYOUTS) {
+            ReedSolomon rs = new ReedSolomon(layout[0], layout[1]);
+            int shardSize = 37;
+            byte[][] expected = encoded(rs, shardSize, random);
+
+            for (int erased = 1; erased < 1 << rs.totalShards(); erased++) {
+                if (Integer.bitCount(erased) > rs.parityShards()) {
+                    continue;
+                }
+                byte[][] shards = copy(expected);
+                boolean[] present = new boolean[rs.totalShards()];
+                for (int i = 0; i < rs.totalShards(); i++) {
+                    present[i] = (erased & (1 << i)) == 0;
+                    if (!present[i]) {
+                        random.nextBytes(shards[i]);
+                    }
+                }
+
+                rs.reconstruct(shards, present, shardSize);
+
+                for (int i = 0; i < rs.totalShards(); i++) {
+                    assertArrayEquals(expected[i], shards[i],
+                            "k=" + layout[0] + " m=" + layout[1] + " erased=" + Integer.toBinaryString(erased) + " shard " + i);
+                }
+            }
+        }
+    }
+
+    @Test
+    void rejectsTooManyErasures() {
+        ReedSolomon rs = new ReedSolomon(4, 2);
+        byte[][] shards = encoded(rs, 16, new Random(7));
+        boolean[] present = {true, false, true, false, true, false};
+
+        assertThrows(IllegalArgumentException.class, () -> rs.reconstruct(shards, present, 16));
+    }
+
+    @Test
+    void shardSizeRoundsUp() {
+        ReedSolomon rs = new ReedSolomon(4, 2);
+
+        assertEquals(1, rs.shardSize(0));
+        assertEquals(1, rs.shardSize(4));
+        assertEquals(2, rs.shardSize(5));
+        assertEquals(250, rs.shardSize(1000));
+    }
+
+    private static byte[][] encoded(ReedSolomon rs, int shardSize, Random random) {
+        byte[][] shards = new byte[rs.totalShards()][shardSize];
+        for (int i = 0; i < rs.dataShards(); i++) {
+            random.nextBytes(shards[i]);
+        }
+        rs.encodeParity(shards, shardSize);
+        return shards;
+    }
+
+    private static byte[][] copy(byte[][] shards) {
+        byte[][] copy = new byte[shards.length][];
+        for (int i = 0; i < shards.length; i++) {
+            copy[i] = shards[i].clone();
+        }
+        return copy;
+    }
+}
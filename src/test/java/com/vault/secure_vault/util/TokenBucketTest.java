@@ -0,0 +1,92 @@
+package com.vault.secure_vault.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TokenBucketTest {
+
+    private static final long START = 1_000_000_000L;
+    private static final long TOKEN = 100_000_000L; // 10 tokens per second
+
+    @Test
+    void allowsABurstUpToCapacity() {
+        TokenBucket bucket = new TokenBucket(10, 5, START);
+
+        assertEquals(5, bucket.remaining(START));
+        for (int i = 0; i < 5; i++) {
+            assertEquals(0, bucket.tryAcquire(1, START));
+        }
+        assertEquals(0, bucket.remaining(START));
+        assertEquals(TOKEN, bucket.tryAcquire(1, START));
+    }
+
+    @Test
+    void refillsAtTheConfiguredRate() {
+        TokenBucket bucket = new TokenBucket(10, 5, START);
+        bucket.tryAcquire(5, START);
+
+        assertEquals(TOKEN / 2, bucket.tryAcquire(1, START + TOKEN / 2));
+        assertEquals(1, bucket.remaining(START + TOKEN));
+        assertEquals(0, bucket.tryAcquire(1, START + TOKEN));
+        assertEquals(5, bucket.remaining(START + 10 * TOKEN));
+    }
+
+    @Test
+    void refillNeverExceedsCapacity() {
+        TokenBucket bucket = new TokenBucket(10, 5, START);
+        long later = START + 100 * TOKEN;
+
+        assertEquals(5, bucket.remaining(later));
+        assertEquals(0, bucket.tryAcquire(5, later));
+        assertTrue(bucket.tryAcquire(1, later) > 0);
+    }
+
+    @Test
+    void rejectedAcquireTakesNothing() {
+        TokenBucket bucket = new TokenBucket(10, 5, START);
+        bucket.tryAcquire(4, START);
+
+        assertEquals(TOKEN, bucket.tryAcquire(2, START));
+        assertEquals(1, bucket.remaining(START));
+        assertEquals(0, bucket.tryAcquire(1, START));
+    }
+
+    @Test
+    void chargeGoesIntoDebtThatIsPaidOffOverTime() {
+        TokenBucket bucket = new TokenBucket(10, 5, START);
+
+        bucket.charge(10, START);
+
+        assertTrue(bucket.isInDebt(START));
+        assertEquals(6 * TOKEN, bucket.debtNanos(START));
+        assertEquals(0, bucket.remaining(START));
+        assertTrue(bucket.tryAcquire(1, START) > 0);
+
+        assertEquals(TOKEN, bucket.debtNanos(START + 5 * TOKEN));
+        assertFalse(bucket.isInDebt(START + 6 * TOKEN));
+        assertEquals(1, bucket.remaining(START + 6 * TOKEN));
+        assertEquals(0, bucket.tryAcquire(1, START + 6 * TOKEN));
+    }
+
+    @Test
+    void emptyButNotOverdrawnBucketIsInDebtUntilOneTokenRefills() {
+        TokenBucket bucket = new TokenBucket(10, 5, START);
+        bucket.tryAcquire(5, START);
+
+        assertEquals(TOKEN, bucket.debtNanos(START));
+        assertFalse(bucket.isInDebt(START + TOKEN));
+    }
+
+    @Test
+    void idleOnlyOnceFullForTheGivenTime() {
+        TokenBucket bucket = new TokenBucket(10, 5, START);
+        bucket.charge(3, START);
+
+        assertEquals(3 * TOKEN, bucket.nanosUntilFull(START));
+        assertFalse(bucket.isIdle(START + 3 * TOKEN, TOKEN));
+        assertTrue(bucket.isIdle(START + 4 * TOKEN, TOKEN));
+    }
+}